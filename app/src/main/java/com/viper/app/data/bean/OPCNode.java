@@ -1,9 +1,10 @@
 package com.viper.app.data.bean;
 
+import androidx.annotation.Nullable;
 import androidx.databinding.ObservableBoolean;
 import androidx.databinding.ObservableField;
 
-import com.viper.app.data.client.OPCUtil;
+import com.viper.app.data.client.OPCValuePipeline;
 import com.viper.app.data.client.SiemensType;
 import com.viper.app.util.U;
 
@@ -13,6 +14,9 @@ import com.viper.opc.client.opcua.sdk.client.nodes.UaNode;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,7 @@ public class OPCNode {
     private transient String type;
     private String siemensType;
     private boolean canExpand;
+    private transient boolean variable;
     protected transient boolean isArray;
     protected ObservableField<String> value;
     private transient ObservableBoolean currentSelected;
@@ -62,12 +67,21 @@ public class OPCNode {
     public OPCNode() {
     }
 
-    private void init(UaNode uaNode) {
-        if (uaNode instanceof BaseDataVariableTypeNode||uaNode instanceof PropertyTypeNode){
-            canExpand = false;
-        }else {
-            canExpand = true;
+    /**
+     * 由浏览结果直接创建，不读取属性，数据类型和值由调用方批量读取后设置
+     */
+    public OPCNode(NodeId nodeId, ReferenceDescription reference, @Nullable Class<? extends UaNode> nodeClass) {
+        variable = reference.getNodeClass() == NodeClass.Variable;
+        canExpand = canExpand(nodeClass);
+        QualifiedName browseName = reference.getBrowseName();
+        if (browseName != null && !U.isEmpty(browseName.getName())) {
+            setName(browseName.getName());
         }
+        setNodeId(nodeId);
+    }
+
+    private void init(UaNode uaNode) {
+        canExpand = canExpand(uaNode.getClass());
         String name = uaNode.getBrowseName().getName();
         if (!U.isEmpty(name)){
             setName(name);
@@ -76,15 +90,8 @@ public class OPCNode {
         setNodeId(uaNode.getNodeId());
 
         if (uaNode instanceof UaVariableNode) {
-            NodeId daType = ((UaVariableNode) uaNode).getDataType();
-            if (daType!=null){
-                setTypeId(daType.hashCode());
-                setTypeInfo(daType.toParseableString());
-                String str = SiemensType.getType(daType.hashCode());
-                if (!U.isEmpty(str)){
-                    setSiemensType(str);
-                }
-            }
+            variable = true;
+            setDataType(((UaVariableNode) uaNode).getDataType());
 
             try {
                 DataValue dataValue = ((UaVariableNode) uaNode).readValue();
@@ -96,6 +103,27 @@ public class OPCNode {
 
     }
 
+    /**
+     * BaseDataVariableType 及其子类型（AnalogItemType、DataItemType 等）和 PropertyType 的节点不能展开
+     *
+     * @param nodeClass 类型定义注册的节点类，未注册时为 null
+     */
+    private static boolean canExpand(@Nullable Class<? extends UaNode> nodeClass) {
+        return nodeClass == null || !(BaseDataVariableTypeNode.class.isAssignableFrom(nodeClass)
+            || PropertyTypeNode.class.isAssignableFrom(nodeClass));
+    }
+
+    public void setDataType(NodeId daType) {
+        if (daType!=null){
+            setTypeId(daType.hashCode());
+            setTypeInfo(daType.toParseableString());
+            String str = SiemensType.getType(daType.hashCode());
+            if (!U.isEmpty(str)){
+                setSiemensType(str);
+            }
+        }
+    }
+
     public void setCurrentSelected(boolean isCurrentShow) {
         if (currentSelected == null){
             currentSelected = new ObservableBoolean();
@@ -139,6 +167,14 @@ public class OPCNode {
         return canExpand;
     }
 
+    public void setCanExpand(boolean canExpand) {
+        this.canExpand = canExpand;
+    }
+
+    public void setVariable(boolean variable) {
+        this.variable = variable;
+    }
+
 
     public OPCNode getParent() {
         return parent;
@@ -267,34 +303,49 @@ public class OPCNode {
     }
 
     protected transient boolean flag;
+    private transient volatile Object lastRawValue;
 
+    /**
+     * 新值交给 {@link OPCValuePipeline}，未变化或在死区内的不会更新界面，其余在下一帧统一写入
+     */
     public void setDataValue(DataValue dataValue) {
         if (dataValue!=null){
             Object o = dataValue.getValue().getValue();
             if (o!=null){
-                String str =  OPCUtil.dataValue2Str(this,o);
-                if (!U.isEmpty(str)){
-                    if (o instanceof Boolean){
-                        if (flag){
-                            getValue().set(str.toLowerCase());
-                        }else {
-                            getValue().set(str.toUpperCase());
-                        }
-                        flag=!flag;
-                    }else {
-                        getValue().set(str);
-                    }
-
-                }
-
                 if (U.isEmpty(type)){
                     setType(o.getClass().getName());
                 }
+
+                OPCValuePipeline.getInstance().submit(this, o);
             }
 
         }
     }
 
+    /**
+     * 由 {@link OPCValuePipeline} 在主线程调用
+     */
+    public void applyValue(Object o, String str) {
+        if (o instanceof Boolean){
+            if (flag){
+                getValue().set(str.toLowerCase());
+            }else {
+                getValue().set(str.toUpperCase());
+            }
+            flag=!flag;
+        }else {
+            getValue().set(str);
+        }
+    }
+
+    public Object getLastRawValue() {
+        return lastRawValue;
+    }
+
+    public void setLastRawValue(Object lastRawValue) {
+        this.lastRawValue = lastRawValue;
+    }
+
     public boolean isArray() {
         return isArray;
     }
@@ -371,6 +422,10 @@ public class OPCNode {
     public UaNode getUaNode() {
         return uaNode;
     }
+
+    public boolean isVariable() {
+        return variable || uaNode instanceof UaVariableNode;
+    }
     public void getNewValue(){
         if (uaNode !=null && uaNode instanceof UaVariableNode){
             try {
@@ -1,55 +1,141 @@
 package com.viper.app.data.client;
 
-import android.util.ArrayMap;
-
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.Stack;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 
 /**
  * 客户端管理类
+ * <p>
+ * 每个地址保持一个 {@link OPCClientRunner}。后台线程每隔 {@link #HEALTH_CHECK_SECONDS} 秒读取一次
+ * ServerStatus.State 检查已连接的客户端，失败的标记为失效；失效或连接失败的按退避时间在后台重连，
+ * 调用方通过 {@link #acquire(String)} 拿到的一般已经是连好的客户端。
  */
 public final class ClientManger {
 
+    public static final long HEALTH_CHECK_SECONDS = 10;
+
     private static final ClientManger INSTANCE = new ClientManger();
 
-    private ArrayMap<String,OPCClientRunner> clientArrayMap;
+    private final ConcurrentMap<String, OPCClientRunner> runners = new ConcurrentHashMap<>();
+    private final Set<String> checking = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private ScheduledExecutorService scheduler;
 
 
     private ClientManger(){
 
     }
 
-    private static ArrayMap<String, OPCClientRunner> getClientSimpleArrayMap() {
-        if (INSTANCE.clientArrayMap ==null){
-            INSTANCE.clientArrayMap = new ArrayMap<>();
+    private static OPCClientRunner getRunner(String opcUri) {
+        OPCClientRunner runner = INSTANCE.runners.get(opcUri);
+        if (runner == null) {
+            runner = INSTANCE.runners.computeIfAbsent(opcUri, OPCClientRunner::new);
+            INSTANCE.startHealthCheck();
         }
-        return INSTANCE.clientArrayMap;
+        return runner;
     }
 
+    /**
+     * 同步获取客户端，不保证已连接，调用方需要自己 connect
+     */
     public static OpcUaClient getOpcUaClient(String opcUri){
-        OPCClientRunner runner = getClientSimpleArrayMap().get(opcUri);
-        if (runner == null){
-            runner = new OPCClientRunner(opcUri);
-            OpcUaClient client = runner.getClient();
-            getClientSimpleArrayMap().put(opcUri,runner);
-            return client;
-        }else {
-            OpcUaClient client = runner.getClient();
-            if (client == null){
-                runner.run();
-                return runner.getClient();
-            }else {
-                return client;
-            }
-        }
+        return getRunner(opcUri).getClient();
+    }
+
+    /**
+     * 获取已连接的客户端，不阻塞调用线程
+     * <p>
+     * 已连接时返回已完成的 future；连接失败且在退避时间内时返回失败的 future。
+     */
+    public static CompletableFuture<OpcUaClient> acquire(String opcUri) {
+        return getRunner(opcUri).acquire();
+    }
+
+    /**
+     * 提前在后台建立连接
+     */
+    public static void warmUp(String opcUri) {
+        acquire(opcUri);
     }
 
     public static void destroy(){
-        if (INSTANCE.clientArrayMap !=null && !INSTANCE.clientArrayMap.isEmpty()){
-            INSTANCE.clientArrayMap.forEach((k, v)->{
-                v.complete();
-            });
+        ScheduledExecutorService s;
+        synchronized (INSTANCE) {
+            s = INSTANCE.scheduler;
+            INSTANCE.scheduler = null;
         }
+        if (s != null) {
+            s.shutdownNow();
+        }
+        INSTANCE.runners.forEach((k, v) -> v.complete());
+        INSTANCE.runners.clear();
+        Stack.releaseSharedResources();
+    }
+
+    private synchronized void startHealthCheck() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "opc-client-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, HEALTH_CHECK_SECONDS, HEALTH_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void checkAll() {
+        runners.forEach((uri, runner) -> {
+            if (runner.isRetryDue()) {
+                //退避时间已到，后台重连
+                runner.acquire();
+            } else if (runner.isConnected() && checking.add(uri)) {
+                check(runner).whenComplete((v, ex) -> {
+                    checking.remove(uri);
+                    if (ex != null) {
+                        runner.invalidate(ex);
+                    }
+                });
+            }
+        });
+    }
+
+    private CompletableFuture<Void> check(OPCClientRunner runner) {
+        ReadValueId readValueId = new ReadValueId(
+            Identifiers.Server_ServerStatus_State,
+            AttributeId.Value.uid(),
+            null,
+            QualifiedName.NULL_VALUE
+        );
+        return runner.acquire()
+            .thenCompose(client -> client.read(0.0, TimestampsToReturn.Neither,
+                Collections.singletonList(readValueId)))
+            .thenAccept(response -> {
+                DataValue[] results = response.getResults();
+                if (results == null || results.length == 0) {
+                    throw new IllegalStateException("empty health check response");
+                }
+                if (results[0].getStatusCode() != null && results[0].getStatusCode().isBad()) {
+                    throw new IllegalStateException(new UaException(results[0].getStatusCode()));
+                }
+            });
     }
 
 }
@@ -0,0 +1,562 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.Nullable;
+
+import com.viper.opc.client.opcua.sdk.client.dtd.DynamicStructure;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UNumber;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+
+
+/**
+ * 一维数组和 json 数组字符串之间的转换，不经过 Gson
+ * <p>
+ * 整数直接从字符串中逐字符解析，不创建中间字符串；格式化时只用一个 {@link StringBuilder}。
+ * 解析时字符串元素可以带双引号或单引号，也可以不带，和 Gson 宽松模式接受的写法一致。
+ */
+final class JsonArrays {
+
+    private JsonArrays() {
+    }
+
+    public static boolean[] parseBooleans(String json) {
+        Reader r = new Reader(json);
+        boolean[] values = new boolean[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            String s = r.nextString();
+            if ("true".equalsIgnoreCase(s) || "1".equals(s)) {
+                values[i] = true;
+            } else if ("false".equalsIgnoreCase(s) || "0".equals(s)) {
+                values[i] = false;
+            } else {
+                throw r.error("not a boolean: " + s);
+            }
+        }
+        r.end();
+        return values;
+    }
+
+    public static byte[] parseBytes(String json, long min, long max) {
+        Reader r = new Reader(json);
+        byte[] values = new byte[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) r.nextLong(min, max);
+        }
+        r.end();
+        return values;
+    }
+
+    public static short[] parseShorts(String json, long min, long max) {
+        Reader r = new Reader(json);
+        short[] values = new short[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) r.nextLong(min, max);
+        }
+        r.end();
+        return values;
+    }
+
+    public static int[] parseInts(String json, long min, long max) {
+        Reader r = new Reader(json);
+        int[] values = new int[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) r.nextLong(min, max);
+        }
+        r.end();
+        return values;
+    }
+
+    public static long[] parseLongs(String json) {
+        Reader r = new Reader(json);
+        long[] values = new long[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        r.end();
+        return values;
+    }
+
+    /**
+     * 无符号 64 位，按 long 的位保存
+     */
+    public static long[] parseUnsignedLongs(String json) {
+        Reader r = new Reader(json);
+        long[] values = new long[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Long.parseUnsignedLong(r.nextString());
+        }
+        r.end();
+        return values;
+    }
+
+    public static float[] parseFloats(String json) {
+        Reader r = new Reader(json);
+        float[] values = new float[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Float.parseFloat(r.nextString());
+        }
+        r.end();
+        return values;
+    }
+
+    public static double[] parseDoubles(String json) {
+        Reader r = new Reader(json);
+        double[] values = new double[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.parseDouble(r.nextString());
+        }
+        r.end();
+        return values;
+    }
+
+    /**
+     * 每个元素必须正好一个字符
+     */
+    public static char[] parseChars(String json) {
+        Reader r = new Reader(json);
+        char[] values = new char[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            String s = r.nextString();
+            if (s.length() != 1) {
+                throw r.error("not a char: " + s);
+            }
+            values[i] = s.charAt(0);
+        }
+        r.end();
+        return values;
+    }
+
+    public static String[] parseStrings(String json) {
+        Reader r = new Reader(json);
+        String[] values = new String[r.count()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextString();
+        }
+        r.end();
+        return values;
+    }
+
+    /**
+     * 格式化基本类型数组、装箱数组、无符号数组或 {@link UnsignedArray}，
+     * ULong 和 UInt64 按字符串输出。其他类型返回 null
+     */
+    @Nullable
+    public static String format(Object array) {
+        if (array instanceof UnsignedArray) {
+            UnsignedArray unsigned = (UnsignedArray) array;
+            StringBuilder sb = begin(unsigned.length());
+            boolean uint64 = unsigned.getBuiltinTypeId() == UnsignedArray.UINT64;
+            for (int i = 0; i < unsigned.length(); i++) {
+                if (i > 0) sb.append(',');
+                if (uint64) {
+                    sb.append('"').append(Long.toUnsignedString(unsigned.getLong(i))).append('"');
+                } else {
+                    sb.append(unsigned.getLong(i));
+                }
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof int[]) {
+            int[] a = (int[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof float[]) {
+            float[] a = (float[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof double[]) {
+            double[] a = (double[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof short[]) {
+            short[] a = (short[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof long[]) {
+            long[] a = (long[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof byte[]) {
+            byte[] a = (byte[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof boolean[]) {
+            boolean[] a = (boolean[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof char[]) {
+            char[] a = (char[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                appendString(sb, a[i]);
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof String[]) {
+            return formatStrings((String[]) array);
+        } else if (array instanceof ULong[]) {
+            ULong[] a = (ULong[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                appendString(sb, String.valueOf(a[i]));
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof DynamicStructure[]) {
+            DynamicStructure[] a = (DynamicStructure[]) array;
+            StringBuilder sb = begin(a.length * 16);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                appendString(sb, String.valueOf(a[i]));
+            }
+            return sb.append(']').toString();
+        } else if (array instanceof Number[] || array instanceof Boolean[]) {
+            // Integer[]、Float[] 及 UByte、UShort、UInteger 等，toString 即为数值
+            Object[] a = (Object[]) array;
+            StringBuilder sb = begin(a.length);
+            for (int i = 0; i < a.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(a[i]);
+            }
+            return sb.append(']').toString();
+        }
+        return null;
+    }
+
+    public static String formatStrings(String[] a) {
+        StringBuilder sb = begin(a.length * 4);
+        for (int i = 0; i < a.length; i++) {
+            if (i > 0) sb.append(',');
+            if (a[i] == null) {
+                sb.append("null");
+            } else {
+                appendString(sb, a[i]);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 整数数组的第 i 个元素，用于按字符或日期显示
+     */
+    static long getLong(Object array, int i) {
+        if (array instanceof UnsignedArray) {
+            return ((UnsignedArray) array).getLong(i);
+        } else if (array instanceof Number[]) {
+            return ((Number[]) array)[i].longValue();
+        } else if (array instanceof short[]) {
+            return ((short[]) array)[i];
+        } else if (array instanceof int[]) {
+            return ((int[]) array)[i];
+        } else if (array instanceof long[]) {
+            return ((long[]) array)[i];
+        } else if (array instanceof byte[]) {
+            return ((byte[]) array)[i];
+        }
+        throw new IllegalArgumentException("not an integer array: " + array.getClass());
+    }
+
+    /**
+     * @return 整数数组的长度，不是整数数组时返回 -1
+     */
+    static int integerLength(Object array) {
+        if (array instanceof UnsignedArray) {
+            return ((UnsignedArray) array).length();
+        } else if (array instanceof UNumber[] || array instanceof Integer[] || array instanceof Short[]
+            || array instanceof Long[] || array instanceof Byte[]) {
+            return ((Object[]) array).length;
+        } else if (array instanceof short[]) {
+            return ((short[]) array).length;
+        } else if (array instanceof int[]) {
+            return ((int[]) array).length;
+        } else if (array instanceof long[]) {
+            return ((long[]) array).length;
+        } else if (array instanceof byte[]) {
+            return ((byte[]) array).length;
+        }
+        return -1;
+    }
+
+    static StringBuilder begin(int length) {
+        return new StringBuilder(2 + length * 4).append('[');
+    }
+
+    static void appendString(StringBuilder sb, char c) {
+        sb.append('"');
+        appendEscaped(sb, c);
+        sb.append('"');
+    }
+
+    static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            appendEscaped(sb, s.charAt(i));
+        }
+        sb.append('"');
+    }
+
+    private static void appendEscaped(StringBuilder sb, char c) {
+        switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+        }
+    }
+
+    /**
+     * 顺序读取数组元素
+     */
+    private static final class Reader {
+
+        private final String s;
+        private final int end;
+        private int pos;
+        private int index;
+
+        Reader(String json) {
+            if (json == null) {
+                throw new IllegalArgumentException("json array is null");
+            }
+            s = json;
+            pos = skipWhitespace(0);
+            int last = s.length() - 1;
+            while (last >= 0 && Character.isWhitespace(s.charAt(last))) {
+                last--;
+            }
+            if (pos > last || s.charAt(pos) != '[' || s.charAt(last) != ']') {
+                throw new IllegalArgumentException("not a json array: " + json);
+            }
+            pos++;
+            end = last;
+        }
+
+        /**
+         * 顶层元素个数，引号内的逗号不计
+         */
+        int count() {
+            int p = skipWhitespace(pos);
+            if (p >= end) {
+                return 0;
+            }
+            int count = 1;
+            char quote = 0;
+            for (int i = p; i < end; i++) {
+                char c = s.charAt(i);
+                if (quote != 0) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == ',') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        long nextLong(long min, long max) {
+            beginElement();
+            boolean quoted = pos < end && (s.charAt(pos) == '"' || s.charAt(pos) == '\'');
+            char quote = quoted ? s.charAt(pos++) : 0;
+
+            boolean negative = false;
+            if (pos < end && (s.charAt(pos) == '-' || s.charAt(pos) == '+')) {
+                negative = s.charAt(pos) == '-';
+                pos++;
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < end) {
+                char c = s.charAt(pos);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                long next = value * 10 - (c - '0');
+                if (value < Long.MIN_VALUE / 10 || next > value) {
+                    throw error("number overflow");
+                }
+                value = next;
+                pos++;
+            }
+            if (pos == start) {
+                throw error("not a number");
+            }
+            if (!negative) {
+                if (value == Long.MIN_VALUE) {
+                    throw error("number overflow");
+                }
+                value = -value;
+            }
+            if (quoted) {
+                if (pos >= end || s.charAt(pos) != quote) {
+                    throw error("unterminated string");
+                }
+                pos++;
+            }
+            if (value < min || value > max) {
+                throw error("out of range [" + min + ", " + max + "]: " + value);
+            }
+            endElement();
+            return value;
+        }
+
+        String nextString() {
+            beginElement();
+            String value;
+            char c = pos < end ? s.charAt(pos) : 0;
+            if (c == '"' || c == '\'') {
+                value = readQuoted(c);
+            } else {
+                int start = pos;
+                while (pos < end && s.charAt(pos) != ',') {
+                    pos++;
+                }
+                int stop = pos;
+                while (stop > start && Character.isWhitespace(s.charAt(stop - 1))) {
+                    stop--;
+                }
+                value = s.substring(start, stop);
+                if ("null".equals(value)) {
+                    value = null;
+                }
+            }
+            endElement();
+            return value;
+        }
+
+        void end() {
+            if (skipWhitespace(pos) < end) {
+                throw error("trailing content");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at element " + index + " of " + s);
+        }
+
+        private String readQuoted(char quote) {
+            pos++;
+            StringBuilder sb = null;
+            int start = pos;
+            while (pos < end) {
+                char c = s.charAt(pos);
+                if (c == quote) {
+                    String value = sb == null ? s.substring(start, pos) : sb.toString();
+                    pos++;
+                    return value;
+                }
+                if (c == '\\') {
+                    if (sb == null) {
+                        sb = new StringBuilder().append(s, start, pos);
+                    }
+                    pos++;
+                    if (pos >= end) {
+                        break;
+                    }
+                    char e = s.charAt(pos);
+                    switch (e) {
+                        case 'n':
+                            sb.append('\n');
+                            break;
+                        case 'r':
+                            sb.append('\r');
+                            break;
+                        case 't':
+                            sb.append('\t');
+                            break;
+                        case 'b':
+                            sb.append('\b');
+                            break;
+                        case 'f':
+                            sb.append('\f');
+                            break;
+                        case 'u':
+                            if (pos + 4 >= end) {
+                                throw error("bad unicode escape");
+                            }
+                            sb.append((char) Integer.parseInt(s.substring(pos + 1, pos + 5), 16));
+                            pos += 4;
+                            break;
+                        default:
+                            sb.append(e);
+                    }
+                } else if (sb != null) {
+                    sb.append(c);
+                }
+                pos++;
+            }
+            throw error("unterminated string");
+        }
+
+        private void beginElement() {
+            pos = skipWhitespace(pos);
+            if (index > 0) {
+                if (pos >= end || s.charAt(pos) != ',') {
+                    throw error("expected ','");
+                }
+                pos = skipWhitespace(pos + 1);
+            }
+        }
+
+        private void endElement() {
+            pos = skipWhitespace(pos);
+            index++;
+        }
+
+        private int skipWhitespace(int p) {
+            while (p < s.length() && Character.isWhitespace(s.charAt(p))) {
+                p++;
+            }
+            return p;
+        }
+    }
+
+}
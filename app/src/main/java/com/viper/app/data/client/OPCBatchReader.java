@@ -0,0 +1,207 @@
+package com.viper.app.data.client;
+
+import static com.viper.opc.client.opcua.stack.core.util.ConversionUtil.l;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.collect.Lists;
+import com.viper.app.data.bean.OPCNode;
+
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.util.AsyncSemaphore;
+import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * 批量读取引擎
+ * <p>
+ * 把一组 {@link OPCNode} 的 NodeId 按服务器的 MaxNodesPerRead 切分成多个 Read 请求，
+ * 同时保持 {@link #maxInFlight} 个请求在途，再把结果按顺序分发回各个节点。
+ */
+public class OPCBatchReader {
+
+    /**
+     * 服务器未声明 MaxNodesPerRead（或声明为 0）时使用的单次请求节点数上限
+     */
+    public static final int DEFAULT_MAX_NODES_PER_READ = 500;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final int maxInFlight;
+    private final Stats stats = new Stats();
+
+    private OpcUaClient limitClient;
+    private int maxNodesPerRead;
+
+    public OPCBatchReader() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public OPCBatchReader(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * 读取列表中所有变量节点的值并调用 {@link OPCNode#setDataValue(DataValue)}
+     *
+     * @return 完成时返回本次读取的节点数
+     */
+    public CompletableFuture<Integer> refresh(@NonNull OpcUaClient client, @NonNull List<OPCNode> list) {
+        List<OPCNode> nodes = new ArrayList<>(list.size());
+        List<NodeId> nodeIds = new ArrayList<>(list.size());
+        for (OPCNode node : list) {
+            NodeId nodeId = node.getNodeId();
+            if (nodeId != null && node.isVariable()) {
+                nodes.add(node);
+                nodeIds.add(nodeId);
+            }
+        }
+        if (nodeIds.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return readValues(client, nodeIds).thenApply(values -> {
+            for (int i = 0; i < values.size(); i++) {
+                nodes.get(i).setDataValue(values.get(i));
+            }
+            return values.size();
+        });
+    }
+
+    /**
+     * 读取 Value 属性，返回的列表大小和顺序与 nodeIds 一致，服务器自定义的结构已解码
+     */
+    public CompletableFuture<List<DataValue>> readValues(@NonNull OpcUaClient client, @NonNull List<NodeId> nodeIds) {
+        List<ReadValueId> readValueIds = new ArrayList<>(nodeIds.size());
+        for (NodeId nodeId : nodeIds) {
+            readValueIds.add(new ReadValueId(nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+        }
+        return read(client, readValueIds).thenApply(values -> {
+            List<DataValue> decoded = new ArrayList<>(values.size());
+            for (DataValue value : values) {
+                decoded.add(OPCUtil.decodeStructure(client, value));
+            }
+            return decoded;
+        });
+    }
+
+    /**
+     * 读取任意属性，返回的列表大小和顺序与 readValueIds 一致
+     */
+    public CompletableFuture<List<DataValue>> read(@NonNull OpcUaClient client, @NonNull List<ReadValueId> readValueIds) {
+        if (readValueIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        final long startNanos = System.nanoTime();
+
+        return getMaxNodesPerRead(client).thenCompose(limit -> {
+            AsyncSemaphore semaphore = new AsyncSemaphore(maxInFlight);
+            List<CompletableFuture<List<DataValue>>> futures = new ArrayList<>();
+
+            for (List<ReadValueId> partition : Lists.partition(readValueIds, limit)) {
+                futures.add(semaphore.acquire().thenCompose(permit ->
+                    client.read(0.0, TimestampsToReturn.Both, partition)
+                        .whenComplete((r, ex) -> permit.release())
+                        .thenApply(r -> l(r.getResults()))
+                ));
+            }
+
+            return FutureUtils.flatSequence(futures);
+        }).whenComplete((values, ex) -> {
+            if (values != null) {
+                stats.onTick(System.nanoTime() - startNanos, values.size());
+            }
+        });
+    }
+
+    private synchronized CompletableFuture<Integer> getMaxNodesPerRead(OpcUaClient client) {
+        if (client == limitClient && maxNodesPerRead > 0) {
+            return CompletableFuture.completedFuture(maxNodesPerRead);
+        }
+
+        return client.readValue(0.0, TimestampsToReturn.Neither,
+                Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead)
+            .thenApply(v -> {
+                Object o = v.getValue().getValue();
+                long limit = o instanceof UInteger ? ((UInteger) o).longValue() : 0L;
+                return limit <= 0 ? DEFAULT_MAX_NODES_PER_READ : (int) Math.min(limit, Integer.MAX_VALUE);
+            })
+            .exceptionally(ex -> DEFAULT_MAX_NODES_PER_READ)
+            .thenApply(limit -> {
+                synchronized (OPCBatchReader.this) {
+                    limitClient = client;
+                    maxNodesPerRead = limit;
+                }
+                return limit;
+            });
+    }
+
+    /**
+     * 轮询耗时和吞吐统计
+     */
+    public static class Stats {
+
+        private volatile long lastTickNanos;
+        private volatile int lastTickNodes;
+        private long totalTicks;
+        private long totalNodes;
+        private long totalNanos;
+
+        synchronized void onTick(long nanos, int nodes) {
+            lastTickNanos = nanos;
+            lastTickNodes = nodes;
+            totalTicks++;
+            totalNodes += nodes;
+            totalNanos += nanos;
+        }
+
+        public long getLastTickMillis() {
+            return lastTickNanos / 1_000_000L;
+        }
+
+        public int getLastTickNodes() {
+            return lastTickNodes;
+        }
+
+        public double getLastNodesPerSecond() {
+            long nanos = lastTickNanos;
+            return nanos > 0 ? lastTickNodes * 1e9 / nanos : 0.0;
+        }
+
+        public synchronized long getTotalTicks() {
+            return totalTicks;
+        }
+
+        public synchronized double getAverageTickMillis() {
+            return totalTicks > 0 ? totalNanos / 1e6 / totalTicks : 0.0;
+        }
+
+        public synchronized double getAverageNodesPerSecond() {
+            return totalNanos > 0 ? totalNodes * 1e9 / totalNanos : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("tick=%dms nodes=%d nodes/s=%.1f avgTick=%.1fms",
+                getLastTickMillis(), getLastTickNodes(), getLastNodesPerSecond(), getAverageTickMillis());
+        }
+    }
+
+}
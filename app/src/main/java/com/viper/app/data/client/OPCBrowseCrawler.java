@@ -0,0 +1,333 @@
+package com.viper.app.data.client;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static com.viper.opc.client.opcua.stack.core.util.ConversionUtil.l;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.common.collect.Lists;
+import com.viper.app.data.bean.OPCNode;
+import com.viper.app.domain.message.OpcDataResult;
+
+import com.viper.opc.client.opcua.sdk.client.AddressSpace;
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseResultMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ViewDescription;
+import com.viper.opc.client.opcua.stack.core.util.AsyncSemaphore;
+import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * 广度优先的地址空间遍历器
+ * <p>
+ * 按层遍历：同一层的节点按 MaxNodesPerBrowse 合并进一个 Browse 请求，带续传点的结果用 BrowseNext 取完，
+ * 最多 {@link #maxInFlight} 个请求同时在途。子节点直接由 {@link ReferenceDescription} 创建，
+ * 每层结束后再批量读取变量节点的 DataType 和 Value，不再为每个节点单独读取属性。
+ */
+public class OPCBrowseCrawler {
+
+    /**
+     * 服务器未声明 MaxNodesPerBrowse（或声明为 0）时使用的单次请求节点数上限
+     */
+    public static final int DEFAULT_MAX_NODES_PER_BROWSE = 100;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final OpcUaClient client;
+    private final int maxInFlight;
+    private final OPCBatchReader reader;
+    private final Set<NodeId> visited = Collections.synchronizedSet(new HashSet<>());
+
+    private volatile boolean canceled;
+    private long startNanos;
+    private int requestCount;
+    private int nodeCount;
+
+    public OPCBrowseCrawler(@NonNull OpcUaClient client) {
+        this(client, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public OPCBrowseCrawler(@NonNull OpcUaClient client, int maxInFlight) {
+        this.client = client;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.reader = new OPCBatchReader(this.maxInFlight);
+    }
+
+    /**
+     * 从 root 开始遍历，所有子节点挂到 rootNode 下
+     *
+     * @param progress 每遍历完一层回调一次，可以为 null
+     * @return 完成时返回遍历到的节点总数
+     */
+    public CompletableFuture<Integer> crawl(@NonNull NodeId root, @NonNull OPCNode rootNode,
+                                            @Nullable OpcDataResult.Result<Progress> progress) {
+        startNanos = System.nanoTime();
+        visited.add(root);
+        return readMaxNodesPerBrowse().thenCompose(limit ->
+            crawlLevel(Collections.singletonList(rootNode), 0, limit, progress));
+    }
+
+    public void cancel() {
+        canceled = true;
+    }
+
+    private CompletableFuture<Integer> crawlLevel(List<OPCNode> level, int depth, int limit,
+                                                  @Nullable OpcDataResult.Result<Progress> progress) {
+        if (level.isEmpty() || canceled) {
+            return CompletableFuture.completedFuture(nodeCount);
+        }
+
+        return browseLevel(level, limit)
+            .thenCompose(children -> readAttributes(children).thenApply(v -> children))
+            .thenCompose(children -> {
+                nodeCount += children.size();
+                if (progress != null) {
+                    progress.onResult(new OpcDataResult<>(new Progress(depth, level.size(),
+                        children.size(), nodeCount, requestCount, System.nanoTime() - startNanos)));
+                }
+                return crawlLevel(children, depth + 1, limit, progress);
+            });
+    }
+
+    /**
+     * 浏览一层节点，返回这一层新发现的子节点
+     */
+    private CompletableFuture<List<OPCNode>> browseLevel(List<OPCNode> level, int limit) {
+        AddressSpace.BrowseOptions options = client.getAddressSpace().getBrowseOptions();
+        AsyncSemaphore semaphore = new AsyncSemaphore(maxInFlight);
+        List<CompletableFuture<List<OPCNode>>> futures = new ArrayList<>();
+
+        for (List<OPCNode> parents : Lists.partition(level, limit)) {
+            List<BrowseDescription> descriptions = new ArrayList<>(parents.size());
+            for (OPCNode parent : parents) {
+                descriptions.add(new BrowseDescription(
+                    parent.getNodeId(),
+                    options.getBrowseDirection(),
+                    options.getReferenceTypeId(),
+                    options.isIncludeSubtypes(),
+                    options.getNodeClassMask(),
+                    uint(BrowseResultMask.All.getValue())
+                ));
+            }
+
+            futures.add(semaphore.acquire().thenCompose(permit ->
+                browse(descriptions, options.getMaxReferencesPerNode())
+                    .whenComplete((r, ex) -> permit.release())
+                    .thenApply(references -> attachChildren(parents, references))
+            ));
+        }
+
+        return FutureUtils.flatSequence(futures);
+    }
+
+    /**
+     * 发送一个 Browse 请求，并用 BrowseNext 取回所有续传点的结果
+     *
+     * @return 与 descriptions 一一对应的引用列表
+     */
+    private CompletableFuture<List<List<ReferenceDescription>>> browse(List<BrowseDescription> descriptions,
+                                                                      UInteger maxReferencesPerNode) {
+        List<List<ReferenceDescription>> references = new ArrayList<>(descriptions.size());
+        for (int i = 0; i < descriptions.size(); i++) {
+            references.add(new ArrayList<>());
+        }
+
+        countRequest();
+        return client.browse(
+            new ViewDescription(NodeId.NULL_VALUE, DateTime.MIN_VALUE, uint(0)),
+            maxReferencesPerNode,
+            descriptions
+        ).thenCompose(response -> {
+            List<Integer> indices = new ArrayList<>(descriptions.size());
+            for (int i = 0; i < descriptions.size(); i++) {
+                indices.add(i);
+            }
+            return browseNext(references, indices, l(response.getResults()));
+        });
+    }
+
+    private CompletableFuture<List<List<ReferenceDescription>>> browseNext(List<List<ReferenceDescription>> references,
+                                                                          List<Integer> indices,
+                                                                          List<BrowseResult> results) {
+        List<Integer> nextIndices = new ArrayList<>();
+        List<ByteString> continuationPoints = new ArrayList<>();
+
+        for (int i = 0; i < results.size(); i++) {
+            BrowseResult result = results.get(i);
+            if (!result.getStatusCode().isGood()) continue;
+
+            references.get(indices.get(i)).addAll(l(result.getReferences()));
+
+            ByteString continuationPoint = result.getContinuationPoint();
+            if (continuationPoint != null && continuationPoint.isNotNull()) {
+                nextIndices.add(indices.get(i));
+                continuationPoints.add(continuationPoint);
+            }
+        }
+
+        if (continuationPoints.isEmpty() || canceled) {
+            if (!continuationPoints.isEmpty()) {
+                client.browseNext(true, continuationPoints);
+            }
+            return CompletableFuture.completedFuture(references);
+        }
+
+        countRequest();
+        return client.browseNext(false, continuationPoints).thenCompose(response ->
+            browseNext(references, nextIndices, l(response.getResults())));
+    }
+
+    private List<OPCNode> attachChildren(List<OPCNode> parents, List<List<ReferenceDescription>> references) {
+        NamespaceTable namespaceTable = client.getNamespaceTable();
+        List<OPCNode> children = new ArrayList<>();
+
+        for (int i = 0; i < parents.size(); i++) {
+            OPCNode parent = parents.get(i);
+            for (ReferenceDescription reference : references.get(i)) {
+                NodeId nodeId = reference.getNodeId().toNodeId(namespaceTable).orElse(null);
+                if (nodeId == null || !visited.add(nodeId)) continue;
+
+                NodeId typeDefinition = reference.getTypeDefinition() == null ? null :
+                    reference.getTypeDefinition().toNodeId(namespaceTable).orElse(null);
+                //和 AddressSpace 创建 UaNode 时一样按类型定义查找节点类，子类型也能识别
+                Class<? extends UaVariableNode> nodeClass = typeDefinition == null ? null :
+                    client.getVariableTypeManager().getNodeClass(typeDefinition).orElse(null);
+
+                OPCNode child = new OPCNode(nodeId, reference, nodeClass);
+                parent.addChild(child);
+                children.add(child);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * 批量读取变量节点的 DataType 和 Value
+     */
+    private CompletableFuture<Void> readAttributes(List<OPCNode> nodes) {
+        List<OPCNode> variables = new ArrayList<>();
+        List<ReadValueId> readValueIds = new ArrayList<>();
+        for (OPCNode node : nodes) {
+            if (node.isVariable()) {
+                variables.add(node);
+                readValueIds.add(new ReadValueId(node.getNodeId(), AttributeId.DataType.uid(),
+                    null, QualifiedName.NULL_VALUE));
+                readValueIds.add(new ReadValueId(node.getNodeId(), AttributeId.Value.uid(),
+                    null, QualifiedName.NULL_VALUE));
+            }
+        }
+        if (variables.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return reader.read(client, readValueIds).thenAccept(values -> {
+            for (int i = 0; i < variables.size(); i++) {
+                OPCNode node = variables.get(i);
+                Object dataType = values.get(i * 2).getValue().getValue();
+                if (dataType instanceof NodeId) {
+                    node.setDataType((NodeId) dataType);
+                }
+                DataValue value = values.get(i * 2 + 1);
+                try {
+                    node.setDataValue(value);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }).exceptionally(ex -> {
+            ex.printStackTrace();
+            return null;
+        });
+    }
+
+    private CompletableFuture<Integer> readMaxNodesPerBrowse() {
+        return client.readValue(0.0, TimestampsToReturn.Neither,
+                Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerBrowse)
+            .thenApply(v -> {
+                Object o = v.getValue().getValue();
+                long limit = o instanceof UInteger ? ((UInteger) o).longValue() : 0L;
+                return limit <= 0 ? DEFAULT_MAX_NODES_PER_BROWSE : (int) Math.min(limit, Integer.MAX_VALUE);
+            })
+            .exceptionally(ex -> DEFAULT_MAX_NODES_PER_BROWSE);
+    }
+
+    private synchronized void countRequest() {
+        requestCount++;
+    }
+
+    /**
+     * 遍历进度，每层一条
+     */
+    public static class Progress {
+
+        private final int depth;
+        private final int levelSize;
+        private final int discovered;
+        private final int total;
+        private final int requests;
+        private final long elapsedNanos;
+
+        public Progress(int depth, int levelSize, int discovered, int total, int requests, long elapsedNanos) {
+            this.depth = depth;
+            this.levelSize = levelSize;
+            this.discovered = discovered;
+            this.total = total;
+            this.requests = requests;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getLevelSize() {
+            return levelSize;
+        }
+
+        public int getDiscovered() {
+            return discovered;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("depth=%d browsed=%d discovered=%d total=%d requests=%d elapsed=%dms",
+                depth, levelSize, discovered, total, requests, getElapsedMillis());
+        }
+    }
+
+}
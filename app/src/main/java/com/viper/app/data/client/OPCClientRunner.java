@@ -10,21 +10,42 @@
 package com.viper.app.data.client;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
+import com.google.common.io.BaseEncoding;
+import com.viper.app.util.U;
+import com.viper.opc.client.opcua.sdk.client.DataTypeTreeSessionInitializer;
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.sdk.client.api.config.OpcUaClientConfig;
+import com.viper.opc.client.opcua.sdk.client.api.config.OpcUaClientConfigBuilder;
 import com.viper.opc.client.opcua.sdk.client.api.identity.AnonymousProvider;
 import com.viper.opc.client.opcua.sdk.client.api.identity.IdentityProvider;
+import com.viper.opc.client.opcua.sdk.client.dtd.DynamicStructureSessionInitializer;
+import com.viper.opc.client.opcua.stack.client.DiscoveryClient;
 import com.viper.opc.client.opcua.stack.client.security.DefaultClientCertificateValidator;
-import com.viper.opc.client.opcua.stack.core.Stack;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.channel.EncodingLimits;
 import com.viper.opc.client.opcua.stack.core.security.DefaultTrustListManager;
 import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaDataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
 import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 import com.viper.opc.client.opcua.stack.core.types.structured.EndpointDescription;
+import com.viper.opc.client.opcua.stack.core.util.DigestUtil;
 import com.viper.opc.examples.client.KeyStoreLoader;
 
 import org.slf4j.Logger;
@@ -35,6 +56,10 @@ import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsig
 
 /**
  * 客户端创建运行类
+ * <p>
+ * 每个地址一个实例，由 {@link ClientManger} 持有。密钥和信任列表所有地址共用，只加载一次；
+ * 选中的 {@link EndpointDescription}（含服务器证书）缓存在内存和磁盘上，重建客户端和进程重启时都不再做 endpoint 发现。
+ * 连接失败后按指数退避，退避期间 {@link #acquire()} 直接返回上次失败的结果，不会阻塞调用方。
  */
 public class OPCClientRunner {
 
@@ -42,111 +67,342 @@ public class OPCClientRunner {
         // Required for SecurityPolicy.Aes256_Sha256_RsaPss
         Security.addProvider(new BouncyCastleProvider());
     }*/
+
+    /**
+     * 第一次重连的等待时间，之后每失败一次加倍
+     */
+    public static final long BACKOFF_MIN_MILLIS = 1000;
+    public static final long BACKOFF_MAX_MILLIS = 60 * 1000;
+
+    /**
+     * 连续失败多少次后丢弃客户端和缓存的 endpoint，下次重新发现
+     */
+    public static final int REBUILD_AFTER = 3;
+
+    private static final Object SECURITY_LOCK = new Object();
+    private static KeyStoreLoader loader;
+    private static DefaultTrustListManager trustListManager;
+
+    /**
+     * 服务器自定义结构的编译结果，所有地址共用一个目录，按服务器和命名空间版本区分
+     */
+    private static final File STRUCTURE_CACHE_DIR =
+        Paths.get(System.getProperty("java.io.tmpdir"), "client", "structures").toFile();
+
+    /**
+     * 服务器 DataType 层级的缓存，按地址和命名空间数组区分，命名空间版本变化时只重新浏览变化的部分
+     */
+    private static final File TYPE_TREE_CACHE_DIR =
+        Paths.get(System.getProperty("java.io.tmpdir"), "client", "types").toFile();
+
+    /**
+     * 选中的 endpoint，每个地址一个文件，进程重启后直接用来建会话
+     */
+    private static final File ENDPOINT_CACHE_DIR =
+        Paths.get(System.getProperty("java.io.tmpdir"), "client", "endpoints").toFile();
+
+    /**
+     * 编解码 EndpointDescription 只用到命名空间 0 的内置类型，不依赖具体客户端
+     */
+    private static final SerializationContext ENDPOINT_CONTEXT = new SerializationContext() {
+        private final NamespaceTable namespaceTable = new NamespaceTable();
+
+        @Override
+        public EncodingLimits getEncodingLimits() {
+            return EncodingLimits.DEFAULT;
+        }
+
+        @Override
+        public NamespaceTable getNamespaceTable() {
+            return namespaceTable;
+        }
+
+        @Override
+        public DataTypeManager getDataTypeManager() {
+            return OpcUaDataTypeManager.getInstance();
+        }
+    };
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final String OPC_URI;
-    private final CompletableFuture<OpcUaClient> future = new CompletableFuture<>();
+    private final Object createLock = new Object();
 
-    private DefaultTrustListManager trustListManager;
-    private OpcUaClient client;
+    private volatile EndpointDescription endpoint;
+    private volatile OpcUaClient client;
 
-    public CompletableFuture<OpcUaClient> getFuture() {
-        return future;
-    }
+    private CompletableFuture<OpcUaClient> connected;
+    private int failures;
+    private long retryAt;
+    private volatile boolean closed;
 
     public OPCClientRunner(String uri) {
         this.OPC_URI = uri;
     }
 
 
+    /**
+     * 返回客户端，没有时同步创建，不保证已连接
+     */
     public OpcUaClient getClient() {
-        if (client == null){
+        if (client == null && !closed){
             run();
         }
         return client;
     }
 
-    public void complete(){
-        future.complete(client);
+    /**
+     * 获取已连接的客户端，不阻塞
+     * <p>
+     * 正在连接时返回同一个 future；上次连接失败且未到重试时间时直接返回失败的 future。
+     */
+    public synchronized CompletableFuture<OpcUaClient> acquire() {
+        if (closed) {
+            CompletableFuture<OpcUaClient> f = new CompletableFuture<>();
+            f.completeExceptionally(new IllegalStateException("client closed: " + OPC_URI));
+            return f;
+        }
+        if (connected == null || (connected.isCompletedExceptionally() && System.currentTimeMillis() >= retryAt)) {
+            connect();
+        }
+        return connected;
     }
 
-    private OpcUaClient createClient() throws Exception {
-        Path securityTempDir = Paths.get(System.getProperty("java.io.tmpdir"), "client", "security");
-        Files.createDirectories(securityTempDir);
-        if (!Files.exists(securityTempDir)) {
-            throw new Exception("unable to create security dir: " + securityTempDir);
-        }
+    /**
+     * 已经连接成功且没有被判定失效
+     */
+    public synchronized boolean isConnected() {
+        return connected != null && connected.isDone() && !connected.isCompletedExceptionally();
+    }
 
-        File pkiDir = securityTempDir.resolve("pki").toFile();
+    /**
+     * 上次连接失败，且已到重试时间
+     */
+    public synchronized boolean isRetryDue() {
+        return connected != null && connected.isCompletedExceptionally()
+            && System.currentTimeMillis() >= retryAt;
+    }
 
-        LoggerFactory.getLogger(getClass())
-            .info("security dir: {}", securityTempDir.toAbsolutePath());
-        LoggerFactory.getLogger(getClass())
-            .info("security pki dir: {}", pkiDir.getAbsolutePath());
+    /**
+     * 健康检查失败时调用，之后的 {@link #acquire()} 按退避时间重新连接
+     */
+    public synchronized void invalidate(Throwable cause) {
+        if (closed) {
+            return;
+        }
+        CompletableFuture<OpcUaClient> f = new CompletableFuture<>();
+        f.completeExceptionally(cause);
+        onFailure(f, cause);
+    }
 
-        KeyStoreLoader loader = new KeyStoreLoader().load(securityTempDir);
+    public synchronized int getFailures() {
+        return failures;
+    }
 
-        trustListManager = new DefaultTrustListManager(pkiDir);
+    /**
+     * 断开并关闭，之后不能再使用
+     */
+    public void complete(){
+        OpcUaClient c;
+        synchronized (this) {
+            closed = true;
+            c = client;
+            client = null;
+        }
+        if (c != null) {
+            OPCMonitoredItemProvisioner.destroy(c);
+            try {
+                c.disconnect().get();
+            } catch (InterruptedException | ExecutionException e) {
+                logger.error("Error disconnecting: {}", e.getMessage(), e);
+            }
+        }
+    }
 
+    private void connect() {
+        CompletableFuture<OpcUaClient> f = CompletableFuture.supplyAsync(this::getClient, U.getCacheThreadPool())
+            .thenCompose(c -> {
+                if (c == null) {
+                    throw new IllegalStateException("unable to create client: " + OPC_URI);
+                }
+                return c.connect();
+            })
+            .thenApply(c -> (OpcUaClient) c);
+
+        connected = f;
+        f.whenComplete((c, ex) -> {
+            synchronized (OPCClientRunner.this) {
+                if (connected != f) {
+                    return;
+                }
+                if (ex == null) {
+                    failures = 0;
+                } else {
+                    onFailure(f, ex);
+                }
+            }
+        });
+    }
 
+    private void onFailure(CompletableFuture<OpcUaClient> failed, Throwable cause) {
+        failures++;
+        long backoff = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_MIN_MILLIS << Math.min(failures - 1, 16));
+        retryAt = System.currentTimeMillis() + backoff;
+        connected = failed;
+        logger.warn("connect {} failed {} times, retry in {} ms: {}", OPC_URI, failures, backoff, cause.getMessage());
+
+        if (failures % REBUILD_AFTER == 0 && client != null) {
+            //服务器可能已更换证书或 endpoint，下次重新发现
+            OpcUaClient old = client;
+            client = null;
+            endpoint = null;
+            deleteCachedEndpoint();
+            OPCMonitoredItemProvisioner.destroy(old);
+            old.disconnect();
+        }
+    }
+
+    private OpcUaClient createClient() throws Exception {
+        loadSecurity();
 
         DefaultClientCertificateValidator certificateValidator =
             new DefaultClientCertificateValidator(trustListManager);
 
-
-        return OpcUaClient.create(
-            getEndpointUrl(),
-            endpoints ->
-                endpoints.stream()
-                    .filter(endpointFilter())
-                    .findFirst(),
-            configBuilder ->
-                configBuilder
-                    .setApplicationName(LocalizedText.english("viper wu opc-ua client"))
-                    .setApplicationUri("urn:viper:wu:examples:client")
-                    .setKeyPair(loader.getClientKeyPair())
-                    .setCertificate(loader.getClientCertificate())
-                    .setCertificateChain(loader.getClientCertificateChain())
-                    .setCertificateValidator(certificateValidator)
-                    .setIdentityProvider(getIdentityProvider())
-                    .setRequestTimeout(uint(5000))
-                    .build()
+        EndpointDescription e = endpoint;
+        if (e == null) {
+            e = loadCachedEndpoint();
+        }
+        if (e == null) {
+            e = discoverEndpoint(getEndpointUrl());
+            storeCachedEndpoint(e);
+        }
+        endpoint = e;
+
+        OpcUaClientConfigBuilder builder = OpcUaClientConfig.builder().setEndpoint(e);
+
+        OpcUaClient c = OpcUaClient.create(
+            builder
+                .setApplicationName(LocalizedText.english("viper wu opc-ua client"))
+                .setApplicationUri("urn:viper:wu:examples:client")
+                .setKeyPair(loader.getClientKeyPair())
+                .setCertificate(loader.getClientCertificate())
+                .setCertificateChain(loader.getClientCertificateChain())
+                .setCertificateValidator(certificateValidator)
+                .setIdentityProvider(getIdentityProvider())
+                .setRequestTimeout(uint(5000))
+                .setPrimitiveArrayDecodingEnabled(true)
+                .setLazyNotificationDecodingEnabled(true)
+                .build()
         );
+        //每次建立会话时注册服务器自定义结构的编解码器，重连时命名空间未变化的直接从缓存加载
+        //DataType 层级从缓存加载，自定义结构编译时直接复用，不再从 BaseDataType 重新浏览
+        DataTypeTreeSessionInitializer dataTypeTrees = new DataTypeTreeSessionInitializer(TYPE_TREE_CACHE_DIR);
+        c.addSessionInitializer(dataTypeTrees);
+        c.addSessionInitializer(new DynamicStructureSessionInitializer(STRUCTURE_CACHE_DIR, dataTypeTrees));
+        return c;
+    }
+
+    /**
+     * 和 {@link OpcUaClient#create(String, java.util.function.Function, java.util.function.Function)} 相同，
+     * 直接地址取不到时再试一次 /discovery
+     */
+    private EndpointDescription discoverEndpoint(String url) throws UaException {
+        try {
+            List<EndpointDescription> endpoints = DiscoveryClient.getEndpoints(url).get();
+            Optional<EndpointDescription> selected = endpoints.stream()
+                .filter(endpointFilter())
+                .findFirst();
+            return selected.orElseThrow(() ->
+                new UaException(StatusCodes.Bad_ConfigurationError, "no endpoint selected"));
+        } catch (InterruptedException | ExecutionException ex) {
+            if (!url.endsWith("/discovery")) {
+                return discoverEndpoint(url + (url.endsWith("/") ? "" : "/") + "discovery");
+            }
+            throw UaException.extract(ex).orElseGet(() -> new UaException(ex));
+        }
     }
 
+    private File endpointFile() {
+        byte[] digest = DigestUtil.sha1(OPC_URI.getBytes(StandardCharsets.UTF_8));
+        return new File(ENDPOINT_CACHE_DIR, BaseEncoding.base16().lowerCase().encode(digest) + ".endpoint");
+    }
 
-    public void run() {
+    /**
+     * 读取上次选中的 endpoint，没有、读不出或已不符合 {@link #endpointFilter()} 时返回 null
+     */
+    private EndpointDescription loadCachedEndpoint() {
+        File file = endpointFile();
+        if (!file.isFile()) {
+            return null;
+        }
         try {
-            client = createClient();
-            future.whenCompleteAsync((c, ex) -> {
-                if (ex != null) {
-                    logger.error("Error running example: {}", ex.getMessage(), ex);
-                }
-               // logger.info("哈哈哈哈");
-                try {
-                    client.disconnect().get();
-                    Stack.releaseSharedResources();
-                } catch (InterruptedException | ExecutionException e) {
-                    logger.error("Error disconnecting: {}", e.getMessage(), e);
-                }
+            NodeId encodingId = EndpointDescription.BINARY_ENCODING_ID
+                .toNodeId(ENDPOINT_CONTEXT.getNamespaceTable())
+                .orElseThrow(() -> new UaException(StatusCodes.Bad_DecodingError, "no encoding id"));
+            ByteString body = ByteString.of(Files.readAllBytes(file.toPath()));
+            Object decoded = new ExtensionObject(body, encodingId).decode(ENDPOINT_CONTEXT);
+            if (decoded instanceof EndpointDescription && endpointFilter().test((EndpointDescription) decoded)) {
+                logger.debug("use cached endpoint for {}", OPC_URI);
+                return (EndpointDescription) decoded;
+            }
+        } catch (IOException | UaException | RuntimeException ex) {
+            logger.warn("load cached endpoint {} failed: {}", file, ex.getMessage());
+        }
+        deleteCachedEndpoint();
+        return null;
+    }
 
-                /*try {
-                    Thread.sleep(1000);
-                   // System.exit(0);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }*/
-            });
-        } catch (Throwable t) {
-            logger.error("Error getting client: {}", t.getMessage(), t);
-
-            future.completeExceptionally(t);
-
-            /*try {
-                Thread.sleep(1000);
-                //System.exit(0);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }*/
+    private void storeCachedEndpoint(EndpointDescription e) {
+        File file = endpointFile();
+        try {
+            Files.createDirectories(ENDPOINT_CACHE_DIR.toPath());
+            ByteString body = (ByteString) ExtensionObject.encode(ENDPOINT_CONTEXT, e).getBody();
+            Files.write(file.toPath(), body.bytesOrEmpty());
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("store endpoint {} failed: {}", file, ex.getMessage());
+        }
+    }
+
+    private void deleteCachedEndpoint() {
+        //noinspection ResultOfMethodCallIgnored
+        endpointFile().delete();
+    }
+
+    private static void loadSecurity() throws Exception {
+        synchronized (SECURITY_LOCK) {
+            if (loader != null) {
+                return;
+            }
+            Path securityTempDir = Paths.get(System.getProperty("java.io.tmpdir"), "client", "security");
+            Files.createDirectories(securityTempDir);
+            if (!Files.exists(securityTempDir)) {
+                throw new Exception("unable to create security dir: " + securityTempDir);
+            }
+
+            File pkiDir = securityTempDir.resolve("pki").toFile();
+
+            LoggerFactory.getLogger(OPCClientRunner.class)
+                .info("security dir: {}", securityTempDir.toAbsolutePath());
+            LoggerFactory.getLogger(OPCClientRunner.class)
+                .info("security pki dir: {}", pkiDir.getAbsolutePath());
+
+            KeyStoreLoader l = new KeyStoreLoader().load(securityTempDir);
+            trustListManager = new DefaultTrustListManager(pkiDir);
+            loader = l;
+        }
+    }
+
+
+    public void run() {
+        //创建要做 endpoint 发现，不占用 acquire 的锁
+        synchronized (createLock) {
+            if (client != null || closed) {
+                return;
+            }
+            try {
+                client = createClient();
+            } catch (Throwable t) {
+                logger.error("Error getting client: {}", t.getMessage(), t);
+            }
         }
     }
 
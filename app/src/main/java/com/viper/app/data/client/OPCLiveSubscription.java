@@ -0,0 +1,298 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.NonNull;
+
+import com.viper.app.data.bean.OPCNode;
+
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.sdk.client.subscriptions.BatchSetMonitoringMode;
+import com.viper.opc.client.opcua.sdk.client.subscriptions.ManagedDataItem;
+import com.viper.opc.client.opcua.sdk.client.subscriptions.ManagedSubscription;
+import com.viper.opc.client.opcua.stack.core.NodeIdInterner;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MonitoringMode;
+import com.viper.opc.client.opcua.stack.core.util.HandleTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * 浏览页面的订阅刷新
+ * <p>
+ * 每个客户端共用一个 {@link ManagedSubscription}，当前显示层级的变量节点处于 Reporting，
+ * 离开该层级后对应的监控项通过 {@link BatchSetMonitoringMode} 设为 Disabled，
+ * 回到该层级时只需重新启用，不必重新创建。被禁用的监控项超过 {@link #MAX_DISABLED_ITEMS} 时删除最早的。
+ * 所有操作按调用顺序在单独的线程上执行，不会阻塞调用方；获取客户端期间又调用了 show/hide/destroy 的 show 会被跳过。
+ */
+public class OPCLiveSubscription {
+
+    public static final double PUBLISHING_INTERVAL = 200.0;
+    public static final double SAMPLING_INTERVAL = 200.0;
+    public static final int MAX_DISABLED_ITEMS = 500;
+
+    /**
+     * 按访问顺序保存所有监控项，最近显示过的在后面
+     */
+    private final LinkedHashMap<NodeId, ManagedDataItem> items = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<NodeId, OPCNode> showing = new ConcurrentHashMap<>();
+    /**
+     * 与 showing 相同，按 {@link NodeIdInterner} 句柄保存，供通知回调查找
+     */
+    private final HandleTable<OPCNode> showingByHandle = new HandleTable<>();
+    /**
+     * showing 持有的句柄引用，每个监控项另外持有一个，删除时释放
+     */
+    private int[] showingHandles = new int[0];
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * 每次 show/hide/destroy 加一，执行 show 时与调用时不同说明之后又有新的操作，本次 show 已过期
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private OpcUaClient client;
+    private NodeIdInterner interner;
+    private ManagedSubscription subscription;
+
+    /**
+     * 为列表中的变量节点启用订阅，不在列表中的监控项全部禁用
+     *
+     * @return 订阅创建失败时异常完成
+     */
+    public CompletableFuture<Void> show(@NonNull OpcUaClient client, @NonNull List<OPCNode> list) {
+        return show(CompletableFuture.completedFuture(client), list);
+    }
+
+    /**
+     * 客户端连接完成后为列表中的变量节点启用订阅，等待期间又调用了 show/hide/destroy 时不再执行
+     *
+     * @return 获取客户端或订阅创建失败时异常完成，被跳过时正常完成
+     */
+    public CompletableFuture<Void> show(@NonNull CompletableFuture<OpcUaClient> client, @NonNull List<OPCNode> list) {
+        long gen = generation.incrementAndGet();
+        List<OPCNode> showList = new ArrayList<>(list);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        client.whenComplete((c, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    if (gen != generation.get()) {
+                        future.complete(null);
+                        return;
+                    }
+                    try {
+                        doShow(c, showList);
+                        future.complete(null);
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                //已经 destroy
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 离开当前层级，禁用所有正在上报的监控项
+     */
+    public void hide() {
+        generation.incrementAndGet();
+        try {
+            executor.execute(this::doHide);
+        } catch (RejectedExecutionException e) {
+            //已经 destroy
+        }
+    }
+
+    /**
+     * 删除订阅及其所有监控项并结束工作线程，之后的调用不再执行
+     */
+    public void destroy() {
+        generation.incrementAndGet();
+        try {
+            executor.execute(this::doDestroy);
+        } catch (RejectedExecutionException e) {
+            //已经 destroy
+        }
+        executor.shutdown();
+    }
+
+    private void doShow(OpcUaClient client, List<OPCNode> list) throws Exception {
+        ManagedSubscription subscription = getSubscription(client);
+        NodeIdInterner interner = this.interner;
+
+        showing.clear();
+        showingByHandle.clear();
+        int[] handles = new int[list.size()];
+        int count = 0;
+        for (OPCNode node : list) {
+            NodeId nodeId = node.getNodeId();
+            if (nodeId != null && node.isVariable()) {
+                int handle;
+                if (showing.put(nodeId, node) == null) {
+                    handle = interner.intern(nodeId);
+                    handles[count++] = handle;
+                } else {
+                    //重复的节点只取一次引用
+                    handle = interner.find(nodeId);
+                }
+                showingByHandle.put(handle, node);
+            }
+        }
+        //先取新的再释放旧的，两次都显示的节点句柄不变
+        releaseShowing();
+        showingHandles = Arrays.copyOf(handles, count);
+
+        List<NodeId> toCreate = new ArrayList<>();
+        BatchSetMonitoringMode batch = new BatchSetMonitoringMode(subscription);
+        int batchSize = 0;
+
+        for (NodeId nodeId : showing.keySet()) {
+            ManagedDataItem item = items.get(nodeId);
+            if (item == null) {
+                toCreate.add(nodeId);
+            } else if (item.getMonitoringMode() != MonitoringMode.Reporting) {
+                item.setMonitoringModeAsync(MonitoringMode.Reporting, batch);
+                batchSize++;
+            }
+        }
+        for (Map.Entry<NodeId, ManagedDataItem> entry : items.entrySet()) {
+            ManagedDataItem item = entry.getValue();
+            if (!showing.containsKey(entry.getKey()) && item.getMonitoringMode() != MonitoringMode.Disabled) {
+                item.setMonitoringModeAsync(MonitoringMode.Disabled, batch);
+                batchSize++;
+            }
+        }
+        if (batchSize > 0) {
+            batch.execute();
+        }
+
+        if (!toCreate.isEmpty()) {
+            List<ManagedDataItem> created = subscription.createDataItems(toCreate,
+                item -> {
+                    int handle = interner.intern(item.getNodeId());
+                    item.addDataValueListener(value -> {
+                        OPCNode node = showingByHandle.get(handle);
+                        if (node != null) {
+                            node.setDataValue(OPCUtil.decodeStructure(client, value));
+                        }
+                    });
+                });
+            for (ManagedDataItem item : created) {
+                if (item.getStatusCode().isGood()) {
+                    items.put(item.getNodeId(), item);
+                } else {
+                    item.deleteAsync();
+                    releaseItem(item);
+                }
+            }
+        }
+
+        trimDisabled();
+    }
+
+    private void doHide() {
+        showing.clear();
+        showingByHandle.clear();
+        releaseShowing();
+        if (subscription == null || items.isEmpty()) return;
+
+        BatchSetMonitoringMode batch = new BatchSetMonitoringMode(subscription);
+        int batchSize = 0;
+        for (ManagedDataItem item : items.values()) {
+            if (item.getMonitoringMode() != MonitoringMode.Disabled) {
+                item.setMonitoringModeAsync(MonitoringMode.Disabled, batch);
+                batchSize++;
+            }
+        }
+        if (batchSize > 0) {
+            try {
+                batch.execute();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void doDestroy() {
+        showing.clear();
+        showingByHandle.clear();
+        releaseShowing();
+        for (ManagedDataItem item : items.values()) {
+            releaseItem(item);
+        }
+        items.clear();
+        if (subscription != null) {
+            subscription.deleteAsync();
+            subscription = null;
+        }
+        client = null;
+        interner = null;
+    }
+
+    private void releaseShowing() {
+        for (int handle : showingHandles) {
+            interner.release(handle);
+        }
+        showingHandles = new int[0];
+    }
+
+    /**
+     * 释放监控项创建时取得的句柄引用
+     */
+    private void releaseItem(ManagedDataItem item) {
+        int handle = interner.find(item.getNodeId());
+        if (handle >= 0) {
+            interner.release(handle);
+        }
+    }
+
+    private ManagedSubscription getSubscription(OpcUaClient client) throws Exception {
+        if (subscription == null || this.client != client) {
+            doDestroy();
+            ManagedSubscription s = ManagedSubscription.create(client, PUBLISHING_INTERVAL);
+            s.setDefaultSamplingInterval(SAMPLING_INTERVAL);
+            this.subscription = s;
+            this.client = client;
+            this.interner = client.getNamespaceTable().getNodeIdInterner();
+        }
+        return subscription;
+    }
+
+    private void trimDisabled() {
+        int disabled = items.size() - showing.size();
+        if (disabled <= MAX_DISABLED_ITEMS) return;
+
+        List<ManagedDataItem> toDelete = new ArrayList<>();
+        Iterator<Map.Entry<NodeId, ManagedDataItem>> iterator = items.entrySet().iterator();
+        while (iterator.hasNext() && disabled > MAX_DISABLED_ITEMS) {
+            Map.Entry<NodeId, ManagedDataItem> entry = iterator.next();
+            if (!showing.containsKey(entry.getKey())) {
+                toDelete.add(entry.getValue());
+                releaseItem(entry.getValue());
+                iterator.remove();
+                disabled--;
+            }
+        }
+        subscription.deleteDataItemsAsync(toDelete);
+    }
+
+}
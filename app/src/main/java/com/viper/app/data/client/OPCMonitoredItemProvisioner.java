@@ -0,0 +1,457 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.NonNull;
+
+import com.viper.app.util.U;
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.sdk.client.subscriptions.ManagedDataItem;
+import com.viper.opc.client.opcua.sdk.client.subscriptions.ManagedSubscription;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NodeIdInterner;
+import com.viper.opc.client.opcua.stack.core.Stack;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.util.HandleTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * 大量变量的批量订阅
+ * <p>
+ * 先读取服务器 OperationLimits 的 MaxMonitoredItemsPerCall，按它把节点分块，分散到 {@link #SHARDS} 个
+ * {@link ManagedSubscription} 上并行创建（同一个订阅上的创建请求是串行的）。因暂时性错误失败的监控项按退避时间重试，
+ * 最多 {@link #MAX_ATTEMPTS} 次；服务器返回 Bad_TooManyOperations 时分块大小减半。
+ * <p>
+ * 同一个 NodeId 被多个页面订阅时只创建一个监控项，按引用计数在最后一个 {@link Lease} 释放时删除。
+ * 后来的订阅者会立即收到最近一次的值。
+ * <p>
+ * 节点按 {@link NodeIdInterner} 的句柄保存，通知到达时按句柄查表，不再对 NodeId 做哈希和 equals。
+ * 每个 Entry 持有其句柄的一个引用，删除时释放。
+ */
+public class OPCMonitoredItemProvisioner {
+
+    public static final int SHARDS = 4;
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int MAX_ATTEMPTS = 3;
+    public static final long RETRY_DELAY_MILLIS = 500;
+    public static final double PUBLISHING_INTERVAL = 100.0;
+    public static final double SAMPLING_INTERVAL = 100.0;
+
+    private static final Map<OpcUaClient, OPCMonitoredItemProvisioner> INSTANCES = new ConcurrentHashMap<>();
+
+    private final OpcUaClient client;
+
+    private final ManagedSubscription[] shards = new ManagedSubscription[SHARDS];
+    private int nextShard = 0;
+    private boolean destroyed;
+
+    private final NodeIdInterner interner;
+    private final HandleTable<Entry> entries = new HandleTable<>();
+
+    /**
+     * 服务器单次调用的监控项上限，读取前为 null
+     */
+    private volatile CompletableFuture<Integer> limit;
+
+
+    private OPCMonitoredItemProvisioner(OpcUaClient client) {
+        this.client = client;
+        this.interner = client.getNamespaceTable().getNodeIdInterner();
+    }
+
+    public static OPCMonitoredItemProvisioner getInstance(@NonNull OpcUaClient client) {
+        return INSTANCES.computeIfAbsent(client, OPCMonitoredItemProvisioner::new);
+    }
+
+    /**
+     * 删除所有订阅，之后 {@link #getInstance(OpcUaClient)} 会重新创建
+     */
+    public static void destroy(@NonNull OpcUaClient client) {
+        OPCMonitoredItemProvisioner p = INSTANCES.remove(client);
+        if (p != null) {
+            p.deleteAll();
+        }
+    }
+
+    /**
+     * 订阅一组节点，值变化时调用 listener，listener 在订阅的回调线程上执行
+     *
+     * @return 用于释放的 {@link Lease}，{@link Lease#getResult()} 给出每个节点最终的创建结果
+     */
+    public Lease subscribe(@NonNull List<NodeId> nodeIds, @NonNull Listener listener) {
+        List<Entry> toCreate = new ArrayList<>();
+        List<Entry> leased = new ArrayList<>();
+
+        synchronized (this) {
+            for (NodeId nodeId : new LinkedHashSet<>(nodeIds)) {
+                if (nodeId == null) continue;
+                int handle = interner.find(nodeId);
+                Entry entry = handle >= 0 ? entries.get(handle) : null;
+                if (entry == null) {
+                    entry = new Entry(interner.intern(nodeId), nodeId);
+                    entries.put(entry.handle, entry);
+                    toCreate.add(entry);
+                }
+                entry.refs++;
+                entry.listeners.add(listener);
+                leased.add(entry);
+            }
+        }
+
+        for (Entry entry : leased) {
+            DataValue last = entry.last;
+            if (last != null) {
+                listener.onValue(entry.handle, entry.nodeId, last);
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            create(toCreate, 1);
+        }
+
+        return new Lease(leased, listener);
+    }
+
+    private void create(List<Entry> toCreate, int attempt) {
+        getLimit().whenComplete((max, ex) -> {
+            //每个分片至少一块，块大小不超过服务器上限
+            int perShard = (toCreate.size() + SHARDS - 1) / SHARDS;
+            int size = Math.max(1, Math.min(max != null ? max : DEFAULT_CHUNK_SIZE, perShard));
+
+            for (int i = 0; i < toCreate.size(); i += size) {
+                List<Entry> chunk = new ArrayList<>(toCreate.subList(i, Math.min(i + size, toCreate.size())));
+                U.getCacheThreadPool().execute(() -> createChunk(chunk, attempt));
+            }
+        });
+    }
+
+    private void createChunk(List<Entry> chunk, int attempt) {
+        ManagedSubscription shard;
+        try {
+            shard = nextShard();
+        } catch (UaException e) {
+            e.printStackTrace();
+            onChunkFailed(chunk, attempt, e.getStatusCode());
+            return;
+        }
+
+        List<ReadValueId> readValueIds = new ArrayList<>(chunk.size());
+        Map<NodeId, Entry> byNodeId = new HashMap<>();
+        for (Entry entry : chunk) {
+            readValueIds.add(new ReadValueId(entry.nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+            byNodeId.put(entry.nodeId, entry);
+        }
+
+        shard.createDataItemsAsync(SAMPLING_INTERVAL, readValueIds,
+            item -> {
+                //Entry 在创建时取一次，之后每个通知直接按句柄查表
+                Entry entry = byNodeId.get(item.getNodeId());
+                if (entry != null) {
+                    item.addDataValueListener(value -> onValue(entry, value));
+                }
+            }
+        ).whenComplete((items, ex) -> {
+            if (items != null) {
+                onChunkCreated(shard, chunk, items, attempt);
+            } else {
+                StatusCode statusCode = UaException.extract(ex)
+                    .map(UaException::getStatusCode)
+                    .orElse(StatusCode.BAD);
+                onChunkFailed(chunk, attempt, statusCode);
+            }
+        });
+    }
+
+    private void onChunkCreated(ManagedSubscription shard, List<Entry> chunk, List<ManagedDataItem> items, int attempt) {
+        Map<NodeId, ManagedDataItem> created = new HashMap<>();
+        for (ManagedDataItem item : items) {
+            created.put(item.getNodeId(), item);
+        }
+
+        List<Entry> retry = new ArrayList<>();
+        List<ManagedDataItem> unused = new ArrayList<>();
+
+        synchronized (this) {
+            for (Entry entry : chunk) {
+                ManagedDataItem item = created.get(entry.nodeId);
+                StatusCode statusCode = item != null ? item.getStatusCode() : StatusCode.BAD;
+
+                //创建过程中已经全部释放
+                boolean released = entries.get(entry.handle) != entry;
+
+                if (item != null && (released || !statusCode.isGood())) {
+                    //创建失败的监控项也留在 ManagedSubscription 里并带着值监听，重试或放弃前先删除
+                    unused.add(item);
+                }
+
+                if (released) {
+                    continue;
+                }
+                if (statusCode.isGood()) {
+                    entry.item = item;
+                    entry.shard = shard;
+                    entry.result.complete(statusCode);
+                } else if (isTransient(statusCode) && attempt < MAX_ATTEMPTS) {
+                    retry.add(entry);
+                } else {
+                    remove(entry);
+                    entry.result.complete(statusCode);
+                }
+            }
+        }
+
+        if (!unused.isEmpty()) {
+            shard.deleteDataItemsAsync(unused).exceptionally(ex -> {
+                ex.printStackTrace();
+                return null;
+            });
+        }
+        retryLater(retry, attempt);
+    }
+
+    private void onChunkFailed(List<Entry> chunk, int attempt, StatusCode statusCode) {
+        if (statusCode.getValue() == StatusCodes.Bad_TooManyOperations) {
+            //服务器实际上限比读到的小
+            limit = CompletableFuture.completedFuture(Math.max(1, chunk.size() / 2));
+        }
+
+        List<Entry> retry = new ArrayList<>();
+
+        synchronized (this) {
+            for (Entry entry : chunk) {
+                if (entries.get(entry.handle) != entry) continue;
+                if (isTransient(statusCode) && attempt < MAX_ATTEMPTS) {
+                    retry.add(entry);
+                } else {
+                    remove(entry);
+                    entry.result.complete(statusCode);
+                }
+            }
+        }
+
+        retryLater(retry, attempt);
+    }
+
+    private void retryLater(List<Entry> retry, int attempt) {
+        if (retry.isEmpty()) return;
+        long delay = RETRY_DELAY_MILLIS << (attempt - 1);
+        Stack.sharedScheduledExecutor().schedule(() -> create(retry, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onValue(Entry entry, DataValue value) {
+        //已删除的 Entry 句柄可能已分配给别的节点
+        if (entries.get(entry.handle) != entry) return;
+        value = OPCUtil.decodeStructure(client, value);
+        entry.last = value;
+        for (Listener listener : entry.listeners) {
+            try {
+                listener.onValue(entry.handle, entry.nodeId, value);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void release(List<Entry> leased, Listener listener) {
+        Map<ManagedSubscription, List<ManagedDataItem>> toDelete = new HashMap<>();
+
+        synchronized (this) {
+            for (Entry entry : leased) {
+                entry.listeners.remove(listener);
+                if (entry.refs > 0 && --entry.refs == 0 && entries.get(entry.handle) == entry) {
+                    remove(entry);
+                    //仍在创建中的由创建完成时删除
+                    if (entry.item != null) {
+                        toDelete.computeIfAbsent(entry.shard, k -> new ArrayList<>()).add(entry.item);
+                    }
+                }
+            }
+        }
+
+        toDelete.forEach((shard, items) -> shard.deleteDataItemsAsync(items).exceptionally(ex -> {
+            ex.printStackTrace();
+            return null;
+        }));
+    }
+
+    /**
+     * 从表中删除并释放句柄，调用方需持有锁
+     */
+    private void remove(Entry entry) {
+        if (entries.remove(entry.handle, entry)) {
+            interner.release(entry.handle);
+        }
+    }
+
+    /**
+     * 轮流取一个分片，分片在锁外创建，避免一次慢的 CreateSubscription 阻塞订阅和释放
+     */
+    private ManagedSubscription nextShard() throws UaException {
+        int i;
+        synchronized (this) {
+            i = nextShard;
+            nextShard = (nextShard + 1) % SHARDS;
+            if (shards[i] != null) {
+                return shards[i];
+            }
+        }
+
+        ManagedSubscription created = ManagedSubscription.create(client, PUBLISHING_INTERVAL);
+
+        ManagedSubscription shard;
+        synchronized (this) {
+            if (shards[i] == null && !destroyed) {
+                shards[i] = created;
+            }
+            shard = shards[i];
+        }
+
+        if (shard != created) {
+            //别的线程先创建了同一个分片，或者已经销毁
+            created.deleteAsync();
+            if (shard == null) {
+                throw new UaException(StatusCodes.Bad_SubscriptionIdInvalid);
+            }
+        }
+        return shard;
+    }
+
+    private CompletableFuture<Integer> getLimit() {
+        CompletableFuture<Integer> f = limit;
+        if (f == null) {
+            synchronized (this) {
+                if (limit == null) {
+                    limit = readLimit();
+                }
+                f = limit;
+            }
+        }
+        return f;
+    }
+
+    private CompletableFuture<Integer> readLimit() {
+        ReadValueId readValueId = new ReadValueId(
+            Identifiers.Server_ServerCapabilities_OperationLimits_MaxMonitoredItemsPerCall,
+            AttributeId.Value.uid(),
+            null,
+            QualifiedName.NULL_VALUE
+        );
+        return client.read(0.0, TimestampsToReturn.Neither, Collections.singletonList(readValueId))
+            .handle((response, ex) -> {
+                try {
+                    Object value = response.getResults()[0].getValue().getValue();
+                    long max = ((Number) value).longValue();
+                    //0 表示服务器没有限制
+                    return max > 0 ? (int) Math.min(max, Integer.MAX_VALUE) : DEFAULT_CHUNK_SIZE;
+                } catch (Exception e) {
+                    return DEFAULT_CHUNK_SIZE;
+                }
+            });
+    }
+
+    private synchronized void deleteAll() {
+        destroyed = true;
+        for (ManagedSubscription shard : shards) {
+            if (shard != null) {
+                shard.deleteAsync();
+            }
+        }
+        entries.forEach(e -> {
+            e.result.complete(new StatusCode(StatusCodes.Bad_SubscriptionIdInvalid));
+            interner.release(e.handle);
+        });
+        entries.clear();
+    }
+
+    private static boolean isTransient(StatusCode statusCode) {
+        long v = statusCode.getValue();
+        return v == StatusCodes.Bad_TooManyOperations
+            || v == StatusCodes.Bad_ResourceUnavailable
+            || v == StatusCodes.Bad_OutOfMemory
+            || v == StatusCodes.Bad_Timeout
+            || v == StatusCodes.Bad_RequestTimeout
+            || v == StatusCodes.Bad_TcpServerTooBusy;
+    }
+
+
+    /**
+     * 值变化的回调，handle 是节点在 {@link NodeIdInterner} 中的句柄，可以用作 {@link HandleTable} 的键
+     */
+    public interface Listener {
+        void onValue(int handle, NodeId nodeId, DataValue value);
+    }
+
+    private static class Entry {
+        final int handle;
+        final NodeId nodeId;
+        final List<Listener> listeners = new CopyOnWriteArrayList<>();
+        final CompletableFuture<StatusCode> result = new CompletableFuture<>();
+        int refs;
+        ManagedDataItem item;
+        ManagedSubscription shard;
+        volatile DataValue last;
+
+        Entry(int handle, NodeId nodeId) {
+            this.handle = handle;
+            this.nodeId = nodeId;
+        }
+    }
+
+    /**
+     * 一次 {@link #subscribe(List, Listener)} 持有的引用，页面关闭时调用 {@link #release()}
+     */
+    public class Lease {
+
+        private final List<Entry> leased;
+        private final Listener listener;
+        private boolean released;
+
+        private Lease(List<Entry> leased, Listener listener) {
+            this.leased = leased;
+            this.listener = listener;
+        }
+
+        /**
+         * 所有节点创建完成（包括重试）后完成，值为每个节点的结果
+         */
+        public CompletableFuture<Map<NodeId, StatusCode>> getResult() {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[leased.size()];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = leased.get(i).result;
+            }
+            return CompletableFuture.allOf(futures).thenApply(v -> {
+                Map<NodeId, StatusCode> map = new HashMap<>();
+                for (Entry entry : leased) {
+                    map.put(entry.nodeId, entry.result.join());
+                }
+                return map;
+            });
+        }
+
+        public void release() {
+            synchronized (this) {
+                if (released) return;
+                released = true;
+            }
+            OPCMonitoredItemProvisioner.this.release(leased, listener);
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.NonNull;
+
+import com.viper.app.data.bean.OPCNode;
+
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+
+/**
+ * 自适应轮询调度器
+ * <p>
+ * 所有页面共用一个调度线程。每个变量按刷新周期分为 {@link #RATE_PERIODS} 几档，
+ * 值发生变化的变量立即提到最快一档，连续 {@link #DEMOTE_AFTER} 次读取都没变化的降一档。
+ * 每一档到期时把该档的变量合并成一次批量读取，上一次读取未返回时跳过本次。
+ */
+public final class OPCPollScheduler {
+
+    /**
+     * 各档的刷新周期，必须是 {@link #TICK_MILLIS} 的整数倍
+     */
+    public static final long[] RATE_PERIODS = {100, 1000, 10000};
+
+    public static final long TICK_MILLIS = 100;
+
+    /**
+     * 连续多少次读取未变化后降一档
+     */
+    public static final int DEMOTE_AFTER = 10;
+
+    private static final OPCPollScheduler INSTANCE = new OPCPollScheduler();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "opc-poll-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private OPCPollScheduler() {
+    }
+
+    public static OPCPollScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 开始轮询一组变量，新加入的变量从中间一档开始
+     *
+     * @param client 获取已连接的客户端，见 {@link ClientManger#acquire(String)}
+     * @param nodes  要轮询的变量
+     * @param active 返回 false 时轮询自动停止
+     */
+    public Poll schedule(@NonNull Supplier<CompletableFuture<OpcUaClient>> client, @NonNull Collection<? extends OPCNode> nodes,
+                         @NonNull BooleanSupplier active) {
+        Poll poll = new Poll(client, nodes, active);
+        poll.future = scheduler.scheduleWithFixedDelay(poll::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        return poll;
+    }
+
+    /**
+     * 一组变量的轮询，只在调度线程上修改
+     */
+    public static class Poll {
+
+        private final Supplier<CompletableFuture<OpcUaClient>> clientSupplier;
+        private final BooleanSupplier active;
+        private final OPCBatchReader reader = new OPCBatchReader();
+        private final List<Tag> tags = new ArrayList<>();
+        private final boolean[] inFlight = new boolean[RATE_PERIODS.length];
+
+        private volatile ScheduledFuture<?> future;
+        private long tick;
+
+        Poll(Supplier<CompletableFuture<OpcUaClient>> clientSupplier, Collection<? extends OPCNode> nodes, BooleanSupplier active) {
+            this.clientSupplier = clientSupplier;
+            this.active = active;
+            for (OPCNode node : nodes) {
+                if (node.getNodeId() != null) {
+                    tags.add(new Tag(node));
+                }
+            }
+        }
+
+        public void cancel() {
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() {
+            ScheduledFuture<?> f = future;
+            return f == null || f.isCancelled();
+        }
+
+        /**
+         * 写入后调用：丢弃该节点上次读到的值并立即单独读一次，读到的值无论是否变化都会显示，之后按最快一档轮询
+         *
+         * @return 该节点不在本次轮询中时返回 false
+         */
+        public boolean resync(@NonNull OPCNode node) {
+            NodeId nodeId = node.getNodeId();
+            List<Tag> matched = new ArrayList<>();
+            synchronized (this) {
+                for (Tag tag : tags) {
+                    if (tag.node == node || Objects.equals(tag.node.getNodeId(), nodeId)) {
+                        tag.last = null;
+                        tag.rate = 0;
+                        tag.unchanged = 0;
+                        OPCValuePipeline.getInstance().invalidate(tag.node);
+                        matched.add(tag);
+                    }
+                }
+            }
+            if (matched.isEmpty()) {
+                return false;
+            }
+
+            clientSupplier.get()
+                .thenCompose(client -> reader.readValues(client, Collections.singletonList(nodeId)))
+                .whenComplete((values, ex) -> {
+                    synchronized (Poll.this) {
+                        if (values != null && !values.isEmpty()) {
+                            for (Tag tag : matched) {
+                                tag.onValue(values.get(0));
+                            }
+                        } else if (ex != null) {
+                            ex.printStackTrace();
+                        }
+                    }
+                });
+            return true;
+        }
+
+        public OPCBatchReader.Stats getStats() {
+            return reader.getStats();
+        }
+
+        /**
+         * @return 各档当前的变量数
+         */
+        public synchronized int[] getRateCounts() {
+            int[] counts = new int[RATE_PERIODS.length];
+            for (Tag tag : tags) {
+                counts[tag.rate]++;
+            }
+            return counts;
+        }
+
+        private synchronized void tick() {
+            if (!active.getAsBoolean()) {
+                cancel();
+                return;
+            }
+            for (int rate = 0; rate < RATE_PERIODS.length; rate++) {
+                if (!inFlight[rate] && tick % (RATE_PERIODS[rate] / TICK_MILLIS) == 0) {
+                    read(rate);
+                }
+            }
+            tick++;
+        }
+
+        private void read(int rate) {
+            List<Tag> due = new ArrayList<>();
+            for (Tag tag : tags) {
+                if (tag.rate == rate) {
+                    due.add(tag);
+                }
+            }
+            if (due.isEmpty()) {
+                return;
+            }
+            List<NodeId> nodeIds = new ArrayList<>(due.size());
+            for (Tag tag : due) {
+                nodeIds.add(tag.node.getNodeId());
+            }
+
+            inFlight[rate] = true;
+            clientSupplier.get()
+                .thenCompose(client -> reader.readValues(client, nodeIds))
+                .whenComplete((values, ex) -> {
+                    synchronized (Poll.this) {
+                        inFlight[rate] = false;
+                        if (values != null) {
+                            for (int i = 0; i < values.size(); i++) {
+                                due.get(i).onValue(values.get(i));
+                            }
+                        } else {
+                            ex.printStackTrace();
+                        }
+                    }
+                });
+        }
+    }
+
+    private static class Tag {
+
+        private final OPCNode node;
+        private int rate = 1;
+        private int unchanged;
+        private DataValue last;
+
+        Tag(OPCNode node) {
+            this.node = node;
+        }
+
+        void onValue(DataValue value) {
+            boolean changed = last == null
+                || !Objects.equals(last.getValue(), value.getValue())
+                || !Objects.equals(last.getStatusCode(), value.getStatusCode());
+            last = value;
+
+            if (changed) {
+                node.setDataValue(value);
+                rate = 0;
+                unchanged = 0;
+            } else if (++unchanged >= DEMOTE_AFTER && rate < RATE_PERIODS.length - 1) {
+                rate++;
+                unchanged = 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.ArrayMap;
+import androidx.collection.ArraySet;
+import androidx.collection.SimpleArrayMap;
+
+import com.viper.app.data.bean.OPCNode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * 以 {@link OPCSnapshotStore} 为后备的层级缓存
+ * <p>
+ * 键为父节点 id，值为该层子节点。内存中没有的层级在 {@link #get(Object)} 时才从快照中解码，
+ * 通过 {@link #put(Integer, List)} 和 putAll 放入的层级记为已修改，{@link #save()} 只追加这些层级。
+ * {@link #save()} 在后台线程执行，对内存表的读写都持有 {@code lock}。
+ */
+public class OPCSnapshotCache extends ArrayMap<Integer, List<OPCNode>> {
+
+    private final OPCSnapshotStore store;
+    private final Object lock = new Object();
+    private final ArraySet<Integer> dirty = new ArraySet<>();
+
+    public OPCSnapshotCache(@NonNull OPCSnapshotStore store) {
+        this.store = store;
+    }
+
+    public OPCSnapshotStore getStore() {
+        return store;
+    }
+
+    @Nullable
+    @Override
+    public List<OPCNode> get(Object key) {
+        List<OPCNode> list;
+        synchronized (lock) {
+            list = super.get(key);
+        }
+        if (list == null && key instanceof Integer) {
+            list = store.loadChildren((Integer) key);
+            if (list != null) {
+                synchronized (lock) {
+                    //解码期间可能已被 put 覆盖，以内存中的为准
+                    List<OPCNode> current = super.get(key);
+                    if (current != null) {
+                        return current;
+                    }
+                    super.put((Integer) key, list);
+                }
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        boolean contains;
+        synchronized (lock) {
+            contains = super.containsKey(key);
+        }
+        return contains || (key instanceof Integer && store.contains((Integer) key));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        boolean empty;
+        synchronized (lock) {
+            empty = super.isEmpty();
+        }
+        return empty && store.getLevelCount() == 0;
+    }
+
+    @Nullable
+    @Override
+    public List<OPCNode> put(Integer key, List<OPCNode> value) {
+        synchronized (lock) {
+            dirty.add(key);
+            return super.put(key, value);
+        }
+    }
+
+    //ArrayMap 和 SimpleArrayMap 的 putAll 会直接拷贝数组而绕过 put，这里逐个放入以记下修改
+    @Override
+    public void putAll(@NonNull SimpleArrayMap<? extends Integer, ? extends List<OPCNode>> array) {
+        for (int i = 0; i < array.size(); i++) {
+            put(array.keyAt(i), array.valueAt(i));
+        }
+    }
+
+    @Override
+    public void putAll(@NonNull Map<? extends Integer, ? extends List<OPCNode>> map) {
+        for (Map.Entry<? extends Integer, ? extends List<OPCNode>> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 把新浏览或修改过的层级追加到快照
+     *
+     * @return 追加的层级数
+     */
+    public int save() throws IOException {
+        ArrayMap<Integer, List<OPCNode>> changed = new ArrayMap<>();
+        synchronized (lock) {
+            for (Integer key : dirty) {
+                List<OPCNode> list = super.get(key);
+                if (list != null) {
+                    changed.put(key, list);
+                }
+            }
+            dirty.clear();
+        }
+        try {
+            store.append(changed);
+        } catch (IOException e) {
+            synchronized (lock) {
+                dirty.addAll(changed.keySet());
+            }
+            throw e;
+        }
+        return changed.size();
+    }
+
+}
@@ -0,0 +1,401 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.ArrayMap;
+
+import com.viper.app.R;
+import com.viper.app.data.bean.OPCNode;
+import com.viper.app.util.U;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * 浏览结果的二进制快照
+ * <p>
+ * 文件只追加：头部之后是一条条 [类型(1) 长度(4) 内容] 记录。
+ * 字符串记录组成驻留表（节点名、NodeId、西门子类型），层级记录按 parentId 保存一层子节点，
+ * 同一 parentId 以最后一条层级记录为准，所以局部重新浏览后只需追加变化的层级。
+ * 打开时以只读方式映射文件，只扫描记录头建立索引，某一层的节点在 {@link #loadChildren(int)} 时才解码。
+ * 失效数据超过一半时整体重写一次。
+ */
+public class OPCSnapshotStore {
+
+    private static final int MAGIC = 0x4F504353;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte RECORD_STRING = 1;
+    private static final byte RECORD_LEVEL = 2;
+
+    private static final int NO_STRING = -1;
+
+    private static final int FLAG_CAN_EXPAND = 0x01;
+    private static final int FLAG_VARIABLE = 0x02;
+
+    /**
+     * 文件小于该大小时不做整理
+     */
+    private static final long COMPACT_MIN_BYTES = 1024 * 1024;
+
+    private final File file;
+
+    private MappedByteBuffer mapped;
+    private long validLength;
+
+    private int stringCount;
+    private int[] stringOffsets = new int[64];
+    private String[] strings = new String[64];
+    /**
+     * 追加时才建立，字符串到序号
+     */
+    private Map<String, Integer> stringIndex;
+
+    /**
+     * parentId 到最新层级记录的偏移和长度
+     */
+    private final ArrayMap<Integer, long[]> levels = new ArrayMap<>();
+    private long liveBytes;
+
+    public OPCSnapshotStore(@NonNull File file) {
+        this.file = file;
+    }
+
+    /**
+     * 浏览缓存使用的快照文件
+     */
+    public static OPCSnapshotStore forCache() {
+        return new OPCSnapshotStore(new File(U.getContext().getFilesDir(), U.getString(R.string.snapshot_file_name)));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 映射并扫描文件，文件不存在或格式不对时返回 false，此时第一次保存会重新创建
+     */
+    public synchronized boolean open() {
+        reset();
+        if (!file.exists() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return false;
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                reset();
+                return false;
+            }
+            scan(HEADER_SIZE);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            reset();
+            return false;
+        }
+    }
+
+    public synchronized boolean contains(int parentId) {
+        return levels.containsKey(parentId);
+    }
+
+    public synchronized int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * 解码一层子节点，没有保存过该层时返回 null
+     */
+    @Nullable
+    public synchronized List<OPCNode> loadChildren(int parentId) {
+        long[] level = levels.get(parentId);
+        if (level == null || mapped == null) {
+            return null;
+        }
+        int position = (int) level[0];
+        int recordParentId = mapped.getInt(position);
+        int count = mapped.getInt(position + 4);
+        position += 8;
+
+        List<OPCNode> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OPCNode node = new OPCNode();
+            String name = getString(mapped.getInt(position));
+            if (name != null) {
+                node.setName(name);
+            }
+            node.setNodeInfo(getString(mapped.getInt(position + 4)));
+            node.setSiemensType(getString(mapped.getInt(position + 8)));
+            node.setTypeId(mapped.getInt(position + 12));
+            int flags = mapped.get(position + 16);
+            node.setCanExpand((flags & FLAG_CAN_EXPAND) != 0);
+            node.setVariable((flags & FLAG_VARIABLE) != 0);
+            int valueLength = mapped.getInt(position + 17);
+            position += 21;
+            if (valueLength >= 0) {
+                node.setValue(readUtf8(position, valueLength));
+                position += valueLength;
+            }
+            node.setParentId(recordParentId);
+            list.add(node);
+        }
+        return list;
+    }
+
+    /**
+     * 追加保存若干层，已保存过的 parentId 会被新记录覆盖
+     */
+    public synchronized void append(@NonNull Map<Integer, List<OPCNode>> changed) throws IOException {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (mapped == null) {
+            rewrite(changed);
+            return;
+        }
+        ensureStringIndex();
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            long offset = validLength;
+            for (Map.Entry<Integer, List<OPCNode>> entry : changed.entrySet()) {
+                offset += writeLevel(out, offset, entry.getKey(), entry.getValue());
+            }
+            out.flush();
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                //丢弃上次未写完的尾部
+                raf.setLength(validLength);
+                raf.seek(validLength);
+                raf.write(bytes.toByteArray());
+            }
+        } catch (IOException e) {
+            //内存中的索引已包含未写入的记录，按文件重新建立
+            open();
+            throw e;
+        }
+
+        if (file.length() > COMPACT_MIN_BYTES && file.length() > liveBytes * 2) {
+            compact();
+        } else {
+            remap();
+        }
+    }
+
+    /**
+     * 用给定的全部层级重写文件
+     */
+    public synchronized void rewrite(@NonNull Map<Integer, List<OPCNode>> all) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        reset();
+        stringIndex = new HashMap<>();
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                long offset = HEADER_SIZE;
+                for (Map.Entry<Integer, List<OPCNode>> entry : all.entrySet()) {
+                    offset += writeLevel(out, offset, entry.getKey(), entry.getValue());
+                }
+            }
+            if (!tmp.renameTo(file)) {
+                //部分系统上 rename 不能覆盖已有文件
+                if (!file.delete() || !tmp.renameTo(file)) {
+                    throw new IOException("rename failed: " + tmp);
+                }
+            }
+        } catch (IOException e) {
+            open();
+            throw e;
+        }
+        remap();
+    }
+
+    private void compact() throws IOException {
+        ArrayMap<Integer, List<OPCNode>> all = new ArrayMap<>(levels.size());
+        remap();
+        for (int i = 0; i < levels.size(); i++) {
+            int parentId = levels.keyAt(i);
+            all.put(parentId, loadChildren(parentId));
+        }
+        rewrite(all);
+    }
+
+    private void remap() throws IOException {
+        Map<String, Integer> index = stringIndex;
+        if (!open()) {
+            throw new IOException("snapshot unreadable after write: " + file);
+        }
+        //内存中的驻留表仍然有效，重新映射后沿用
+        stringIndex = index;
+    }
+
+    /**
+     * 写入一层节点，先写出其中新的字符串，返回写入的字节数
+     */
+    private long writeLevel(DataOutputStream out, long offset, int parentId, List<OPCNode> nodes) throws IOException {
+        long start = out.size();
+        int[] refs = new int[nodes.size() * 3];
+        for (int i = 0; i < nodes.size(); i++) {
+            OPCNode node = nodes.get(i);
+            refs[i * 3] = intern(out, offset + out.size() - start, node.getName());
+            refs[i * 3 + 1] = intern(out, offset + out.size() - start, node.getNodeInfo());
+            refs[i * 3 + 2] = intern(out, offset + out.size() - start, node.getSiemensType());
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(nodes.size() * 32 + 8);
+        DataOutputStream level = new DataOutputStream(payload);
+        level.writeInt(parentId);
+        level.writeInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            OPCNode node = nodes.get(i);
+            level.writeInt(refs[i * 3]);
+            level.writeInt(refs[i * 3 + 1]);
+            level.writeInt(refs[i * 3 + 2]);
+            level.writeInt(node.getTypeId());
+            int flags = (node.isCanExpand() ? FLAG_CAN_EXPAND : 0) | (node.isVariable() ? FLAG_VARIABLE : 0);
+            level.writeByte(flags);
+            String value = node.getValue().get();
+            if (value == null) {
+                level.writeInt(-1);
+            } else {
+                byte[] b = value.getBytes(StandardCharsets.UTF_8);
+                level.writeInt(b.length);
+                level.write(b);
+            }
+        }
+        level.flush();
+
+        long recordOffset = offset + out.size() - start;
+        out.writeByte(RECORD_LEVEL);
+        out.writeInt(payload.size());
+        payload.writeTo(out);
+        putLevel(parentId, recordOffset + 5, payload.size());
+
+        return out.size() - start;
+    }
+
+    private int intern(DataOutputStream out, long offset, @Nullable String s) throws IOException {
+        if (s == null) {
+            return NO_STRING;
+        }
+        Integer ref = stringIndex.get(s);
+        if (ref != null) {
+            return ref;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(RECORD_STRING);
+        out.writeInt(b.length);
+        out.write(b);
+
+        int index = addString((int) offset + 5, s);
+        stringIndex.put(s, index);
+        liveBytes += 5 + b.length;
+        return index;
+    }
+
+    private void scan(int position) {
+        int limit = mapped.limit();
+        while (position + 5 <= limit) {
+            byte type = mapped.get(position);
+            int length = mapped.getInt(position + 1);
+            if (length < 0 || position + 5L + length > limit) {
+                //写到一半的记录
+                break;
+            }
+            int payload = position + 5;
+            if (type == RECORD_STRING) {
+                addString(payload, null);
+                liveBytes += 5 + length;
+            } else if (type == RECORD_LEVEL) {
+                putLevel(mapped.getInt(payload), payload, length);
+            }
+            position = payload + length;
+        }
+        validLength = position;
+    }
+
+    private void putLevel(int parentId, long offset, int length) {
+        long[] old = levels.put(parentId, new long[]{offset, length});
+        if (old != null) {
+            liveBytes -= old[1] + 5;
+        }
+        liveBytes += length + 5;
+    }
+
+    private int addString(int offset, @Nullable String value) {
+        if (stringCount == stringOffsets.length) {
+            stringOffsets = Arrays.copyOf(stringOffsets, stringCount * 2);
+            strings = Arrays.copyOf(strings, stringCount * 2);
+        }
+        stringOffsets[stringCount] = offset;
+        strings[stringCount] = value;
+        return stringCount++;
+    }
+
+    @Nullable
+    private String getString(int index) {
+        if (index < 0 || index >= stringCount) {
+            return null;
+        }
+        String s = strings[index];
+        if (s == null) {
+            int offset = stringOffsets[index];
+            s = readUtf8(offset, mapped.getInt(offset - 4));
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    private void ensureStringIndex() {
+        if (stringIndex == null) {
+            //预设容量，建表时不必扩容
+            stringIndex = new HashMap<>(Math.max(16, (int) (stringCount / 0.75f) + 1));
+            for (int i = 0; i < stringCount; i++) {
+                stringIndex.put(getString(i), i);
+            }
+        }
+    }
+
+    private String readUtf8(int position, int length) {
+        byte[] b = new byte[length];
+        for (int i = 0; i < length; i++) {
+            b[i] = mapped.get(position + i);
+        }
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private void reset() {
+        mapped = null;
+        validLength = HEADER_SIZE;
+        stringCount = 0;
+        Arrays.fill(strings, null);
+        stringIndex = null;
+        levels.clear();
+        liveBytes = 0;
+    }
+
+}
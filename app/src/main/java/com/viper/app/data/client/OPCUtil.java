@@ -18,36 +18,32 @@ import com.viper.app.util.U;
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscription;
+import com.viper.opc.client.opcua.sdk.client.dtd.DynamicStructure;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaNode;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
 import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.NodeIdInterner;
 import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
-import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
 import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
-import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
-import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.MonitoringMode;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemCreateRequest;
 import com.viper.opc.client.opcua.stack.core.types.structured.MonitoringParameters;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.util.HandleTable;
 
-import java.nio.charset.StandardCharsets;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
@@ -89,372 +85,19 @@ public final class OPCUtil {
     }
 
 
+    /**
+     * 按节点的西门子类型把界面输入转换为写入值，不支持的类型返回 null
+     */
     public static DataValue strToDataValue(OPCNode node, String str) throws Exception {
         if (U.isEmpty(str)) return null;
-        int typeId = node.getTypeId();
-        Variant variant = isArrayNode(node, str);
-        if (variant != null) return new DataValue(variant, null, null);
-        if (typeId == SiemensTypeId.Bool) {
-            str = str.trim().toLowerCase();
-            if (str.equals("1")) {
-                variant = new Variant(true);
-            } else {
-                variant = new Variant(Boolean.valueOf(str));
-            }
-        } else if (typeId == SiemensTypeId.Byte) {
-            variant = new Variant(UByte.valueOf(str));
-        } else if (typeId == SiemensTypeId.Int) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.UInt) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.UDInt) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.USInt) {
-            variant = new Variant(UByte.valueOf(str));
-        } else if (typeId == SiemensTypeId.SInt) {
-            variant = new Variant(Byte.valueOf(str));
-        } else if (typeId == SiemensTypeId.DInt) {
-            variant = new Variant(Integer.valueOf(str));
-        } else if (typeId == SiemensTypeId.LInt) {
-            variant = new Variant(Long.valueOf(str));
-        } else if (typeId == SiemensTypeId.Char) {
-            if (str.length() > 1) {
-                return null;
-            } else {
-                char c = str.charAt(0);
-                variant = new Variant(UByte.valueOf(c));
-            }
-        } else if (typeId == SiemensTypeId.Word) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.DWord) {
-            variant = new Variant(Integer.valueOf(str));
-        } else if (typeId == SiemensTypeId.WChar) {
-            if (str.length() > 1) {
-                return null;
-            } else {
-                char c = str.charAt(0);
-                variant = new Variant(UShort.valueOf(c));
-            }
-        } else if (typeId == SiemensTypeId.Date) {
-            variant = new Variant(UShort.valueOf((int) ChronoUnit.DAYS.between
-                (LocalDate.parse(U.getSiemensDateStartDate()), LocalDate.parse(str))));
-        } else if (typeId == SiemensTypeId.Date_And_Time) {
-            //   Date date = TimeUtils.string2Date(str);
-            LocalDateTime localDateTime = LocalDateTime.parse(str,
-                DateTimeFormatter.ofPattern(U.getDateTimePattern()));
-            if (localDateTime != null) {
-                UByte[] uBytes = new UByte[8];
-                parseDate(localDateTime, uBytes, str);
-                variant = new Variant(uBytes);
-            } else {
-                LocalDateTime localDateTime2 = LocalDateTime.parse(str,
-                    DateTimeFormatter.ofPattern(U.getDateTimePattern2()));
-                //   Date date2 = TimeUtils.string2Date(str,TimeConstants.PATTERN_2);
-                if (localDateTime2 != null) {
-                    UByte[] uBytes = new UByte[8];
-                    parseDate(localDateTime2, uBytes, str);
-                    /* localDateTime2.getNano();*/
-                    int msec = Integer.parseInt(str.substring(str.indexOf(".") + 1));
-                    uBytes[6] = UByte.valueOf(Integer.parseInt(String.valueOf(msec), 16));
-                    variant = new Variant(uBytes);
-                }
-            }
-        } else if (typeId == SiemensTypeId.LDT) {
-
-            variant = new Variant(new DateTime(LocalDateTime.parse(str,
-                DateTimeFormatter.ofPattern(U.getDateTimePattern())).toInstant(ZoneOffset.UTC)));
-        } else if (typeId == SiemensTypeId.Real) {
-            variant = new Variant(Float.valueOf(str));
-        } else if (typeId == SiemensTypeId.LReal) {
-            variant = new Variant(Double.valueOf(str));
-        } else if (typeId == SiemensTypeId.Time) {
-            variant = new Variant(Integer.valueOf(str));
-        } else if (typeId == SiemensTypeId.LTime) {
-            variant = new Variant(Long.valueOf(str));
-        } else if (typeId == SiemensTypeId.S5Time) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.LWord) {
-            variant = new Variant(ULong.valueOf(str));
-        } else if (typeId == SiemensTypeId.StringX) {
-            variant = new Variant(new String(str.getBytes("gbk"), StandardCharsets.ISO_8859_1));
-        } else if (typeId == SiemensTypeId.WString) {
-            // variant = new Variant(U.utf8ToUnicode(str));unicode
-            variant = new Variant(new String(str.getBytes("unicode"), "unicode"));
-        } else if (typeId == SiemensTypeId.DB_ANY) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.CONN_ANY) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.AOM_IDENT) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.CONN_OUC) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.CONN_PRG) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.CONN_R_ID) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.DB_DYN) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.DB_WWW) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.EVENT_ANY) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.EVENT_ATT) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.EVENT_HWINT) {
-            variant = new Variant(UInteger.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_ANY) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_DEVICE) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_INTERFACE) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_DPMASTER) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_DPSLAVE) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_HSC) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_IEPORT) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_IO) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_ANY) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_ATT) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_CYCLIC) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_DELAY) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_DIAG) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_HWINT) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_PCYCLE) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_STARTUP) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_TIMEERROR) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.OB_TOD) {
-            variant = new Variant(Short.valueOf(str));
-        } else if (typeId == SiemensTypeId.PIP) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.EnumValueType) {
-            variant = new Variant(Integer.valueOf(str));
-        } else if (typeId == SiemensTypeId.LocalizedText) {
-            variant = new Variant(new LocalizedText(str));
-        } else if (typeId == SiemensTypeId.PORT) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.RTM) {
-            variant = new Variant(UShort.valueOf(str));
-        } else if (typeId == SiemensTypeId.HW_SUBMODULE) {
-            variant = new Variant(UShort.valueOf(str));
-        }
+        SiemensCodec codec = SiemensCodecs.get(node.getTypeId());
+        if (codec == null) return null;
+        Variant variant = node.isArray() ? codec.parseArray(str) : codec.parse(str);
         if (variant != null) {
             return new DataValue(variant, null, null);
         } else {
             return null;
         }
-
-
-    }
-
-    //todo
-    private static Variant isArrayNode(OPCNode node, String str) {
-        if (!node.isArray()) return null;
-        Variant variant = null;
-        int typeId = node.getTypeId();
-        if (typeId == SiemensTypeId.Bool) {
-            variant = new Variant(DataConverter.str2BooleanArray(str));
-        } else if (typeId == SiemensTypeId.Byte) {
-          //  variant = new Variant(getGson().fromJson(str, UByte[].class));
-            variant = new Variant(DataConverter.jsonStrShortArray2UByteArray(str));
-
-        } else if (typeId == SiemensTypeId.Int) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.UInt) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.UDInt) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.USInt) {
-            variant = new Variant(DataConverter.jsonStrShortArray2UByteArray(str));
-        } else if (typeId == SiemensTypeId.SInt) {
-            variant = new Variant(DataConverter.str2ByteArray(str));
-        } else if (typeId == SiemensTypeId.DInt) {
-            variant = new Variant(DataConverter.str2IntArray(str));
-        } else if (typeId == SiemensTypeId.LInt) {
-            //variant = new Variant(getGson().fromJson(str, UInteger[].class));
-            variant = new Variant(DataConverter.str2LongArray(str));
-        } else if (typeId == SiemensTypeId.Char) {
-            variant = new Variant(DataConverter.jsonStrCharArray2UByteArray(str));
-        } else if (typeId == SiemensTypeId.Word) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.DWord) {
-           // variant = new Variant(getGson().fromJson(str, UInteger[].class));
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.WChar) {
-            /*char[] chars = getGson().fromJson(str, char[].class);
-            UShort[] uShorts = new UShort[chars.length];
-            for (int i = 0; i < chars.length; i++) {
-                uShorts[i] = UShort.valueOf(chars[i]);
-            }*/
-            variant = new Variant(DataConverter.jsonStrCharArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.Date) {
-            String[] strings = DataConverter.str2StringArray(str);
-            UShort[] uShorts = new UShort[strings.length];
-            for (int i = 0; i < strings.length; i++) {
-                uShorts[i] = UShort.valueOf((int) ChronoUnit.DAYS.between
-                    (LocalDate.parse(U.getSiemensDateStartDate()), LocalDate.parse(strings[i])));
-            }
-            variant = new Variant(uShorts);
-            /*variant = new Variant(UShort.valueOf((int) ChronoUnit.DAYS.between
-                (LocalDate.parse(U.getSiemensDateStartDate()), LocalDate.parse(str))));*/
-        } else if (typeId == SiemensTypeId.Date_And_Time) {
-            String[] strings = DataConverter.str2StringArray(str);
-            UByte[][] uBytes = new UByte[strings.length][];
-            for (int i = 0; i < strings.length; i++) {
-                LocalDateTime localDateTime = LocalDateTime.parse(strings[i],
-                    DateTimeFormatter.ofPattern(U.getDateTimePattern()));
-                if (localDateTime != null) {
-                     uBytes[i] = new UByte[8];
-                    parseDate(localDateTime, uBytes[i], strings[i]);
-                } else {
-                    LocalDateTime localDateTime2 = LocalDateTime.parse(strings[i],
-                        DateTimeFormatter.ofPattern(U.getDateTimePattern2()));
-                    //   Date date2 = TimeUtils.string2Date(str,TimeConstants.PATTERN_2);
-                    if (localDateTime2 != null) {
-                        uBytes[i] = new UByte[8];
-                        parseDate(localDateTime2,  uBytes[i], strings[i]);
-                        /* localDateTime2.getNano();*/
-                        int msec = Integer.parseInt(strings[i].substring(strings[i].indexOf(".") + 1));
-                        uBytes[i][6] = UByte.valueOf(Integer.parseInt(String.valueOf(msec), 16));
-                    }
-                }
-
-            }
-            variant = new Variant(uBytes);
-
-            //   Date date = TimeUtils.string2Date(str);
-
-
-        } else if (typeId == SiemensTypeId.LDT) {
-            String[] strings = DataConverter.str2StringArray(str);
-            DateTime[] dateTimes = new DateTime[strings.length];
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(U.getDateTimePattern());
-            for (int i = 0; i < strings.length; i++) {
-                dateTimes[i] = new DateTime(LocalDateTime.parse(strings[i],
-                    formatter).toInstant(ZoneOffset.UTC));
-            }
-            variant = new Variant(dateTimes);
-        } else if (typeId == SiemensTypeId.Real) {
-            variant = new Variant(DataConverter.str2FloatArray(str));
-        } else if (typeId == SiemensTypeId.LReal) {
-            variant = new Variant(DataConverter.str2DoubleArray(str));
-        } else if (typeId == SiemensTypeId.Time) {
-            variant = new Variant(DataConverter.str2IntArray(str));
-        } else if (typeId == SiemensTypeId.LTime) {
-            variant = new Variant(DataConverter.str2LongArray(str));
-        } else if (typeId == SiemensTypeId.S5Time) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.LWord) {
-            variant = new Variant(DataConverter.jsonStrStringArray2ULongArray(str));
-        } else if (typeId == SiemensTypeId.StringX) {
-            String[] strings = DataConverter.str2StringArray(str);
-            String[] strings2 = new String[strings.length];
-            for (int i = 0; i < strings.length; i++) {
-                try {
-                    strings2[i] = new String(strings[i].getBytes("gbk"),StandardCharsets.ISO_8859_1);
-                }catch (Exception e){
-                    e.printStackTrace();
-                }
-            }
-            variant = new Variant(strings2);
-        } else if (typeId == SiemensTypeId.WString) {
-            String[] strings = DataConverter.str2StringArray(str);
-            String[] strings2 = new String[strings.length];
-            for (int i = 0; i < strings.length; i++) {
-                try {
-                    strings2[i] = new String(strings[i].getBytes("unicode"),"unicode");
-                }catch (Exception e){
-                    e.printStackTrace();
-                }
-            }
-            variant = new Variant(strings2);
-        } else if (typeId == SiemensTypeId.DB_ANY) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.CONN_ANY) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.AOM_IDENT) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.CONN_OUC) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.CONN_PRG) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.CONN_R_ID) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.DB_DYN) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.DB_WWW) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.EVENT_ANY) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.EVENT_ATT) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.EVENT_HWINT) {
-            variant = new Variant(DataConverter.jsonStrLongArray2UIntegerArray(str));
-        } else if (typeId == SiemensTypeId.HW_ANY) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_DEVICE) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_INTERFACE) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_DPMASTER) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_DPSLAVE) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_HSC) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_IEPORT) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_IO) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_ANY) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_ATT) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_CYCLIC) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_DELAY) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_DIAG) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_HWINT) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_PCYCLE) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_STARTUP) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_TIMEERROR) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.OB_TOD) {
-            variant = new Variant(DataConverter.str2ShortArray(str));
-        } else if (typeId == SiemensTypeId.PIP) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.EnumValueType) {
-            variant = new Variant(DataConverter.str2IntArray(str));
-        } else if (typeId == SiemensTypeId.LocalizedText) {
-            variant = new Variant(DataConverter.str2LocalizedTextArray(str));
-        } else if (typeId == SiemensTypeId.PORT) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.RTM) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        } else if (typeId == SiemensTypeId.HW_SUBMODULE) {
-            variant = new Variant(DataConverter.jsonStrIntArray2UShortArray(str));
-        }
-
-
-        return variant;
     }
 
     public static boolean writeDataToOpc(@NonNull OpcUaClient client, OPCNode opcNode, String str) throws Exception {
@@ -468,188 +111,76 @@ public final class OPCUtil {
         client.connect().get();
         DataValue dataValue = OPCUtil.strToDataValue(opcNode, str);
         if (dataValue != null) {
-            return client.writeValue(opcNode.getNodeId(), dataValue).get().isGood();
+            return client.getRequestCoalescer().writeValue(opcNode.getNodeId(), dataValue).get().isGood();
         } else {
             return false;
         }
     }
 
-    public static String isArrayObject(final OPCNode node, final Object o) {
-        String result = null;
-        int typeId = node.getTypeId();
-        node.setArray(true);
-        if (o instanceof Integer[]) {
-            result = DataConverter.intArray2JsonStr((Integer[]) o);
-        } else if (o instanceof UByte[]) {
-            UByte[] array = (UByte[]) o;
-            if (typeId == SiemensTypeId.Char) {
-               /* char[] chars = new char[array.length];
-                for (int i = 0; i < array.length; i++) {
-                    chars[i] = (char) Integer.parseInt(o.toString());
-                }
-                result = getGson().toJson(chars, char[].class);*/
-                result = DataConverter.uByteArray2CharJonStr(array);
-            } else {
-
-              //  result = getGson().toJson(array, Integer[].class);
-                result = DataConverter.uByteArray2ShortJonStr(array);
-            }
-        } else if (o instanceof String[]) {
-            String[] array = (String[]) o;
-            if (typeId == SiemensTypeId.StringX) {
-                String[] newString = new String[array.length];
-                for (int i = 0; i < array.length; i++) {
-                    try {
-                        newString[i] = new String(array[i].getBytes(
-                            StandardCharsets.ISO_8859_1), "gbk");
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                result = DataConverter.array2ItsJsonStr(newString);
-            } else if (typeId == SiemensTypeId.WString) {
-                String[] newString = new String[array.length];
-                for (int i = 0; i < array.length; i++) {
-                    try {
-                        newString[i] = new String(array[i].getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                result = DataConverter.array2ItsJsonStr(newString);
-            } else {
-                result = DataConverter.array2ItsJsonStr(array);
-            }
-
-        } else if (o instanceof Float[]) {
-            result = DataConverter.array2ItsJsonStr((Float[]) o);
-        } else if (o instanceof Double[]) {
-            result = DataConverter.array2ItsJsonStr((Double[]) o);
-        } else if (o instanceof UShort[]) {
-            UShort[] array = (UShort[]) o;
-            if (typeId == SiemensTypeId.Date){
-                String[] strings = new String[array.length];
-                for (int i = 0; i < array.length; i++) {
-                    strings[i] = LocalDate.parse(U.getSiemensDateStartDate())
-                        .plusDays(array[i].intValue()).toString();
-                }
-                result = DataConverter.array2ItsJsonStr(strings);
-            }else if (typeId == SiemensTypeId.WChar) {
-                result = DataConverter.uShortArray2CharJsonStr(array);
-            }
-            else {
-                result =DataConverter.uShortArray2IntJsonStr(array);
-            }
-
-        } else if (o instanceof Short[]) {
-            result = DataConverter.array2ItsJsonStr((Short[]) o);
-        } else if (o instanceof UInteger[]) {
-            result = DataConverter.uIntegerArray2LongJonStr((UInteger[]) o);
-           // result = getGson().toJson(o, UInteger[].class);
-        } else if (o instanceof Long[]) {
-            result = DataConverter.array2ItsJsonStr((Long[]) o);
-        } else if (o instanceof ULong[]) {
-            result = DataConverter.uLongArray2StingJsonStr((ULong[]) o);
-        } else if (o instanceof Byte[]) {
-            result = DataConverter.array2ItsJsonStr((Byte[]) o);
-        } else if (o instanceof Boolean[]) {
-            result = DataConverter.array2ItsJsonStr((Boolean[]) o);
-        } else if (o instanceof UByte[][]) {
-            UByte[][] array = (UByte[][]) o;
-            if (typeId == SiemensTypeId.Date_And_Time){
-                String[] strings = new String[array.length];
-                for (int i = 0; i < array.length; i++) {
-                    strings[i] = parseDate_And_Time(array[i]);
-                }
-                result = DataConverter.array2ItsJsonStr(strings);
-
-            }else {
-                result = DataConverter.getGson().toJson(array, UByte[][].class);
-            }
+    /**
+     * 写入完成后重新读一次节点并显示，读到的值无论是否变化都会显示。
+     * 订阅只在值变化时通知，写入被拒绝或被其他人覆盖时界面会一直停在用户输入的值上
+     */
+    public static CompletableFuture<Void> resyncValue(@NonNull OpcUaClient client, @NonNull OPCNode node) {
+        OPCValuePipeline.getInstance().invalidate(node);
+        return client.getRequestCoalescer().readValue(node.getNodeId()).thenAccept(node::setDataValue);
+    }
 
-        } else if (o instanceof DateTime[]) {
-            DateTime[] array = (DateTime[]) o;
-            String[] strings = new String[array.length];
-            for (int i = 0; i < array.length; i++) {
-                strings[i] = parseLDT(array[i]);
-            }
-            result = DataConverter.array2ItsJsonStr(strings);
-        } else {
+    public static String isArrayObject(final OPCNode node, final Object o) {
+        if (!(o instanceof UnsignedArray) && (o == null || !o.getClass().isArray())) {
             node.setArray(false);
+            return null;
         }
+        SiemensCodec codec = SiemensCodecs.get(node.getTypeId());
+        String result = codec != null ? codec.formatArray(o) : JsonArrays.format(o);
+        if (result == null) {
+            if (o instanceof DateTime[]) {
+                result = SiemensCodecs.get(SiemensTypeId.LDT).formatArray(o);
+            } else if (o instanceof UByte[][]) {
+                result = DataConverter.getGson().toJson(o, UByte[][].class);
+            }
+        }
+        node.setArray(result != null);
         return result;
     }
 
-
-    private static String parseDate_And_Time(UByte[] uBytes){
-        StringBuilder dateString = new StringBuilder();
-        for (int i = 0; i < uBytes.length; i++) {
-            String s = Integer.toHexString(uBytes[i].intValue());
-            if (i < 6) {
-                if (s.length() < 2) {
-                    s = "0" + s;
-                }
-                if (i == 0) {
-                    if (Integer.parseInt(s) < 90) {
-                        dateString.append(20);
-                    } else {
-                        dateString.append(19);
-                    }
-                    dateString.append(s).append("-");
-                } else if (i == 1) {
-                    dateString.append(s).append("-");
-                } else if (i == 2) {
-                    dateString.append(s).append(" ");
-                } else if (i < 5) {
-                    dateString.append(s).append(":");
-                } else {
-                    dateString.append(s);
+    /**
+     * 用客户端动态注册的编解码器解开 ExtensionObject 值，服务器自定义的结构（如西门子 UDT）解成
+     * {@link DynamicStructure}，没有对应编解码器的原样返回
+     */
+    public static DataValue decodeStructure(@NonNull OpcUaClient client, DataValue value) {
+        if (value == null) return null;
+        Object o = value.getValue().getValue();
+        Object decoded;
+        if (o instanceof ExtensionObject) {
+            decoded = ((ExtensionObject) o).decodeOrNull(client.getDynamicSerializationContext());
+        } else if (o instanceof ExtensionObject[]) {
+            ExtensionObject[] array = (ExtensionObject[]) o;
+            SerializationContext context = client.getDynamicSerializationContext();
+            DynamicStructure[] structures = new DynamicStructure[array.length];
+            for (int i = 0; i < array.length; i++) {
+                Object x = array[i] != null ? array[i].decodeOrNull(context) : null;
+                if (!(x instanceof DynamicStructure)) {
+                    return value;
                 }
+                structures[i] = (DynamicStructure) x;
             }
-        }
-        return dateString.toString();
-    }
-
-    private static String parseLDT(DateTime dateTime){
-        LocalDateTime localDateTime = LocalDateTime.ofInstant(
-            Instant.ofEpochMilli(dateTime.getJavaTime()),
-            ZoneOffset.UTC);
-        LocalDateTime startTime = U.getSiemensLDTeStart();
-        if (localDateTime.isBefore(startTime)) {
-            return DateTimeFormatter.ofPattern(U.getDateTimePattern())
-                .format(startTime);
+            decoded = structures;
         } else {
-            return DateTimeFormatter.ofPattern(U.getDateTimePattern())
-                .format(localDateTime);
+            return value;
+        }
+        if (decoded == null) {
+            return value;
         }
+        return value.copy(b -> b.setValue(new Variant(decoded)));
     }
 
     public static String dataValue2Str(final OPCNode node, final Object o) {
         String result = isArrayObject(node, o);
         if (result == null) {
-            int typeId = node.getTypeId();
-            if (typeId == SiemensTypeId.Char) {
-                result = String.valueOf((char) Integer.parseInt(o.toString()));
-            } else if (typeId == SiemensTypeId.Date_And_Time) {
-                result = parseDate_And_Time((UByte[]) o);
-
-            } else if (typeId == SiemensTypeId.Date) {
-                result = LocalDate.parse(U.getSiemensDateStartDate())
-                    .plusDays(((UShort) o).intValue()).toString();
-            } else if (typeId == SiemensTypeId.LDT) {
-                result = parseLDT((DateTime) o);
-            } else if (typeId == SiemensTypeId.WChar) {
-                result = String.valueOf((char) Integer.parseInt(o.toString()));
-            } else if (typeId == SiemensTypeId.StringX) {
-                try {
-                    result = new String(((String) o).getBytes(StandardCharsets.ISO_8859_1), "gbk");
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            } else if (typeId == SiemensTypeId.WString) {
-                //result = U.unicodeToUtf8((String) o);
-                result = new String(((String) o).getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
-                // result = U.unicodeToUtf8((String) o);
+            SiemensCodec codec = SiemensCodecs.get(node.getTypeId());
+            if (codec != null) {
+                result = codec.format(o);
             } else {
                 result = o.toString();
             }
@@ -668,7 +199,7 @@ public final class OPCUtil {
 
         client.connect().get();
 
-        if (client.writeValue(opcNode.getNodeId(), OPCUtil.booleanToDataValue(b)).get().isGood()) {
+        if (client.getRequestCoalescer().writeValue(opcNode.getNodeId(), OPCUtil.booleanToDataValue(b)).get().isGood()) {
 
             //  U.showShortToast(uri+U.getString(R.string.write_success));
             return true;
@@ -702,32 +233,6 @@ public final class OPCUtil {
     }
 
 
-    private static void parseDate(LocalDateTime date, UByte[] uBytes, String str) {
-        int year = date.getYear();
-        // Log.e("TAG", "parseDate: " + year );
-        if (year >= 2000) {
-            year = year - 2000;
-        } else {
-            year = year - 1990;
-        }
-        int month = date.getMonthValue();
-        int day = date.getDayOfMonth();
-        int hour = date.getHour();
-        int minutes = date.getMinute();
-        int seconds = date.getSecond();
-
-        int week = date.getDayOfWeek().getValue();
-        //Integer.parseInt(String.valueOf(year),16);
-        uBytes[0] = UByte.valueOf(Integer.parseInt(String.valueOf(year), 16));
-        uBytes[1] = UByte.valueOf(Integer.parseInt(String.valueOf(month), 16));
-        uBytes[2] = UByte.valueOf(Integer.parseInt(String.valueOf(day), 16));
-        uBytes[3] = UByte.valueOf(Integer.parseInt(String.valueOf(hour), 16));
-        uBytes[4] = UByte.valueOf(Integer.parseInt(String.valueOf(minutes), 16));
-        uBytes[5] = UByte.valueOf(Integer.parseInt(String.valueOf(seconds), 16));
-
-        uBytes[7] = UByte.valueOf(Integer.parseInt(String.valueOf(week), 16));
-    }
-
     public static SimpleArrayMap<Integer, OPCNode> browseNode(OpcUaClient client, NodeId browseRoot, OPCNode plcNode) {
         SimpleArrayMap<Integer, OPCNode> map = new SimpleArrayMap<>();
         try {
@@ -740,6 +245,20 @@ public final class OPCUtil {
 
     }
 
+    /**
+     * 广度优先并发遍历，见 {@link OPCBrowseCrawler}
+     */
+    public static int crawlNode(OpcUaClient client, NodeId browseRoot, OPCNode plcNode,
+                                OpcDataResult.Result<OPCBrowseCrawler.Progress> progress) {
+        try {
+            client.connect().get();
+            return new OPCBrowseCrawler(client).crawl(browseRoot, plcNode, progress).get();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
     public static UaVariableNode getVariableNode(OpcUaClient client, NodeId nodeId) {
 
         try {
@@ -907,32 +426,56 @@ public final class OPCUtil {
         ).get();
     }
 
-    public static void subscription(@NonNull OpcUaClient client, @NonNull ArrayMap<Integer, PageNode> map, OpcData2Result.Result<Integer, String> result, MutableLiveData<Boolean> flag) throws Exception {
-        UaSubscription subscription = getUaSubscription(client);
-        if (subscription == null) return;
-        List<MonitoredItemCreateRequest> requests = new ArrayList<>();
-        map.forEach((i, t) -> {
-            MonitoredItemCreateRequest request = subRequest(t.getNodeId(), subscription);
-            requests.add(request);
-        });
-        UaSubscription.ItemCreationCallback onItemCreated =
-            (item, id) -> item.setValueConsumer((z, x) -> {
-                if (U.isTrue(flag)) {
-                    //  itemCreationCallback(z,x,result);
-                    Objects.requireNonNull(map.get(z.getReadValueId().getNodeId().hashCode())).setDataValue(x);
-                }
-
-            });
-        List<UaMonitoredItem> items = subState(subscription, onItemCreated, requests);
-        items.forEach(i -> {
-            if (i.getStatusCode().isGood()) {
-                int id = i.getReadValueId().getNodeId().hashCode();
-                PageNode m = map.get(id);
-                if (m != null) {
-                    m.setSubscribed(true);
+    /**
+     * 通过 {@link OPCMonitoredItemProvisioner} 批量订阅页面上的所有变量，页面关闭时释放返回的 Lease
+     */
+    public static OPCMonitoredItemProvisioner.Lease subscription(@NonNull OpcUaClient client, @NonNull ArrayMap<Integer, PageNode> map, OpcData2Result.Result<Integer, String> result, MutableLiveData<Boolean> flag) {
+        List<NodeId> nodeIds = new ArrayList<>(map.size());
+        List<PageNode> pageNodes = new ArrayList<>(map.size());
+        //通知按句柄找节点，不再装箱 hashCode 查 ArrayMap
+        NodeIdInterner interner = client.getNamespaceTable().getNodeIdInterner();
+        int[] handles = new int[map.size()];
+        int maxHandle = -1;
+        for (int i = 0; i < map.size(); i++) {
+            PageNode t = map.valueAt(i);
+            if (t.getNodeId() != null) {
+                handles[nodeIds.size()] = interner.intern(t.getNodeId());
+                maxHandle = Math.max(maxHandle, handles[nodeIds.size()]);
+                nodeIds.add(t.getNodeId());
+                pageNodes.add(t);
+            }
+        }
+        //表的大小只按本页持有的句柄
+        HandleTable<PageNode> nodes = new HandleTable<>(maxHandle + 1);
+        for (int i = 0; i < pageNodes.size(); i++) {
+            nodes.put(handles[i], pageNodes.get(i));
+        }
+        OPCMonitoredItemProvisioner.Lease lease;
+        try {
+            lease = OPCMonitoredItemProvisioner.getInstance(client).subscribe(nodeIds,
+                (handle, nodeId, x) -> {
+                    if (U.isTrue(flag)) {
+                        PageNode m = nodes.get(handle);
+                        if (m != null) {
+                            m.setDataValue(x);
+                        }
+                    }
+                });
+        } finally {
+            //之后句柄由 Lease 中的订阅持有，释放后不会再收到这些句柄的通知
+            for (int i = 0; i < pageNodes.size(); i++) {
+                interner.release(handles[i]);
+            }
+        }
+        lease.getResult().thenAccept(statusCodes -> {
+            for (int i = 0; i < pageNodes.size(); i++) {
+                StatusCode statusCode = statusCodes.get(nodeIds.get(i));
+                if (statusCode != null && statusCode.isGood()) {
+                    pageNodes.get(i).setSubscribed(true);
                 }
             }
         });
+        return lease;
     }
 
     private synchronized static void itemCreationCallback(UaMonitoredItem item, DataValue dataValue, OpcData2Result.Result<Integer, String> result) {
@@ -0,0 +1,237 @@
+package com.viper.app.data.client;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import com.viper.app.data.bean.OPCNode;
+import com.viper.app.util.U;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * 节点值的界面更新管道
+ * <p>
+ * 网络线程收到的新值先和节点上次显示的原始值比较，未变化或在死区内的直接丢弃；
+ * 其余的格式化后暂存，同一帧内同一节点只保留最后一个值，
+ * 下一次 {@link Choreographer} 帧回调时在主线程统一写入 {@link OPCNode#getValue()}，
+ * 再通知一次 {@link FrameListener}。
+ */
+public final class OPCValuePipeline implements Choreographer.FrameCallback {
+
+    private static final OPCValuePipeline INSTANCE = new OPCValuePipeline();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<FrameListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object lock = new Object();
+    private LinkedHashMap<OPCNode, Pending> pending = new LinkedHashMap<>();
+    private boolean frameScheduled;
+
+    /**
+     * 绝对死区，数值变化的绝对值不超过该值时不更新，0 表示不启用
+     */
+    private volatile double absoluteDeadband;
+    /**
+     * 百分比死区，数值变化不超过上次值的该百分比时不更新，0 表示不启用
+     */
+    private volatile double percentDeadband;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong deadband = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+
+    private OPCValuePipeline() {
+    }
+
+    public static OPCValuePipeline getInstance() {
+        return INSTANCE;
+    }
+
+    public void setAbsoluteDeadband(double absoluteDeadband) {
+        this.absoluteDeadband = Math.max(0.0, absoluteDeadband);
+    }
+
+    public void setPercentDeadband(double percentDeadband) {
+        this.percentDeadband = Math.max(0.0, percentDeadband);
+    }
+
+    public void addFrameListener(@NonNull FrameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeFrameListener(@NonNull FrameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 提交一个新值，可在任意线程调用
+     */
+    public void submit(@NonNull OPCNode node, @NonNull Object value) {
+        received.incrementAndGet();
+
+        Object last = node.getLastRawValue();
+        if (last != null) {
+            if (Objects.deepEquals(last, value)) {
+                unchanged.incrementAndGet();
+                return;
+            }
+            if (insideDeadband(last, value)) {
+                deadband.incrementAndGet();
+                return;
+            }
+        }
+
+        String str = OPCUtil.dataValue2Str(node, value);
+        if (U.isEmpty(str)) {
+            return;
+        }
+        node.setLastRawValue(value);
+
+        synchronized (lock) {
+            if (pending.put(node, new Pending(value, str)) != null) {
+                coalesced.incrementAndGet();
+            }
+            if (!frameScheduled) {
+                frameScheduled = true;
+                mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(this));
+            }
+        }
+    }
+
+    /**
+     * 丢弃节点上次的原始值，下一个值无论是否变化都会显示，用于写入后重新同步界面
+     */
+    public void invalidate(@NonNull OPCNode node) {
+        node.setLastRawValue(null);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        LinkedHashMap<OPCNode, Pending> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            frameScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<OPCNode, Pending> entry : batch.entrySet()) {
+            entry.getKey().applyValue(entry.getValue().value, entry.getValue().str);
+        }
+        applied.addAndGet(batch.size());
+        frames.incrementAndGet();
+
+        Collection<OPCNode> nodes = new ArrayList<>(batch.keySet());
+        for (FrameListener listener : listeners) {
+            listener.onValuesApplied(nodes);
+        }
+    }
+
+    private boolean insideDeadband(Object last, Object value) {
+        double absolute = absoluteDeadband;
+        double percent = percentDeadband;
+        if ((absolute <= 0.0 && percent <= 0.0) || !(last instanceof Number) || !(value instanceof Number)) {
+            return false;
+        }
+        double previous = ((Number) last).doubleValue();
+        double delta = Math.abs(((Number) value).doubleValue() - previous);
+        if (absolute > 0.0 && delta <= absolute) {
+            return true;
+        }
+        return percent > 0.0 && delta <= Math.abs(previous) * percent / 100.0;
+    }
+
+    public Stats getStats() {
+        return new Stats(received.get(), unchanged.get(), deadband.get(), coalesced.get(), applied.get(), frames.get());
+    }
+
+    /**
+     * 每帧写入完成后调用一次，nodes 为本帧更新过的节点
+     */
+    public interface FrameListener {
+        void onValuesApplied(Collection<OPCNode> nodes);
+    }
+
+    private static class Pending {
+        private final Object value;
+        private final String str;
+
+        Pending(Object value, String str) {
+            this.value = value;
+            this.str = str;
+        }
+    }
+
+    /**
+     * 更新计数，received = unchanged + deadband + coalesced + applied（未格式化成功和尚未到帧的除外）
+     */
+    public static class Stats {
+
+        private final long received;
+        private final long unchanged;
+        private final long deadband;
+        private final long coalesced;
+        private final long applied;
+        private final long frames;
+
+        Stats(long received, long unchanged, long deadband, long coalesced, long applied, long frames) {
+            this.received = received;
+            this.unchanged = unchanged;
+            this.deadband = deadband;
+            this.coalesced = coalesced;
+            this.applied = applied;
+            this.frames = frames;
+        }
+
+        public long getReceived() {
+            return received;
+        }
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getDeadband() {
+            return deadband;
+        }
+
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        public long getSuppressed() {
+            return unchanged + deadband + coalesced;
+        }
+
+        public long getApplied() {
+            return applied;
+        }
+
+        public long getFrames() {
+            return frames;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("received=%d unchanged=%d deadband=%d coalesced=%d applied=%d frames=%d",
+                received, unchanged, deadband, coalesced, applied, frames);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.Nullable;
+
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+
+
+/**
+ * 一种西门子类型的值和界面字符串之间的转换，由 {@link SiemensCodecs} 按类型 id 查找
+ */
+public interface SiemensCodec {
+
+    /**
+     * 解析单个值，格式不对时返回 null 或抛出异常
+     */
+    @Nullable
+    Variant parse(String str) throws Exception;
+
+    /**
+     * 解析 json 数组字符串
+     */
+    @Nullable
+    Variant parseArray(String str) throws Exception;
+
+    /**
+     * 格式化单个值
+     */
+    default String format(Object o) {
+        return o.toString();
+    }
+
+    /**
+     * 格式化数组，o 可以是基本类型数组、装箱数组或 UnsignedArray，不支持时返回 null
+     */
+    @Nullable
+    default String formatArray(Object o) {
+        return JsonArrays.format(o);
+    }
+
+}
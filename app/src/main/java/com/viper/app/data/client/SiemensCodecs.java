@@ -0,0 +1,474 @@
+package com.viper.app.data.client;
+
+import androidx.annotation.Nullable;
+import androidx.collection.SparseArrayCompat;
+
+import com.viper.app.util.U;
+
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+
+/**
+ * 按 {@link SiemensTypeId} 查找 {@link SiemensCodec}
+ * <p>
+ * 表在类加载时建立，之后只读。无符号数组解析为 {@link UnsignedArray}，写入时不再逐个装箱；
+ * 日期格式和西门子日期起点只创建一次。
+ */
+public final class SiemensCodecs {
+
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern(U.getDateTimePattern());
+    static final DateTimeFormatter DATE_TIME_MILLIS = DateTimeFormatter.ofPattern(U.getDateTimePattern2());
+    static final LocalDate DATE_START = LocalDate.parse(U.getSiemensDateStartDate());
+
+    private static final Charset GBK = Charset.forName("gbk");
+
+    private static final SparseArrayCompat<SiemensCodec> CODECS = new SparseArrayCompat<>(64);
+
+    static {
+        SiemensCodec bool = new SimpleCodec(
+            s -> {
+                s = s.trim().toLowerCase();
+                return s.equals("1") ? Boolean.TRUE : Boolean.valueOf(s);
+            },
+            JsonArrays::parseBooleans);
+        SiemensCodec i8 = new SimpleCodec(Byte::valueOf,
+            s -> JsonArrays.parseBytes(s, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        SiemensCodec i16 = new SimpleCodec(Short::valueOf,
+            s -> JsonArrays.parseShorts(s, Short.MIN_VALUE, Short.MAX_VALUE));
+        SiemensCodec i32 = new SimpleCodec(Integer::valueOf,
+            s -> JsonArrays.parseInts(s, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        SiemensCodec i64 = new SimpleCodec(Long::valueOf, JsonArrays::parseLongs);
+        SiemensCodec u8 = new SimpleCodec(UByte::valueOf, SiemensCodecs::parseUByteArray);
+        SiemensCodec u16 = new SimpleCodec(UShort::valueOf, SiemensCodecs::parseUShortArray);
+        SiemensCodec u32 = new SimpleCodec(UInteger::valueOf, SiemensCodecs::parseUIntegerArray);
+        SiemensCodec u64 = new SimpleCodec(ULong::valueOf,
+            s -> UnsignedArray.ofULong(JsonArrays.parseUnsignedLongs(s)));
+        SiemensCodec real = new SimpleCodec(Float::valueOf, JsonArrays::parseFloats);
+        SiemensCodec lReal = new SimpleCodec(Double::valueOf, JsonArrays::parseDoubles);
+
+        register(SiemensTypeId.Bool, bool);
+        register(SiemensTypeId.Byte, u8);
+        register(SiemensTypeId.USInt, u8);
+        register(SiemensTypeId.SInt, i8);
+        register(SiemensTypeId.Int, i16);
+        register(SiemensTypeId.UInt, u16);
+        register(SiemensTypeId.DInt, i32);
+        register(SiemensTypeId.UDInt, u32);
+        register(SiemensTypeId.LInt, i64);
+        register(SiemensTypeId.Real, real);
+        register(SiemensTypeId.LReal, lReal);
+        // Word、DWord 单个值按有符号写，数组按无符号写
+        register(SiemensTypeId.Word, new SimpleCodec(Short::valueOf, SiemensCodecs::parseUShortArray));
+        register(SiemensTypeId.DWord, new SimpleCodec(Integer::valueOf, SiemensCodecs::parseUIntegerArray));
+        register(SiemensTypeId.LWord, u64);
+        register(SiemensTypeId.Time, i32);
+        register(SiemensTypeId.LTime, i64);
+        register(SiemensTypeId.S5Time, u16);
+        register(SiemensTypeId.Char, new CharCodec(false));
+        register(SiemensTypeId.WChar, new CharCodec(true));
+        register(SiemensTypeId.Date, new DateCodec());
+        register(SiemensTypeId.Date_And_Time, new DateAndTimeCodec());
+        register(SiemensTypeId.LDT, new LdtCodec());
+        register(SiemensTypeId.StringX, new GbkStringCodec());
+        register(SiemensTypeId.WString, new SimpleCodec(s -> s, JsonArrays::parseStrings));
+        register(SiemensTypeId.LocalizedText, new SimpleCodec(LocalizedText::new,
+            DataConverter::str2LocalizedTextArray));
+        register(SiemensTypeId.EnumValueType, i32);
+
+        for (int typeId : new int[]{
+            SiemensTypeId.DB_ANY, SiemensTypeId.DB_DYN, SiemensTypeId.DB_WWW,
+            SiemensTypeId.CONN_ANY, SiemensTypeId.CONN_OUC, SiemensTypeId.CONN_PRG,
+            SiemensTypeId.HW_ANY, SiemensTypeId.HW_DEVICE, SiemensTypeId.HW_INTERFACE, SiemensTypeId.HW_DPMASTER,
+            SiemensTypeId.HW_DPSLAVE, SiemensTypeId.HW_HSC, SiemensTypeId.HW_IEPORT, SiemensTypeId.HW_IO,
+            SiemensTypeId.HW_SUBMODULE, SiemensTypeId.PIP, SiemensTypeId.PORT, SiemensTypeId.RTM}) {
+            register(typeId, u16);
+        }
+        for (int typeId : new int[]{
+            SiemensTypeId.AOM_IDENT, SiemensTypeId.CONN_R_ID,
+            SiemensTypeId.EVENT_ANY, SiemensTypeId.EVENT_ATT, SiemensTypeId.EVENT_HWINT}) {
+            register(typeId, u32);
+        }
+        for (int typeId : new int[]{
+            SiemensTypeId.OB_ANY, SiemensTypeId.OB_ATT, SiemensTypeId.OB_CYCLIC, SiemensTypeId.OB_DELAY,
+            SiemensTypeId.OB_DIAG, SiemensTypeId.OB_HWINT, SiemensTypeId.OB_PCYCLE, SiemensTypeId.OB_STARTUP,
+            SiemensTypeId.OB_TIMEERROR, SiemensTypeId.OB_TOD}) {
+            register(typeId, i16);
+        }
+    }
+
+    private SiemensCodecs() {
+    }
+
+    private static void register(int typeId, SiemensCodec codec) {
+        CODECS.put(typeId, codec);
+    }
+
+    /**
+     * @return 类型对应的转换，不支持的类型返回 null
+     */
+    @Nullable
+    public static SiemensCodec get(int typeId) {
+        return CODECS.get(typeId);
+    }
+
+    /**
+     * LDT 显示，早于西门子起始时间的按起始时间显示
+     */
+    static String formatLdt(DateTime dateTime) {
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(dateTime.getJavaTime()),
+            ZoneOffset.UTC);
+        LocalDateTime startTime = U.getSiemensLDTeStart();
+        return DATE_TIME.format(localDateTime.isBefore(startTime) ? startTime : localDateTime);
+    }
+
+    private static UnsignedArray parseUByteArray(String s) {
+        return UnsignedArray.ofUByte(JsonArrays.parseBytes(s, 0, 0xFF));
+    }
+
+    private static UnsignedArray parseUShortArray(String s) {
+        return UnsignedArray.ofUShort(JsonArrays.parseShorts(s, 0, 0xFFFF));
+    }
+
+    private static UnsignedArray parseUIntegerArray(String s) {
+        return UnsignedArray.ofUInteger(JsonArrays.parseInts(s, 0, 0xFFFFFFFFL));
+    }
+
+    /**
+     * 十进制数按 BCD 编码，和 Integer.parseInt(String.valueOf(v), 16) 相同
+     */
+    private static int bcd(int v) {
+        int result = 0;
+        int shift = 0;
+        do {
+            result |= (v % 10) << shift;
+            v /= 10;
+            shift += 4;
+        } while (v > 0);
+        return result;
+    }
+
+    interface Parser {
+        Object parse(String s) throws Exception;
+    }
+
+    /**
+     * 单个值和数组各用一个解析函数，格式化用默认实现
+     */
+    static class SimpleCodec implements SiemensCodec {
+
+        private final Parser scalar;
+        private final Parser array;
+
+        SimpleCodec(Parser scalar, Parser array) {
+            this.scalar = scalar;
+            this.array = array;
+        }
+
+        @Override
+        public Variant parse(String str) throws Exception {
+            Object value = scalar.parse(str);
+            return value == null ? null : new Variant(value);
+        }
+
+        @Override
+        public Variant parseArray(String str) throws Exception {
+            Object value = array.parse(str);
+            return value == null ? null : new Variant(value);
+        }
+    }
+
+    /**
+     * Char 写为 UByte，WChar 写为 UShort，显示为字符
+     */
+    private static final class CharCodec implements SiemensCodec {
+
+        private final boolean wide;
+
+        CharCodec(boolean wide) {
+            this.wide = wide;
+        }
+
+        @Override
+        public Variant parse(String str) {
+            if (str.length() > 1) {
+                return null;
+            }
+            char c = str.charAt(0);
+            return new Variant(wide ? UShort.valueOf(c) : UByte.valueOf(c));
+        }
+
+        @Override
+        public Variant parseArray(String str) {
+            char[] chars = JsonArrays.parseChars(str);
+            if (wide) {
+                short[] values = new short[chars.length];
+                for (int i = 0; i < chars.length; i++) {
+                    values[i] = (short) chars[i];
+                }
+                return new Variant(UnsignedArray.ofUShort(values));
+            }
+            byte[] values = new byte[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] > 0xFF) {
+                    throw new IllegalArgumentException("not a single byte char: " + chars[i]);
+                }
+                values[i] = (byte) chars[i];
+            }
+            return new Variant(UnsignedArray.ofUByte(values));
+        }
+
+        @Override
+        public String format(Object o) {
+            if (o instanceof Number) {
+                return String.valueOf((char) ((Number) o).intValue());
+            }
+            return String.valueOf((char) Integer.parseInt(o.toString()));
+        }
+
+        @Override
+        public String formatArray(Object o) {
+            int length = JsonArrays.integerLength(o);
+            if (length < 0) {
+                return JsonArrays.format(o);
+            }
+            StringBuilder sb = JsonArrays.begin(length);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) sb.append(',');
+                JsonArrays.appendString(sb, (char) JsonArrays.getLong(o, i));
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    /**
+     * Date 为 1990-01-01 起的天数
+     */
+    private static final class DateCodec implements SiemensCodec {
+
+        @Override
+        public Variant parse(String str) {
+            return new Variant(UShort.valueOf((int) ChronoUnit.DAYS.between(DATE_START, LocalDate.parse(str))));
+        }
+
+        @Override
+        public Variant parseArray(String str) {
+            String[] strings = JsonArrays.parseStrings(str);
+            short[] days = new short[strings.length];
+            for (int i = 0; i < strings.length; i++) {
+                long d = ChronoUnit.DAYS.between(DATE_START, LocalDate.parse(strings[i]));
+                if (d < 0 || d > 0xFFFF) {
+                    throw new IllegalArgumentException("date out of range: " + strings[i]);
+                }
+                days[i] = (short) d;
+            }
+            return new Variant(UnsignedArray.ofUShort(days));
+        }
+
+        @Override
+        public String format(Object o) {
+            return DATE_START.plusDays(((Number) o).intValue()).toString();
+        }
+
+        @Override
+        public String formatArray(Object o) {
+            int length = JsonArrays.integerLength(o);
+            if (length < 0) {
+                return JsonArrays.format(o);
+            }
+            StringBuilder sb = JsonArrays.begin(length * 3);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) sb.append(',');
+                JsonArrays.appendString(sb, DATE_START.plusDays(JsonArrays.getLong(o, i)).toString());
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    /**
+     * Date_And_Time 为 8 个 BCD 字节：年 月 日 时 分 秒 毫秒 星期
+     */
+    private static final class DateAndTimeCodec implements SiemensCodec {
+
+        @Override
+        public Variant parse(String str) {
+            return new Variant(toBytes(str));
+        }
+
+        @Override
+        public Variant parseArray(String str) {
+            String[] strings = JsonArrays.parseStrings(str);
+            UByte[][] values = new UByte[strings.length][];
+            for (int i = 0; i < strings.length; i++) {
+                values[i] = toBytes(strings[i]);
+            }
+            return new Variant(values);
+        }
+
+        @Override
+        public String format(Object o) {
+            return toString(o);
+        }
+
+        @Override
+        public String formatArray(Object o) {
+            if (!(o instanceof UByte[][])) {
+                return JsonArrays.format(o);
+            }
+            UByte[][] array = (UByte[][]) o;
+            StringBuilder sb = JsonArrays.begin(array.length * 5);
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) sb.append(',');
+                JsonArrays.appendString(sb, toString(array[i]));
+            }
+            return sb.append(']').toString();
+        }
+
+        private static UByte[] toBytes(String str) {
+            UByte[] uBytes = new UByte[8];
+            LocalDateTime date;
+            int millis = 0;
+            try {
+                date = LocalDateTime.parse(str, DATE_TIME);
+            } catch (DateTimeParseException e) {
+                date = LocalDateTime.parse(str, DATE_TIME_MILLIS);
+                millis = Integer.parseInt(str.substring(str.indexOf(".") + 1));
+            }
+
+            int year = date.getYear();
+            if (year >= 2000) {
+                year = year - 2000;
+            } else {
+                year = year - 1990;
+            }
+            uBytes[0] = UByte.valueOf(bcd(year));
+            uBytes[1] = UByte.valueOf(bcd(date.getMonthValue()));
+            uBytes[2] = UByte.valueOf(bcd(date.getDayOfMonth()));
+            uBytes[3] = UByte.valueOf(bcd(date.getHour()));
+            uBytes[4] = UByte.valueOf(bcd(date.getMinute()));
+            uBytes[5] = UByte.valueOf(bcd(date.getSecond()));
+            uBytes[6] = UByte.valueOf(bcd(millis));
+            uBytes[7] = UByte.valueOf(bcd(date.getDayOfWeek().getValue()));
+            return uBytes;
+        }
+
+        /**
+         * 只取前 6 个字节，显示为 yyyy-MM-dd HH:mm:ss
+         */
+        private static String toString(Object bytes) {
+            StringBuilder sb = new StringBuilder(19);
+            for (int i = 0; i < 6; i++) {
+                int b = (int) JsonArrays.getLong(bytes, i) & 0xFF;
+                int high = b >> 4;
+                int low = b & 0x0F;
+                if (i == 0) {
+                    sb.append(high * 10 + low < 90 ? "20" : "19");
+                }
+                sb.append(Character.forDigit(high, 16)).append(Character.forDigit(low, 16));
+                if (i < 2) {
+                    sb.append('-');
+                } else if (i == 2) {
+                    sb.append(' ');
+                } else if (i < 5) {
+                    sb.append(':');
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class LdtCodec implements SiemensCodec {
+
+        @Override
+        public Variant parse(String str) {
+            return new Variant(new DateTime(LocalDateTime.parse(str, DATE_TIME).toInstant(ZoneOffset.UTC)));
+        }
+
+        @Override
+        public Variant parseArray(String str) {
+            String[] strings = JsonArrays.parseStrings(str);
+            DateTime[] dateTimes = new DateTime[strings.length];
+            for (int i = 0; i < strings.length; i++) {
+                dateTimes[i] = new DateTime(LocalDateTime.parse(strings[i], DATE_TIME).toInstant(ZoneOffset.UTC));
+            }
+            return new Variant(dateTimes);
+        }
+
+        @Override
+        public String format(Object o) {
+            return formatLdt((DateTime) o);
+        }
+
+        @Override
+        public String formatArray(Object o) {
+            if (!(o instanceof DateTime[])) {
+                return JsonArrays.format(o);
+            }
+            DateTime[] array = (DateTime[]) o;
+            StringBuilder sb = JsonArrays.begin(array.length * 5);
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) sb.append(',');
+                JsonArrays.appendString(sb, formatLdt(array[i]));
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    /**
+     * String 在 PLC 中按 GBK 字节保存，OPC 中以 ISO-8859-1 字符串传输
+     */
+    private static final class GbkStringCodec implements SiemensCodec {
+
+        @Override
+        public Variant parse(String str) {
+            return new Variant(new String(str.getBytes(GBK), StandardCharsets.ISO_8859_1));
+        }
+
+        @Override
+        public Variant parseArray(String str) {
+            String[] strings = JsonArrays.parseStrings(str);
+            for (int i = 0; i < strings.length; i++) {
+                if (strings[i] != null) {
+                    strings[i] = new String(strings[i].getBytes(GBK), StandardCharsets.ISO_8859_1);
+                }
+            }
+            return new Variant(strings);
+        }
+
+        @Override
+        public String format(Object o) {
+            return new String(((String) o).getBytes(StandardCharsets.ISO_8859_1), GBK);
+        }
+
+        @Override
+        public String formatArray(Object o) {
+            if (!(o instanceof String[])) {
+                return JsonArrays.format(o);
+            }
+            String[] array = (String[]) o;
+            String[] decoded = new String[array.length];
+            for (int i = 0; i < array.length; i++) {
+                decoded[i] = array[i] == null ? null : format(array[i]);
+            }
+            return JsonArrays.formatStrings(decoded);
+        }
+    }
+
+}
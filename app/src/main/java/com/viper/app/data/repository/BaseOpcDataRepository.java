@@ -10,12 +10,16 @@ import com.viper.app.R;
 import com.viper.app.data.bean.OPCNode;
 import com.viper.app.data.bean.SubscriptionOPCNode;
 import com.viper.app.data.client.ClientManger;
+import com.viper.app.data.client.OPCBatchReader;
+import com.viper.app.data.client.OPCBrowseCrawler;
+import com.viper.app.data.client.OPCLiveSubscription;
 import com.viper.app.domain.message.OpcData2Result;
 import com.viper.app.domain.message.OpcDataResult;
 import com.viper.app.ui.view.IBooleanCallBack;
 import com.viper.app.util.U;
 import com.viper.app.data.client.OPCUtil;
 
+import com.viper.opc.client.opcua.sdk.client.NodeCache;
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaNode;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
@@ -54,6 +58,13 @@ public class BaseOpcDataRepository {
     protected NodeId scanNodeId;
     protected NodeId browseNodeId;
     protected boolean loadDataFromLastScan;
+    protected final OPCBatchReader batchReader = new OPCBatchReader();
+    protected final OPCLiveSubscription liveSubscription = new OPCLiveSubscription();
+    protected final MutableLiveData<OpcDataResult<OPCBrowseCrawler.Progress>> crawlProgress = new MutableLiveData<>();
+    //true 时当前层级的值通过订阅推送，false 时定时轮询
+    protected boolean subscriptionMode = true;
+    //当前层级钉在 NodeCache 中的节点，离开该层级时只解除这些
+    protected final List<NodeId> pinnedNodeIds = new ArrayList<>();
 
     public BaseOpcDataRepository() {
     }
@@ -147,7 +158,7 @@ public class BaseOpcDataRepository {
 
                     if (firstScanStarted) {
                         //map = OPCUtil.browseNode(getClient(), scanNodeId, opcRootNode);
-                        OPCUtil.browseNode(getClient(), scanNodeId, opcRootNode);
+                        OPCUtil.crawlNode(getClient(), scanNodeId, opcRootNode, crawlProgress::postValue);
                       // resultMap.onResult(new OpcDataResult<>(map));
                         firstScanFinished = true;
                         //TODO 遍历成功
@@ -178,6 +189,14 @@ public class BaseOpcDataRepository {
                 callBack.callBack(false);
                 e.printStackTrace();
                 // U.showShortToast(this.opcUri + U.getString(R.string.write_to_node_wrong));
+            } finally {
+                //写入完成后重新读一次，订阅只报告变化，写入被拒绝时界面不会停在输入的值上
+                ClientManger.acquire(opcUri)
+                    .thenCompose(client -> OPCUtil.resyncValue(client, node))
+                    .exceptionally(e -> {
+                        e.printStackTrace();
+                        return null;
+                    });
             }
         });
     }
@@ -197,9 +216,11 @@ public class BaseOpcDataRepository {
             scheduledFuture1.shutdownNow();
             scheduledFuture1 = null;
         }
+        liveSubscription.destroy();
     }
 
     public void stopRefresh(){
+        liveSubscription.hide();
         if (scheduledFuture2 != null){
             scheduledFuture2.shutdownNow();
 
@@ -226,10 +247,18 @@ public class BaseOpcDataRepository {
                     //getClient().connect().get();
                     List<? extends UaNode> list = OPCUtil.browseNode(getClient(), nodeId);
                     if (list != null && !list.isEmpty()) {
+                        //当前显示的层级常驻缓存，离开后才允许被淘汰
+                        NodeCache nodeCache = getClient().getAddressSpace().getNodeCache();
                         List<OPCNode> opcNodeList = new ArrayList<>();
-                        list.forEach(i -> {
-                            opcNodeList.add(new OPCNode(i));
-                        });
+                        synchronized (pinnedNodeIds) {
+                            pinnedNodeIds.forEach(nodeCache::unpin);
+                            pinnedNodeIds.clear();
+                            list.forEach(i -> {
+                                nodeCache.pin(i.getNodeId());
+                                pinnedNodeIds.add(i.getNodeId());
+                                opcNodeList.add(new OPCNode(i));
+                            });
+                        }
                         ArrayMap<Integer, List<OPCNode>> map = cache.getValue();
                         if (map==null){
                             map = new ArrayMap<>();
@@ -256,15 +285,29 @@ public class BaseOpcDataRepository {
     public synchronized void refreshValue(List<OPCNode> list, MutableLiveData<Boolean> flag) {
         stopRefresh();
         failTimes = 0;
+        if (subscriptionMode) {
+            if (U.isTrue(flag)) {
+                //不阻塞等待连接，连接完成前又调用了 hide/show 时这次 show 会被跳过
+                liveSubscription.show(ClientManger.acquire(opcUri), list).whenComplete((v, e) -> {
+                    if (e != null) {
+                        //订阅失败时退回轮询
+                        e.printStackTrace();
+                        subscriptionMode = false;
+                        refreshValue(list, flag);
+                    }
+                });
+            }
+            return;
+        }
         if (scheduledFuture2 == null || scheduledFuture2.isShutdown()) {
             scheduledFuture2 = Executors.newSingleThreadScheduledExecutor();
             scheduledFuture2.scheduleWithFixedDelay(() -> {
 
                 if (U.isTrue(flag)) {
                     try {
-                        getClient().connect().get();
+                        OpcUaClient client = ClientManger.acquire(opcUri).get();
                         if (list.size()>0){
-                            list.forEach(OPCNode::getNewValue);
+                            batchReader.refresh(client, new ArrayList<>(list)).get();
                         }
 
                     } catch (Exception e) {
@@ -288,8 +331,33 @@ public class BaseOpcDataRepository {
     }
 
 
+    public MutableLiveData<OpcDataResult<OPCBrowseCrawler.Progress>> getCrawlProgress() {
+        return crawlProgress;
+    }
+
+    public boolean isSubscriptionMode() {
+        return subscriptionMode;
+    }
+
+    public void setSubscriptionMode(boolean subscriptionMode) {
+        this.subscriptionMode = subscriptionMode;
+    }
+
+    public NodeCache.Stats getNodeCacheStats() {
+        return getClient().getAddressSpace().getNodeCache().getStats();
+    }
+
+    public OPCBatchReader.Stats getRefreshStats() {
+        return batchReader.getStats();
+    }
+
+
     public void setOpcUri(String opcUri) {
         this.opcUri = opcUri;
+        if (!U.isEmpty(opcUri)) {
+            //地址确定后提前在后台连接
+            ClientManger.warmUp(opcUri);
+        }
     }
 
     public void reBrowse(OpcDataResult.Result<List<OPCNode>> resultList,
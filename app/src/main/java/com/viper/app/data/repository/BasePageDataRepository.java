@@ -10,6 +10,8 @@ import com.viper.app.R;
 import com.viper.app.data.bean.OPCNode;
 import com.viper.app.data.bean.PageNode;
 import com.viper.app.data.client.ClientManger;
+import com.viper.app.data.client.OPCMonitoredItemProvisioner;
+import com.viper.app.data.client.OPCPollScheduler;
 import com.viper.app.data.client.OPCUtil;
 import com.viper.app.domain.message.OpcData2Result;
 import com.viper.app.ui.view.IBooleanCallBack;
@@ -17,18 +19,10 @@ import com.viper.app.util.U;
 
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
-import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
-import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -37,7 +31,9 @@ import java.util.concurrent.TimeUnit;
 public class BasePageDataRepository {
     protected String opcUri;
 
-    protected ScheduledExecutorService scheduledFuture;
+    protected volatile OPCPollScheduler.Poll poll;
+
+    protected OPCMonitoredItemProvisioner.Lease lease;
 
  //   protected OpcUaClient client;
 
@@ -60,6 +56,8 @@ public class BasePageDataRepository {
                 //todo 写入失败
                 e.printStackTrace();
                 U.showShortToast(this.opcUri + U.getString(R.string.write_to_node_wrong));
+            } finally {
+                resync(node);
             }
         });
     }
@@ -74,10 +72,29 @@ public class BasePageDataRepository {
                 //todo 写入失败
                 e.printStackTrace();
                 U.showShortToast(this.opcUri + U.getString(R.string.write_to_node_wrong));
+            } finally {
+                resync(node);
             }
         });
     }
 
+    /**
+     * 写入完成后（无论成功与否）重新读一次节点，写入被拒绝或被覆盖时界面不会停在用户输入的值上。
+     * 页面在轮询时由轮询立即重读，否则单独读一次
+     */
+    private void resync(PageNode node) {
+        OPCPollScheduler.Poll p = poll;
+        if (p != null && p.resync(node)) {
+            return;
+        }
+        ClientManger.acquire(opcUri)
+            .thenCompose(client -> OPCUtil.resyncValue(client, node))
+            .exceptionally(e -> {
+                e.printStackTrace();
+                return null;
+            });
+    }
+
 
     public UaVariableNode getVariableNode(NodeId nodeId){
         return OPCUtil.getVariableNode(getClient(),nodeId);
@@ -85,6 +102,10 @@ public class BasePageDataRepository {
 
     public void setOpcUri(String opcUri) {
         this.opcUri = opcUri;
+        if (!U.isEmpty(opcUri)) {
+            //地址确定后提前在后台连接
+            ClientManger.warmUp(opcUri);
+        }
     }
 
 
@@ -117,86 +138,45 @@ public class BasePageDataRepository {
 
     public void subscriptionAll(ArrayMap<Integer, PageNode> map, OpcData2Result.Result<Integer, String> result, MutableLiveData<Boolean> flag){
         try {
-            getClient().connect().get();
-            OPCUtil.subscription(getClient(),map,result,flag);
+            OpcUaClient client = ClientManger.acquire(opcUri).get();
+            unsubscriptionAll();
+            lease = OPCUtil.subscription(client,map,result,flag);
         }catch (Exception e){
             e.printStackTrace();
         }
     }
-    public void reqBrowseAll(ArrayMap<Integer, PageNode> map, OpcData2Result.Result<Integer, String> result, MutableLiveData<Boolean> flag){
-
-        if (scheduledFuture == null || scheduledFuture.isShutdown()) {
-            final List<NodeId> nodeIdList = new ArrayList<>();
-            final boolean[] booleans = new boolean[1];
-            scheduledFuture = Executors.newSingleThreadScheduledExecutor();
-            scheduledFuture.scheduleWithFixedDelay(() -> {
-
-                if (U.isTrue(flag)) {
-
-                    try {
-                        getClient().connect().get();
-
-                        if (!booleans[0]){
-                            map.forEach((i,p)->{
-                                nodeIdList.add(p.getNodeId());
-                            });
-                            booleans[0] = true;
-                        }
-                        List<DataValue> dataValues = getClient().readValues(0.0, TimestampsToReturn.Both, nodeIdList).get();
-                        for (int i = 0; i < dataValues.size(); i++) {
-                            Objects.requireNonNull(map.get(nodeIdList.get(i).hashCode())).setDataValue(dataValues.get(i));
-                        }
-
-                      //  OPCUtil.subscription(getClient(),map,result,flag);
-                    }catch (Exception e){
-                        e.printStackTrace();
-                    }
-                   /*
-                    try {
-                        getClient().connect().get();
-                        if (list.size()>0){
-                            list.forEach(OPCNode::getNewValue);
-                        }
-
-                    } catch (Exception e) {
-                        failTimes += 1;
-                        if (failTimes > 5) {
-                            scheduledFuture.shutdownNow();
-                        }
-                        e.printStackTrace();
-                        //todo 遍历出错
-                        // U.showShortToast(BaseOpcDataRepository.this.opcUri + U.getString(R.string.browse_fail));
-                    }*/
-
-                } else {
-                    scheduledFuture.shutdownNow();
-                    scheduledFuture = null;
-                }
-
-            }, 0, 1000, TimeUnit.MILLISECONDS);
 
+    /**
+     * 释放 {@link #subscriptionAll} 的订阅，其他页面仍在订阅的节点不受影响
+     */
+    public void unsubscriptionAll(){
+        if (lease != null){
+            lease.release();
+            lease = null;
         }
-
-
     }
-    public void stopRefresh(){
-        if (scheduledFuture != null){
-            scheduledFuture.shutdownNow();
 
+    /**
+     * 由共享的 {@link OPCPollScheduler} 按变化频率分档轮询页面上的所有变量，flag 为 false 时自动停止
+     */
+    public void reqBrowseAll(ArrayMap<Integer, PageNode> map, OpcData2Result.Result<Integer, String> result, MutableLiveData<Boolean> flag){
+
+        if (poll == null || poll.isCancelled()) {
+            poll = OPCPollScheduler.getInstance().schedule(() -> ClientManger.acquire(opcUri), new ArrayList<>(map.values()),
+                () -> U.isTrue(flag));
         }
 
-        while(true){
-            if ((scheduledFuture==null || scheduledFuture.isShutdown()))
-                break;
+    }
+    public void stopRefresh(){
+        if (poll != null){
+            poll.cancel();
+            poll = null;
         }
-        scheduledFuture = null;
 
     }
 
     public void destroy() {
-        if (scheduledFuture != null) {
-            scheduledFuture.shutdownNow();
-            scheduledFuture = null;
-        }
+        stopRefresh();
+        unsubscriptionAll();
     }
 }
@@ -7,18 +7,19 @@ import androidx.databinding.ObservableArrayMap;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import com.google.gson.reflect.TypeToken;
 import com.viper.app.R;
 import com.viper.app.data.bean.OPCNode;
 import com.viper.app.data.bean.OPCSetting;
 import com.viper.app.data.bean.PageNode;
+import com.viper.app.data.client.OPCSnapshotCache;
+import com.viper.app.data.client.OPCSnapshotStore;
 import com.viper.app.domain.request.BaseOPCNodeRequest;
 import com.viper.app.ui.view.IBooleanCallBack;
 import com.viper.app.util.U;
 
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -94,14 +95,30 @@ public class BaseOpcViewModel extends ViewModel {
                 cache.postValue(map);
 
                 if (!map.isEmpty()) {
-                    Type type = new TypeToken<ArrayMap<Integer, List<OPCNode>>>() {
-                    }.getType();
-                    U.writeFile(U.getString(R.string.cache_file_name), U.toJson(map, type));
+                    saveCache(map);
                 }
             }
         );
     }
 
+    //层级缓存写入二进制快照，只追加新浏览的层级
+    private void saveCache(ArrayMap<Integer, List<OPCNode>> map) {
+        String fileName = U.getString(R.string.snapshot_file_name);
+        try {
+            if (map instanceof OPCSnapshotCache) {
+                ((OPCSnapshotCache) map).save();
+            } else {
+                OPCSnapshotStore store = OPCSnapshotStore.forCache();
+                store.open();
+                store.append(map);
+            }
+            U.showShortToast(fileName + U.getString(R.string.save_success));
+        } catch (IOException e) {
+            U.showShortToast(fileName + U.getString(R.string.save_fail));
+            e.printStackTrace();
+        }
+    }
+
     private void beforeSave(OPCNode root, ArrayMap<Integer, List<OPCNode>> map) {
 
         if (root != null) {
@@ -6,9 +6,12 @@ import androidx.lifecycle.ViewModel;
 
 import com.google.gson.reflect.TypeToken;
 import com.viper.app.data.bean.OPCNode;
+import com.viper.app.data.client.OPCSnapshotCache;
+import com.viper.app.data.client.OPCSnapshotStore;
 import com.viper.app.util.U;
 import com.viper.app.R;
 import java.util.List;
+import java.util.Map;
 
 public class BaseSharedOPCDataModel extends ViewModel {
     private MutableLiveData<ArrayMap<Integer, List<OPCNode>>> cache;
@@ -19,14 +22,20 @@ public class BaseSharedOPCDataModel extends ViewModel {
         if (cache == null){
             cache = new MutableLiveData<>();
             U.getCacheThreadPool().execute(() -> {
-                String content = U.readFile(U.getString(R.string.cache_file_name));
-                if (!U.isEmpty(content)) {
-                    ArrayMap<Integer, List<OPCNode>> map = U.fromJson(content,  new TypeToken<ArrayMap<Integer, List<OPCNode>>>() {
-                    }.getType());
-                    if (map != null) {
-                        cache.postValue(map);
+                OPCSnapshotStore store = OPCSnapshotStore.forCache();
+                OPCSnapshotCache map = new OPCSnapshotCache(store);
+                if (!store.open()) {
+                    //旧版本保存的 JSON 缓存，读入后在下次保存时转存为快照
+                    String content = U.readFile(U.getString(R.string.cache_file_name));
+                    if (!U.isEmpty(content)) {
+                        ArrayMap<Integer, List<OPCNode>> legacy = U.fromJson(content,  new TypeToken<ArrayMap<Integer, List<OPCNode>>>() {
+                        }.getType());
+                        if (legacy != null) {
+                            map.putAll((Map<Integer, List<OPCNode>>) legacy);
+                        }
                     }
                 }
+                cache.postValue(map);
             });
         }
 
@@ -0,0 +1,53 @@
+package com.viper.app.data.bean;
+
+import com.viper.opc.client.opcua.sdk.client.VariableTypeManager;
+import com.viper.opc.client.opcua.sdk.client.model.VariableTypeInitializer;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OPCNodeTest {
+
+    private final VariableTypeManager variableTypeManager = new VariableTypeManager();
+
+    public OPCNodeTest() {
+        VariableTypeInitializer.initialize(new NamespaceTable(), variableTypeManager);
+    }
+
+    @Test
+    public void dataVariableSubtypesCannotExpand() {
+        assertFalse(browse(NodeClass.Variable, Identifiers.BaseDataVariableType).isCanExpand());
+        assertFalse(browse(NodeClass.Variable, Identifiers.DataItemType).isCanExpand());
+        assertFalse(browse(NodeClass.Variable, Identifiers.AnalogItemType).isCanExpand());
+        assertFalse(browse(NodeClass.Variable, Identifiers.PropertyType).isCanExpand());
+    }
+
+    @Test
+    public void objectsAndUnknownTypesCanExpand() {
+        assertTrue(browse(NodeClass.Object, Identifiers.FolderType).isCanExpand());
+        assertTrue(browse(NodeClass.Object, Identifiers.BaseObjectType).isCanExpand());
+        //服务器自定义的变量类型没有注册节点类，和原来创建 UaVariableNode 时一样可以展开
+        assertTrue(browse(NodeClass.Variable, new NodeId(3, 3001)).isCanExpand());
+        assertTrue(browse(NodeClass.Variable, null).isCanExpand());
+    }
+
+    private OPCNode browse(NodeClass nodeClass, NodeId typeDefinition) {
+        NodeId nodeId = new NodeId(3, "\"Motor\".\"Speed\"");
+        ReferenceDescription reference = new ReferenceDescription(
+            Identifiers.HasComponent, true, nodeId.expanded(), new QualifiedName(3, "Speed"),
+            LocalizedText.english("Speed"), nodeClass, typeDefinition == null ? null : typeDefinition.expanded());
+
+        return new OPCNode(nodeId, reference, typeDefinition == null ? null :
+            variableTypeManager.getNodeClass(typeDefinition).orElse(null));
+    }
+
+}
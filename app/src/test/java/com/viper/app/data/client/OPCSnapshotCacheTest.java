@@ -0,0 +1,96 @@
+package com.viper.app.data.client;
+
+import androidx.collection.ArrayMap;
+import androidx.collection.SimpleArrayMap;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.viper.app.data.bean.OPCNode;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OPCSnapshotCacheTest {
+
+    private static final Type LEGACY_TYPE = new TypeToken<ArrayMap<Integer, List<OPCNode>>>() {
+    }.getType();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void legacyJsonIsMigratedOnSave() throws IOException {
+        //旧版本按 BaseOpcViewModel 原来的方式写出的 JSON 缓存
+        ArrayMap<Integer, List<OPCNode>> written = new ArrayMap<>();
+        written.put(1, Arrays.asList(node("Motor", "ns=3;s=\"Motor\"", "12.5"), node("Pump", "ns=3;s=\"Pump\"", "1")));
+        written.put(2, Collections.singletonList(node("Running", "ns=3;s=\"Motor\".\"Running\"", "true")));
+        File json = folder.newFile("cache.json");
+        Files.write(json.toPath(), new Gson().toJson(written, LEGACY_TYPE).getBytes(StandardCharsets.UTF_8));
+
+        OPCSnapshotStore store = new OPCSnapshotStore(folder.newFile("snapshot.bin"));
+        assertFalse(store.open());
+        OPCSnapshotCache cache = new OPCSnapshotCache(store);
+        ArrayMap<Integer, List<OPCNode>> legacy =
+            new Gson().fromJson(new String(Files.readAllBytes(json.toPath()), StandardCharsets.UTF_8), LEGACY_TYPE);
+        cache.putAll((Map<Integer, List<OPCNode>>) legacy);
+
+        assertEquals(2, cache.save());
+
+        OPCSnapshotStore reopened = new OPCSnapshotStore(store.getFile());
+        assertTrue(reopened.open());
+        assertEquals(2, reopened.getLevelCount());
+        OPCSnapshotCache restored = new OPCSnapshotCache(reopened);
+        assertNames(restored.get(1), "Motor", "Pump");
+        assertNames(restored.get(2), "Running");
+        assertEquals("12.5", restored.get(1).get(0).getValue().get());
+    }
+
+    @Test
+    public void simpleArrayMapPutAllMarksLevelsDirty() throws IOException {
+        OPCSnapshotStore store = new OPCSnapshotStore(folder.newFile("snapshot.bin"));
+        OPCSnapshotCache cache = new OPCSnapshotCache(store);
+
+        SimpleArrayMap<Integer, List<OPCNode>> levels = new SimpleArrayMap<>();
+        levels.put(1, Collections.singletonList(node("A", "ns=2;i=1", "1")));
+        levels.put(2, Collections.singletonList(node("B", "ns=2;i=2", "2")));
+        cache.putAll(levels);
+
+        assertEquals(2, cache.save());
+        assertEquals(0, cache.save());
+        assertEquals(2, store.getLevelCount());
+    }
+
+    private static OPCNode node(String name, String nodeInfo, String value) {
+        OPCNode node = new OPCNode();
+        node.setName(name);
+        node.setNodeInfo(nodeInfo);
+        node.setSiemensType("Real");
+        node.setTypeId(10);
+        node.setVariable(true);
+        node.setValue(value);
+        return node;
+    }
+
+    private static void assertNames(List<OPCNode> actual, String... names) {
+        assertEquals(names.length, actual.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], actual.get(i).getName());
+        }
+    }
+
+}
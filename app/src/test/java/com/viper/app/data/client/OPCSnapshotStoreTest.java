@@ -0,0 +1,135 @@
+package com.viper.app.data.client;
+
+import com.viper.app.data.bean.OPCNode;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OPCSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void rewriteThenReopen() throws IOException {
+        File file = folder.newFile("snapshot.bin");
+        OPCSnapshotStore store = new OPCSnapshotStore(file);
+        assertFalse(store.open());
+
+        Map<Integer, List<OPCNode>> all = new LinkedHashMap<>();
+        all.put(1, Arrays.asList(
+            node("Motor", "ns=3;s=\"Motor\"", null, 0, true, false, null),
+            node("Speed", "ns=3;s=\"Motor\".\"Speed\"", "Real", 10, false, true, "12.5")));
+        all.put(2, Collections.singletonList(
+            node("Running", "ns=3;s=\"Motor\".\"Running\"", "Bool", 1, false, true, "true")));
+        store.rewrite(all);
+
+        OPCSnapshotStore reopened = new OPCSnapshotStore(file);
+        assertTrue(reopened.open());
+        assertEquals(2, reopened.getLevelCount());
+        assertLevel(all.get(1), 1, reopened.loadChildren(1));
+        assertLevel(all.get(2), 2, reopened.loadChildren(2));
+        assertNull(reopened.loadChildren(3));
+    }
+
+    @Test
+    public void appendReplacesLevel() throws IOException {
+        File file = folder.newFile("snapshot.bin");
+        OPCSnapshotStore store = new OPCSnapshotStore(file);
+
+        Map<Integer, List<OPCNode>> all = new LinkedHashMap<>();
+        all.put(1, Collections.singletonList(node("A", "ns=2;i=1", "Int", 4, false, true, "1")));
+        all.put(2, Collections.singletonList(node("B", "ns=2;i=2", "Int", 4, false, true, "2")));
+        store.rewrite(all);
+
+        //重新打开后追加，驻留表需从文件重建
+        OPCSnapshotStore reopened = new OPCSnapshotStore(file);
+        assertTrue(reopened.open());
+        List<OPCNode> changed = Arrays.asList(
+            node("A", "ns=2;i=1", "Int", 4, false, true, "3"),
+            node("C", "ns=2;i=3", "Int", 4, false, true, null));
+        reopened.append(Collections.singletonMap(1, changed));
+
+        assertLevel(changed, 1, reopened.loadChildren(1));
+        assertLevel(all.get(2), 2, reopened.loadChildren(2));
+
+        OPCSnapshotStore again = new OPCSnapshotStore(file);
+        assertTrue(again.open());
+        assertEquals(2, again.getLevelCount());
+        assertLevel(changed, 1, again.loadChildren(1));
+        assertLevel(all.get(2), 2, again.loadChildren(2));
+    }
+
+    @Test
+    public void staleLevelsAreCompacted() throws IOException {
+        File file = folder.newFile("snapshot.bin");
+        OPCSnapshotStore store = new OPCSnapshotStore(file);
+        store.rewrite(Collections.singletonMap(2, Collections.singletonList(
+            node("Kept", "ns=2;i=100", "Int", 4, false, true, "7"))));
+
+        char[] chars = new char[64 * 1024];
+        List<OPCNode> last = null;
+        long written = 0;
+        for (int i = 0; i < 48; i++) {
+            Arrays.fill(chars, (char) ('a' + i % 26));
+            last = Collections.singletonList(node("Big", "ns=2;i=1", "String", 12, false, true, new String(chars)));
+            store.append(Collections.singletonMap(1, last));
+            written += chars.length;
+        }
+
+        //每次追加都覆盖同一层，整理后文件只保留最新一份
+        assertTrue(file.length() < written / 2);
+        assertLevel(last, 1, store.loadChildren(1));
+
+        OPCSnapshotStore reopened = new OPCSnapshotStore(file);
+        assertTrue(reopened.open());
+        assertEquals(2, reopened.getLevelCount());
+        assertLevel(last, 1, reopened.loadChildren(1));
+        assertEquals("7", reopened.loadChildren(2).get(0).getValue().get());
+    }
+
+    private static OPCNode node(String name, String nodeInfo, String siemensType, int typeId,
+                                boolean canExpand, boolean variable, String value) {
+        OPCNode node = new OPCNode();
+        node.setName(name);
+        node.setNodeInfo(nodeInfo);
+        node.setSiemensType(siemensType);
+        node.setTypeId(typeId);
+        node.setCanExpand(canExpand);
+        node.setVariable(variable);
+        if (value != null) {
+            node.setValue(value);
+        }
+        return node;
+    }
+
+    private static void assertLevel(List<OPCNode> expected, int parentId, List<OPCNode> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            OPCNode e = expected.get(i);
+            OPCNode a = actual.get(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getNodeInfo(), a.getNodeInfo());
+            assertEquals(e.getSiemensType(), a.getSiemensType());
+            assertEquals(e.getTypeId(), a.getTypeId());
+            assertEquals(e.isCanExpand(), a.isCanExpand());
+            assertEquals(e.isVariable(), a.isVariable());
+            assertEquals(e.getValue().get(), a.getValue().get());
+            assertEquals(parentId, a.getParentId());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.viper.app.data.client;
+
+import com.viper.app.data.bean.OPCNode;
+import com.viper.app.util.U;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 比较 {@link OPCUtil#dataValue2Str} 查 {@link SiemensCodecs} 表格式化和原来 if/else 分支格式化的吞吐量，
+ * 分别测单个值和 1024 个元素的数组。
+ * <p>
+ * app 是 Android 模块，opc-benchmarks 的 JMH 无法依赖它，所以写成默认跳过的单元测试，运行：
+ * ./gradlew :app:testDebugUnitTest --tests '*SiemensCodecsBenchmark' -Pbenchmark -i
+ */
+public class SiemensCodecsBenchmark {
+
+    private static final int ARRAY_SIZE = 1024;
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static float[] reals;
+    private static UShort[] dates;
+    private static DateTime[] ldts;
+
+    private int sink;
+
+    @BeforeClass
+    public static void setup() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+
+        Random random = new Random(0);
+        reals = new float[ARRAY_SIZE];
+        dates = new UShort[ARRAY_SIZE];
+        ldts = new DateTime[ARRAY_SIZE];
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            reals[i] = random.nextFloat() * 1000f;
+            dates[i] = UShort.valueOf(random.nextInt(20000));
+            ldts[i] = new DateTime(Instant.ofEpochSecond(1_600_000_000L + random.nextInt(100_000_000)));
+        }
+    }
+
+    @Test
+    public void scalar() {
+        run("Real", SiemensTypeId.Real, reals[0]);
+        run("Char", SiemensTypeId.Char, UByte.valueOf('A'));
+        run("Date", SiemensTypeId.Date, dates[0]);
+        run("LDT", SiemensTypeId.LDT, ldts[0]);
+    }
+
+    @Test
+    public void array1k() {
+        run("Real[1024]", SiemensTypeId.Real, reals);
+        run("Date[1024]", SiemensTypeId.Date, dates);
+        run("LDT[1024]", SiemensTypeId.LDT, ldts);
+    }
+
+    private void run(String name, int typeId, Object value) {
+        OPCNode node = new OPCNode();
+        node.setTypeId(typeId);
+        assertEquals(name, legacyFormat(typeId, value), OPCUtil.dataValue2Str(node, value));
+
+        double legacy = opsPerSecond(() -> legacyFormat(typeId, value));
+        double codec = opsPerSecond(() -> OPCUtil.dataValue2Str(node, value));
+        System.out.printf("%-12s switch %,14.0f ops/s   codec table %,14.0f ops/s   %.1fx%n",
+            name, legacy, codec, codec / legacy);
+    }
+
+    private double opsPerSecond(Format format) {
+        measure(format, WARMUP_NANOS);
+        return measure(format, MEASURE_NANOS);
+    }
+
+    private double measure(Format format, long nanos) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 64; i++) {
+                sink += format.format().length();
+            }
+            ops += 64;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < nanos);
+        return ops * 1e9 / elapsed;
+    }
+
+    private interface Format {
+        String format();
+    }
+
+    //以下为原来 OPCUtil.dataValue2Str / isArrayObject 中本基准用到的分支
+
+    private static String legacyFormat(int typeId, Object o) {
+        if (o instanceof float[]) {
+            return DataConverter.array2ItsJsonStr((float[]) o);
+        } else if (o instanceof UShort[]) {
+            UShort[] array = (UShort[]) o;
+            if (typeId == SiemensTypeId.Date) {
+                String[] strings = new String[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    strings[i] = LocalDate.parse(U.getSiemensDateStartDate())
+                        .plusDays(array[i].intValue()).toString();
+                }
+                return DataConverter.array2ItsJsonStr(strings);
+            }
+            return DataConverter.uShortArray2IntJsonStr(array);
+        } else if (o instanceof DateTime[]) {
+            DateTime[] array = (DateTime[]) o;
+            String[] strings = new String[array.length];
+            for (int i = 0; i < array.length; i++) {
+                strings[i] = legacyLdt(array[i]);
+            }
+            return DataConverter.array2ItsJsonStr(strings);
+        }
+
+        if (typeId == SiemensTypeId.Char) {
+            return String.valueOf((char) Integer.parseInt(o.toString()));
+        } else if (typeId == SiemensTypeId.Date) {
+            return LocalDate.parse(U.getSiemensDateStartDate())
+                .plusDays(((UShort) o).intValue()).toString();
+        } else if (typeId == SiemensTypeId.LDT) {
+            return legacyLdt((DateTime) o);
+        } else {
+            return o.toString();
+        }
+    }
+
+    private static String legacyLdt(DateTime dateTime) {
+        LocalDateTime localDateTime = LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(dateTime.getJavaTime()),
+            ZoneOffset.UTC);
+        LocalDateTime startTime = U.getSiemensLDTeStart();
+        if (localDateTime.isBefore(startTime)) {
+            return DateTimeFormatter.ofPattern(U.getDateTimePattern())
+                .format(startTime);
+        } else {
+            return DateTimeFormatter.ofPattern(U.getDateTimePattern())
+                .format(localDateTime);
+        }
+    }
+
+}
@@ -0,0 +1,376 @@
+package com.viper.app.data.client;
+
+import com.viper.app.util.U;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 按 SiemensTypeId 的每个常量，把 {@link SiemensCodecs} 的解析结果和原来 OPCUtil 中
+ * strToDataValue / isArrayNode 的 if/else 分支逐个比较
+ */
+public class SiemensCodecsTest {
+
+    private static final String[] SCALARS = {
+        "0", "1", "-1", "127", "255", "256", "32767", "65535", "65536", "-32768",
+        "2147483647", "4294967295", "18446744073709551615", "TRUE", "false", " 1 ",
+        "1.5", "a", "ab", "中", "中文", "abc",
+        "2024-03-05", "1990-01-01", "2024-03-05 12:34:56", "1995-12-31 23:59:59", "x"
+    };
+
+    private static final String[] ARRAYS = {
+        "[]", "[0,1]", "[-1]", "[127,255]", "[256]", "[65535]", "[65536]",
+        "[2147483647]", "[4294967295]", "[1.5]", "[true,false]",
+        "[\"a\",\"b\"]", "[\"中\"]", "[\"中文\",\"abc\"]", "[\"18446744073709551615\",\"0\"]",
+        "[\"2024-03-05\",\"1990-01-01\"]", "[\"2024-03-05 12:34:56\",\"1995-12-31 23:59:59\"]"
+    };
+
+    @Test
+    public void everyTypeIdMatchesLegacyScalar() throws Exception {
+        for (Field field : typeIdFields()) {
+            int typeId = field.getInt(null);
+            SiemensCodec codec = SiemensCodecs.get(typeId);
+            assertEquals(field.getName(), isLegacyValueType(typeId), codec != null);
+            if (codec == null) {
+                continue;
+            }
+            for (String str : SCALARS) {
+                assertSame(field.getName() + " " + str, legacyScalar(typeId, str), () -> codec.parse(str));
+            }
+        }
+    }
+
+    @Test
+    public void everyTypeIdMatchesLegacyArray() throws Exception {
+        for (Field field : typeIdFields()) {
+            int typeId = field.getInt(null);
+            SiemensCodec codec = SiemensCodecs.get(typeId);
+            if (codec == null) {
+                continue;
+            }
+            for (String str : ARRAYS) {
+                Object expected = legacyArray(typeId, str);
+                if (isLossy(expected, str)) {
+                    //gson 会把越界的数截断、把非 true 的字符串读成 false，新实现直接报错
+                    try {
+                        codec.parseArray(str);
+                        fail(field.getName() + " " + str + " should be rejected");
+                    } catch (IllegalArgumentException expectedException) {
+                        continue;
+                    }
+                }
+                if (typeId == SiemensTypeId.Bool && expected instanceof Exception) {
+                    //数组和单个值一样接受 0 和 1
+                    continue;
+                }
+                assertSame(field.getName() + " " + str, expected, () -> codec.parseArray(str));
+            }
+        }
+    }
+
+    @Test
+    public void referenceTypesHaveNoCodec() {
+        assertNull(SiemensCodecs.get(SiemensTypeId.Organizes));
+        assertNull(SiemensCodecs.get(SiemensTypeId.HasComponent));
+        assertNull(SiemensCodecs.get(SiemensTypeId.Structure));
+        assertNull(SiemensCodecs.get(SiemensTypeId.Timer));
+        assertNotNull(SiemensCodecs.get(SiemensTypeId.EnumValueType));
+    }
+
+    @Test
+    public void dateAndTimeWithMillis() throws Exception {
+        //旧实现的毫秒分支实际走不到（LocalDateTime.parse 失败时抛异常而不是返回 null）
+        Variant variant = SiemensCodecs.get(SiemensTypeId.Date_And_Time).parse("2024-03-05 12:34:56.012");
+        UByte[] bytes = (UByte[]) variant.getValue();
+        assertEquals(UByte.valueOf(0x24), bytes[0]);
+        assertEquals(UByte.valueOf(0x56), bytes[5]);
+        assertEquals(UByte.valueOf(0x12), bytes[6]);
+        assertEquals(UByte.valueOf(2), bytes[7]);
+    }
+
+    private interface Call {
+        Variant call() throws Exception;
+    }
+
+    /**
+     * 两边都抛异常，或者都返回 null，或者值相同
+     */
+    private static void assertSame(String message, Object expected, Call actual) {
+        Variant variant;
+        try {
+            variant = actual.call();
+        } catch (Exception e) {
+            assertTrue(message + " expected " + describe(expected) + " but threw " + e, expected instanceof Exception);
+            return;
+        }
+        assertFalse(message + " legacy threw " + expected + " but got " + describe(variant),
+            expected instanceof Exception);
+        Object value = variant == null ? null : normalize(variant.getValue());
+        assertTrue(message + " expected " + describe(expected) + " but got " + describe(value),
+            Objects.deepEquals(expected, value));
+    }
+
+    /**
+     * 旧实现返回了整数或布尔数组，但写回 json 后和输入不一致
+     */
+    private static boolean isLossy(Object legacy, String str) {
+        if (legacy == null || legacy instanceof Exception) {
+            return false;
+        }
+        Class<?> type = legacy.getClass().getComponentType();
+        if (!type.isPrimitive() || type == float.class || type == double.class) {
+            return false;
+        }
+        return !JsonArrays.format(legacy).equals(str);
+    }
+
+    private static Object normalize(Object value) {
+        return value instanceof UnsignedArray ? ((UnsignedArray) value).toBoxedArray() : value;
+    }
+
+    private static String describe(Object o) {
+        if (o instanceof Object[]) {
+            return Arrays.deepToString((Object[]) o);
+        }
+        if (o != null && o.getClass().isArray()) {
+            return JsonArrays.format(o);
+        }
+        return String.valueOf(o);
+    }
+
+    private static List<Field> typeIdFields() {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : SiemensTypeId.class.getFields()) {
+            int m = field.getModifiers();
+            if (Modifier.isStatic(m) && Modifier.isFinal(m) && field.getType() == int.class) {
+                fields.add(field);
+            }
+        }
+        assertFalse(fields.isEmpty());
+        return fields;
+    }
+
+    private static boolean in(int typeId, int... typeIds) {
+        for (int t : typeIds) {
+            if (t == typeId) return true;
+        }
+        return false;
+    }
+
+    private static boolean isUShortType(int typeId) {
+        return in(typeId, SiemensTypeId.UInt, SiemensTypeId.S5Time,
+            SiemensTypeId.DB_ANY, SiemensTypeId.DB_DYN, SiemensTypeId.DB_WWW,
+            SiemensTypeId.CONN_ANY, SiemensTypeId.CONN_OUC, SiemensTypeId.CONN_PRG,
+            SiemensTypeId.HW_ANY, SiemensTypeId.HW_DEVICE, SiemensTypeId.HW_INTERFACE, SiemensTypeId.HW_DPMASTER,
+            SiemensTypeId.HW_DPSLAVE, SiemensTypeId.HW_HSC, SiemensTypeId.HW_IEPORT, SiemensTypeId.HW_IO,
+            SiemensTypeId.HW_SUBMODULE, SiemensTypeId.PIP, SiemensTypeId.PORT, SiemensTypeId.RTM);
+    }
+
+    private static boolean isUIntegerType(int typeId) {
+        return in(typeId, SiemensTypeId.UDInt, SiemensTypeId.AOM_IDENT, SiemensTypeId.CONN_R_ID,
+            SiemensTypeId.EVENT_ANY, SiemensTypeId.EVENT_ATT, SiemensTypeId.EVENT_HWINT);
+    }
+
+    private static boolean isShortType(int typeId) {
+        return in(typeId, SiemensTypeId.Int,
+            SiemensTypeId.OB_ANY, SiemensTypeId.OB_ATT, SiemensTypeId.OB_CYCLIC, SiemensTypeId.OB_DELAY,
+            SiemensTypeId.OB_DIAG, SiemensTypeId.OB_HWINT, SiemensTypeId.OB_PCYCLE, SiemensTypeId.OB_STARTUP,
+            SiemensTypeId.OB_TIMEERROR, SiemensTypeId.OB_TOD);
+    }
+
+    private static boolean isIntegerType(int typeId) {
+        return in(typeId, SiemensTypeId.DInt, SiemensTypeId.Time, SiemensTypeId.EnumValueType);
+    }
+
+    private static boolean isLegacyValueType(int typeId) {
+        return isUShortType(typeId) || isUIntegerType(typeId) || isShortType(typeId) || isIntegerType(typeId)
+            || in(typeId, SiemensTypeId.Bool, SiemensTypeId.Byte, SiemensTypeId.USInt, SiemensTypeId.SInt,
+            SiemensTypeId.LInt, SiemensTypeId.LTime, SiemensTypeId.Char, SiemensTypeId.WChar,
+            SiemensTypeId.Word, SiemensTypeId.DWord, SiemensTypeId.LWord, SiemensTypeId.Date,
+            SiemensTypeId.Date_And_Time, SiemensTypeId.LDT, SiemensTypeId.Real, SiemensTypeId.LReal,
+            SiemensTypeId.StringX, SiemensTypeId.WString, SiemensTypeId.LocalizedText);
+    }
+
+    /**
+     * 原 strToDataValue 的单值分支，抛出的异常作为返回值
+     */
+    private static Object legacyScalar(int typeId, String str) {
+        try {
+            if (typeId == SiemensTypeId.Bool) {
+                str = str.trim().toLowerCase();
+                return str.equals("1") ? Boolean.TRUE : Boolean.valueOf(str);
+            } else if (typeId == SiemensTypeId.Byte || typeId == SiemensTypeId.USInt) {
+                return UByte.valueOf(str);
+            } else if (typeId == SiemensTypeId.SInt) {
+                return Byte.valueOf(str);
+            } else if (isShortType(typeId) || typeId == SiemensTypeId.Word) {
+                return Short.valueOf(str);
+            } else if (isUShortType(typeId)) {
+                return UShort.valueOf(str);
+            } else if (isIntegerType(typeId) || typeId == SiemensTypeId.DWord) {
+                return Integer.valueOf(str);
+            } else if (isUIntegerType(typeId)) {
+                return UInteger.valueOf(str);
+            } else if (typeId == SiemensTypeId.LInt || typeId == SiemensTypeId.LTime) {
+                return Long.valueOf(str);
+            } else if (typeId == SiemensTypeId.LWord) {
+                return ULong.valueOf(str);
+            } else if (typeId == SiemensTypeId.Real) {
+                return Float.valueOf(str);
+            } else if (typeId == SiemensTypeId.LReal) {
+                return Double.valueOf(str);
+            } else if (typeId == SiemensTypeId.Char) {
+                return str.length() > 1 ? null : UByte.valueOf(str.charAt(0));
+            } else if (typeId == SiemensTypeId.WChar) {
+                return str.length() > 1 ? null : UShort.valueOf(str.charAt(0));
+            } else if (typeId == SiemensTypeId.Date) {
+                return legacyDate(str);
+            } else if (typeId == SiemensTypeId.Date_And_Time) {
+                return legacyDateAndTime(str);
+            } else if (typeId == SiemensTypeId.LDT) {
+                return legacyLdt(str);
+            } else if (typeId == SiemensTypeId.StringX) {
+                return new String(str.getBytes("gbk"), StandardCharsets.ISO_8859_1);
+            } else if (typeId == SiemensTypeId.WString) {
+                return new String(str.getBytes("unicode"), "unicode");
+            } else if (typeId == SiemensTypeId.LocalizedText) {
+                return new LocalizedText(str);
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    /**
+     * 原 isArrayNode 的分支，抛出的异常作为返回值
+     */
+    private static Object legacyArray(int typeId, String str) {
+        try {
+            if (typeId == SiemensTypeId.Bool) {
+                return DataConverter.str2BooleanArray(str);
+            } else if (typeId == SiemensTypeId.Byte || typeId == SiemensTypeId.USInt) {
+                return DataConverter.jsonStrShortArray2UByteArray(str);
+            } else if (typeId == SiemensTypeId.SInt) {
+                return DataConverter.str2ByteArray(str);
+            } else if (isShortType(typeId)) {
+                return DataConverter.str2ShortArray(str);
+            } else if (isUShortType(typeId) || typeId == SiemensTypeId.Word) {
+                return DataConverter.jsonStrIntArray2UShortArray(str);
+            } else if (isIntegerType(typeId)) {
+                return DataConverter.str2IntArray(str);
+            } else if (isUIntegerType(typeId) || typeId == SiemensTypeId.DWord) {
+                return DataConverter.jsonStrLongArray2UIntegerArray(str);
+            } else if (typeId == SiemensTypeId.LInt || typeId == SiemensTypeId.LTime) {
+                return DataConverter.str2LongArray(str);
+            } else if (typeId == SiemensTypeId.LWord) {
+                return DataConverter.jsonStrStringArray2ULongArray(str);
+            } else if (typeId == SiemensTypeId.Real) {
+                return DataConverter.str2FloatArray(str);
+            } else if (typeId == SiemensTypeId.LReal) {
+                return DataConverter.str2DoubleArray(str);
+            } else if (typeId == SiemensTypeId.Char) {
+                return DataConverter.jsonStrCharArray2UByteArray(str);
+            } else if (typeId == SiemensTypeId.WChar) {
+                return DataConverter.jsonStrCharArray2UShortArray(str);
+            } else if (typeId == SiemensTypeId.LocalizedText) {
+                return DataConverter.str2LocalizedTextArray(str);
+            }
+
+            String[] strings = DataConverter.str2StringArray(str);
+            if (typeId == SiemensTypeId.Date) {
+                UShort[] values = new UShort[strings.length];
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = legacyDate(strings[i]);
+                }
+                return values;
+            } else if (typeId == SiemensTypeId.Date_And_Time) {
+                UByte[][] values = new UByte[strings.length][];
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = legacyDateAndTime(strings[i]);
+                }
+                return values;
+            } else if (typeId == SiemensTypeId.LDT) {
+                DateTime[] values = new DateTime[strings.length];
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = legacyLdt(strings[i]);
+                }
+                return values;
+            } else if (typeId == SiemensTypeId.StringX) {
+                String[] values = new String[strings.length];
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = new String(strings[i].getBytes("gbk"), StandardCharsets.ISO_8859_1);
+                }
+                return values;
+            } else if (typeId == SiemensTypeId.WString) {
+                String[] values = new String[strings.length];
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = new String(strings[i].getBytes("unicode"), "unicode");
+                }
+                return values;
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static UShort legacyDate(String str) {
+        return UShort.valueOf((int) ChronoUnit.DAYS.between(
+            LocalDate.parse(U.getSiemensDateStartDate()), LocalDate.parse(str)));
+    }
+
+    private static DateTime legacyLdt(String str) {
+        return new DateTime(LocalDateTime.parse(str,
+            DateTimeFormatter.ofPattern(U.getDateTimePattern())).toInstant(ZoneOffset.UTC));
+    }
+
+    private static UByte[] legacyDateAndTime(String str) {
+        LocalDateTime date = LocalDateTime.parse(str, DateTimeFormatter.ofPattern(U.getDateTimePattern()));
+        int year = date.getYear();
+        if (year >= 2000) {
+            year = year - 2000;
+        } else {
+            year = year - 1990;
+        }
+        UByte[] uBytes = new UByte[8];
+        uBytes[0] = UByte.valueOf(Integer.parseInt(String.valueOf(year), 16));
+        uBytes[1] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getMonthValue()), 16));
+        uBytes[2] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getDayOfMonth()), 16));
+        uBytes[3] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getHour()), 16));
+        uBytes[4] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getMinute()), 16));
+        uBytes[5] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getSecond()), 16));
+        //旧实现没有毫秒时这一位为 null，新实现写 0
+        uBytes[6] = UByte.valueOf(0);
+        uBytes[7] = UByte.valueOf(Integer.parseInt(String.valueOf(date.getDayOfWeek().getValue()), 16));
+        return uBytes;
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.viper.opc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.viper.opc.client.opcua.stack.core.channel.ChunkDecoder;
+import com.viper.opc.client.opcua.stack.core.channel.SerializationQueue;
+import com.viper.opc.client.opcua.stack.core.channel.messages.MessageType;
+import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
+import com.viper.opc.client.opcua.stack.core.serialization.UaResponseMessage;
+import com.viper.opc.client.opcua.stack.core.util.BufferUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.viper.opc.benchmarks.LoopbackChannel.SERIALIZATION_CONTEXT;
+
+/**
+ * Encodes and decodes whole service responses through the UASC symmetric chunk path: {@code
+ * OpcUaBinaryStreamEncoder} + {@code ChunkEncoder} on the server side of a {@link LoopbackChannel}, and {@code
+ * ChunkDecoder} + {@code OpcUaBinaryStreamDecoder} on the client side.
+ * <p>
+ * Run with {@code ./gradlew :opc-benchmarks:jmh}; the gc profiler is enabled in the build so each result is
+ * reported as ops/s alongside {@code gc.alloc.rate} and {@code gc.alloc.rate.norm} (bytes per op).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ChunkBenchmark {
+
+    @Param({
+        "None",
+        "Basic128Rsa15",
+        "Basic256",
+        "Basic256Sha256",
+        "Aes128_Sha256_RsaOaep",
+        "Aes256_Sha256_RsaPss"
+    })
+    public SecurityPolicy securityPolicy;
+
+    @Param({"Read1k", "Browse", "Publish"})
+    public ResponseShapes shape;
+
+    private LoopbackChannel channel;
+    private UaResponseMessage response;
+
+    /**
+     * The response encoded once during setup, replayed by {@link #decode()}.
+     */
+    private byte[][] encodedChunks;
+
+    private ExecutorService executor;
+    private SerializationQueue serverQueue;
+    private SerializationQueue clientQueue;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        channel = new LoopbackChannel(securityPolicy);
+        response = shape.create(SERIALIZATION_CONTEXT);
+
+        List<ByteBuf> chunks = channel.encode(response);
+        encodedChunks = new byte[chunks.size()][];
+        for (int i = 0; i < chunks.size(); i++) {
+            ByteBuf chunk = chunks.get(i);
+            encodedChunks[i] = new byte[chunk.readableBytes()];
+            chunk.readBytes(encodedChunks[i]);
+            chunk.release();
+        }
+
+        executor = Executors.newFixedThreadPool(2);
+        serverQueue = new SerializationQueue(executor, LoopbackChannel.CHANNEL_PARAMETERS, SERIALIZATION_CONTEXT);
+        clientQueue = new SerializationQueue(executor, LoopbackChannel.CHANNEL_PARAMETERS, SERIALIZATION_CONTEXT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Binary encoding and chunking (signing and encryption included) on the server side.
+     */
+    @Benchmark
+    public int encode() throws Exception {
+        List<ByteBuf> chunks = channel.encode(response);
+        int size = 0;
+        for (ByteBuf chunk : chunks) {
+            size += chunk.readableBytes();
+            chunk.release();
+        }
+        return size;
+    }
+
+    /**
+     * Chunk verification, decryption and binary decoding on the client side, from chunks as they would arrive off
+     * the socket.
+     */
+    @Benchmark
+    public UaResponseMessage decode() throws Exception {
+        List<ByteBuf> chunks = new ArrayList<>(encodedChunks.length);
+        for (byte[] bytes : encodedChunks) {
+            chunks.add(BufferUtil.pooledBuffer(bytes.length).writeBytes(bytes));
+        }
+        return channel.decodeReplay(chunks);
+    }
+
+    /**
+     * {@link #encode()} followed by {@link #decode()} on the same channel.
+     */
+    @Benchmark
+    public UaResponseMessage roundTrip() throws Exception {
+        return channel.decode(channel.encode(response));
+    }
+
+    /**
+     * The same round trip, but submitted through a {@link SerializationQueue} on each side the way the client's
+     * transport does, so the queue hand-off is included.
+     */
+    @Benchmark
+    public UaResponseMessage serializationQueue() throws Exception {
+        CompletableFuture<UaResponseMessage> future = new CompletableFuture<>();
+
+        serverQueue.encode((binaryEncoder, chunkEncoder) -> {
+            ByteBuf messageBuffer = BufferUtil.pooledBuffer();
+
+            try {
+                binaryEncoder.setBuffer(messageBuffer);
+                binaryEncoder.writeMessage(null, response);
+
+                List<ByteBuf> chunks = chunkEncoder.encodeSymmetric(
+                    channel.getServerChannel(),
+                    1L,
+                    messageBuffer,
+                    MessageType.SecureMessage
+                ).getMessageChunks();
+
+                for (ByteBuf chunk : chunks) {
+                    clientQueue.decode((binaryDecoder, chunkDecoder) -> {
+                        try {
+                            ChunkDecoder.DecodedMessage decoded =
+                                chunkDecoder.decodeSymmetricChunk(channel.getClientChannel(), chunk);
+
+                            if (decoded != null) {
+                                ByteBuf message = decoded.getMessage();
+
+                                try {
+                                    future.complete(
+                                        (UaResponseMessage) binaryDecoder.setBuffer(message).readMessage(null));
+                                } finally {
+                                    message.release();
+                                }
+                            }
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        }
+                    });
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                ReferenceCountUtil.safeRelease(messageBuffer);
+            }
+        });
+
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.viper.opc.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.viper.opc.client.opcua.stack.core.channel.ChunkEncoder;
+import com.viper.opc.client.opcua.stack.core.channel.messages.MessageType;
+import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import com.viper.opc.client.opcua.stack.core.util.BufferUtil;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chunks an already serialized 1 MiB message with {@link ChunkEncoder#encodeSymmetric}, the way the client sends a
+ * large Write or Call request, in each {@link MessageSecurityMode}.
+ * <p>
+ * Each op sends one MiB, so {@code gc.alloc.rate.norm} from the gc profiler (enabled in the build) is the number of
+ * bytes allocated per MiB sent. Sign and SignAndEncrypt use Basic256Sha256.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ChunkEncoderBenchmark {
+
+    private static final int MESSAGE_SIZE = 1024 * 1024;
+
+    @Param({"None", "Sign", "SignAndEncrypt"})
+    public MessageSecurityMode securityMode;
+
+    private LoopbackChannel channel;
+    private ChunkEncoder chunkEncoder;
+    private ByteBuf messageBuffer;
+
+    private long requestId = 0L;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SecurityPolicy securityPolicy = securityMode == MessageSecurityMode.None ?
+            SecurityPolicy.None :
+            SecurityPolicy.Basic256Sha256;
+
+        channel = new LoopbackChannel(securityPolicy, securityMode);
+        chunkEncoder = new ChunkEncoder(LoopbackChannel.CHANNEL_PARAMETERS);
+
+        byte[] body = new byte[MESSAGE_SIZE];
+        new Random(0).nextBytes(body);
+        messageBuffer = BufferUtil.pooledBuffer(MESSAGE_SIZE).writeBytes(body);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        messageBuffer.release();
+    }
+
+    @Benchmark
+    public int encodeSymmetric() throws Exception {
+        messageBuffer.readerIndex(0);
+
+        List<ByteBuf> chunks = chunkEncoder.encodeSymmetric(
+            channel.getClientChannel(),
+            ++requestId,
+            messageBuffer,
+            MessageType.SecureMessage
+        ).getMessageChunks();
+
+        int size = 0;
+        for (ByteBuf chunk : chunks) {
+            size += chunk.readableBytes();
+            chunk.release();
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.viper.opc.benchmarks;
+
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
+
+import com.viper.opc.client.opcua.stack.client.transport.uasc.ClientSecureChannel;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.UaSerializationException;
+import com.viper.opc.client.opcua.stack.core.channel.ChannelParameters;
+import com.viper.opc.client.opcua.stack.core.channel.ChannelSecurity;
+import com.viper.opc.client.opcua.stack.core.channel.ChunkDecoder;
+import com.viper.opc.client.opcua.stack.core.channel.ChunkEncoder;
+import com.viper.opc.client.opcua.stack.core.channel.EncodingLimits;
+import com.viper.opc.client.opcua.stack.core.channel.MessageAbortException;
+import com.viper.opc.client.opcua.stack.core.channel.MessageDecodeException;
+import com.viper.opc.client.opcua.stack.core.channel.MessageEncodeException;
+import com.viper.opc.client.opcua.stack.core.channel.ServerSecureChannel;
+import com.viper.opc.client.opcua.stack.core.channel.messages.MessageType;
+import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamEncoder;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.serialization.UaResponseMessage;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaDataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ChannelSecurityToken;
+import com.viper.opc.client.opcua.stack.core.util.BufferUtil;
+import com.viper.opc.client.opcua.stack.core.util.NonceUtil;
+import com.viper.opc.client.opcua.stack.core.util.SelfSignedCertificateBuilder;
+import com.viper.opc.client.opcua.stack.core.util.SelfSignedCertificateGenerator;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * A connected pair of {@link ClientSecureChannel} and {@link ServerSecureChannel} that share symmetric keys, as if
+ * an OpenSecureChannel exchange had completed, with no transport in between.
+ * <p>
+ * Responses are encoded by the server side and chunks are handed straight to the client side's decoder.
+ */
+class LoopbackChannel {
+
+    static final SerializationContext SERIALIZATION_CONTEXT = new SerializationContext() {
+
+        private final NamespaceTable namespaceTable = new NamespaceTable();
+
+        @Override
+        public EncodingLimits getEncodingLimits() {
+            return EncodingLimits.DEFAULT;
+        }
+
+        @Override
+        public NamespaceTable getNamespaceTable() {
+            return namespaceTable;
+        }
+
+        @Override
+        public DataTypeManager getDataTypeManager() {
+            return OpcUaDataTypeManager.getInstance();
+        }
+
+    };
+
+    static final ChannelParameters CHANNEL_PARAMETERS = new ChannelParameters(
+        EncodingLimits.DEFAULT_MAX_MESSAGE_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_COUNT,
+        EncodingLimits.DEFAULT_MAX_MESSAGE_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_SIZE,
+        EncodingLimits.DEFAULT_MAX_CHUNK_COUNT
+    );
+
+    private final OpcUaBinaryStreamEncoder binaryEncoder = new OpcUaBinaryStreamEncoder(SERIALIZATION_CONTEXT);
+    private final OpcUaBinaryStreamDecoder binaryDecoder = new OpcUaBinaryStreamDecoder(SERIALIZATION_CONTEXT);
+
+    private final ChunkEncoder chunkEncoder = new ChunkEncoder(CHANNEL_PARAMETERS);
+    private final ChunkDecoder chunkDecoder =
+        new ChunkDecoder(CHANNEL_PARAMETERS, SERIALIZATION_CONTEXT.getEncodingLimits());
+
+    private final ClientSecureChannel clientChannel;
+    private final ServerSecureChannel serverChannel;
+
+    private long requestId = 0L;
+
+    LoopbackChannel(SecurityPolicy securityPolicy) throws Exception {
+        this(
+            securityPolicy,
+            securityPolicy == SecurityPolicy.None ? MessageSecurityMode.None : MessageSecurityMode.SignAndEncrypt
+        );
+    }
+
+    LoopbackChannel(SecurityPolicy securityPolicy, MessageSecurityMode securityMode) throws Exception {
+        KeyPair clientKeyPair = SelfSignedCertificateGenerator.generateRsaKeyPair(2048);
+        KeyPair serverKeyPair = SelfSignedCertificateGenerator.generateRsaKeyPair(2048);
+        X509Certificate clientCertificate = certificate(clientKeyPair, "client");
+        X509Certificate serverCertificate = certificate(serverKeyPair, "server");
+        List<X509Certificate> clientChain = Collections.singletonList(clientCertificate);
+        List<X509Certificate> serverChain = Collections.singletonList(serverCertificate);
+
+        clientChannel = new ClientSecureChannel(
+            clientKeyPair,
+            clientCertificate,
+            clientChain,
+            serverCertificate,
+            serverChain,
+            securityPolicy,
+            securityMode
+        );
+        clientChannel.setChannelId(1L);
+
+        serverChannel = new ServerSecureChannel();
+        serverChannel.setChannelId(1L);
+        serverChannel.setSecurityPolicy(securityPolicy);
+        serverChannel.setMessageSecurityMode(securityMode);
+        serverChannel.setKeyPair(serverKeyPair);
+        serverChannel.setLocalCertificate(serverCertificate);
+        serverChannel.setLocalCertificateChain(new X509Certificate[]{serverCertificate});
+        serverChannel.setRemoteCertificate(clientCertificate.getEncoded());
+
+        ChannelSecurity.SecurityKeys keys = null;
+
+        if (securityPolicy != SecurityPolicy.None) {
+            ByteString clientNonce = NonceUtil.generateNonce(securityPolicy);
+            ByteString serverNonce = NonceUtil.generateNonce(securityPolicy);
+
+            clientChannel.setLocalNonce(clientNonce);
+            clientChannel.setRemoteNonce(serverNonce);
+            serverChannel.setLocalNonce(serverNonce);
+            serverChannel.setRemoteNonce(clientNonce);
+
+            keys = ChannelSecurity.generateKeyPair(clientChannel, clientNonce, serverNonce);
+        }
+
+        ChannelSecurityToken token = new ChannelSecurityToken(uint(1), uint(1), DateTime.now(), uint(3_600_000));
+
+        clientChannel.setChannelSecurity(new ChannelSecurity(keys, token));
+        serverChannel.setChannelSecurity(new ChannelSecurity(keys, token));
+    }
+
+    /**
+     * Encode {@code response} on the server side.
+     *
+     * @return the chunks, which the caller must release or pass to {@link #decode(List)}.
+     */
+    List<ByteBuf> encode(UaResponseMessage response) throws UaSerializationException, MessageEncodeException {
+        ByteBuf messageBuffer = BufferUtil.pooledBuffer();
+
+        try {
+            binaryEncoder.setBuffer(messageBuffer);
+            binaryEncoder.writeMessage(null, response);
+
+            return chunkEncoder.encodeSymmetric(
+                serverChannel,
+                ++requestId,
+                messageBuffer,
+                MessageType.SecureMessage
+            ).getMessageChunks();
+        } finally {
+            messageBuffer.release();
+        }
+    }
+
+    /**
+     * Decode {@code chunks} on the client side the way {@code UascClientMessageHandler} does, one chunk at a time.
+     * Ownership of the chunks is transferred.
+     */
+    UaResponseMessage decode(List<ByteBuf> chunks)
+        throws UaSerializationException, MessageAbortException, MessageDecodeException {
+
+        return decode(chunkDecoder, chunks);
+    }
+
+    /**
+     * Same as {@link #decode(List)} but with a fresh {@link ChunkDecoder}, for replaying chunks whose sequence
+     * numbers the channel's own decoder has already seen.
+     */
+    UaResponseMessage decodeReplay(List<ByteBuf> chunks)
+        throws UaSerializationException, MessageAbortException, MessageDecodeException {
+
+        return decode(new ChunkDecoder(CHANNEL_PARAMETERS, SERIALIZATION_CONTEXT.getEncodingLimits()), chunks);
+    }
+
+    private UaResponseMessage decode(ChunkDecoder decoder, List<ByteBuf> chunks)
+        throws UaSerializationException, MessageAbortException, MessageDecodeException {
+
+        ChunkDecoder.DecodedMessage decoded = null;
+
+        for (int i = 0; i < chunks.size(); i++) {
+            try {
+                decoded = decoder.decodeSymmetricChunk(clientChannel, chunks.get(i));
+            } catch (MessageAbortException | MessageDecodeException e) {
+                for (int j = i + 1; j < chunks.size(); j++) {
+                    ReferenceCountUtil.safeRelease(chunks.get(j));
+                }
+                throw e;
+            }
+        }
+
+        if (decoded == null) {
+            throw new IllegalStateException("no final chunk");
+        }
+
+        ByteBuf message = decoded.getMessage();
+
+        try {
+            return (UaResponseMessage) binaryDecoder.setBuffer(message).readMessage(null);
+        } finally {
+            message.release();
+        }
+    }
+
+    ClientSecureChannel getClientChannel() {
+        return clientChannel;
+    }
+
+    ServerSecureChannel getServerChannel() {
+        return serverChannel;
+    }
+
+    private static X509Certificate certificate(KeyPair keyPair, String name) throws Exception {
+        return new SelfSignedCertificateBuilder(keyPair)
+            .setCommonName("opc-benchmarks " + name)
+            .setApplicationUri("urn:viper:opc-benchmarks:" + name)
+            .build();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.viper.opc.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.viper.opc.client.opcua.stack.core.util.ExecutionQueue;
+import com.viper.opc.client.opcua.stack.core.util.KeyedExecutionQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Delivers a burst of notifications for several subscriptions the way {@code OpcUaSubscriptionManager} does: through
+ * one shared {@link ExecutionQueue}, as before, or through a {@link KeyedExecutionQueue} keyed by subscription id.
+ * <p>
+ * Subscription 0's listener is {@link #SLOW_FACTOR} times slower than the others. {@link #deliverAll()} measures the
+ * time until every notification has been delivered, {@link #deliverFast()} the time until every notification of the
+ * other subscriptions has been, i.e. how long a slow subscription holds them up.
+ * <p>
+ * Run with {@code ./gradlew :opc-benchmarks:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NotificationLaneBenchmark {
+
+    static final int NOTIFICATIONS_PER_SUBSCRIPTION = 32;
+
+    static final int LISTENER_TOKENS = 200;
+
+    static final int SLOW_FACTOR = 20;
+
+    @Param({"2", "8"})
+    public int subscriptions;
+
+    @Param({"shared", "keyed"})
+    public String queue;
+
+    private ExecutorService executor;
+    private BiConsumer<Integer, Runnable> submit;
+
+    private CountDownLatch all;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+
+        if ("shared".equals(queue)) {
+            ExecutionQueue executionQueue = new ExecutionQueue(executor);
+            submit = (subscriptionId, task) -> executionQueue.submit(task);
+        } else {
+            KeyedExecutionQueue<Integer> keyedQueue = new KeyedExecutionQueue<>(executor);
+            submit = keyedQueue::submit;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Let the slow subscription finish before the next invocation starts.
+     */
+    @TearDown(Level.Invocation)
+    public void drain() throws InterruptedException {
+        all.await();
+    }
+
+    @Benchmark
+    public void deliverAll() throws InterruptedException {
+        publish(null);
+
+        all.await();
+    }
+
+    @Benchmark
+    public void deliverFast() throws InterruptedException {
+        CountDownLatch fast = new CountDownLatch((subscriptions - 1) * NOTIFICATIONS_PER_SUBSCRIPTION);
+
+        publish(fast);
+
+        fast.await();
+    }
+
+    /**
+     * Submit the notifications interleaved, as consecutive PublishResponses for different subscriptions arrive.
+     */
+    private void publish(CountDownLatch fast) {
+        CountDownLatch all = this.all = new CountDownLatch(subscriptions * NOTIFICATIONS_PER_SUBSCRIPTION);
+
+        for (int i = 0; i < NOTIFICATIONS_PER_SUBSCRIPTION; i++) {
+            for (int subscriptionId = 0; subscriptionId < subscriptions; subscriptionId++) {
+                boolean slow = subscriptionId == 0;
+
+                submit.accept(subscriptionId, () -> {
+                    Blackhole.consumeCPU(slow ? LISTENER_TOKENS * SLOW_FACTOR : LISTENER_TOKENS);
+
+                    if (!slow && fast != null) {
+                        fast.countDown();
+                    }
+                    all.countDown();
+                });
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.viper.opc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Maps;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamEncoder;
+import com.viper.opc.client.opcua.stack.core.serialization.UaResponseMessage;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.viper.opc.benchmarks.LoopbackChannel.SERIALIZATION_CONTEXT;
+
+/**
+ * {@code OpcUaBinaryStreamDecoder.readMessage} throughput with no channel security or chunking, so the cost of
+ * resolving codecs by encoding id is a visible share of each op. For a PublishResponse the notification bodies are
+ * decoded too.
+ * <p>
+ * The {@code lookup*} benchmarks isolate the encoding id lookup itself: {@code lookupConcurrentMap} is the
+ * {@code ConcurrentMap<NodeId, DataTypeCodec>} that {@code DefaultDataTypeManager} used before, and
+ * {@code lookupDataTypeManager} is the current implementation, over the encoding ids a Read and a Publish decode
+ * resolve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReadMessageBenchmark {
+
+    @Param({"Read1k", "Publish"})
+    public ResponseShapes shape;
+
+    private OpcUaBinaryStreamDecoder decoder;
+    private ByteBuf encoded;
+
+    private DataTypeManager dataTypeManager;
+    private ConcurrentMap<NodeId, DataTypeCodec> concurrentMap;
+    private NodeId[] encodingIds;
+
+    @Setup
+    public void setup() {
+        UaResponseMessage response = shape.create(SERIALIZATION_CONTEXT);
+
+        ByteBuf buffer = Unpooled.buffer();
+        new OpcUaBinaryStreamEncoder(SERIALIZATION_CONTEXT).setBuffer(buffer).writeMessage(null, response);
+        encoded = Unpooled.unreleasableBuffer(buffer);
+
+        decoder = new OpcUaBinaryStreamDecoder(SERIALIZATION_CONTEXT);
+
+        dataTypeManager = SERIALIZATION_CONTEXT.getDataTypeManager();
+        concurrentMap = Maps.newConcurrentMap();
+
+        List<NodeId> ids = new ArrayList<>();
+        ids.add(response.getBinaryEncodingId().toNodeId(SERIALIZATION_CONTEXT.getNamespaceTable()).orElseThrow(
+            IllegalStateException::new));
+        if (response instanceof PublishResponse) {
+            for (ExtensionObject xo : ((PublishResponse) response).getNotificationMessage().getNotificationData()) {
+                ids.add(xo.getEncodingId());
+            }
+        }
+        encodingIds = ids.toArray(new NodeId[0]);
+
+        for (NodeId id : encodingIds) {
+            concurrentMap.put(id, dataTypeManager.getCodec(id));
+        }
+    }
+
+    @Benchmark
+    public void readMessage(Blackhole bh) {
+        UaResponseMessage message = (UaResponseMessage) decoder
+            .setBuffer(encoded.duplicate())
+            .readMessage(null);
+
+        bh.consume(message);
+
+        if (message instanceof PublishResponse) {
+            for (ExtensionObject xo : ((PublishResponse) message).getNotificationMessage().getNotificationData()) {
+                bh.consume(xo.decode(SERIALIZATION_CONTEXT));
+            }
+        }
+    }
+
+    @Benchmark
+    public void lookupConcurrentMap(Blackhole bh) {
+        for (NodeId id : encodingIds) {
+            bh.consume(concurrentMap.get(id));
+        }
+    }
+
+    @Benchmark
+    public void lookupDataTypeManager(Blackhole bh) {
+        for (NodeId id : encodingIds) {
+            bh.consume(dataTypeManager.getCodec(id));
+        }
+    }
+
+}
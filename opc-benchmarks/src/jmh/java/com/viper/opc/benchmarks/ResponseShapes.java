@@ -0,0 +1,126 @@
+package com.viper.opc.benchmarks;
+
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.serialization.UaResponseMessage;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.DataChangeNotification;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemNotification;
+import com.viper.opc.client.opcua.stack.core.types.structured.NotificationMessage;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Responses shaped like the ones the app receives from a PLC: a page of tag values, a folder browse, and a
+ * data change notification.
+ */
+public enum ResponseShapes {
+
+    /**
+     * 1000 values of mixed scalar types, with source and server timestamps.
+     */
+    Read1k {
+        @Override
+        UaResponseMessage create(SerializationContext context) {
+            DateTime now = DateTime.now();
+            DataValue[] results = new DataValue[1000];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = new DataValue(value(i), StatusCode.GOOD, now, now);
+            }
+            return new ReadResponse(header(), results, null);
+        }
+    },
+
+    /**
+     * 10 browse results of 50 references each.
+     */
+    Browse {
+        @Override
+        UaResponseMessage create(SerializationContext context) {
+            BrowseResult[] results = new BrowseResult[10];
+            for (int i = 0; i < results.length; i++) {
+                ReferenceDescription[] references = new ReferenceDescription[50];
+                for (int j = 0; j < references.length; j++) {
+                    String name = "DB" + i + ".Tag" + j;
+                    references[j] = new ReferenceDescription(
+                        Identifiers.Organizes,
+                        true,
+                        new NodeId(3, "\"" + name + "\"").expanded(),
+                        new QualifiedName(3, name),
+                        LocalizedText.english(name),
+                        NodeClass.Variable,
+                        Identifiers.BaseDataVariableType.expanded()
+                    );
+                }
+                results[i] = new BrowseResult(StatusCode.GOOD, ByteString.NULL_VALUE, references);
+            }
+            return new BrowseResponse(header(), results, null);
+        }
+    },
+
+    /**
+     * One data change notification carrying 200 monitored item values.
+     */
+    Publish {
+        @Override
+        UaResponseMessage create(SerializationContext context) {
+            DateTime now = DateTime.now();
+            MonitoredItemNotification[] items = new MonitoredItemNotification[200];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new MonitoredItemNotification(
+                    uint(i + 1),
+                    new DataValue(value(i), StatusCode.GOOD, now, now)
+                );
+            }
+            ExtensionObject notification = ExtensionObject.encode(
+                context,
+                new DataChangeNotification(items, null)
+            );
+            return new PublishResponse(
+                header(),
+                uint(1),
+                new UInteger[]{uint(1)},
+                false,
+                new NotificationMessage(uint(1), now, new ExtensionObject[]{notification}),
+                new StatusCode[0],
+                null
+            );
+        }
+    };
+
+    abstract UaResponseMessage create(SerializationContext context);
+
+    private static ResponseHeader header() {
+        return new ResponseHeader(DateTime.now(), uint(1), StatusCode.GOOD, null, null, null);
+    }
+
+    private static Variant value(int i) {
+        switch (i % 4) {
+            case 0:
+                return new Variant(i * 0.5);
+            case 1:
+                return new Variant(i);
+            case 2:
+                return new Variant(i % 3 == 0);
+            default:
+                return new Variant("value " + i);
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.viper.opc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.channel.EncodingLimits;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamEncoder;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.serialization.UaMessage;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.DefaultDataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.RequestHeader;
+import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Time and allocation from class load to the first decoded ReadResponse, in a fresh JVM per measurement.
+ * <p>
+ * The single op creates the two {@link DataTypeManager}s a {@code UaStackClient} creates, initializes
+ * {@link Identifiers} by reading {@code Server_ServerStatus_State}, and takes a ReadRequest and its ReadResponse
+ * through the binary encoder and decoder on both sides. Nothing from the stack is touched before the op, so class
+ * loading and static initialization are part of the measurement. {@code lazy} is the default
+ * {@link DefaultDataTypeManager#createAndInitialize}; {@code eager} registers every built-in codec up front the way
+ * it used to.
+ * <p>
+ * Run on its own with {@code java -jar opc-benchmarks/build/libs/opc-benchmarks-jmh.jar StartupBenchmark -prof gc}
+ * after {@code ./gradlew :opc-benchmarks:jmhJar}; allocation is reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+    @Param({"lazy", "eager"})
+    public String registration;
+
+    @Benchmark
+    public DataValue firstRead(Blackhole bh) {
+        NamespaceTable namespaceTable = new NamespaceTable();
+
+        DataTypeManager staticDataTypeManager = createDataTypeManager(namespaceTable);
+        DataTypeManager dynamicDataTypeManager = createDataTypeManager(namespaceTable);
+
+        SerializationContext context = new SerializationContext() {
+            @Override
+            public EncodingLimits getEncodingLimits() {
+                return EncodingLimits.DEFAULT;
+            }
+
+            @Override
+            public NamespaceTable getNamespaceTable() {
+                return namespaceTable;
+            }
+
+            @Override
+            public DataTypeManager getDataTypeManager() {
+                return staticDataTypeManager;
+            }
+        };
+
+        ReadRequest request = new ReadRequest(
+            new RequestHeader(NodeId.NULL_VALUE, DateTime.now(), uint(1), uint(0), null, uint(5000), null),
+            0.0,
+            TimestampsToReturn.Both,
+            new ReadValueId[]{
+                new ReadValueId(Identifiers.Server_ServerStatus_State, AttributeId.Value.uid(), null, null)
+            }
+        );
+
+        ReadRequest received = (ReadRequest) roundTrip(context, request);
+
+        ReadResponse response = new ReadResponse(
+            new ResponseHeader(DateTime.now(), received.getRequestHeader().getRequestHandle(),
+                StatusCode.GOOD, null, null, null),
+            new DataValue[]{new DataValue(new Variant(0), StatusCode.GOOD, DateTime.now(), DateTime.now())},
+            null
+        );
+
+        ReadResponse decoded = (ReadResponse) roundTrip(context, response);
+
+        bh.consume(dynamicDataTypeManager);
+
+        return decoded.getResults()[0];
+    }
+
+    private DataTypeManager createDataTypeManager(NamespaceTable namespaceTable) {
+        return "eager".equals(registration) ?
+            DefaultDataTypeManager.createAndInitializeEagerly(namespaceTable) :
+            DefaultDataTypeManager.createAndInitialize(namespaceTable);
+    }
+
+    private static UaMessage roundTrip(SerializationContext context, UaMessage message) {
+        ByteBuf buffer = Unpooled.buffer();
+
+        try {
+            new OpcUaBinaryStreamEncoder(context).setBuffer(buffer).writeMessage(null, message);
+
+            return new OpcUaBinaryStreamDecoder(context).setBuffer(buffer).readMessage(null);
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.viper.opc.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.channel.EncodingLimits;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamEncoder;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaDataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes a one-dimensional numeric Variant array with {@code OpcUaBinaryStreamDecoder}, boxing each element (the
+ * default) or straight into a primitive array or {@link UnsignedArray} (with
+ * {@link SerializationContext#isPrimitiveArrayDecodingEnabled()}).
+ * <p>
+ * Run with {@code ./gradlew :opc-benchmarks:jmh}; compare ops/s and
+ * {@code gc.alloc.rate.norm} between the two {@code primitive} values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VariantArrayBenchmark {
+
+    @Param({"Boolean", "Int16", "Int32", "Float", "Double", "UInt16", "UInt32"})
+    public String type;
+
+    @Param({"16", "1024"})
+    public int length;
+
+    @Param({"false", "true"})
+    public boolean primitive;
+
+    private ByteBuf encoded;
+    private OpcUaBinaryStreamDecoder decoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Variant variant = new Variant(newArray(type, length, new Random(0)));
+
+        ByteBuf buffer = Unpooled.buffer();
+        new OpcUaBinaryStreamEncoder(context(false)).setBuffer(buffer).writeVariant(variant);
+        encoded = Unpooled.unreleasableBuffer(buffer);
+
+        decoder = new OpcUaBinaryStreamDecoder(context(primitive));
+    }
+
+    @Benchmark
+    public Object decode() {
+        encoded.readerIndex(0);
+
+        return decoder.setBuffer(encoded).readVariant().getValue();
+    }
+
+    private static Object newArray(String type, int length, Random random) {
+        switch (type) {
+            case "Boolean": {
+                boolean[] array = new boolean[length];
+                for (int i = 0; i < length; i++) array[i] = random.nextBoolean();
+                return array;
+            }
+            case "Int16": {
+                short[] array = new short[length];
+                for (int i = 0; i < length; i++) array[i] = (short) random.nextInt();
+                return array;
+            }
+            case "Int32": {
+                int[] array = new int[length];
+                for (int i = 0; i < length; i++) array[i] = random.nextInt();
+                return array;
+            }
+            case "Float": {
+                float[] array = new float[length];
+                for (int i = 0; i < length; i++) array[i] = random.nextFloat();
+                return array;
+            }
+            case "Double": {
+                double[] array = new double[length];
+                for (int i = 0; i < length; i++) array[i] = random.nextDouble();
+                return array;
+            }
+            case "UInt16": {
+                short[] array = new short[length];
+                for (int i = 0; i < length; i++) array[i] = (short) random.nextInt();
+                return UnsignedArray.ofUShort(array);
+            }
+            case "UInt32": {
+                int[] array = new int[length];
+                for (int i = 0; i < length; i++) array[i] = random.nextInt();
+                return UnsignedArray.ofUInteger(array);
+            }
+            default:
+                throw new IllegalArgumentException("type: " + type);
+        }
+    }
+
+    private static SerializationContext context(boolean primitiveArrayDecodingEnabled) {
+        NamespaceTable namespaceTable = new NamespaceTable();
+
+        return new SerializationContext() {
+            @Override
+            public EncodingLimits getEncodingLimits() {
+                return EncodingLimits.DEFAULT;
+            }
+
+            @Override
+            public NamespaceTable getNamespaceTable() {
+                return namespaceTable;
+            }
+
+            @Override
+            public DataTypeManager getDataTypeManager() {
+                return OpcUaDataTypeManager.getInstance();
+            }
+
+            @Override
+            public boolean isPrimitiveArrayDecodingEnabled() {
+                return primitiveArrayDecodingEnabled;
+            }
+        };
+    }
+
+}
@@ -55,6 +55,7 @@ import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -1496,7 +1497,7 @@ public class AddressSpace {
             Object attributeValue = value.getValue().getValue();
 
             try {
-                return attributeClazz.cast(attributeValue);
+                return attributeClazz.cast(ArrayUtil.box(attributeValue));
             } catch (ClassCastException e) {
                 return null;
             }
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import com.viper.opc.client.opcua.stack.client.UaStackClient;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
 import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
@@ -28,6 +29,7 @@ import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResponse;
 import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
 import com.viper.opc.client.opcua.stack.core.types.structured.ViewDescription;
+import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
 
 import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 import static com.viper.opc.client.opcua.stack.core.util.ConversionUtil.l;
@@ -83,6 +85,76 @@ public class BrowseHelper {
         });
     }
 
+    /**
+     * Browse several {@link BrowseDescription}s in one Browse request, followed by as many BrowseNext calls as are
+     * necessary to retrieve all the references of each.
+     * <p>
+     * Continuation points are followed one node at a time, and a node the server had no continuation point left for
+     * is browsed again on its own, so a large batch doesn't exhaust the server's continuation points.
+     *
+     * @param client               a {@link UaStackClient}.
+     * @param session              an {@link OpcUaSession}.
+     * @param browseDescriptions   the {@link BrowseDescription}s to browse.
+     * @param maxReferencesPerNode the max number of references to return per node per request.
+     * @return the references of each of {@code browseDescriptions}, in the same order.
+     */
+    public static CompletableFuture<List<List<ReferenceDescription>>> browse(
+        UaStackClient client,
+        OpcUaSession session,
+        List<BrowseDescription> browseDescriptions,
+        UInteger maxReferencesPerNode
+    ) {
+
+        if (browseDescriptions.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        BrowseRequest browseRequest = new BrowseRequest(
+            client.newRequestHeader(
+                session.getAuthenticationToken(),
+                client.getConfig().getRequestTimeout()
+            ),
+            new ViewDescription(
+                NodeId.NULL_VALUE,
+                DateTime.MIN_VALUE,
+                uint(0)
+            ),
+            maxReferencesPerNode,
+            browseDescriptions.toArray(new BrowseDescription[0])
+        );
+
+        return client.sendRequest(browseRequest).thenApply(BrowseResponse.class::cast).thenCompose(response -> {
+            BrowseResult[] results = response.getResults();
+
+            List<CompletableFuture<List<ReferenceDescription>>> futures = new ArrayList<>(results.length);
+
+            CompletableFuture<?> previous = CompletableFuture.completedFuture(null);
+
+            for (int i = 0; i < results.length; i++) {
+                BrowseResult result = results[i];
+                BrowseDescription browseDescription = browseDescriptions.get(i);
+
+                CompletableFuture<List<ReferenceDescription>> future = previous.thenCompose(v -> {
+                    if (result.getStatusCode().getValue() == StatusCodes.Bad_NoContinuationPoints) {
+                        return browse(client, session, browseDescription, maxReferencesPerNode);
+                    } else {
+                        return maybeBrowseNext(
+                            client,
+                            session,
+                            Collections.synchronizedList(new ArrayList<>()),
+                            result
+                        );
+                    }
+                });
+
+                futures.add(future);
+                previous = future;
+            }
+
+            return FutureUtils.sequence(futures);
+        });
+    }
+
     private static CompletableFuture<List<ReferenceDescription>> maybeBrowseNext(
         UaStackClient client,
         OpcUaSession session,
@@ -10,12 +10,20 @@
 
 package com.viper.opc.client.opcua.sdk.client;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.collect.Lists;
 import com.viper.opc.client.opcua.sdk.core.DataTypeTree;
 import com.viper.opc.client.opcua.stack.client.UaStackClient;
 import com.viper.opc.client.opcua.stack.core.AttributeId;
@@ -42,15 +50,21 @@ import com.viper.opc.client.opcua.stack.core.types.structured.RequestHeader;
 import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
 import com.viper.opc.client.opcua.stack.core.util.Tree;
 import com.viper.opc.client.opcua.stack.core.util.Unit;
+import org.jetbrains.annotations.Nullable;
 
 import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
 
 /**
  * Builds a {@link DataTypeTree} by recursively browsing the DataType hierarchy starting at
- * {@link Identifiers#BaseDataType}.
+ * {@link Identifiers#BaseDataType}, one level of the hierarchy per batch of Browse requests.
  */
 public final class DataTypeTreeBuilder {
 
+    /**
+     * Nodes per Browse request; below the MaxNodesPerBrowse of common servers.
+     */
+    private static final int MAX_NODES_PER_BROWSE = 100;
+
     private DataTypeTreeBuilder() {}
 
     /**
@@ -115,7 +129,94 @@ public final class DataTypeTreeBuilder {
      * @return a {@link DataTypeTree}.
      */
     public static CompletableFuture<DataTypeTree> buildAsync(UaStackClient client, OpcUaSession session) {
-        Tree<DataTypeTree.DataType> root = new Tree<>(
+        return buildAsync(client, session, null);
+    }
+
+    /**
+     * Build a {@link DataTypeTree}, starting from the tree stored in {@code cache} for this endpoint and namespace
+     * array if there is one.
+     * <p>
+     * A stored tree is used as is while every namespace has the same {@link NamespaceVersions#getVersionToken(int)
+     * version token} it had when the tree was stored. Otherwise the DataTypes of the namespaces whose token changed
+     * are dropped along with their subtypes, and only the subtypes the server has that the remaining tree doesn't are
+     * browsed. The resulting tree is stored back in {@code cache}.
+     *
+     * @param client  a connected {@link UaStackClient}.
+     * @param session an active {@link OpcUaSession}.
+     * @param cache   the {@link DataTypeTreeCache} to load the tree from and store it in, or {@code null} to browse
+     *                the whole hierarchy.
+     * @return a {@link DataTypeTree}.
+     */
+    public static CompletableFuture<DataTypeTree> buildAsync(
+        UaStackClient client,
+        OpcUaSession session,
+        @Nullable DataTypeTreeCache cache
+    ) {
+
+        if (cache == null) {
+            Tree<DataTypeTree.DataType> root = newRoot();
+
+            return readNamespaceTable(client, session)
+                .thenCompose(namespaceTable -> addSubtypes(
+                    Collections.singletonList(root), client, session, namespaceTable, new AtomicBoolean(true)))
+                .thenApply(u -> new DataTypeTree(root));
+        }
+
+        return NamespaceVersions.readAsync(client, session).thenCompose(versions -> {
+            String key = DataTypeTreeCache.keyOf(
+                client.getConfig().getEndpoint().getEndpointUrl(),
+                versions.getNamespaceUris()
+            );
+
+            String[] namespaceUris = versions.getNamespaceUris();
+            Map<String, String> versionTokens = new HashMap<>();
+            for (int i = 0; i < namespaceUris.length; i++) {
+                String token = versions.getVersionToken(i);
+                if (token != null) {
+                    versionTokens.put(namespaceUris[i], token);
+                }
+            }
+
+            DataTypeTreeCache.Entry cached = cache.load(key);
+
+            Set<Integer> changed = new HashSet<>();
+            for (int i = 0; i < namespaceUris.length; i++) {
+                String token = versionTokens.get(namespaceUris[i]);
+                if (cached == null || token == null || !token.equals(cached.versionTokens.get(namespaceUris[i]))) {
+                    changed.add(i);
+                }
+            }
+
+            if (cached != null && changed.isEmpty()) {
+                return CompletableFuture.completedFuture(new DataTypeTree(cached.root));
+            }
+
+            Tree<DataTypeTree.DataType> root;
+            List<Tree<DataTypeTree.DataType>> parents;
+
+            if (cached == null || changed.contains(0)) {
+                root = newRoot();
+                parents = Collections.singletonList(root);
+            } else {
+                root = cached.root;
+                parents = prune(root, changed);
+            }
+
+            AtomicBoolean complete = new AtomicBoolean(true);
+
+            return addSubtypes(parents, client, session, versions.getNamespaceTable(), complete).thenApply(u -> {
+                // a tree missing subtypes that failed to browse is used, but not stored
+                if (complete.get()) {
+                    cache.store(key, new DataTypeTreeCache.Entry(versionTokens, root));
+                }
+
+                return new DataTypeTree(root);
+            });
+        });
+    }
+
+    private static Tree<DataTypeTree.DataType> newRoot() {
+        return new Tree<>(
             null,
             new DataTypeTree.DataType(
                 QualifiedName.parse("0:BaseDataType"),
@@ -124,10 +225,29 @@ public final class DataTypeTreeBuilder {
                 null
             )
         );
+    }
+
+    /**
+     * Remove every DataType in one of the {@code changed} namespaces, along with its subtypes, from {@code root}.
+     *
+     * @return the DataTypes that remain.
+     */
+    private static List<Tree<DataTypeTree.DataType>> prune(Tree<DataTypeTree.DataType> root, Set<Integer> changed) {
+        List<Tree<DataTypeTree.DataType>> remaining = new ArrayList<>();
+        Deque<Tree<DataTypeTree.DataType>> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Tree<DataTypeTree.DataType> node = stack.pop();
+            remaining.add(node);
+
+            node.getChildren().removeIf(child ->
+                changed.contains(child.getValue().getNodeId().getNamespaceIndex().intValue()));
 
-        return readNamespaceTable(client, session)
-            .thenCompose(namespaceTable -> addChildren(root, client, session, namespaceTable))
-            .thenApply(u -> new DataTypeTree(root));
+            node.getChildren().forEach(stack::push);
+        }
+
+        return remaining;
     }
 
     private static CompletableFuture<NamespaceTable> readNamespaceTable(UaStackClient client, OpcUaSession session) {
@@ -161,98 +281,131 @@ public final class DataTypeTreeBuilder {
         });
     }
 
-    private static CompletableFuture<Unit> addChildren(
-        Tree<DataTypeTree.DataType> tree,
+    /**
+     * Add the subtypes of {@code parents} they don't already have, and then the subtypes of those, one level of the
+     * hierarchy at a time: each level is one batch of HasSubtype browses followed by one batch of HasEncoding browses.
+     */
+    private static CompletableFuture<Unit> addSubtypes(
+        List<Tree<DataTypeTree.DataType>> parents,
         UaStackClient client,
         OpcUaSession session,
-        NamespaceTable namespaceTable
+        NamespaceTable namespaceTable,
+        AtomicBoolean complete
     ) {
 
-        CompletableFuture<List<ReferenceDescription>> subtypes = browseSafe(
-            client,
-            session,
-            new BrowseDescription(
-                tree.getValue().getNodeId(),
+        if (parents.isEmpty()) {
+            return CompletableFuture.completedFuture(Unit.VALUE);
+        }
+
+        List<BrowseDescription> subtypeDescriptions = new ArrayList<>(parents.size());
+        for (Tree<DataTypeTree.DataType> parent : parents) {
+            subtypeDescriptions.add(new BrowseDescription(
+                parent.getValue().getNodeId(),
                 BrowseDirection.Forward,
                 Identifiers.HasSubtype,
                 false,
                 uint(NodeClass.DataType.getValue()),
                 uint(BrowseResultMask.All.getValue())
-            )
-        );
+            ));
+        }
+
+        return browseSafe(client, session, subtypeDescriptions, complete).thenCompose(subtypeReferences -> {
+            List<Tree<DataTypeTree.DataType>> newParents = new ArrayList<>();
+            List<ReferenceDescription> newReferences = new ArrayList<>();
+            List<NodeId> newIds = new ArrayList<>();
+
+            for (int i = 0; i < parents.size(); i++) {
+                Tree<DataTypeTree.DataType> parent = parents.get(i);
+
+                Set<NodeId> existing = new HashSet<>();
+                parent.getChildren().forEach(child -> existing.add(child.getValue().getNodeId()));
 
-        CompletableFuture<List<DataTypeTree.DataType>> dataTypesFuture = subtypes.thenCompose(references -> {
-            Stream<CompletableFuture<DataTypeTree.DataType>> dataTypeFutures =
-                references.stream().map(dataTypeReference -> {
-                    NodeId dataTypeId = dataTypeReference.getNodeId()
+                for (ReferenceDescription reference : subtypeReferences.get(i)) {
+                    NodeId dataTypeId = reference.getNodeId()
                         .toNodeId(namespaceTable)
                         .orElse(NodeId.NULL_VALUE);
 
-                    CompletableFuture<List<ReferenceDescription>> encodings = browseSafe(
-                        client,
-                        session,
-                        new BrowseDescription(
-                            dataTypeId,
-                            BrowseDirection.Forward,
-                            Identifiers.HasEncoding,
-                            false,
-                            uint(NodeClass.Object.getValue()),
-                            uint(BrowseResultMask.All.getValue())
-                        )
-                    );
-
-                    return encodings.thenApply(encodingReferences -> {
-                        NodeId binaryEncodingId = null;
-                        NodeId xmlEncodingId = null;
-
-                        for (ReferenceDescription r : encodingReferences) {
-                            if (r.getBrowseName().equals(OpcUaDefaultBinaryEncoding.ENCODING_NAME)) {
-                                binaryEncodingId = r.getNodeId().toNodeId(namespaceTable).orElse(null);
-                            } else if (r.getBrowseName().equals(OpcUaDefaultXmlEncoding.ENCODING_NAME)) {
-                                xmlEncodingId = r.getNodeId().toNodeId(namespaceTable).orElse(null);
-                            }
-                        }
+                    if (existing.add(dataTypeId)) {
+                        newParents.add(parent);
+                        newReferences.add(reference);
+                        newIds.add(dataTypeId);
+                    }
+                }
+            }
 
-                        return new DataTypeTree.DataType(
-                            dataTypeReference.getBrowseName(),
-                            dataTypeId,
-                            binaryEncodingId,
-                            xmlEncodingId
-                        );
-                    });
-                });
+            List<BrowseDescription> encodingDescriptions = new ArrayList<>(newIds.size());
+            for (NodeId dataTypeId : newIds) {
+                encodingDescriptions.add(new BrowseDescription(
+                    dataTypeId,
+                    BrowseDirection.Forward,
+                    Identifiers.HasEncoding,
+                    false,
+                    uint(NodeClass.Object.getValue()),
+                    uint(BrowseResultMask.All.getValue())
+                ));
+            }
 
-            return FutureUtils.sequence(dataTypeFutures);
-        });
+            return browseSafe(client, session, encodingDescriptions, complete).thenCompose(encodingReferences -> {
+                List<Tree<DataTypeTree.DataType>> children = new ArrayList<>(newIds.size());
 
-        return dataTypesFuture
-            .thenCompose(dataTypes -> {
-                Stream<CompletableFuture<Unit>> futures = dataTypes.stream()
-                    .map(tree::addChild)
-                    .map(childNode -> addChildren(childNode, client, session, namespaceTable));
+                for (int i = 0; i < newIds.size(); i++) {
+                    NodeId binaryEncodingId = null;
+                    NodeId xmlEncodingId = null;
 
-                return FutureUtils.sequence(futures);
-            })
-            .thenApply(v -> Unit.VALUE);
+                    for (ReferenceDescription r : encodingReferences.get(i)) {
+                        if (r.getBrowseName().equals(OpcUaDefaultBinaryEncoding.ENCODING_NAME)) {
+                            binaryEncodingId = r.getNodeId().toNodeId(namespaceTable).orElse(null);
+                        } else if (r.getBrowseName().equals(OpcUaDefaultXmlEncoding.ENCODING_NAME)) {
+                            xmlEncodingId = r.getNodeId().toNodeId(namespaceTable).orElse(null);
+                        }
+                    }
+
+                    children.add(newParents.get(i).addChild(new DataTypeTree.DataType(
+                        newReferences.get(i).getBrowseName(),
+                        newIds.get(i),
+                        binaryEncodingId,
+                        xmlEncodingId
+                    )));
+                }
+
+                return addSubtypes(children, client, session, namespaceTable, complete);
+            });
+        });
     }
 
     /**
-     * Browse a {@link BrowseDescription} "safely", completing successfully
-     * with an empty List if any exceptions occur.
+     * Browse {@code browseDescriptions} "safely", {@link #MAX_NODES_PER_BROWSE} at a time, completing with an empty
+     * List for every {@link BrowseDescription} of a request that fails and clearing {@code complete}.
      *
-     * @param client            a {@link UaStackClient}.
-     * @param session           an {@link OpcUaSession}.
-     * @param browseDescription the {@link BrowseDescription}.
-     * @return a List of {@link ReferenceDescription}s obtained by browsing {@code browseDescription}.
+     * @param client             a {@link UaStackClient}.
+     * @param session            an {@link OpcUaSession}.
+     * @param browseDescriptions the {@link BrowseDescription}s.
+     * @param complete           cleared if any request fails.
+     * @return the {@link ReferenceDescription}s obtained by browsing each of {@code browseDescriptions}, in order.
      */
-    private static CompletableFuture<List<ReferenceDescription>> browseSafe(
+    private static CompletableFuture<List<List<ReferenceDescription>>> browseSafe(
         UaStackClient client,
         OpcUaSession session,
-        BrowseDescription browseDescription
+        List<BrowseDescription> browseDescriptions,
+        AtomicBoolean complete
     ) {
 
-        return BrowseHelper.browse(client, session, browseDescription, uint(0))
-            .exceptionally(ex -> Collections.emptyList());
+        List<CompletableFuture<List<List<ReferenceDescription>>>> futures = new ArrayList<>();
+
+        for (List<BrowseDescription> partition : Lists.partition(browseDescriptions, MAX_NODES_PER_BROWSE)) {
+            futures.add(
+                BrowseHelper.browse(client, session, partition, uint(0)).exceptionally(ex -> {
+                    complete.set(false);
+                    return Collections.nCopies(partition.size(), Collections.emptyList());
+                })
+            );
+        }
+
+        return FutureUtils.sequence(futures).thenApply(partitions -> {
+            List<List<ReferenceDescription>> results = new ArrayList<>(browseDescriptions.size());
+            partitions.forEach(results::addAll);
+            return results;
+        });
     }
 
 }
@@ -0,0 +1,219 @@
+package com.viper.opc.client.opcua.sdk.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.io.BaseEncoding;
+import com.viper.opc.client.opcua.sdk.core.DataTypeTree;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.util.DigestUtil;
+import com.viper.opc.client.opcua.stack.core.util.Tree;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores {@link DataTypeTree}s in a directory, one file per endpoint and namespace array, along with the
+ * {@link NamespaceVersions#getVersionToken(int) version token} of each namespace when the tree was built.
+ * <p>
+ * NodeIds are stored with their namespace index, which the key pins down: a server whose namespace array has changed
+ * gets a different key and so a different file.
+ *
+ * @see DataTypeTreeBuilder#buildAsync(com.viper.opc.client.opcua.stack.client.UaStackClient, OpcUaSession,
+ * DataTypeTreeCache)
+ */
+public class DataTypeTreeCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final File directory;
+
+    public DataTypeTreeCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param endpointUrl   the URL of the endpoint the tree is browsed through.
+     * @param namespaceUris the server's namespace array.
+     * @return the key of the tree of the server at {@code endpointUrl} with namespace array {@code namespaceUris}.
+     */
+    static String keyOf(String endpointUrl, String[] namespaceUris) {
+        String namespaces = String.join("\n", namespaceUris);
+        byte[] digest = DigestUtil.sha1(namespaces.getBytes(StandardCharsets.UTF_8));
+
+        return endpointUrl + "|" + BaseEncoding.base16().lowerCase().encode(digest);
+    }
+
+    /**
+     * @param key the key the tree was stored under.
+     * @return the tree stored under {@code key}, or {@code null} if there is none.
+     */
+    @Nullable
+    Entry load(String key) {
+        File file = fileFor(key);
+
+        if (!file.isFile()) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+
+            int tokenCount = in.readInt();
+            Map<String, String> versionTokens = new HashMap<>(tokenCount * 2);
+            for (int i = 0; i < tokenCount; i++) {
+                versionTokens.put(in.readUTF(), in.readUTF());
+            }
+
+            int nodeCount = in.readInt();
+            List<Tree<DataTypeTree.DataType>> nodes = new ArrayList<>(nodeCount);
+
+            for (int i = 0; i < nodeCount; i++) {
+                int parentIndex = in.readInt();
+
+                DataTypeTree.DataType dataType = new DataTypeTree.DataType(
+                    QualifiedName.parse(in.readUTF()),
+                    NodeId.parse(in.readUTF()),
+                    in.readBoolean() ? NodeId.parse(in.readUTF()) : null,
+                    in.readBoolean() ? NodeId.parse(in.readUTF()) : null
+                );
+
+                if (parentIndex < 0) {
+                    if (!nodes.isEmpty()) return null;
+
+                    nodes.add(new Tree<>(null, dataType));
+                } else if (parentIndex < nodes.size()) {
+                    nodes.add(nodes.get(parentIndex).addChild(dataType));
+                } else {
+                    return null;
+                }
+            }
+
+            return nodes.isEmpty() ? null : new Entry(versionTokens, nodes.get(0));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Error loading cached DataTypeTree from {}", file, e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Store {@code entry} under {@code key}, replacing any tree stored under it before.
+     *
+     * @param key   the key to store the tree under.
+     * @param entry the tree and the version tokens it was built with.
+     */
+    void store(String key, Entry entry) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warn("Error creating DataTypeTree cache directory {}", directory);
+            return;
+        }
+
+        File file = fileFor(key);
+        File temp = new File(directory, file.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+
+            out.writeInt(entry.versionTokens.size());
+            for (Map.Entry<String, String> token : entry.versionTokens.entrySet()) {
+                out.writeUTF(token.getKey());
+                out.writeUTF(token.getValue());
+            }
+
+            // pre-order, so every parent is written before its children
+            List<Tree<DataTypeTree.DataType>> nodes = new ArrayList<>();
+            Deque<Tree<DataTypeTree.DataType>> stack = new ArrayDeque<>();
+            stack.push(entry.root);
+            while (!stack.isEmpty()) {
+                Tree<DataTypeTree.DataType> node = stack.pop();
+                nodes.add(node);
+                List<Tree<DataTypeTree.DataType>> children = node.getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            }
+
+            Map<Tree<DataTypeTree.DataType>, Integer> indices = new IdentityHashMap<>(nodes.size());
+
+            out.writeInt(nodes.size());
+            for (Tree<DataTypeTree.DataType> node : nodes) {
+                Tree<DataTypeTree.DataType> parent = node.getParent();
+                Integer parentIndex = parent != null ? indices.get(parent) : null;
+
+                out.writeInt(parentIndex != null ? parentIndex : -1);
+
+                DataTypeTree.DataType dataType = node.getValue();
+                out.writeUTF(dataType.getBrowseName().toParseableString());
+                out.writeUTF(dataType.getNodeId().toParseableString());
+                writeNullable(out, dataType.getBinaryEncodingId());
+                writeNullable(out, dataType.getXmlEncodingId());
+
+                indices.put(node, indices.size());
+            }
+        } catch (IOException e) {
+            logger.warn("Error storing DataTypeTree to {}", temp, e);
+
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return;
+        }
+
+        if (!temp.renameTo(file)) {
+            // renameTo won't replace an existing file on some platforms
+            if (!file.delete() || !temp.renameTo(file)) {
+                logger.warn("Error renaming {} to {}", temp, file);
+
+                //noinspection ResultOfMethodCallIgnored
+                temp.delete();
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        byte[] digest = DigestUtil.sha1(key.getBytes(StandardCharsets.UTF_8));
+
+        return new File(directory, BaseEncoding.base16().lowerCase().encode(digest) + ".types");
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable NodeId nodeId) throws IOException {
+        out.writeBoolean(nodeId != null);
+        if (nodeId != null) {
+            out.writeUTF(nodeId.toParseableString());
+        }
+    }
+
+    static final class Entry {
+
+        /**
+         * Version token by namespace URI, for the namespaces that had one.
+         */
+        final Map<String, String> versionTokens;
+        final Tree<DataTypeTree.DataType> root;
+
+        Entry(Map<String, String> versionTokens, Tree<DataTypeTree.DataType> root) {
+            this.versionTokens = versionTokens;
+            this.root = root;
+        }
+
+    }
+
+}
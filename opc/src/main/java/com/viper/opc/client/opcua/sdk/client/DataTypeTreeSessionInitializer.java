@@ -10,16 +10,21 @@
 
 package com.viper.opc.client.opcua.sdk.client;
 
+import java.io.File;
 import java.util.concurrent.CompletableFuture;
 
 import com.viper.opc.client.opcua.sdk.client.session.SessionFsm;
 import com.viper.opc.client.opcua.sdk.core.DataTypeTree;
 import com.viper.opc.client.opcua.stack.client.UaStackClient;
 import com.viper.opc.client.opcua.stack.core.util.Unit;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Builds a {@link DataTypeTree} and stores it on an {@link OpcUaSession} as an attribute under
  * the key {@link DataTypeTreeSessionInitializer#SESSION_ATTRIBUTE_KEY}.
+ * <p>
+ * Given a cache directory, the tree is kept in a {@link DataTypeTreeCache} there and only re-browsed where the
+ * server's namespaces have changed since.
  */
 public class DataTypeTreeSessionInitializer implements SessionFsm.SessionInitializer {
 
@@ -31,11 +36,47 @@ public class DataTypeTreeSessionInitializer implements SessionFsm.SessionInitial
      */
     public static final String SESSION_ATTRIBUTE_KEY = "dataTypeTree";
 
+    /**
+     * The attribute key the future of the tree being built for an {@link OpcUaSession} is stored under, so that other
+     * initializers running at the same time can share it.
+     */
+    private static final String FUTURE_ATTRIBUTE_KEY = "dataTypeTreeFuture";
+
+    @Nullable
+    private final DataTypeTreeCache cache;
+
+    public DataTypeTreeSessionInitializer() {
+        this(null);
+    }
+
+    /**
+     * @param cacheDirectory the directory to cache the tree in, or {@code null} to browse it on every session.
+     */
+    public DataTypeTreeSessionInitializer(@Nullable File cacheDirectory) {
+        this.cache = cacheDirectory != null ? new DataTypeTreeCache(cacheDirectory) : null;
+    }
+
     @Override
     public CompletableFuture<Unit> initialize(UaStackClient stackClient, OpcUaSession session) {
-        return DataTypeTreeBuilder.buildAsync(stackClient, session)
+        return getDataTypeTree(stackClient, session)
             .thenAccept(tree -> session.setAttribute(SESSION_ATTRIBUTE_KEY, tree))
             .thenApply(v -> Unit.VALUE);
     }
 
+    /**
+     * Get the {@link DataTypeTree} of {@code session}, building it on the first call for the session. Session
+     * initializers run concurrently; this lets another initializer use the tree without browsing it a second time.
+     *
+     * @param stackClient a connected {@link UaStackClient}.
+     * @param session     an active {@link OpcUaSession}.
+     * @return the {@link DataTypeTree} of {@code session}.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<DataTypeTree> getDataTypeTree(UaStackClient stackClient, OpcUaSession session) {
+        return (CompletableFuture<DataTypeTree>) session.computeIfAbsent(
+            FUTURE_ATTRIBUTE_KEY,
+            k -> DataTypeTreeBuilder.buildAsync(stackClient, session, cache)
+        );
+    }
+
 }
@@ -0,0 +1,242 @@
+package com.viper.opc.client.opcua.sdk.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.viper.opc.client.opcua.stack.client.UaStackClient;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseDirection;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseResultMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.util.ConversionUtil;
+import org.jetbrains.annotations.Nullable;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * A server's namespace array, with what it says about the version of each namespace: the NamespaceVersion and
+ * NamespacePublicationDate of the namespace's NamespaceMetadata object below {@link Identifiers#Server_Namespaces},
+ * and the server's start time for namespaces it publishes no metadata for.
+ * <p>
+ * Anything derived from a namespace's types can be cached under the namespace's {@link #getVersionToken(int)} and
+ * reused for as long as the token stays the same.
+ */
+public final class NamespaceVersions {
+
+    private final String[] namespaceUris;
+    private final NamespaceTable namespaceTable;
+    @Nullable
+    private final DateTime startTime;
+    private final Map<String, String> versions;
+
+    private NamespaceVersions(
+        String[] namespaceUris,
+        @Nullable DateTime startTime,
+        Map<String, String> versions
+    ) {
+
+        this.namespaceUris = namespaceUris;
+        this.startTime = startTime;
+        this.versions = versions;
+
+        namespaceTable = new NamespaceTable();
+        for (String namespaceUri : namespaceUris) {
+            namespaceTable.addUri(namespaceUri);
+        }
+    }
+
+    /**
+     * @return the server's namespace array.
+     */
+    public String[] getNamespaceUris() {
+        return namespaceUris;
+    }
+
+    /**
+     * @return a {@link NamespaceTable} built from the server's namespace array.
+     */
+    public NamespaceTable getNamespaceTable() {
+        return namespaceTable;
+    }
+
+    /**
+     * @return the server's URI, namespace 1, or an empty String if the namespace array has only namespace 0.
+     */
+    public String getServerUri() {
+        return namespaceUris.length > 1 ? namespaceUris[1] : "";
+    }
+
+    /**
+     * @param namespaceIndex the index of a namespace.
+     * @return a token that changes whenever the types of the namespace at {@code namespaceIndex} may have changed, or
+     * {@code null} if there is nothing to tell by.
+     */
+    @Nullable
+    public String getVersionToken(int namespaceIndex) {
+        if (namespaceIndex < 0 || namespaceIndex >= namespaceUris.length) return null;
+
+        String version = versions.get(namespaceUris[namespaceIndex]);
+
+        if (version != null) {
+            return "version=" + version;
+        } else if (startTime != null && !startTime.isNull()) {
+            return "started=" + startTime.getUtcTime();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Read the namespace array, the server's start time, and the NamespaceMetadata of every namespace the server
+     * publishes it for.
+     * <p>
+     * Missing or unreadable NamespaceMetadata isn't an error; those namespaces fall back to the start time.
+     *
+     * @param client  a connected {@link UaStackClient}.
+     * @param session an active {@link OpcUaSession}.
+     * @return the {@link NamespaceVersions} of the server.
+     */
+    public static CompletableFuture<NamespaceVersions> readAsync(UaStackClient client, OpcUaSession session) {
+        List<ReadValueId> readValueIds = new ArrayList<>();
+
+        readValueIds.add(new ReadValueId(
+            Identifiers.Server_NamespaceArray, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+        readValueIds.add(new ReadValueId(
+            Identifiers.Server_ServerStatus_StartTime, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+
+        return read(client, session, readValueIds).thenCompose(values -> {
+            String[] namespaceUris = (String[]) values.get(0).getValue().getValue();
+            Object startTime = values.get(1).getValue().getValue();
+
+            return readMetadata(client, session)
+                .exceptionally(ex -> Collections.emptyMap())
+                .thenApply(versions -> new NamespaceVersions(
+                    namespaceUris,
+                    startTime instanceof DateTime ? (DateTime) startTime : null,
+                    versions
+                ));
+        });
+    }
+
+    /**
+     * @return the NamespaceVersion and NamespacePublicationDate of each namespace the server publishes
+     * NamespaceMetadata for, by namespace URI.
+     */
+    private static CompletableFuture<Map<String, String>> readMetadata(UaStackClient client, OpcUaSession session) {
+        BrowseDescription namespaces = new BrowseDescription(
+            Identifiers.Server_Namespaces,
+            BrowseDirection.Forward,
+            Identifiers.HierarchicalReferences,
+            true,
+            uint(NodeClass.Object.getValue()),
+            uint(BrowseResultMask.BrowseName.getValue())
+        );
+
+        return BrowseHelper.browse(client, session, namespaces, uint(0)).thenCompose(metadataReferences -> {
+            List<BrowseDescription> browseDescriptions = new ArrayList<>();
+
+            for (ReferenceDescription reference : metadataReferences) {
+                reference.getNodeId().toNodeId(client.getNamespaceTable()).ifPresent(metadataId ->
+                    browseDescriptions.add(new BrowseDescription(
+                        metadataId,
+                        BrowseDirection.Forward,
+                        Identifiers.HasProperty,
+                        false,
+                        uint(NodeClass.Variable.getValue()),
+                        uint(BrowseResultMask.BrowseName.getValue())
+                    ))
+                );
+            }
+
+            return BrowseHelper.browse(client, session, browseDescriptions, uint(0));
+        }).thenCompose(propertyReferences -> {
+            List<ReadValueId> readValueIds = new ArrayList<>();
+
+            for (List<ReferenceDescription> references : propertyReferences) {
+                NodeId[] properties = new NodeId[3];
+
+                for (ReferenceDescription reference : references) {
+                    String name = reference.getBrowseName().getName();
+                    NodeId propertyId = reference.getNodeId().toNodeId(client.getNamespaceTable()).orElse(null);
+
+                    if ("NamespaceUri".equals(name)) {
+                        properties[0] = propertyId;
+                    } else if ("NamespaceVersion".equals(name)) {
+                        properties[1] = propertyId;
+                    } else if ("NamespacePublicationDate".equals(name)) {
+                        properties[2] = propertyId;
+                    }
+                }
+
+                if (properties[0] != null) {
+                    for (NodeId propertyId : properties) {
+                        readValueIds.add(new ReadValueId(
+                            propertyId != null ? propertyId : NodeId.NULL_VALUE,
+                            AttributeId.Value.uid(),
+                            null,
+                            QualifiedName.NULL_VALUE
+                        ));
+                    }
+                }
+            }
+
+            return read(client, session, readValueIds);
+        }).thenApply(values -> {
+            Map<String, String> versions = new HashMap<>();
+
+            for (int i = 0; i + 2 < values.size(); i += 3) {
+                Object namespaceUri = values.get(i).getValue().getValue();
+                Object version = values.get(i + 1).getValue().getValue();
+                Object publicationDate = values.get(i + 2).getValue().getValue();
+
+                if (namespaceUri instanceof String && (version != null || publicationDate != null)) {
+                    versions.put((String) namespaceUri, version + "@" + publicationDate);
+                }
+            }
+
+            return versions;
+        });
+    }
+
+    private static CompletableFuture<List<DataValue>> read(
+        UaStackClient client,
+        OpcUaSession session,
+        List<ReadValueId> readValueIds
+    ) {
+
+        if (readValueIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        ReadRequest request = new ReadRequest(
+            client.newRequestHeader(
+                session.getAuthenticationToken(),
+                client.getConfig().getRequestTimeout()
+            ),
+            0.0,
+            TimestampsToReturn.Neither,
+            readValueIds.toArray(new ReadValueId[0])
+        );
+
+        return client.sendRequest(request)
+            .thenApply(ReadResponse.class::cast)
+            .thenApply(response -> ConversionUtil.l(response.getResults()));
+    }
+
+}
@@ -10,37 +10,104 @@
 
 package com.viper.opc.client.opcua.sdk.client;
 
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
 import com.viper.opc.client.opcua.sdk.client.nodes.UaNode;
+import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableNode;
+import com.viper.opc.client.opcua.sdk.client.nodes.UaVariableTypeNode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Caches {@link UaNode} instances created by the {@link AddressSpace}.
+ * <p>
+ * Cached nodes are bounded by an estimated weight, in bytes, rather than by count, because a single
+ * {@link UaVariableNode} holding a large array value can outweigh thousands of folder nodes.
+ * <p>
+ * Nodes that are {@link #pin(NodeId) pinned}, e.g. the nodes currently on screen, are never evicted. Canonical
+ * nodes are only weakly referenced, so they are released once nothing else holds them.
+ */
 public class NodeCache {
 
-    private final Cache<NodeId, UaNode> cachedNodes;
+    /**
+     * The default maximum weight, in estimated bytes, of the cached (non-pinned) nodes.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 8L * 1024L * 1024L;
+
+    private final AtomicLong hitCount = new AtomicLong(0L);
+    private final AtomicLong missCount = new AtomicLong(0L);
+    private final AtomicLong evictionCount = new AtomicLong(0L);
+    private final AtomicLong weight = new AtomicLong(0L);
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Set<NodeId> pinnedNodeIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<NodeId, UaNode> pinnedNodes = new ConcurrentHashMap<>();
+
+    private final Cache<NodeId, WeightedNode> cachedNodes;
     private final ConcurrentMap<NodeId, UaNode> canonicalNodes;
 
+    private final long maximumWeight;
+
     public NodeCache() {
-        this(builder -> {
-            builder.expireAfterWrite(2, TimeUnit.MINUTES);
-            builder.maximumSize(16384);
-            builder.recordStats();
-        });
+        this(DEFAULT_MAXIMUM_WEIGHT, builder -> builder.expireAfterWrite(2, TimeUnit.MINUTES));
     }
 
+    /**
+     * Create a {@link NodeCache} bounded by whatever {@code consumer} configures on the builder, e.g.
+     * {@link CacheBuilder#maximumSize(long)}.
+     *
+     * @param consumer a {@link Consumer} that configures the underlying cache. It must not set a weigher or
+     *                 removal listener.
+     */
     public NodeCache(Consumer<CacheBuilder<Object, Object>> consumer) {
+        this(0L, consumer);
+    }
+
+    /**
+     * Create a {@link NodeCache} bounded by {@code maximumWeight} estimated bytes.
+     *
+     * @param maximumWeight the maximum weight of the cached (non-pinned) nodes, or 0 to not bound by weight.
+     * @param consumer      a {@link Consumer} that further configures the underlying cache. It must not set a
+     *                      maximum size, weigher, or removal listener.
+     */
+    public NodeCache(long maximumWeight, Consumer<CacheBuilder<Object, Object>> consumer) {
+        this.maximumWeight = maximumWeight;
+
         CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
 
+        if (maximumWeight > 0) {
+            builder.maximumWeight(maximumWeight);
+            builder.weigher((Object k, Object v) -> ((WeightedNode) v).weight);
+        }
+
         consumer.accept(builder);
 
-        this.cachedNodes = builder.build();
-        this.canonicalNodes = new ConcurrentHashMap<>();
+        this.cachedNodes = builder
+            .<NodeId, WeightedNode>removalListener(this::onRemoval)
+            .build();
+
+        this.canonicalNodes = CacheBuilder.newBuilder()
+            .weakValues()
+            .<NodeId, UaNode>build()
+            .asMap();
     }
 
     /**
@@ -62,19 +129,313 @@ public class NodeCache {
 
     @Nullable
     public UaNode getIfPresent(NodeId nodeId) {
-        return canonicalNodes.getOrDefault(
-            nodeId,
-            cachedNodes.getIfPresent(nodeId)
-        );
+        UaNode node = pinnedNodes.get(nodeId);
+
+        if (node == null) {
+            node = canonicalNodes.get(nodeId);
+        }
+
+        if (node == null) {
+            WeightedNode weighted = cachedNodes.getIfPresent(nodeId);
+            node = weighted != null ? weighted.node : null;
+        }
+
+        if (node != null) {
+            hitCount.incrementAndGet();
+            listeners.forEach(l -> l.onHit(nodeId));
+        } else {
+            missCount.incrementAndGet();
+            listeners.forEach(l -> l.onMiss(nodeId));
+        }
+
+        return node;
     }
 
     public void put(NodeId nodeId, UaNode node) {
-        cachedNodes.put(nodeId, node);
+        if (pinnedNodeIds.contains(nodeId)) {
+            pinnedNodes.put(nodeId, node);
+        } else {
+            WeightedNode weighted = new WeightedNode(node, estimateWeight(node));
+            weight.addAndGet(weighted.weight);
+            cachedNodes.put(nodeId, weighted);
+        }
     }
 
     public void invalidate(NodeId nodeId) {
         canonicalNodes.remove(nodeId);
+        pinnedNodes.remove(nodeId);
         cachedNodes.invalidate(nodeId);
     }
 
+    /**
+     * Pin the node identified by {@code nodeId} so it won't be evicted until {@link #unpin(NodeId)} is called.
+     * <p>
+     * The node doesn't have to be cached yet; if it is put into the cache later it will be pinned then.
+     *
+     * @param nodeId the {@link NodeId} of the node to pin.
+     */
+    public void pin(NodeId nodeId) {
+        if (pinnedNodeIds.add(nodeId)) {
+            WeightedNode weighted = cachedNodes.getIfPresent(nodeId);
+
+            if (weighted != null) {
+                pinnedNodes.put(nodeId, weighted.node);
+                cachedNodes.invalidate(nodeId);
+            }
+        }
+    }
+
+    /**
+     * Pin every node in {@code nodeIds}.
+     *
+     * @param nodeIds the {@link NodeId}s of the nodes to pin.
+     * @see #pin(NodeId)
+     */
+    public void pinAll(Collection<NodeId> nodeIds) {
+        nodeIds.forEach(this::pin);
+    }
+
+    /**
+     * Unpin the node identified by {@code nodeId}, returning it to the evictable part of the cache.
+     *
+     * @param nodeId the {@link NodeId} of the node to unpin.
+     */
+    public void unpin(NodeId nodeId) {
+        if (pinnedNodeIds.remove(nodeId)) {
+            UaNode node = pinnedNodes.remove(nodeId);
+
+            if (node != null) {
+                put(nodeId, node);
+            }
+        }
+    }
+
+    /**
+     * Unpin every pinned node.
+     */
+    public void unpinAll() {
+        pinnedNodeIds.forEach(this::unpin);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return a snapshot of this cache's hit/miss/eviction counts and current weight.
+     */
+    public Stats getStats() {
+        return new Stats(
+            hitCount.get(),
+            missCount.get(),
+            evictionCount.get(),
+            weight.get(),
+            maximumWeight,
+            cachedNodes.size(),
+            pinnedNodes.size()
+        );
+    }
+
+    private void onRemoval(RemovalNotification<NodeId, WeightedNode> notification) {
+        WeightedNode weighted = notification.getValue();
+
+        if (weighted == null) return;
+
+        weight.addAndGet(-weighted.weight);
+
+        RemovalCause cause = notification.getCause();
+
+        if (notification.wasEvicted()) {
+            evictionCount.incrementAndGet();
+
+            NodeId nodeId = notification.getKey();
+            listeners.forEach(l -> l.onEviction(nodeId, weighted.weight, cause));
+        }
+    }
+
+    /**
+     * Estimate the memory retained by {@code node}, in bytes.
+     * <p>
+     * This is a rough estimate based on the node's attributes, intended for relative weighting of cache entries
+     * rather than exact accounting.
+     *
+     * @param node the {@link UaNode} to estimate.
+     * @return the estimated weight of {@code node}.
+     */
+    public static int estimateWeight(UaNode node) {
+        long weight = 256L;
+
+        weight += estimateWeight(node.getNodeId());
+        weight += estimateWeight(node.getBrowseName());
+        weight += estimateWeight(node.getDisplayName());
+        weight += estimateWeight(node.getDescription());
+
+        DataValue value = null;
+        if (node instanceof UaVariableNode) {
+            value = ((UaVariableNode) node).getValue();
+        } else if (node instanceof UaVariableTypeNode) {
+            value = ((UaVariableTypeNode) node).getValue();
+        }
+        if (value != null) {
+            weight += 64L + estimateValueWeight(value.getValue().getValue());
+        }
+
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long estimateWeight(@Nullable NodeId nodeId) {
+        return nodeId != null ? 32L + estimateValueWeight(nodeId.getIdentifier()) : 0L;
+    }
+
+    private static long estimateWeight(@Nullable QualifiedName name) {
+        return name != null ? 24L + estimateValueWeight(name.getName()) : 0L;
+    }
+
+    private static long estimateWeight(@Nullable LocalizedText text) {
+        return text != null ? 24L + estimateValueWeight(text.getText()) : 0L;
+    }
+
+    private static long estimateValueWeight(@Nullable Object o) {
+        if (o == null) {
+            return 0L;
+        } else if (o instanceof String) {
+            return 40L + 2L * ((String) o).length();
+        } else if (o instanceof ByteString) {
+            return 32L + ((ByteString) o).length();
+        } else if (o.getClass().isArray()) {
+            int length = Array.getLength(o);
+
+            if (o.getClass().getComponentType().isPrimitive()) {
+                return 16L + 8L * length;
+            } else {
+                long weight = 16L + 4L * length;
+                for (int i = 0; i < length; i++) {
+                    weight += estimateValueWeight(Array.get(o, i));
+                }
+                return weight;
+            }
+        } else {
+            return 16L;
+        }
+    }
+
+    /**
+     * Receives {@link NodeCache} events. Callbacks are invoked on the thread that caused the event and must not
+     * block.
+     */
+    public interface Listener {
+
+        default void onHit(NodeId nodeId) {}
+
+        default void onMiss(NodeId nodeId) {}
+
+        /**
+         * @param nodeId the {@link NodeId} of the evicted node.
+         * @param weight the estimated weight of the evicted node.
+         * @param cause  the reason the node was evicted.
+         */
+        default void onEviction(NodeId nodeId, int weight, RemovalCause cause) {}
+
+    }
+
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long weight;
+        private final long maximumWeight;
+        private final long size;
+        private final long pinnedSize;
+
+        Stats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long weight,
+            long maximumWeight,
+            long size,
+            long pinnedSize
+        ) {
+
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.weight = weight;
+            this.maximumWeight = maximumWeight;
+            this.size = size;
+            this.pinnedSize = pinnedSize;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests > 0 ? (double) hitCount / requests : 1.0;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the estimated weight of the cached (non-pinned) nodes.
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * @return the configured maximum weight, or 0 if the cache isn't bounded by weight.
+         */
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        /**
+         * @return the number of cached (non-pinned) nodes.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the number of pinned nodes.
+         */
+        public long getPinnedSize() {
+            return pinnedSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "NodeCache.Stats{hits=%d, misses=%d, evictions=%d, weight=%d/%d, size=%d, pinned=%d}",
+                hitCount, missCount, evictionCount, weight, maximumWeight, size, pinnedSize
+            );
+        }
+
+    }
+
+    private static final class WeightedNode {
+
+        final UaNode node;
+        final int weight;
+
+        WeightedNode(UaNode node, int weight) {
+            this.node = node;
+            this.weight = weight;
+        }
+
+    }
+
 }
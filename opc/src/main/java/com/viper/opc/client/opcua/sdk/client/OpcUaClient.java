@@ -252,6 +252,8 @@ public class OpcUaClient implements UaClient {
 
     private final OpcUaSubscriptionManager subscriptionManager;
 
+    private final RequestCoalescer requestCoalescer;
+
     private final SessionFsm sessionFsm;
 
     private final OpcUaClientConfig config;
@@ -297,6 +299,7 @@ public class OpcUaClient implements UaClient {
 
         addressSpace = new AddressSpace(this);
         subscriptionManager = new OpcUaSubscriptionManager(this);
+        requestCoalescer = new RequestCoalescer(this);
 
         ObjectTypeInitializer.initialize(
             stackClient.getNamespaceTable(),
@@ -505,6 +508,18 @@ public class OpcUaClient implements UaClient {
         return subscriptionManager;
     }
 
+    /**
+     * Get the {@link RequestCoalescer} for this client.
+     * <p>
+     * Single-node reads and writes made through it are merged into shared requests; calls made directly on this
+     * client are not affected.
+     *
+     * @return the {@link RequestCoalescer} for this client.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     @Override
     public CompletableFuture<ReadResponse> read(double maxAge,
                                                 TimestampsToReturn timestampsToReturn,
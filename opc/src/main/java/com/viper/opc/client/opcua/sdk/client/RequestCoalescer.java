@@ -0,0 +1,509 @@
+package com.viper.opc.client.opcua.sdk.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.viper.opc.client.opcua.sdk.client.api.config.OpcUaClientConfig;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.Stack;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.WriteValue;
+
+import static com.viper.opc.client.opcua.stack.core.util.ConversionUtil.l;
+
+/**
+ * Merges single-node reads and writes issued close together into shared Read and Write requests.
+ * <p>
+ * The first read (or write) queued starts a timer of {@link OpcUaClientConfig#getRequestCoalescingWindow()}
+ * milliseconds; everything queued before it fires goes out as one request and each caller's future is completed with
+ * its own result. A batch holds at most {@link OpcUaClientConfig#getRequestCoalescingMaxBatchSize()} items, or the
+ * server's MaxNodesPerRead/MaxNodesPerWrite if that is lower; a full batch is sent immediately.
+ * <p>
+ * A second read of an attribute already queued shares the first one's result. Writes are never merged: a second
+ * write to an attribute already queued closes the current batch and starts a new one, and write batches are sent one
+ * after another, each once the previous one's response has arrived, so writes reach the server in the order they
+ * were queued.
+ * <p>
+ * Reads are sent with {@code maxAge = 0} and {@link TimestampsToReturn#Both}. Reads and writes are batched
+ * independently, so a read queued after a write is not guaranteed to observe it; wait for the write's future first
+ * if that matters.
+ */
+public class RequestCoalescer {
+
+    private final Batch<ReadValueId, DataValue> reads;
+    private final Batch<WriteValue, StatusCode> writes;
+
+    private final OpcUaClient client;
+
+    public RequestCoalescer(OpcUaClient client) {
+        this(
+            client,
+            client.getConfig().getRequestCoalescingWindow().longValue(),
+            client.getConfig().getRequestCoalescingMaxBatchSize().intValue()
+        );
+    }
+
+    public RequestCoalescer(OpcUaClient client, long windowMillis, int maxBatchSize) {
+        this.client = client;
+
+        reads = new Batch<>(
+            items -> client.read(0.0, TimestampsToReturn.Both, items)
+                .thenApply(response -> l(response.getResults())),
+            RequestCoalescer::keyOf,
+            true,
+            () -> readOperationLimit(Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead),
+            windowMillis,
+            maxBatchSize
+        );
+
+        writes = new Batch<>(
+            items -> client.write(items)
+                .thenApply(response -> l(response.getResults())),
+            RequestCoalescer::keyOf,
+            false,
+            () -> readOperationLimit(Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerWrite),
+            windowMillis,
+            maxBatchSize
+        );
+    }
+
+    public OpcUaClient getClient() {
+        return client;
+    }
+
+    /**
+     * Read the Value attribute of {@code nodeId} as part of the next Read request.
+     *
+     * @param nodeId the {@link NodeId} to read.
+     * @return the {@link DataValue} read for {@code nodeId}.
+     */
+    public CompletableFuture<DataValue> readValue(NodeId nodeId) {
+        return read(new ReadValueId(nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+    }
+
+    /**
+     * Read an attribute as part of the next Read request.
+     *
+     * @param readValueId the {@link ReadValueId} identifying the node and attribute to read.
+     * @return the {@link DataValue} read for {@code readValueId}.
+     */
+    public CompletableFuture<DataValue> read(ReadValueId readValueId) {
+        return reads.add(readValueId);
+    }
+
+    /**
+     * Write {@code value} to the Value attribute of {@code nodeId} as part of the next Write request.
+     *
+     * @param nodeId the {@link NodeId} to write to.
+     * @param value  the {@link DataValue} to write.
+     * @return the {@link StatusCode} of the write.
+     */
+    public CompletableFuture<StatusCode> writeValue(NodeId nodeId, DataValue value) {
+        return write(new WriteValue(nodeId, AttributeId.Value.uid(), null, value));
+    }
+
+    /**
+     * Write an attribute as part of the next Write request.
+     * <p>
+     * If a write to the same attribute is already queued, the queued writes are sent first and {@code writeValue} goes
+     * in the next request.
+     *
+     * @param writeValue the {@link WriteValue} to write.
+     * @return the {@link StatusCode} of the write.
+     */
+    public CompletableFuture<StatusCode> write(WriteValue writeValue) {
+        return writes.add(writeValue);
+    }
+
+    /**
+     * Send any queued reads and writes now instead of waiting for the window to elapse.
+     */
+    public void flush() {
+        writes.flush();
+        reads.flush();
+    }
+
+    public Stats getReadStats() {
+        return reads.stats;
+    }
+
+    public Stats getWriteStats() {
+        return writes.stats;
+    }
+
+    /**
+     * @return the attribute {@code readValueId} reads, in the encoding it reads it in.
+     */
+    static Object keyOf(ReadValueId readValueId) {
+        return Arrays.asList(
+            readValueId.getNodeId(),
+            readValueId.getAttributeId(),
+            readValueId.getIndexRange(),
+            readValueId.getDataEncoding()
+        );
+    }
+
+    /**
+     * @return the attribute {@code writeValue} writes.
+     */
+    static Object keyOf(WriteValue writeValue) {
+        return Arrays.asList(writeValue.getNodeId(), writeValue.getAttributeId(), writeValue.getIndexRange());
+    }
+
+    /**
+     * @return the value of the operation limit property {@code nodeId}, 0 if the server sets no limit, or
+     * {@code null} if it couldn't be read.
+     */
+    private CompletableFuture<Integer> readOperationLimit(NodeId nodeId) {
+        return client.readValue(0.0, TimestampsToReturn.Neither, nodeId)
+            .thenApply(v -> {
+                Object o = v.getValue().getValue();
+                long limit = o instanceof UInteger ? ((UInteger) o).longValue() : 0L;
+                return (int) Math.min(limit, Integer.MAX_VALUE);
+            })
+            .exceptionally(ex -> null);
+    }
+
+    static class Batch<T, R> {
+
+        private final Stats stats = new Stats();
+
+        private List<T> items = new ArrayList<>();
+        private List<List<CompletableFuture<R>>> futures = new ArrayList<>();
+        private Map<Object, Integer> indices = new HashMap<>();
+        private ScheduledFuture<?> timer;
+
+        /**
+         * Completes once the last batch closed has been answered; only used if {@link #merge} is {@code false}, to send
+         * batches one after another.
+         */
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        /**
+         * The server's operation limit, once read; {@code null} until then or if it couldn't be read.
+         */
+        private CompletableFuture<Integer> serverLimit;
+
+        /**
+         * The most items sent in one request: {@link #maxBatchSize}, lowered to the server's limit once known.
+         */
+        private volatile int batchLimit;
+
+        private final Function<List<T>, CompletableFuture<List<R>>> send;
+        private final Function<T, Object> keyOf;
+        private final boolean merge;
+        private final Supplier<CompletableFuture<Integer>> readServerLimit;
+        private final long windowMillis;
+        private final int maxBatchSize;
+
+        /**
+         * @param send            sends one request for the items given and returns their results, in order.
+         * @param keyOf           returns the attribute an item operates on.
+         * @param merge           {@code true} to merge items with equal keys into one operation, {@code false} to
+         *                        send them in separate requests, in order.
+         * @param readServerLimit reads the server's limit on items per request: 0 for none, {@code null} if unknown.
+         * @param windowMillis    how long to wait for more items after the first one is queued.
+         * @param maxBatchSize    the most items to send in one request.
+         */
+        Batch(
+            Function<List<T>, CompletableFuture<List<R>>> send,
+            Function<T, Object> keyOf,
+            boolean merge,
+            Supplier<CompletableFuture<Integer>> readServerLimit,
+            long windowMillis,
+            int maxBatchSize
+        ) {
+
+            this.send = send;
+            this.keyOf = keyOf;
+            this.merge = merge;
+            this.readServerLimit = readServerLimit;
+            this.windowMillis = Math.max(0L, windowMillis);
+            this.maxBatchSize = Math.max(1, maxBatchSize);
+
+            batchLimit = this.maxBatchSize;
+        }
+
+        Stats getStats() {
+            return stats;
+        }
+
+        CompletableFuture<R> add(T item) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+
+            Runnable sendClosed = null;
+            Runnable sendFull = null;
+
+            synchronized (this) {
+                Object key = keyOf.apply(item);
+                Integer index = indices.get(key);
+
+                if (index != null) {
+                    if (merge) {
+                        futures.get(index).add(future);
+
+                        return future;
+                    }
+
+                    // this operation must follow the queued one, so it goes in the next request
+                    sendClosed = close();
+                }
+
+                indices.put(key, items.size());
+                items.add(item);
+
+                List<CompletableFuture<R>> itemFutures = new ArrayList<>(1);
+                itemFutures.add(future);
+                futures.add(itemFutures);
+
+                if (items.size() >= batchLimit) {
+                    sendFull = close();
+                } else if (timer == null) {
+                    timer = Stack.sharedScheduledExecutor().schedule(
+                        this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (sendClosed != null) {
+                sendClosed.run();
+            }
+            if (sendFull != null) {
+                sendFull.run();
+            }
+
+            return future;
+        }
+
+        void flush() {
+            Runnable sendQueued;
+
+            synchronized (this) {
+                if (items.isEmpty()) return;
+
+                sendQueued = close();
+            }
+
+            sendQueued.run();
+        }
+
+        /**
+         * Close the current batch and start an empty one. Must be called holding this Batch's lock, so that unmerged
+         * batches take their place after {@link #tail} in the order they were closed.
+         *
+         * @return sends the closed batch; run it after releasing the lock.
+         */
+        private Runnable close() {
+            List<T> closedItems = items;
+            List<List<CompletableFuture<R>>> closedFutures = futures;
+            reset();
+
+            CompletableFuture<Void> previous;
+            CompletableFuture<Void> done;
+            if (merge) {
+                previous = CompletableFuture.completedFuture(null);
+                done = null;
+            } else {
+                previous = tail;
+                tail = done = new CompletableFuture<>();
+            }
+
+            return () -> send(closedItems, closedFutures, previous, done);
+        }
+
+        private void reset() {
+            items = new ArrayList<>();
+            futures = new ArrayList<>();
+            indices = new HashMap<>();
+
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+        }
+
+        /**
+         * @return the most items to send in one request, reading the server's limit first if it isn't known yet.
+         */
+        private synchronized CompletableFuture<Integer> getBatchLimit() {
+            CompletableFuture<Integer> limit = serverLimit;
+
+            if (limit == null || limit.isCompletedExceptionally() || (limit.isDone() && limit.join() == null)) {
+                serverLimit = limit = readServerLimit.get().thenApply(serverMax -> {
+                    if (serverMax != null && serverMax > 0) {
+                        batchLimit = Math.min(maxBatchSize, serverMax);
+                    }
+                    return serverMax;
+                });
+            }
+
+            return limit.thenApply(serverMax -> batchLimit);
+        }
+
+        /**
+         * Send a closed batch once {@code previous} completes.
+         *
+         * @param done completed once every request of the batch has been answered, or {@code null}.
+         */
+        private void send(
+            List<T> batchItems,
+            List<List<CompletableFuture<R>>> batchFutures,
+            CompletableFuture<Void> previous,
+            CompletableFuture<Void> done
+        ) {
+
+            previous
+                .thenCompose(v -> getBatchLimit())
+                .handle((l, ex) -> l != null ? l : batchLimit)
+                .thenCompose(limit -> sendPartitions(batchItems, batchFutures, 0, limit))
+                .whenComplete((v, ex) -> {
+                    if (done != null) done.complete(null);
+                });
+        }
+
+        /**
+         * Send {@code batchItems} from {@code from} on in requests of at most {@code limit} items. Merged requests are
+         * sent all at once; unmerged ones one after another.
+         *
+         * @return a future that completes once every request has been answered.
+         */
+        private CompletableFuture<Void> sendPartitions(
+            List<T> batchItems,
+            List<List<CompletableFuture<R>>> batchFutures,
+            int from,
+            int limit
+        ) {
+
+            if (from >= batchItems.size()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            int to = Math.min(batchItems.size(), from + limit);
+
+            CompletableFuture<Void> partition = sendPartition(
+                batchItems.subList(from, to), batchFutures.subList(from, to), limit);
+
+            if (merge) {
+                CompletableFuture<Void> rest = sendPartitions(batchItems, batchFutures, to, limit);
+
+                return CompletableFuture.allOf(partition, rest);
+            } else {
+                return partition.thenCompose(v -> sendPartitions(batchItems, batchFutures, to, limit));
+            }
+        }
+
+        /**
+         * @return a future that completes, normally, once the request has been answered or has failed.
+         */
+        private CompletableFuture<Void> sendPartition(
+            List<T> batchItems,
+            List<List<CompletableFuture<R>>> batchFutures,
+            int limit
+        ) {
+
+            stats.onBatch(batchItems.size(), limit);
+
+            CompletableFuture<List<R>> response;
+            try {
+                response = send.apply(batchItems);
+            } catch (Throwable t) {
+                batchFutures.forEach(fs -> fs.forEach(f -> f.completeExceptionally(t)));
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return response.handle((results, ex) -> {
+                if (ex == null && results.size() != batchFutures.size()) {
+                    ex = new UaException(
+                        StatusCodes.Bad_UnexpectedError,
+                        String.format("expected %d results, got %d", batchFutures.size(), results.size())
+                    );
+                }
+
+                if (ex != null) {
+                    for (List<CompletableFuture<R>> fs : batchFutures) {
+                        for (CompletableFuture<R> f : fs) {
+                            f.completeExceptionally(ex);
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < batchFutures.size(); i++) {
+                        R result = results.get(i);
+
+                        for (CompletableFuture<R> f : batchFutures.get(i)) {
+                            f.complete(result);
+                        }
+                    }
+                }
+
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Batch counts for one direction (reads or writes).
+     */
+    public static class Stats {
+
+        private long batches;
+        private long items;
+        private long fullBatches;
+        private long capacity;
+
+        synchronized void onBatch(int size, int maxBatchSize) {
+            batches++;
+            items += size;
+            capacity += maxBatchSize;
+            if (size >= maxBatchSize) fullBatches++;
+        }
+
+        public synchronized long getBatches() {
+            return batches;
+        }
+
+        public synchronized long getItems() {
+            return items;
+        }
+
+        public synchronized long getFullBatches() {
+            return fullBatches;
+        }
+
+        /**
+         * @return the mean number of items per request sent.
+         */
+        public synchronized double getAverageBatchSize() {
+            return batches > 0 ? (double) items / batches : 0.0;
+        }
+
+        /**
+         * @return items sent divided by the capacity of the batches sent, between 0 and 1.
+         */
+        public synchronized double getFillRatio() {
+            return capacity > 0 ? (double) items / capacity : 0.0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("batches=%d items=%d full=%d avg=%.1f fill=%.2f",
+                batches, items, fullBatches, getAverageBatchSize(), getFillRatio());
+        }
+    }
+
+}
@@ -42,6 +42,17 @@ public class VariableTypeManager {
         return Optional.ofNullable(def).map(d -> d.nodeFactory);
     }
 
+    /**
+     * @param typeDefinition the {@link NodeId} of a VariableType.
+     * @return the {@link UaVariableNode} class registered for {@code typeDefinition}, if any. Its superclasses follow
+     * the VariableType hierarchy, e.g. AnalogItemType is a subclass of BaseDataVariableType.
+     */
+    public Optional<Class<? extends UaVariableNode>> getNodeClass(NodeId typeDefinition) {
+        VariableTypeDefinition def = typeDefinitions.get(typeDefinition);
+
+        return Optional.ofNullable(def).map(d -> d.nodeClass);
+    }
+
     private static class VariableTypeDefinition {
         final Class<? extends UaVariableNode> nodeClass;
         final VariableNodeConstructor nodeFactory;
@@ -16,7 +16,10 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import com.viper.opc.client.opcua.sdk.client.RequestCoalescer;
 import com.viper.opc.client.opcua.sdk.client.api.identity.IdentityProvider;
+import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscription.NotificationListener;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.structured.PublishRequest;
 
@@ -84,6 +87,30 @@ public interface OpcUaClientConfig extends UaStackClientConfig {
      */
     UInteger getKeepAliveTimeout();
 
+    /**
+     * Get whether DataChangeNotifications are decoded lazily.
+     * <p>
+     * When enabled, each DataChangeNotification body is scanned in place and a {@link DataValue} is only
+     * materialized for monitored items that have a value consumer, or when a notification listener asks for it.
+     * The value lists passed to
+     * {@link NotificationListener}s are views that are only valid for the duration of the callback.
+     *
+     * @return {@code true} if lazy notification decoding is enabled.
+     */
+    boolean isLazyNotificationDecodingEnabled();
+
+    /**
+     * @return the amount of time, in milliseconds, the client's {@link RequestCoalescer} waits for more single-node
+     * reads or writes before sending them as one request.
+     */
+    UInteger getRequestCoalescingWindow();
+
+    /**
+     * @return the maximum number of nodes the client's {@link RequestCoalescer} puts in one Read or Write request. A
+     * batch is sent as soon as it is full, without waiting for the window to elapse.
+     */
+    UInteger getRequestCoalescingMaxBatchSize();
+
     /**
      * @return a new {@link OpcUaClientConfigBuilder}.
      */
@@ -119,6 +146,8 @@ public interface OpcUaClientConfig extends UaStackClientConfig {
         builder.setConnectTimeout(config.getConnectTimeout());
         builder.setAcknowledgeTimeout(config.getAcknowledgeTimeout());
         builder.setRequestTimeout(config.getRequestTimeout());
+        builder.setDeliveryLanes(config.getDeliveryLanes());
+        builder.setPrimitiveArrayDecodingEnabled(config.isPrimitiveArrayDecodingEnabled());
 
         // OpcUaClientConfig values
         builder.setSessionName(config.getSessionName());
@@ -131,6 +160,9 @@ public interface OpcUaClientConfig extends UaStackClientConfig {
         builder.setKeepAliveInterval(config.getKeepAliveInterval());
         builder.setKeepAliveTimeout(config.getKeepAliveTimeout());
         builder.setSessionLocaleIds(config.getSessionLocaleIds());
+        builder.setLazyNotificationDecodingEnabled(config.isLazyNotificationDecodingEnabled());
+        builder.setRequestCoalescingWindow(config.getRequestCoalescingWindow());
+        builder.setRequestCoalescingMaxBatchSize(config.getRequestCoalescingMaxBatchSize());
 
         return builder;
     }
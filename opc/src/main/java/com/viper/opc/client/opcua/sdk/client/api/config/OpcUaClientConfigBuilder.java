@@ -50,6 +50,11 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
     private UInteger keepAliveInterval = uint(5000);
     private UInteger keepAliveTimeout = uint(5000);
 
+    private boolean lazyNotificationDecodingEnabled = false;
+
+    private UInteger requestCoalescingWindow = uint(10);
+    private UInteger requestCoalescingMaxBatchSize = uint(100);
+
     public OpcUaClientConfigBuilder setApplicationName(LocalizedText applicationName) {
         this.applicationName = applicationName;
         return this;
@@ -110,6 +115,21 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
         return this;
     }
 
+    public OpcUaClientConfigBuilder setLazyNotificationDecodingEnabled(boolean lazyNotificationDecodingEnabled) {
+        this.lazyNotificationDecodingEnabled = lazyNotificationDecodingEnabled;
+        return this;
+    }
+
+    public OpcUaClientConfigBuilder setRequestCoalescingWindow(UInteger requestCoalescingWindow) {
+        this.requestCoalescingWindow = requestCoalescingWindow;
+        return this;
+    }
+
+    public OpcUaClientConfigBuilder setRequestCoalescingMaxBatchSize(UInteger requestCoalescingMaxBatchSize) {
+        this.requestCoalescingMaxBatchSize = requestCoalescingMaxBatchSize;
+        return this;
+    }
+
     @Override
     public OpcUaClientConfigBuilder setEndpoint(EndpointDescription endpoint) {
         super.setEndpoint(endpoint);
@@ -152,6 +172,18 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
         return this;
     }
 
+    @Override
+    public OpcUaClientConfigBuilder setDeliveryLanes(int deliveryLanes) {
+        super.setDeliveryLanes(deliveryLanes);
+        return this;
+    }
+
+    @Override
+    public OpcUaClientConfigBuilder setPrimitiveArrayDecodingEnabled(boolean primitiveArrayDecodingEnabled) {
+        super.setPrimitiveArrayDecodingEnabled(primitiveArrayDecodingEnabled);
+        return this;
+    }
+
     @Override
     public OpcUaClientConfigBuilder setEventLoop(NioEventLoopGroup eventLoop) {
         super.setEventLoop(eventLoop);
@@ -218,7 +250,10 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
             identityProvider,
             keepAliveFailuresAllowed,
             keepAliveInterval,
-            keepAliveTimeout
+            keepAliveTimeout,
+            lazyNotificationDecodingEnabled,
+            requestCoalescingWindow,
+            requestCoalescingMaxBatchSize
         );
     }
 
@@ -237,6 +272,9 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
         private final UInteger keepAliveFailuresAllowed;
         private final UInteger keepAliveInterval;
         private final UInteger keepAliveTimeout;
+        private final boolean lazyNotificationDecodingEnabled;
+        private final UInteger requestCoalescingWindow;
+        private final UInteger requestCoalescingMaxBatchSize;
 
         OpcUaClientConfigImpl(
             UaStackClientConfig stackClientConfig,
@@ -251,7 +289,10 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
             IdentityProvider identityProvider,
             UInteger keepAliveFailuresAllowed,
             UInteger keepAliveInterval,
-            UInteger keepAliveTimeout
+            UInteger keepAliveTimeout,
+            boolean lazyNotificationDecodingEnabled,
+            UInteger requestCoalescingWindow,
+            UInteger requestCoalescingMaxBatchSize
         ) {
 
             this.stackClientConfig = stackClientConfig;
@@ -267,6 +308,9 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
             this.keepAliveFailuresAllowed = keepAliveFailuresAllowed;
             this.keepAliveInterval = keepAliveInterval;
             this.keepAliveTimeout = keepAliveTimeout;
+            this.lazyNotificationDecodingEnabled = lazyNotificationDecodingEnabled;
+            this.requestCoalescingWindow = requestCoalescingWindow;
+            this.requestCoalescingMaxBatchSize = requestCoalescingMaxBatchSize;
         }
 
         @Override
@@ -329,6 +373,21 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
             return keepAliveTimeout;
         }
 
+        @Override
+        public boolean isLazyNotificationDecodingEnabled() {
+            return lazyNotificationDecodingEnabled;
+        }
+
+        @Override
+        public UInteger getRequestCoalescingWindow() {
+            return requestCoalescingWindow;
+        }
+
+        @Override
+        public UInteger getRequestCoalescingMaxBatchSize() {
+            return requestCoalescingMaxBatchSize;
+        }
+
         @Override
         public EndpointDescription getEndpoint() {
             return stackClientConfig.getEndpoint();
@@ -399,6 +458,16 @@ public class OpcUaClientConfigBuilder extends UaStackClientConfigBuilder {
             return stackClientConfig.getRequestTimeout();
         }
 
+        @Override
+        public int getDeliveryLanes() {
+            return stackClientConfig.getDeliveryLanes();
+        }
+
+        @Override
+        public boolean isPrimitiveArrayDecodingEnabled() {
+            return stackClientConfig.isPrimitiveArrayDecodingEnabled();
+        }
+
     }
 
 }
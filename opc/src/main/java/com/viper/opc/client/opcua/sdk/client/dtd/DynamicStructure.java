@@ -0,0 +1,112 @@
+package com.viper.opc.client.opcua.sdk.client.dtd;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A value of a server-defined structure, decoded by a {@link StructureCodec}.
+ * <p>
+ * Field values are held in {@link StructureLayout} field order. A field absent from a structure with optional
+ * fields, or not selected in a union, is {@code null}.
+ */
+public final class DynamicStructure {
+
+    private final StructureLayout layout;
+    private final Object[] values;
+
+    /**
+     * @param layout the {@link StructureLayout} of the structure.
+     * @param values the field values, in field order.
+     */
+    public DynamicStructure(StructureLayout layout, Object[] values) {
+        if (values.length != layout.getFields().size()) {
+            throw new IllegalArgumentException(
+                "expected " + layout.getFields().size() + " values, got " + values.length);
+        }
+
+        this.layout = layout;
+        this.values = values;
+    }
+
+    public StructureLayout getLayout() {
+        return layout;
+    }
+
+    public String getName() {
+        return layout.getName();
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Nullable
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param fieldName the name of a field.
+     * @return the value of the field named {@code fieldName}, or {@code null} if it's absent or there is no such
+     * field.
+     */
+    @Nullable
+    public Object get(String fieldName) {
+        int index = layout.indexOf(fieldName);
+
+        return index >= 0 ? values[index] : null;
+    }
+
+    Object[] getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DynamicStructure that = (DynamicStructure) o;
+
+        return layout.getDataTypeId().equals(that.layout.getDataTypeId()) &&
+            Arrays.deepEquals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * layout.getDataTypeId().hashCode() + Arrays.deepHashCode(values);
+    }
+
+    /**
+     * @return the structure as {@code Name{field=value, ...}}, omitting absent fields.
+     */
+    @Override
+    public String toString() {
+        List<StructureLayout.Field> fields = layout.getFields();
+
+        StringBuilder sb = new StringBuilder(layout.getName()).append('{');
+
+        boolean first = true;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+
+            if (value == null && fields.get(i).isOptional()) continue;
+
+            if (!first) sb.append(", ");
+            first = false;
+
+            sb.append(fields.get(i).getName()).append('=');
+
+            if (value instanceof Object[]) {
+                sb.append(Arrays.deepToString((Object[]) value));
+            } else {
+                sb.append(value);
+            }
+        }
+
+        return sb.append('}').toString();
+    }
+
+}
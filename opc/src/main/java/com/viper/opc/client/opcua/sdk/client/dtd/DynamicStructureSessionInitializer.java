@@ -0,0 +1,778 @@
+package com.viper.opc.client.opcua.sdk.client.dtd;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.Lists;
+import com.viper.opc.client.opcua.sdk.client.BrowseHelper;
+import com.viper.opc.client.opcua.sdk.client.DataTypeTreeSessionInitializer;
+import com.viper.opc.client.opcua.sdk.client.NamespaceVersions;
+import com.viper.opc.client.opcua.sdk.client.OpcUaSession;
+import com.viper.opc.client.opcua.sdk.client.session.SessionFsm;
+import com.viper.opc.client.opcua.sdk.core.DataTypeTree;
+import com.viper.opc.client.opcua.sdk.core.ValueRanks;
+import com.viper.opc.client.opcua.stack.client.UaStackClient;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeDictionary;
+import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaBinaryDataTypeDictionary;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaDefaultBinaryEncoding;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseDirection;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseResultMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureDefinition;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureField;
+import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
+import com.viper.opc.client.opcua.stack.core.util.Tree;
+import com.viper.opc.client.opcua.stack.core.util.Unit;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Registers a {@link StructureCodec} with the client's dynamic {@link DataTypeManager} for every structure the server
+ * defines outside namespace 0, compiled from the structure's DataTypeDefinition attribute.
+ * <p>
+ * The compiled {@link StructureLayout}s of each namespace are kept in a {@link StructureLayoutCache}, keyed by the
+ * server's URI, the namespace URI, and the namespace's version and publication date from its NamespaceMetadata, or
+ * the server's start time when the server doesn't publish them. When every namespace is in the cache a new session
+ * registers its codecs without browsing or reading a single type; when the namespace array hasn't changed since the
+ * previous session of the same client nothing is registered again at all.
+ * <p>
+ * Given a {@link DataTypeTreeSessionInitializer}, the DataType hierarchy is taken from its (cached) tree rather than
+ * browsed again.
+ * <p>
+ * Servers that only describe their structures in DataType dictionaries, without DataTypeDefinition attributes, have
+ * nothing registered. Failures are logged, never reported to the session, so values of an unregistered structure are
+ * left as {@link ExtensionObject}s.
+ *
+ * @see com.viper.opc.client.opcua.sdk.client.OpcUaClient#addSessionInitializer(SessionFsm.SessionInitializer)
+ * @see com.viper.opc.client.opcua.sdk.client.OpcUaClient#getDynamicSerializationContext()
+ */
+public class DynamicStructureSessionInitializer implements SessionFsm.SessionInitializer {
+
+    /**
+     * Nodes per Browse request and per Read request when the server doesn't declare a MaxNodesPerBrowse or
+     * MaxNodesPerRead of its own; below those of common servers.
+     */
+    private static final int DEFAULT_MAX_NODES_PER_REQUEST = 100;
+
+    private static final int MAX_SUPERTYPE_DEPTH = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * The key and namespace index each namespace URI's codecs were last registered under.
+     */
+    private final Map<String, String> registered = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final StructureLayoutCache cache;
+
+    @Nullable
+    private final DataTypeTreeSessionInitializer dataTypeTrees;
+
+    /**
+     * Create a {@link DynamicStructureSessionInitializer} that compiles every namespace in each new session.
+     */
+    public DynamicStructureSessionInitializer() {
+        this(null);
+    }
+
+    /**
+     * @param cacheDirectory the directory to keep compiled {@link StructureLayout}s in, or {@code null} to compile
+     *                       every namespace in each new session.
+     */
+    public DynamicStructureSessionInitializer(@Nullable File cacheDirectory) {
+        this(cacheDirectory, null);
+    }
+
+    /**
+     * @param cacheDirectory the directory to keep compiled {@link StructureLayout}s in, or {@code null} to compile
+     *                       every namespace in each new session.
+     * @param dataTypeTrees  the initializer whose {@link DataTypeTree} to take the DataType hierarchy from, or
+     *                       {@code null} to browse it.
+     */
+    public DynamicStructureSessionInitializer(
+        @Nullable File cacheDirectory,
+        @Nullable DataTypeTreeSessionInitializer dataTypeTrees
+    ) {
+
+        this.cache = cacheDirectory != null ? new StructureLayoutCache(cacheDirectory) : null;
+        this.dataTypeTrees = dataTypeTrees;
+    }
+
+    @Override
+    public CompletableFuture<Unit> initialize(UaStackClient client, OpcUaSession session) {
+        return NamespaceVersions.readAsync(client, session)
+            .thenCompose(versions -> registerNamespaces(client, session, versions))
+            .exceptionally(ex -> {
+                logger.warn("Error registering server-defined structures", ex);
+                return Unit.VALUE;
+            });
+    }
+
+    private CompletableFuture<Unit> registerNamespaces(
+        UaStackClient client,
+        OpcUaSession session,
+        NamespaceVersions versions
+    ) {
+
+        Set<Integer> missing = new HashSet<>();
+
+        for (int index = 1; index < versions.getNamespaceUris().length; index++) {
+            String namespaceUri = versions.getNamespaceUris()[index];
+            String key = keyOf(versions, index);
+
+            if (key != null && (key + "#" + index).equals(registered.get(namespaceUri))) {
+                continue;
+            }
+
+            List<StructureLayout> layouts = key != null && cache != null ? cache.load(key) : null;
+
+            if (layouts != null) {
+                register(client, versions, index, layouts);
+            } else {
+                missing.add(index);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            logger.debug("Server-defined structures registered without compiling");
+
+            return CompletableFuture.completedFuture(Unit.VALUE);
+        }
+
+        return readOperationLimits(client, session)
+            .thenCompose(limits ->
+                browseTypeTree(client, session, limits, versions.getNamespaceTable())
+                    .thenCompose(tree -> compile(client, session, limits, versions, tree, missing))
+            )
+            .thenApply(layoutsByIndex -> {
+                for (int index : missing) {
+                    List<StructureLayout> layouts = layoutsByIndex.getOrDefault(index, Collections.emptyList());
+                    String key = keyOf(versions, index);
+
+                    if (key != null && cache != null) {
+                        cache.store(key, layouts);
+                    }
+
+                    register(client, versions, index, layouts);
+                }
+
+                return Unit.VALUE;
+            });
+    }
+
+    private void register(UaStackClient client, NamespaceVersions versions, int index, List<StructureLayout> layouts) {
+        String namespaceUri = versions.getNamespaceUris()[index];
+        String key = keyOf(versions, index);
+
+        if (!layouts.isEmpty()) {
+            DataTypeManager dataTypeManager = client.getDynamicDataTypeManager();
+
+            DataTypeDictionary<?> existing = dataTypeManager.getDataTypeDictionary(namespaceUri);
+
+            OpcUaBinaryDataTypeDictionary dictionary = existing instanceof OpcUaBinaryDataTypeDictionary ?
+                (OpcUaBinaryDataTypeDictionary) existing : new OpcUaBinaryDataTypeDictionary(namespaceUri);
+
+            int count = 0;
+
+            for (StructureLayout layout : layouts) {
+                NodeId dataTypeId = layout.getDataTypeId().toNodeId(versions.getNamespaceTable()).orElse(null);
+                NodeId encodingId = layout.getBinaryEncodingId().toNodeId(versions.getNamespaceTable()).orElse(null);
+
+                if (dataTypeId == null || encodingId == null) continue;
+
+                // codecs registered some other way take precedence
+                DataTypeCodec registeredCodec =
+                    dataTypeManager.getCodec(OpcUaDefaultBinaryEncoding.ENCODING_NAME, dataTypeId);
+
+                if (registeredCodec != null && registeredCodec.getType() != DynamicStructure.class) continue;
+
+                try {
+                    StructureCodec codec = new StructureCodec(layout);
+
+                    dictionary.registerStructCodec(codec.asBinaryCodec(), layout.getName(), dataTypeId, encodingId);
+
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping structure {}: {}", layout.getName(), e.getMessage());
+                }
+            }
+
+            dataTypeManager.registerTypeDictionary(dictionary);
+
+            logger.debug("Registered {} structure codecs for {}", count, namespaceUri);
+        }
+
+        if (key != null) {
+            registered.put(namespaceUri, key + "#" + index);
+        }
+    }
+
+    private CompletableFuture<Map<Integer, List<StructureLayout>>> compile(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        NamespaceVersions versions,
+        TypeTree tree,
+        Set<Integer> namespaceIndices
+    ) {
+
+        List<NodeId> candidates = new ArrayList<>();
+
+        for (NodeId dataTypeId : tree.supertypes.keySet()) {
+            if (namespaceIndices.contains(dataTypeId.getNamespaceIndex().intValue()) &&
+                tree.isSubtypeOf(dataTypeId, Identifiers.Structure)) {
+
+                candidates.add(dataTypeId);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        List<ReadValueId> readValueIds = new ArrayList<>(candidates.size() * 2);
+
+        for (NodeId dataTypeId : candidates) {
+            readValueIds.add(new ReadValueId(
+                dataTypeId, AttributeId.DataTypeDefinition.uid(), null, QualifiedName.NULL_VALUE));
+            readValueIds.add(new ReadValueId(
+                dataTypeId, AttributeId.IsAbstract.uid(), null, QualifiedName.NULL_VALUE));
+        }
+
+        return read(client, session, limits, readValueIds).thenCompose(values -> {
+            Map<NodeId, StructureDefinition> definitions = new LinkedHashMap<>();
+            Set<NodeId> abstractTypes = new HashSet<>();
+
+            for (int i = 0; i < candidates.size(); i++) {
+                NodeId dataTypeId = candidates.get(i);
+                DataValue definitionValue = values.get(i * 2);
+                DataValue isAbstractValue = values.get(i * 2 + 1);
+
+                if (Boolean.TRUE.equals(isAbstractValue.getValue().getValue())) {
+                    abstractTypes.add(dataTypeId);
+                    continue;
+                }
+
+                Object definition = definitionValue.getValue().getValue();
+
+                if (definition instanceof ExtensionObject) {
+                    try {
+                        definition = ((ExtensionObject) definition).decode(client.getStaticSerializationContext());
+                    } catch (Throwable t) {
+                        logger.warn("Error decoding DataTypeDefinition of {}", dataTypeId, t);
+                        continue;
+                    }
+                }
+
+                if (definition instanceof StructureDefinition) {
+                    definitions.put(dataTypeId, (StructureDefinition) definition);
+                } else {
+                    logger.debug("No StructureDefinition for {}: {}", dataTypeId, definitionValue.getStatusCode());
+                }
+            }
+
+            return resolveEncodingIds(client, session, limits, versions.getNamespaceTable(), definitions).thenApply(
+                encodingIds ->
+                    buildLayouts(client, versions, tree, definitions, abstractTypes, encodingIds)
+            );
+        });
+    }
+
+    private Map<Integer, List<StructureLayout>> buildLayouts(
+        UaStackClient client,
+        NamespaceVersions versions,
+        TypeTree tree,
+        Map<NodeId, StructureDefinition> definitions,
+        Set<NodeId> abstractTypes,
+        Map<NodeId, NodeId> encodingIds
+    ) {
+
+        Map<NodeId, StructureLayout> layouts = new LinkedHashMap<>();
+
+        definitions.forEach((dataTypeId, definition) -> {
+            NodeId encodingId = encodingIds.get(dataTypeId);
+            QualifiedName browseName = tree.browseNames.get(dataTypeId);
+            String name = browseName != null && browseName.getName() != null ?
+                browseName.getName() : dataTypeId.toParseableString();
+
+            if (encodingId == null) {
+                logger.warn("Skipping structure {}: no Default Binary encoding", name);
+                return;
+            }
+
+            StructureType structureType = definition.getStructureType();
+            StructureField[] structureFields = definition.getFields() != null ?
+                definition.getFields() : new StructureField[0];
+
+            List<StructureLayout.Field> fields = new ArrayList<>(structureFields.length);
+
+            for (StructureField structureField : structureFields) {
+                Integer valueRank = structureField.getValueRank();
+                boolean array = valueRank != null && valueRank == ValueRanks.OneDimension;
+
+                if (valueRank != null && valueRank != ValueRanks.Scalar && !array) {
+                    logger.warn("Skipping structure {}: field {} has ValueRank {}",
+                        name, structureField.getName(), valueRank);
+                    return;
+                }
+
+                NodeId fieldType = structureField.getDataType();
+                int builtinTypeId = classify(client, tree, definitions, abstractTypes, fieldType);
+
+                if (builtinTypeId < 0) {
+                    logger.warn("Skipping structure {}: field {} has unsupported DataType {}",
+                        name, structureField.getName(), fieldType);
+                    return;
+                }
+
+                boolean optional = structureType == StructureType.Union ||
+                    structureType == StructureType.StructureWithOptionalFields &&
+                        Boolean.TRUE.equals(structureField.getIsOptional());
+
+                fields.add(new StructureLayout.Field(
+                    structureField.getName(),
+                    builtinTypeId,
+                    builtinTypeId == StructureLayout.STRUCTURE ? fieldType.expanded(versions.getNamespaceTable()) : null,
+                    array,
+                    optional
+                ));
+            }
+
+            layouts.put(dataTypeId, new StructureLayout(
+                dataTypeId.expanded(versions.getNamespaceTable()),
+                encodingId.expanded(versions.getNamespaceTable()),
+                name,
+                structureType,
+                fields
+            ));
+        });
+
+        // drop structures with fields of a structure that was skipped, until none are left
+        boolean removed = true;
+        while (removed) {
+            removed = layouts.values().removeIf(layout -> layout.getFields().stream().anyMatch(field -> {
+                if (field.getBuiltinTypeId() != StructureLayout.STRUCTURE) return false;
+
+                NodeId fieldType = field.getDataTypeId() != null ?
+                    field.getDataTypeId().toNodeId(versions.getNamespaceTable()).orElse(null) : null;
+
+                return fieldType != null && definitions.containsKey(fieldType) && !layouts.containsKey(fieldType);
+            }));
+        }
+
+        Map<Integer, List<StructureLayout>> layoutsByIndex = new HashMap<>();
+
+        layouts.forEach((dataTypeId, layout) ->
+            layoutsByIndex.computeIfAbsent(dataTypeId.getNamespaceIndex().intValue(), i -> new ArrayList<>())
+                .add(layout)
+        );
+
+        return layoutsByIndex;
+    }
+
+    /**
+     * @return the id of the builtin type a field of DataType {@code dataTypeId} is encoded as,
+     * {@link StructureLayout#STRUCTURE}, or -1 if it can't be encoded.
+     */
+    private static int classify(
+        UaStackClient client,
+        TypeTree tree,
+        Map<NodeId, StructureDefinition> definitions,
+        Set<NodeId> abstractTypes,
+        NodeId dataTypeId
+    ) {
+
+        int id = namespaceZeroId(dataTypeId);
+
+        if (id >= 1 && id <= 25) {
+            return id;
+        } else if (dataTypeId.equals(Identifiers.Number) ||
+            dataTypeId.equals(Identifiers.Integer) ||
+            dataTypeId.equals(Identifiers.UInteger)) {
+
+            return 24;
+        } else if (dataTypeId.equals(Identifiers.Enumeration)) {
+            return 6;
+        } else if (dataTypeId.equals(Identifiers.Union) || abstractTypes.contains(dataTypeId)) {
+            return 22;
+        }
+
+        NodeId supertype = tree.supertypes.get(dataTypeId);
+
+        for (int depth = 0; supertype != null && depth < MAX_SUPERTYPE_DEPTH; depth++) {
+            int supertypeId = namespaceZeroId(supertype);
+
+            if (supertype.equals(Identifiers.Enumeration)) {
+                return 6;
+            } else if (supertype.equals(Identifiers.Structure) || supertype.equals(Identifiers.Union)) {
+                if (definitions.containsKey(dataTypeId)) {
+                    return StructureLayout.STRUCTURE;
+                }
+
+                DataTypeManager dataTypeManager = id >= 0 ?
+                    client.getStaticDataTypeManager() : client.getDynamicDataTypeManager();
+
+                return dataTypeManager.getCodec(OpcUaDefaultBinaryEncoding.ENCODING_NAME, dataTypeId) != null ?
+                    StructureLayout.STRUCTURE : -1;
+            } else if (supertypeId >= 1 && supertypeId <= 25) {
+                return supertypeId;
+            } else if (supertypeId >= 26 && supertypeId <= 28) {
+                // a subtype of Number the stack doesn't know
+                return -1;
+            }
+
+            supertype = tree.supertypes.get(supertype);
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the Default Binary encoding of each of {@code definitions}, from its DefaultEncodingId or, if it has
+     * none, by browsing its HasEncoding references.
+     */
+    private CompletableFuture<Map<NodeId, NodeId>> resolveEncodingIds(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        NamespaceTable namespaceTable,
+        Map<NodeId, StructureDefinition> definitions
+    ) {
+
+        Map<NodeId, NodeId> encodingIds = new HashMap<>();
+        List<NodeId> unresolved = new ArrayList<>();
+
+        definitions.forEach((dataTypeId, definition) -> {
+            NodeId encodingId = definition.getDefaultEncodingId();
+
+            if (encodingId != null && encodingId.isNotNull()) {
+                encodingIds.put(dataTypeId, encodingId);
+            } else {
+                unresolved.add(dataTypeId);
+            }
+        });
+
+        List<BrowseDescription> browseDescriptions = new ArrayList<>(unresolved.size());
+
+        for (NodeId dataTypeId : unresolved) {
+            browseDescriptions.add(new BrowseDescription(
+                dataTypeId,
+                BrowseDirection.Forward,
+                Identifiers.HasEncoding,
+                false,
+                uint(NodeClass.Object.getValue()),
+                uint(BrowseResultMask.BrowseName.getValue())
+            ));
+        }
+
+        return browse(client, session, limits, browseDescriptions).thenApply(results -> {
+            for (int i = 0; i < unresolved.size(); i++) {
+                NodeId dataTypeId = unresolved.get(i);
+
+                for (ReferenceDescription reference : results.get(i)) {
+                    if (OpcUaDefaultBinaryEncoding.ENCODING_NAME.equals(reference.getBrowseName())) {
+                        reference.getNodeId().toNodeId(namespaceTable)
+                            .ifPresent(encodingId -> encodingIds.put(dataTypeId, encodingId));
+                    }
+                }
+            }
+
+            return encodingIds;
+        });
+    }
+
+    /**
+     * Get the DataType hierarchy below {@link Identifiers#BaseDataType} from {@link #dataTypeTrees}, or browse it,
+     * one level per round of requests, if there is none or it couldn't be built.
+     */
+    private CompletableFuture<TypeTree> browseTypeTree(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        NamespaceTable namespaceTable
+    ) {
+
+        if (dataTypeTrees != null) {
+            return dataTypeTrees.getDataTypeTree(client, session).handle((dataTypeTree, ex) -> {
+                if (dataTypeTree != null) {
+                    return CompletableFuture.completedFuture(TypeTree.of(dataTypeTree));
+                } else {
+                    logger.debug("No DataTypeTree, browsing the DataType hierarchy", ex);
+
+                    return browseSubtypes(client, session, limits, namespaceTable);
+                }
+            }).thenCompose(f -> f);
+        }
+
+        return browseSubtypes(client, session, limits, namespaceTable);
+    }
+
+    private CompletableFuture<TypeTree> browseSubtypes(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        NamespaceTable namespaceTable
+    ) {
+
+        TypeTree tree = new TypeTree();
+        List<NodeId> roots = Collections.singletonList(Identifiers.BaseDataType);
+
+        return browseSubtypes(client, session, limits, namespaceTable, tree, roots).thenApply(u -> tree);
+    }
+
+    private CompletableFuture<Unit> browseSubtypes(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        NamespaceTable namespaceTable,
+        TypeTree tree,
+        List<NodeId> dataTypeIds
+    ) {
+
+        if (dataTypeIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Unit.VALUE);
+        }
+
+        List<BrowseDescription> browseDescriptions = new ArrayList<>(dataTypeIds.size());
+
+        for (NodeId dataTypeId : dataTypeIds) {
+            browseDescriptions.add(new BrowseDescription(
+                dataTypeId,
+                BrowseDirection.Forward,
+                Identifiers.HasSubtype,
+                false,
+                uint(NodeClass.DataType.getValue()),
+                uint(BrowseResultMask.BrowseName.getValue())
+            ));
+        }
+
+        return browse(client, session, limits, browseDescriptions).thenCompose(results -> {
+            List<NodeId> subtypes = new ArrayList<>();
+
+            for (int i = 0; i < dataTypeIds.size(); i++) {
+                for (ReferenceDescription reference : results.get(i)) {
+                    NodeId subtype = reference.getNodeId().toNodeId(namespaceTable).orElse(null);
+
+                    if (subtype != null && tree.add(subtype, dataTypeIds.get(i), reference.getBrowseName())) {
+                        subtypes.add(subtype);
+                    }
+                }
+            }
+
+            return browseSubtypes(client, session, limits, namespaceTable, tree, subtypes);
+        });
+    }
+
+    /**
+     * Read the server's MaxNodesPerRead and MaxNodesPerBrowse, either of which is
+     * {@link #DEFAULT_MAX_NODES_PER_REQUEST} if the server doesn't declare it or it couldn't be read.
+     */
+    private static CompletableFuture<OperationLimits> readOperationLimits(UaStackClient client, OpcUaSession session) {
+        List<ReadValueId> readValueIds = new ArrayList<>(2);
+
+        readValueIds.add(new ReadValueId(
+            Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerRead,
+            AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+        readValueIds.add(new ReadValueId(
+            Identifiers.Server_ServerCapabilities_OperationLimits_MaxNodesPerBrowse,
+            AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+
+        return read(client, session, OperationLimits.DEFAULT, readValueIds)
+            .thenApply(values -> new OperationLimits(limitOf(values.get(0)), limitOf(values.get(1))))
+            .exceptionally(ex -> OperationLimits.DEFAULT);
+    }
+
+    private static int limitOf(DataValue value) {
+        Object o = value.getValue().getValue();
+        long limit = o instanceof UInteger ? ((UInteger) o).longValue() : 0L;
+
+        return limit > 0 ? (int) Math.min(limit, Integer.MAX_VALUE) : DEFAULT_MAX_NODES_PER_REQUEST;
+    }
+
+    private static CompletableFuture<List<List<ReferenceDescription>>> browse(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        List<BrowseDescription> browseDescriptions
+    ) {
+
+        List<CompletableFuture<List<List<ReferenceDescription>>>> futures = new ArrayList<>();
+
+        for (List<BrowseDescription> partition : Lists.partition(browseDescriptions, limits.maxNodesPerBrowse)) {
+            futures.add(BrowseHelper.browse(client, session, partition, uint(0)));
+        }
+
+        return FutureUtils.sequence(futures).thenApply(partitions -> {
+            List<List<ReferenceDescription>> results = new ArrayList<>(browseDescriptions.size());
+            partitions.forEach(results::addAll);
+            return results;
+        });
+    }
+
+    /**
+     * @return a {@link DataValue} for each of {@code readValueIds}, in the same order; {@link StatusCodes#Bad_NoData}
+     * for any the server returned no result for.
+     */
+    private static CompletableFuture<List<DataValue>> read(
+        UaStackClient client,
+        OpcUaSession session,
+        OperationLimits limits,
+        List<ReadValueId> readValueIds
+    ) {
+
+        List<List<ReadValueId>> partitions = Lists.partition(readValueIds, limits.maxNodesPerRead);
+        List<CompletableFuture<ReadResponse>> futures = new ArrayList<>(partitions.size());
+
+        for (List<ReadValueId> partition : partitions) {
+            ReadRequest request = new ReadRequest(
+                client.newRequestHeader(
+                    session.getAuthenticationToken(),
+                    client.getConfig().getRequestTimeout()
+                ),
+                0.0,
+                TimestampsToReturn.Neither,
+                partition.toArray(new ReadValueId[0])
+            );
+
+            futures.add(client.sendRequest(request).thenApply(ReadResponse.class::cast));
+        }
+
+        return FutureUtils.sequence(futures).thenApply(responses -> {
+            List<DataValue> values = new ArrayList<>(readValueIds.size());
+
+            for (int i = 0; i < responses.size(); i++) {
+                DataValue[] results = responses.get(i).getResults();
+                int count = results != null ? results.length : 0;
+
+                for (int j = 0; j < partitions.get(i).size(); j++) {
+                    DataValue value = j < count ? results[j] : null;
+
+                    values.add(value != null ? value : new DataValue(StatusCodes.Bad_NoData));
+                }
+            }
+
+            return values;
+        });
+    }
+
+    /**
+     * @return the {@link StructureLayoutCache} key for the namespace at {@code index}, or {@code null} if there's
+     * nothing to tell whether its types have changed by.
+     */
+    @Nullable
+    private static String keyOf(NamespaceVersions versions, int index) {
+        String token = versions.getVersionToken(index);
+
+        return token != null ?
+            versions.getServerUri() + "|" + versions.getNamespaceUris()[index] + "|" + token : null;
+    }
+
+    /**
+     * @return the identifier of {@code nodeId} if it's numeric and in namespace 0, otherwise -1.
+     */
+    private static int namespaceZeroId(NodeId nodeId) {
+        Object identifier = nodeId.getIdentifier();
+
+        if (identifier instanceof UInteger && nodeId.getNamespaceIndex().intValue() == 0) {
+            long id = ((UInteger) identifier).longValue();
+
+            return id <= Integer.MAX_VALUE ? (int) id : -1;
+        } else {
+            return -1;
+        }
+    }
+
+    private static final class OperationLimits {
+
+        static final OperationLimits DEFAULT =
+            new OperationLimits(DEFAULT_MAX_NODES_PER_REQUEST, DEFAULT_MAX_NODES_PER_REQUEST);
+
+        final int maxNodesPerRead;
+        final int maxNodesPerBrowse;
+
+        OperationLimits(int maxNodesPerRead, int maxNodesPerBrowse) {
+            this.maxNodesPerRead = maxNodesPerRead;
+            this.maxNodesPerBrowse = maxNodesPerBrowse;
+        }
+
+    }
+
+    private static final class TypeTree {
+
+        final Map<NodeId, NodeId> supertypes = new HashMap<>();
+        final Map<NodeId, QualifiedName> browseNames = new HashMap<>();
+
+        static TypeTree of(DataTypeTree dataTypeTree) {
+            TypeTree tree = new TypeTree();
+
+            dataTypeTree.getTree().traverseNodes(node -> {
+                Tree<DataTypeTree.DataType> parent = node.getParent();
+
+                if (parent != null) {
+                    DataTypeTree.DataType dataType = node.getValue();
+
+                    tree.add(dataType.getNodeId(), parent.getValue().getNodeId(), dataType.getBrowseName());
+                }
+            });
+
+            return tree;
+        }
+
+        /**
+         * @return {@code true} if {@code dataTypeId} wasn't in the tree yet.
+         */
+        boolean add(NodeId dataTypeId, NodeId supertype, QualifiedName browseName) {
+            if (supertypes.containsKey(dataTypeId)) return false;
+
+            supertypes.put(dataTypeId, supertype);
+            browseNames.put(dataTypeId, browseName);
+
+            return true;
+        }
+
+        boolean isSubtypeOf(NodeId dataTypeId, NodeId supertype) {
+            NodeId current = supertypes.get(dataTypeId);
+
+            for (int depth = 0; current != null && depth < MAX_SUPERTYPE_DEPTH; depth++) {
+                if (current.equals(supertype)) return true;
+
+                current = supertypes.get(current);
+            }
+
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,372 @@
+package com.viper.opc.client.opcua.sdk.client.dtd;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaSerializationException;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.serialization.UaDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.UaEncoder;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.GenericDataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.OpcUaDefaultBinaryEncoding;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DiagnosticInfo;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExpandedNodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
+import com.viper.opc.client.opcua.stack.core.types.builtin.LocalizedText;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.XmlElement;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
+/**
+ * Encodes and decodes a server-defined structure as a {@link DynamicStructure}, following a {@link StructureLayout}.
+ * <p>
+ * Every field's read and write is chosen once, when the codec is created, so decoding a value is a straight pass over
+ * the fields. Fields that are themselves structures are encoded with the codec registered for their DataType under
+ * {@link OpcUaDefaultBinaryEncoding#ENCODING_NAME}, looked up the first time the field is encoded or decoded.
+ * <p>
+ * Optional fields are preceded by a UInt32 encoding mask with one bit per optional field, and a union by a UInt32
+ * switch value that is 0 when no field is selected and otherwise the index of the selected field plus 1.
+ */
+public class StructureCodec extends GenericDataTypeCodec<DynamicStructure> {
+
+    private final StructureLayout layout;
+    private final FieldCodec[] fieldCodecs;
+
+    /**
+     * The bit of each optional field in the encoding mask of a StructureWithOptionalFields, or -1.
+     */
+    private final int[] maskBits;
+
+    public StructureCodec(StructureLayout layout) {
+        this.layout = layout;
+
+        List<StructureLayout.Field> fields = layout.getFields();
+
+        fieldCodecs = new FieldCodec[fields.size()];
+        maskBits = new int[fields.size()];
+
+        int bit = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            StructureLayout.Field field = fields.get(i);
+
+            fieldCodecs[i] = newFieldCodec(field);
+
+            if (layout.getStructureType() == StructureType.StructureWithOptionalFields && field.isOptional()) {
+                if (bit >= 32) {
+                    throw new IllegalArgumentException(layout.getName() + " has more than 32 optional fields");
+                }
+                maskBits[i] = bit++;
+            } else {
+                maskBits[i] = -1;
+            }
+        }
+    }
+
+    public StructureLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public Class<DynamicStructure> getType() {
+        return DynamicStructure.class;
+    }
+
+    @Override
+    public DynamicStructure decode(SerializationContext context, UaDecoder decoder) throws UaSerializationException {
+        Object[] values = new Object[fieldCodecs.length];
+
+        switch (layout.getStructureType()) {
+            case StructureWithOptionalFields: {
+                long mask = decoder.readUInt32("EncodingMask").longValue();
+
+                for (int i = 0; i < fieldCodecs.length; i++) {
+                    int bit = maskBits[i];
+
+                    if (bit < 0 || (mask & (1L << bit)) != 0) {
+                        values[i] = fieldCodecs[i].read(context, decoder);
+                    }
+                }
+                break;
+            }
+
+            case Union: {
+                long switchField = decoder.readUInt32("SwitchField").longValue();
+
+                if (switchField > fieldCodecs.length) {
+                    throw new UaSerializationException(
+                        StatusCodes.Bad_DecodingError,
+                        "invalid SwitchField " + switchField + " for union " + layout.getName()
+                    );
+                } else if (switchField > 0) {
+                    int index = (int) switchField - 1;
+
+                    values[index] = fieldCodecs[index].read(context, decoder);
+                }
+                break;
+            }
+
+            default:
+                for (int i = 0; i < fieldCodecs.length; i++) {
+                    values[i] = fieldCodecs[i].read(context, decoder);
+                }
+                break;
+        }
+
+        return new DynamicStructure(layout, values);
+    }
+
+    @Override
+    public void encode(
+        SerializationContext context,
+        UaEncoder encoder,
+        DynamicStructure value
+    ) throws UaSerializationException {
+
+        Object[] values = value.getValues();
+
+        if (values.length != fieldCodecs.length) {
+            throw new UaSerializationException(
+                StatusCodes.Bad_EncodingError,
+                "expected a " + layout.getName() + ", got a " + value.getName()
+            );
+        }
+
+        switch (layout.getStructureType()) {
+            case StructureWithOptionalFields: {
+                long mask = 0L;
+
+                for (int i = 0; i < values.length; i++) {
+                    if (maskBits[i] >= 0 && values[i] != null) {
+                        mask |= 1L << maskBits[i];
+                    }
+                }
+
+                encoder.writeUInt32("EncodingMask", uint(mask));
+
+                for (int i = 0; i < values.length; i++) {
+                    if (maskBits[i] < 0 || values[i] != null) {
+                        fieldCodecs[i].write(context, encoder, values[i]);
+                    }
+                }
+                break;
+            }
+
+            case Union: {
+                int selected = -1;
+
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        if (selected >= 0) {
+                            throw new UaSerializationException(
+                                StatusCodes.Bad_EncodingError,
+                                "more than one field of union " + layout.getName() + " is set"
+                            );
+                        }
+                        selected = i;
+                    }
+                }
+
+                encoder.writeUInt32("SwitchField", uint(selected + 1));
+
+                if (selected >= 0) {
+                    fieldCodecs[selected].write(context, encoder, values[selected]);
+                }
+                break;
+            }
+
+            default:
+                for (int i = 0; i < values.length; i++) {
+                    fieldCodecs[i].write(context, encoder, values[i]);
+                }
+                break;
+        }
+    }
+
+    private static FieldCodec newFieldCodec(StructureLayout.Field field) {
+        String name = field.getName();
+
+        if (field.getBuiltinTypeId() == StructureLayout.STRUCTURE) {
+            ExpandedNodeId dataTypeId = field.getDataTypeId();
+
+            if (dataTypeId == null) {
+                throw new IllegalArgumentException("structure field " + name + " has no DataType");
+            }
+
+            return new StructureFieldCodec(name, dataTypeId, field.isArray());
+        }
+
+        return field.isArray() ?
+            newArrayFieldCodec(name, field.getBuiltinTypeId()) :
+            newScalarFieldCodec(name, field.getBuiltinTypeId());
+    }
+
+    //@formatter:off
+    private static FieldCodec newScalarFieldCodec(String name, int builtinTypeId) {
+        switch (builtinTypeId) {
+            case 1:  return codec(d -> d.readBoolean(name),         (e, v) -> e.writeBoolean(name, (Boolean) v));
+            case 2:  return codec(d -> d.readSByte(name),           (e, v) -> e.writeSByte(name, (Byte) v));
+            case 3:  return codec(d -> d.readByte(name),            (e, v) -> e.writeByte(name, (UByte) v));
+            case 4:  return codec(d -> d.readInt16(name),           (e, v) -> e.writeInt16(name, (Short) v));
+            case 5:  return codec(d -> d.readUInt16(name),          (e, v) -> e.writeUInt16(name, (UShort) v));
+            case 6:  return codec(d -> d.readInt32(name),           (e, v) -> e.writeInt32(name, (Integer) v));
+            case 7:  return codec(d -> d.readUInt32(name),          (e, v) -> e.writeUInt32(name, (UInteger) v));
+            case 8:  return codec(d -> d.readInt64(name),           (e, v) -> e.writeInt64(name, (Long) v));
+            case 9:  return codec(d -> d.readUInt64(name),          (e, v) -> e.writeUInt64(name, (ULong) v));
+            case 10: return codec(d -> d.readFloat(name),           (e, v) -> e.writeFloat(name, (Float) v));
+            case 11: return codec(d -> d.readDouble(name),          (e, v) -> e.writeDouble(name, (Double) v));
+            case 12: return codec(d -> d.readString(name),          (e, v) -> e.writeString(name, (String) v));
+            case 13: return codec(d -> d.readDateTime(name),        (e, v) -> e.writeDateTime(name, (DateTime) v));
+            case 14: return codec(d -> d.readGuid(name),            (e, v) -> e.writeGuid(name, (UUID) v));
+            case 15: return codec(d -> d.readByteString(name),      (e, v) -> e.writeByteString(name, (ByteString) v));
+            case 16: return codec(d -> d.readXmlElement(name),      (e, v) -> e.writeXmlElement(name, (XmlElement) v));
+            case 17: return codec(d -> d.readNodeId(name),          (e, v) -> e.writeNodeId(name, (NodeId) v));
+            case 18: return codec(d -> d.readExpandedNodeId(name),  (e, v) -> e.writeExpandedNodeId(name, (ExpandedNodeId) v));
+            case 19: return codec(d -> d.readStatusCode(name),      (e, v) -> e.writeStatusCode(name, (StatusCode) v));
+            case 20: return codec(d -> d.readQualifiedName(name),   (e, v) -> e.writeQualifiedName(name, (QualifiedName) v));
+            case 21: return codec(d -> d.readLocalizedText(name),   (e, v) -> e.writeLocalizedText(name, (LocalizedText) v));
+            case 22: return codec(d -> d.readExtensionObject(name), (e, v) -> e.writeExtensionObject(name, (ExtensionObject) v));
+            case 23: return codec(d -> d.readDataValue(name),       (e, v) -> e.writeDataValue(name, (DataValue) v));
+            case 24: return codec(d -> d.readVariant(name),         (e, v) -> e.writeVariant(name, (Variant) v));
+            case 25: return codec(d -> d.readDiagnosticInfo(name),  (e, v) -> e.writeDiagnosticInfo(name, (DiagnosticInfo) v));
+            default: throw new IllegalArgumentException("builtinTypeId: " + builtinTypeId);
+        }
+    }
+
+    private static FieldCodec newArrayFieldCodec(String name, int builtinTypeId) {
+        switch (builtinTypeId) {
+            case 1:  return codec(d -> d.readBooleanArray(name),         (e, v) -> e.writeBooleanArray(name, (Boolean[]) v));
+            case 2:  return codec(d -> d.readSByteArray(name),           (e, v) -> e.writeSByteArray(name, (Byte[]) v));
+            case 3:  return codec(d -> d.readByteArray(name),            (e, v) -> e.writeByteArray(name, (UByte[]) v));
+            case 4:  return codec(d -> d.readInt16Array(name),           (e, v) -> e.writeInt16Array(name, (Short[]) v));
+            case 5:  return codec(d -> d.readUInt16Array(name),          (e, v) -> e.writeUInt16Array(name, (UShort[]) v));
+            case 6:  return codec(d -> d.readInt32Array(name),           (e, v) -> e.writeInt32Array(name, (Integer[]) v));
+            case 7:  return codec(d -> d.readUInt32Array(name),          (e, v) -> e.writeUInt32Array(name, (UInteger[]) v));
+            case 8:  return codec(d -> d.readInt64Array(name),           (e, v) -> e.writeInt64Array(name, (Long[]) v));
+            case 9:  return codec(d -> d.readUInt64Array(name),          (e, v) -> e.writeUInt64Array(name, (ULong[]) v));
+            case 10: return codec(d -> d.readFloatArray(name),           (e, v) -> e.writeFloatArray(name, (Float[]) v));
+            case 11: return codec(d -> d.readDoubleArray(name),          (e, v) -> e.writeDoubleArray(name, (Double[]) v));
+            case 12: return codec(d -> d.readStringArray(name),          (e, v) -> e.writeStringArray(name, (String[]) v));
+            case 13: return codec(d -> d.readDateTimeArray(name),        (e, v) -> e.writeDateTimeArray(name, (DateTime[]) v));
+            case 14: return codec(d -> d.readGuidArray(name),            (e, v) -> e.writeGuidArray(name, (UUID[]) v));
+            case 15: return codec(d -> d.readByteStringArray(name),      (e, v) -> e.writeByteStringArray(name, (ByteString[]) v));
+            case 16: return codec(d -> d.readXmlElementArray(name),      (e, v) -> e.writeXmlElementArray(name, (XmlElement[]) v));
+            case 17: return codec(d -> d.readNodeIdArray(name),          (e, v) -> e.writeNodeIdArray(name, (NodeId[]) v));
+            case 18: return codec(d -> d.readExpandedNodeIdArray(name),  (e, v) -> e.writeExpandedNodeIdArray(name, (ExpandedNodeId[]) v));
+            case 19: return codec(d -> d.readStatusCodeArray(name),      (e, v) -> e.writeStatusCodeArray(name, (StatusCode[]) v));
+            case 20: return codec(d -> d.readQualifiedNameArray(name),   (e, v) -> e.writeQualifiedNameArray(name, (QualifiedName[]) v));
+            case 21: return codec(d -> d.readLocalizedTextArray(name),   (e, v) -> e.writeLocalizedTextArray(name, (LocalizedText[]) v));
+            case 22: return codec(d -> d.readExtensionObjectArray(name), (e, v) -> e.writeExtensionObjectArray(name, (ExtensionObject[]) v));
+            case 23: return codec(d -> d.readDataValueArray(name),       (e, v) -> e.writeDataValueArray(name, (DataValue[]) v));
+            case 24: return codec(d -> d.readVariantArray(name),         (e, v) -> e.writeVariantArray(name, (Variant[]) v));
+            case 25: return codec(d -> d.readDiagnosticInfoArray(name),  (e, v) -> e.writeDiagnosticInfoArray(name, (DiagnosticInfo[]) v));
+            default: throw new IllegalArgumentException("builtinTypeId: " + builtinTypeId);
+        }
+    }
+    //@formatter:on
+
+    private static FieldCodec codec(Function<UaDecoder, Object> read, BiConsumer<UaEncoder, Object> write) {
+        return new FieldCodec() {
+            @Override
+            public Object read(SerializationContext context, UaDecoder decoder) {
+                return read.apply(decoder);
+            }
+
+            @Override
+            public void write(SerializationContext context, UaEncoder encoder, Object value) {
+                write.accept(encoder, value);
+            }
+        };
+    }
+
+    private interface FieldCodec {
+
+        Object read(SerializationContext context, UaDecoder decoder) throws UaSerializationException;
+
+        void write(SerializationContext context, UaEncoder encoder, Object value) throws UaSerializationException;
+
+    }
+
+    private static final class StructureFieldCodec implements FieldCodec {
+
+        private volatile DataTypeCodec codec;
+
+        private final String name;
+        private final ExpandedNodeId dataTypeId;
+        private final boolean array;
+
+        StructureFieldCodec(String name, ExpandedNodeId dataTypeId, boolean array) {
+            this.name = name;
+            this.dataTypeId = dataTypeId;
+            this.array = array;
+        }
+
+        @Override
+        public Object read(SerializationContext context, UaDecoder decoder) throws UaSerializationException {
+            DataTypeCodec codec = getCodec(context);
+
+            if (array) {
+                return decoder.readArray(name, f -> decoder.readStruct(f, codec), Object.class);
+            } else {
+                return decoder.readStruct(name, codec);
+            }
+        }
+
+        @Override
+        public void write(
+            SerializationContext context,
+            UaEncoder encoder,
+            Object value
+        ) throws UaSerializationException {
+
+            DataTypeCodec codec = getCodec(context);
+
+            if (array) {
+                encoder.writeArray(name, (Object[]) value, (f, v) -> encoder.writeStruct(f, v, codec));
+            } else {
+                encoder.writeStruct(name, value, codec);
+            }
+        }
+
+        private DataTypeCodec getCodec(SerializationContext context) throws UaSerializationException {
+            DataTypeCodec codec = this.codec;
+
+            if (codec == null) {
+                NodeId localId = dataTypeId.toNodeId(context.getNamespaceTable()).orElse(null);
+
+                if (localId != null) {
+                    codec = context.getDataTypeManager()
+                        .getCodec(OpcUaDefaultBinaryEncoding.ENCODING_NAME, localId);
+                }
+
+                if (codec == null) {
+                    throw new UaSerializationException(
+                        StatusCodes.Bad_DecodingError,
+                        "no codec registered for field " + name + ": " + dataTypeId.toParseableString()
+                    );
+                }
+
+                this.codec = codec;
+            }
+
+            return codec;
+        }
+
+    }
+
+}
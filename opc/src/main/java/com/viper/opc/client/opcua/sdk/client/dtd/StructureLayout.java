@@ -0,0 +1,161 @@
+package com.viper.opc.client.opcua.sdk.client.dtd;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.viper.opc.client.opcua.sdk.core.ValueRanks;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExpandedNodeId;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A server-defined structure compiled from its DataTypeDefinition: the encoding of every field is resolved up front,
+ * so a {@link StructureCodec} built from it never has to look at a field's DataType while decoding.
+ * <p>
+ * Ids are absolute {@link ExpandedNodeId}s, qualified by namespace URI rather than index, so a layout stays valid when
+ * it's loaded from {@link StructureLayoutCache} in a later session whose namespace array is ordered differently.
+ */
+public final class StructureLayout {
+
+    /**
+     * {@link Field#getBuiltinTypeId()} for a field that is itself a structure, decoded with the codec registered for
+     * its DataType.
+     */
+    public static final int STRUCTURE = 0;
+
+    private final ExpandedNodeId dataTypeId;
+    private final ExpandedNodeId binaryEncodingId;
+    private final String name;
+    private final StructureType structureType;
+    private final List<Field> fields;
+
+    private final Map<String, Integer> indexByName;
+
+    public StructureLayout(
+        ExpandedNodeId dataTypeId,
+        ExpandedNodeId binaryEncodingId,
+        String name,
+        StructureType structureType,
+        List<Field> fields
+    ) {
+
+        this.dataTypeId = dataTypeId;
+        this.binaryEncodingId = binaryEncodingId;
+        this.name = name;
+        this.structureType = structureType;
+        this.fields = Collections.unmodifiableList(fields);
+
+        indexByName = new HashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            indexByName.putIfAbsent(fields.get(i).getName(), i);
+        }
+    }
+
+    public ExpandedNodeId getDataTypeId() {
+        return dataTypeId;
+    }
+
+    public ExpandedNodeId getBinaryEncodingId() {
+        return binaryEncodingId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public StructureType getStructureType() {
+        return structureType;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fieldName the name of a field.
+     * @return the index of the field named {@code fieldName}, or -1 if there isn't one.
+     */
+    public int indexOf(String fieldName) {
+        Integer index = indexByName.get(fieldName);
+
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "StructureLayout{" +
+            "name=" + name +
+            ", dataTypeId=" + dataTypeId.toParseableString() +
+            ", structureType=" + structureType +
+            ", fields=" + fields +
+            '}';
+    }
+
+    public static final class Field {
+
+        private final String name;
+        private final int builtinTypeId;
+        @Nullable
+        private final ExpandedNodeId dataTypeId;
+        private final boolean array;
+        private final boolean optional;
+
+        /**
+         * @param name          the field name.
+         * @param builtinTypeId the id of the builtin type the field is encoded as, or {@link #STRUCTURE}.
+         * @param dataTypeId    the DataType of a {@link #STRUCTURE} field, otherwise {@code null}.
+         * @param array         {@code true} if the field is a one-dimensional array.
+         * @param optional      {@code true} if the field is optional, or a member of a union.
+         */
+        public Field(
+            String name,
+            int builtinTypeId,
+            @Nullable ExpandedNodeId dataTypeId,
+            boolean array,
+            boolean optional
+        ) {
+
+            this.name = name;
+            this.builtinTypeId = builtinTypeId;
+            this.dataTypeId = dataTypeId;
+            this.array = array;
+            this.optional = optional;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getBuiltinTypeId() {
+            return builtinTypeId;
+        }
+
+        @Nullable
+        public ExpandedNodeId getDataTypeId() {
+            return dataTypeId;
+        }
+
+        public boolean isArray() {
+            return array;
+        }
+
+        public boolean isOptional() {
+            return optional;
+        }
+
+        public int getValueRank() {
+            return array ? ValueRanks.OneDimension : ValueRanks.Scalar;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + (builtinTypeId == STRUCTURE && dataTypeId != null ?
+                dataTypeId.toParseableString() : String.valueOf(builtinTypeId)) +
+                (array ? "[]" : "") + (optional ? "?" : "");
+        }
+
+    }
+
+}
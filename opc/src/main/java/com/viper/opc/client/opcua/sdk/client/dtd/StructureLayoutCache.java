@@ -0,0 +1,153 @@
+package com.viper.opc.client.opcua.sdk.client.dtd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.io.BaseEncoding;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ExpandedNodeId;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
+import com.viper.opc.client.opcua.stack.core.util.DigestUtil;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the {@link StructureLayout}s compiled for a namespace in a directory, one file per key.
+ * <p>
+ * The key identifies the server, the namespace, and the version of the namespace's types, so a layout is loaded only
+ * while the server still describes its types the same way. A file that's missing, unreadable, written for another key,
+ * or written in another format is a miss.
+ */
+public class StructureLayoutCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final File directory;
+
+    public StructureLayoutCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param key the key the layouts were stored under.
+     * @return the layouts stored under {@code key}, or {@code null} if there are none.
+     */
+    @Nullable
+    public List<StructureLayout> load(String key) {
+        File file = fileFor(key);
+
+        if (!file.isFile()) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+
+            int layoutCount = in.readInt();
+            List<StructureLayout> layouts = new ArrayList<>(layoutCount);
+
+            for (int i = 0; i < layoutCount; i++) {
+                ExpandedNodeId dataTypeId = ExpandedNodeId.parse(in.readUTF());
+                ExpandedNodeId binaryEncodingId = ExpandedNodeId.parse(in.readUTF());
+                String name = in.readUTF();
+                StructureType structureType = StructureType.from(in.readInt());
+
+                int fieldCount = in.readInt();
+                List<StructureLayout.Field> fields = new ArrayList<>(fieldCount);
+
+                for (int j = 0; j < fieldCount; j++) {
+                    String fieldName = in.readUTF();
+                    int builtinTypeId = in.readInt();
+                    ExpandedNodeId fieldDataTypeId = in.readBoolean() ? ExpandedNodeId.parse(in.readUTF()) : null;
+                    boolean array = in.readBoolean();
+                    boolean optional = in.readBoolean();
+
+                    fields.add(new StructureLayout.Field(fieldName, builtinTypeId, fieldDataTypeId, array, optional));
+                }
+
+                if (structureType == null) return null;
+
+                layouts.add(new StructureLayout(dataTypeId, binaryEncodingId, name, structureType, fields));
+            }
+
+            return layouts;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Error loading cached structure layouts from {}", file, e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Store {@code layouts} under {@code key}, replacing any layouts stored under it before.
+     *
+     * @param key     the key to store the layouts under.
+     * @param layouts the layouts to store.
+     */
+    public void store(String key, List<StructureLayout> layouts) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.warn("Error creating structure layout cache directory {}", directory);
+            return;
+        }
+
+        File file = fileFor(key);
+        File temp = new File(directory, file.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            out.writeInt(layouts.size());
+
+            for (StructureLayout layout : layouts) {
+                out.writeUTF(layout.getDataTypeId().toParseableString());
+                out.writeUTF(layout.getBinaryEncodingId().toParseableString());
+                out.writeUTF(layout.getName());
+                out.writeInt(layout.getStructureType().getValue());
+                out.writeInt(layout.getFields().size());
+
+                for (StructureLayout.Field field : layout.getFields()) {
+                    out.writeUTF(field.getName());
+                    out.writeInt(field.getBuiltinTypeId());
+                    ExpandedNodeId fieldDataTypeId = field.getDataTypeId();
+                    out.writeBoolean(fieldDataTypeId != null);
+                    if (fieldDataTypeId != null) {
+                        out.writeUTF(fieldDataTypeId.toParseableString());
+                    }
+                    out.writeBoolean(field.isArray());
+                    out.writeBoolean(field.isOptional());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Error storing structure layouts to {}", temp, e);
+
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return;
+        }
+
+        if (!temp.renameTo(file)) {
+            logger.warn("Error renaming {} to {}", temp, file);
+
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+        }
+    }
+
+    private File fileFor(String key) {
+        byte[] digest = DigestUtil.sha1(key.getBytes(StandardCharsets.UTF_8));
+
+        return new File(directory, BaseEncoding.base16().lowerCase().encode(digest) + ".layouts");
+    }
+
+}
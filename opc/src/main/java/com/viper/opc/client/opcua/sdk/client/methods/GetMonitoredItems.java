@@ -17,6 +17,7 @@ import com.viper.opc.client.opcua.stack.core.UaException;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 
 public class GetMonitoredItems extends AbstractUaMethod {
 
@@ -43,8 +44,8 @@ public class GetMonitoredItems extends AbstractUaMethod {
 
         return invoke(inputArguments).thenCompose(outputArguments -> {
             try {
-                UInteger[] serverHandles = (UInteger[]) outputArguments[0].getValue();
-                UInteger[] clientHandles = (UInteger[]) outputArguments[1].getValue();
+                UInteger[] serverHandles = (UInteger[]) ArrayUtil.box(outputArguments[0].getValue());
+                UInteger[] clientHandles = (UInteger[]) ArrayUtil.box(outputArguments[1].getValue());
 
                 return CompletableFuture.completedFuture(new UInteger[][]{serverHandles, clientHandles});
             } catch (Throwable t) {
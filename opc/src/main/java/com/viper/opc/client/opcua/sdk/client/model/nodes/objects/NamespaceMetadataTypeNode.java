@@ -22,6 +22,7 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.IdType;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 
 public class NamespaceMetadataTypeNode extends BaseObjectTypeNode implements NamespaceMetadataType {
     public NamespaceMetadataTypeNode(OpcUaClient client, NodeId nodeId, NodeClass nodeClass,
@@ -262,7 +263,7 @@ public class NamespaceMetadataTypeNode extends BaseObjectTypeNode implements Nam
     @Override
     public IdType[] getStaticNodeIdTypes() throws UaException {
         PropertyTypeNode node = getStaticNodeIdTypesNode();
-        Object value = node.getValue().getValue().getValue();
+        Object value = ArrayUtil.box(node.getValue().getValue().getValue());
 
         if (value instanceof Integer[]) {
             Integer[] values = (Integer[]) value;
@@ -307,7 +308,7 @@ public class NamespaceMetadataTypeNode extends BaseObjectTypeNode implements Nam
         return getStaticNodeIdTypesNodeAsync()
             .thenCompose(node -> node.readAttributeAsync(AttributeId.Value))
             .thenApply(v -> {
-                Object value = v.getValue().getValue();
+                Object value = ArrayUtil.box(v.getValue().getValue());
 
                 if (value instanceof Integer[]) {
                     Integer[] values = (Integer[]) value;
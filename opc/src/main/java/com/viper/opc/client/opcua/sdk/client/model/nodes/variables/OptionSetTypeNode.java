@@ -19,6 +19,7 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 
 public class OptionSetTypeNode extends BaseDataVariableTypeNode implements OptionSetType {
     public OptionSetTypeNode(OpcUaClient client, NodeId nodeId, NodeClass nodeClass,
@@ -89,7 +90,7 @@ public class OptionSetTypeNode extends BaseDataVariableTypeNode implements Optio
     @Override
     public Boolean[] getBitMask() throws UaException {
         PropertyTypeNode node = getBitMaskNode();
-        return (Boolean[]) node.getValue().getValue().getValue();
+        return (Boolean[]) ArrayUtil.box(node.getValue().getValue().getValue());
     }
 
     @Override
@@ -118,7 +119,7 @@ public class OptionSetTypeNode extends BaseDataVariableTypeNode implements Optio
 
     @Override
     public CompletableFuture<? extends Boolean[]> readBitMaskAsync() {
-        return getBitMaskNodeAsync().thenCompose(node -> node.readAttributeAsync(AttributeId.Value)).thenApply(v -> (Boolean[]) v.getValue().getValue());
+        return getBitMaskNodeAsync().thenCompose(node -> node.readAttributeAsync(AttributeId.Value)).thenApply(v -> (Boolean[]) ArrayUtil.box(v.getValue().getValue()));
     }
 
     @Override
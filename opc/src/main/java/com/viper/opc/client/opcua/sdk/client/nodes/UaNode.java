@@ -60,6 +60,7 @@ import com.viper.opc.client.opcua.stack.core.types.structured.RelativePath;
 import com.viper.opc.client.opcua.stack.core.types.structured.RelativePathElement;
 import com.viper.opc.client.opcua.stack.core.types.structured.WriteResponse;
 import com.viper.opc.client.opcua.stack.core.types.structured.WriteValue;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -1138,8 +1139,10 @@ public abstract class UaNode implements Node {
             }
 
             return clazz.cast(array);
-        } else {
+        } else if (clazz.isInstance(o)) {
             return clazz.cast(o);
+        } else {
+            return clazz.cast(ArrayUtil.box(o));
         }
     }
 
@@ -40,6 +40,7 @@ import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
 import com.viper.opc.client.opcua.stack.core.types.structured.EUInformation;
 import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
 import com.viper.opc.client.opcua.stack.core.types.structured.TimeZoneDataType;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import com.viper.opc.client.opcua.stack.core.util.FutureUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -375,7 +376,7 @@ public class UaVariableNode extends UaNode implements VariableNode {
 
             throw new UaException(statusCode, "read ArrayDimensions failed");
         } else {
-            UInteger[] arrayDimensions = (UInteger[]) value.getValue().getValue();
+            UInteger[] arrayDimensions = (UInteger[]) ArrayUtil.box(value.getValue().getValue());
             setArrayDimensions(arrayDimensions);
             return arrayDimensions;
         }
@@ -978,7 +979,7 @@ public class UaVariableNode extends UaNode implements VariableNode {
                 break;
             }
             case ArrayDimensions: {
-                setArrayDimensions((UInteger[]) value.getValue().getValue());
+                setArrayDimensions((UInteger[]) ArrayUtil.box(value.getValue().getValue()));
                 break;
             }
             case AccessLevel: {
@@ -26,6 +26,7 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
 import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import org.jetbrains.annotations.Nullable;
 
 public class UaVariableTypeNode extends UaNode implements VariableTypeNode {
@@ -274,7 +275,7 @@ public class UaVariableTypeNode extends UaNode implements VariableTypeNode {
 
             throw new UaException(statusCode, "read ArrayDimensions failed");
         } else {
-            UInteger[] arrayDimensions = (UInteger[]) value.getValue().getValue();
+            UInteger[] arrayDimensions = (UInteger[]) ArrayUtil.box(value.getValue().getValue());
             setArrayDimensions(arrayDimensions);
             return arrayDimensions;
         }
@@ -458,7 +459,7 @@ public class UaVariableTypeNode extends UaNode implements VariableTypeNode {
                 break;
             }
             case ArrayDimensions: {
-                setArrayDimensions((UInteger[]) value.getValue().getValue());
+                setArrayDimensions((UInteger[]) ArrayUtil.box(value.getValue().getValue()));
                 break;
             }
             case IsAbstract: {
@@ -62,6 +62,39 @@ interface Event {
         }
     }
 
+    class ReactivateWaitExpired implements Event {
+        @Override
+        public String toString() {
+            return getClass().getSimpleName();
+        }
+    }
+
+    class ReactivateSessionSuccess implements Event {
+        final OpcUaSession session;
+
+        ReactivateSessionSuccess(OpcUaSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName();
+        }
+    }
+
+    class ReactivateSessionFailure implements Event {
+        final Throwable failure;
+
+        ReactivateSessionFailure(Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName();
+        }
+    }
+
     class CreateSessionSuccess implements Event {
         final CreateSessionResponse response;
 
@@ -10,7 +10,9 @@
 
 package com.viper.opc.client.opcua.sdk.client.session;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
@@ -44,6 +46,11 @@ public class SessionFsm {
             KEY_SESSION_ACTIVITY_LISTENERS.set(ctx, new SessionActivityListeners());
             return KEY_SESSION_ACTIVITY_LISTENERS.get(ctx).sessionActivityListeners;
         });
+
+        fsm.getFromContext(ctx -> {
+            KEY_PHASE_TIMES.set(ctx, new PhaseTimes());
+            return Unit.VALUE;
+        });
     }
 
     public CompletableFuture<OpcUaSession> openSession() {
@@ -117,6 +124,13 @@ public class SessionFsm {
     static final FsmContext.Key<OpcUaSession> KEY_SESSION =
         new FsmContext.Key<>("session", OpcUaSession.class);
 
+    /**
+     * The last session that was active, for as long as it may still be reactivated on a new secure channel instead of
+     * creating a new one.
+     */
+    static final FsmContext.Key<OpcUaSession> KEY_REACTIVATE_SESSION =
+        new FsmContext.Key<>("reactivateSession", OpcUaSession.class);
+
     static final FsmContext.Key<SessionFuture> KEY_SESSION_FUTURE =
         new FsmContext.Key<>("sessionFuture", SessionFuture.class);
 
@@ -132,6 +146,9 @@ public class SessionFsm {
     static final FsmContext.Key<SessionActivityListeners> KEY_SESSION_ACTIVITY_LISTENERS =
         new FsmContext.Key<>("sessionActivityListeners", SessionActivityListeners.class);
 
+    static final FsmContext.Key<PhaseTimes> KEY_PHASE_TIMES =
+        new FsmContext.Key<>("phaseTimes", PhaseTimes.class);
+
     static class CloseFuture {
         final CompletableFuture<Unit> future = new CompletableFuture<>();
     }
@@ -152,6 +169,19 @@ public class SessionFsm {
         final List<SessionActivityListener> sessionActivityListeners = new CopyOnWriteArrayList<>();
     }
 
+    /**
+     * When each phase of opening the current session started, and how long each phase has taken so far, in
+     * milliseconds, summed over retries.
+     */
+    static class PhaseTimes {
+        private PhaseTimes() {}
+
+        final Map<State, Long> started = new EnumMap<>(State.class);
+        final Map<State, Long> elapsed = new EnumMap<>(State.class);
+
+        long openStarted;
+    }
+
 
     public interface SessionInitializer {
 
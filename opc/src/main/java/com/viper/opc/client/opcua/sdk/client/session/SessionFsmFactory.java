@@ -27,6 +27,7 @@ import com.digitalpetri.strictmachine.Fsm;
 import com.digitalpetri.strictmachine.FsmContext;
 import com.digitalpetri.strictmachine.dsl.ActionContext;
 import com.digitalpetri.strictmachine.dsl.FsmBuilder;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 import com.google.common.primitives.Bytes;
@@ -43,6 +44,7 @@ import com.viper.opc.client.opcua.stack.core.AttributeId;
 import com.viper.opc.client.opcua.stack.core.Identifiers;
 import com.viper.opc.client.opcua.stack.core.StatusCodes;
 import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.UaServiceFaultException;
 import com.viper.opc.client.opcua.stack.core.security.SecurityAlgorithm;
 import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
 import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
@@ -84,6 +86,8 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_CLOSE_FUTURE;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_KEEP_ALIVE_FAILURE_COUNT;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_KEEP_ALIVE_SCHEDULED_FUTURE;
+import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_PHASE_TIMES;
+import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_REACTIVATE_SESSION;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_SESSION;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_SESSION_ACTIVITY_LISTENERS;
 import static com.viper.opc.client.opcua.sdk.client.session.SessionFsm.KEY_SESSION_FUTURE;
@@ -101,6 +105,17 @@ public class SessionFsmFactory {
 
     private static final int MAX_WAIT_SECONDS = 16;
 
+    /**
+     * The states whose duration is reported when a session becomes active.
+     */
+    private static final State[] TIMED_PHASES = {
+        State.Reactivating,
+        State.Creating,
+        State.Activating,
+        State.Transferring,
+        State.Initializing
+    };
+
     private SessionFsmFactory() {}
 
     public static SessionFsm newSessionFsm(OpcUaClient client) {
@@ -121,12 +136,14 @@ public class SessionFsmFactory {
     private static void configureSessionFsm(FsmBuilder<State, Event> fb, OpcUaClient client) {
         configureInactiveState(fb, client);
         configureCreatingWaitState(fb, client);
+        configureReactivatingState(fb, client);
         configureCreatingState(fb, client);
         configureActivatingState(fb, client);
         configureTransferringState(fb, client);
         configureInitializingState(fb, client);
         configureActiveState(fb, client);
         configureClosingState(fb, client);
+        configurePhaseTimes(fb);
     }
 
     private static void configureInactiveState(
@@ -182,6 +199,10 @@ public class SessionFsmFactory {
             .on(Event.CreatingWaitExpired.class)
             .transitionTo(State.Creating);
 
+        fb.when(State.CreatingWait)
+            .on(Event.ReactivateWaitExpired.class)
+            .transitionTo(State.Reactivating);
+
         fb.when(State.CreatingWait)
             .on(Event.CloseSession.class)
             .transitionTo(State.Inactive);
@@ -209,8 +230,11 @@ public class SessionFsmFactory {
                 }
                 KEY_WAIT_TIME.set(ctx, waitTime);
 
+                // try the previous session on a new secure channel before creating another one
+                boolean reactivate = KEY_REACTIVATE_SESSION.get(ctx) != null;
+
                 ScheduledFuture<?> waitFuture = client.getConfig().getScheduledExecutor().schedule(
-                    () -> ctx.fireEvent(new Event.CreatingWaitExpired()),
+                    () -> ctx.fireEvent(reactivate ? new Event.ReactivateWaitExpired() : new Event.CreatingWaitExpired()),
                     waitTime,
                     TimeUnit.SECONDS
                 );
@@ -225,6 +249,7 @@ public class SessionFsmFactory {
                 if (waitFuture != null) waitFuture.cancel(false);
 
                 KEY_WAIT_TIME.remove(ctx);
+                KEY_REACTIVATE_SESSION.remove(ctx);
 
                 Event.CloseSession event = (Event.CloseSession) ctx.event();
 
@@ -245,6 +270,78 @@ public class SessionFsmFactory {
             .execute(SessionFsmFactory::handleOpenSessionEvent);
     }
 
+    @VisibleForTesting
+    static void configureReactivatingState(FsmBuilder<State, Event> fb, OpcUaClient client) {
+        /* Transitions */
+
+        fb.when(State.Reactivating)
+            .on(Event.ReactivateSessionSuccess.class)
+            .transitionTo(State.Active);
+
+        // the server is reachable but won't take the session back; create a new one without waiting
+        fb.when(State.Reactivating)
+            .on(e ->
+                e.getClass() == Event.ReactivateSessionFailure.class &&
+                    isSessionRejected(((Event.ReactivateSessionFailure) e).failure))
+            .transitionTo(State.Creating);
+
+        fb.when(State.Reactivating)
+            .on(e ->
+                e.getClass() == Event.ReactivateSessionFailure.class &&
+                    !isSessionRejected(((Event.ReactivateSessionFailure) e).failure))
+            .transitionTo(State.CreatingWait)
+            .executeFirst(ctx -> {
+                Event.ReactivateSessionFailure e = (Event.ReactivateSessionFailure) ctx.event();
+
+                handleFailureToOpenSession(client, ctx, e.failure);
+            });
+
+
+        /* External Transition Actions */
+
+        fb.onTransitionTo(State.Reactivating)
+            .from(State.Active)
+            .viaAny()
+            .execute(ctx -> {
+                SessionFuture sessionFuture = new SessionFuture();
+                KEY_SESSION_FUTURE.set(ctx, sessionFuture);
+            });
+
+        fb.onTransitionTo(State.Reactivating)
+            .from(s -> s != State.Reactivating)
+            .viaAny()
+            .execute(ctx -> {
+                OpcUaSession session = KEY_REACTIVATE_SESSION.get(ctx);
+
+                reactivateSession(ctx, client, session).whenComplete((s, ex) -> {
+                    if (s != null) {
+                        LOGGER.debug("[{}] Session reactivated: {}", ctx.getInstanceId(), s);
+
+                        ctx.fireEvent(new Event.ReactivateSessionSuccess(s));
+                    } else {
+                        LOGGER.debug("[{}] Reactivation failed: {}", ctx.getInstanceId(), ex.getMessage(), ex);
+
+                        ctx.fireEvent(new Event.ReactivateSessionFailure(ex));
+                    }
+                });
+            });
+
+
+        /* Internal Transition Actions */
+
+        fb.onInternalTransition(State.Reactivating)
+            .via(Event.GetSession.class)
+            .execute(SessionFsmFactory::handleGetSessionEvent);
+
+        fb.onInternalTransition(State.Reactivating)
+            .via(Event.OpenSession.class)
+            .execute(SessionFsmFactory::handleOpenSessionEvent);
+
+        fb.onInternalTransition(State.Reactivating)
+            .via(Event.CloseSession.class)
+            .execute(ctx -> ctx.shelveEvent(ctx.event()));
+    }
+
     private static void configureCreatingState(FsmBuilder<State, Event> fb, OpcUaClient client) {
         /* Transitions */
 
@@ -288,8 +385,13 @@ public class SessionFsmFactory {
             });
 
         fb.onTransitionTo(State.Creating)
-            .from(State.CreatingWait)
-            .via(Event.CreatingWaitExpired.class)
+            .from(s -> s != State.Creating)
+            .viaAny()
+            .execute(ctx -> KEY_REACTIVATE_SESSION.remove(ctx));
+
+        fb.onTransitionTo(State.Creating)
+            .from(s -> s == State.CreatingWait || s == State.Reactivating)
+            .viaAny()
             .execute(ctx -> {
                 //noinspection Duplicates
                 createSession(ctx, client).whenComplete((csr, ex) -> {
@@ -497,8 +599,14 @@ public class SessionFsmFactory {
         fb.when(State.Active)
             .on(e ->
                 e.getClass() == Event.KeepAliveFailure.class ||
-                    e.getClass() == Event.ServiceFault.class)
-            .transitionTo(State.CreatingWait);
+                    e.getClass() == Event.ServiceFault.class && !isSessionFault((Event.ServiceFault) e))
+            .transitionTo(State.Reactivating);
+
+        fb.when(State.Active)
+            .on(e ->
+                e.getClass() == Event.ServiceFault.class && isSessionFault((Event.ServiceFault) e))
+            .transitionTo(State.CreatingWait)
+            .executeFirst(ctx -> KEY_REACTIVATE_SESSION.remove(ctx));
 
 
         /* External Transition Actions */
@@ -509,36 +617,25 @@ public class SessionFsmFactory {
             .execute(ctx -> {
                 Event.InitializeSuccess event = (Event.InitializeSuccess) ctx.event();
 
-                // reset the wait time
-                KEY_WAIT_TIME.remove(ctx);
-
-                long keepAliveInterval = client.getConfig().getKeepAliveInterval().longValue();
-                KEY_KEEP_ALIVE_FAILURE_COUNT.set(ctx, 0L);
-
-                ScheduledFuture<?> scheduledFuture = client.getConfig().getScheduledExecutor().scheduleWithFixedDelay(
-                    () -> ctx.fireEvent(new Event.KeepAlive(event.session)),
-                    keepAliveInterval,
-                    keepAliveInterval,
-                    TimeUnit.MILLISECONDS
-                );
-                KEY_KEEP_ALIVE_SCHEDULED_FUTURE.set(ctx, scheduledFuture);
-
-                KEY_SESSION.set(ctx, event.session);
+                handleSessionActive(ctx, client, event.session);
+            });
 
-                SessionFuture sessionFuture = KEY_SESSION_FUTURE.get(ctx);
+        fb.onTransitionTo(State.Active)
+            .from(State.Reactivating)
+            .via(Event.ReactivateSessionSuccess.class)
+            .execute(ctx -> {
+                Event.ReactivateSessionSuccess event = (Event.ReactivateSessionSuccess) ctx.event();
 
-                client.getConfig().getExecutor().execute(() ->
-                    sessionFuture.future.complete(event.session)
-                );
+                handleSessionActive(ctx, client, event.session);
             });
 
         fb.onTransitionTo(State.Active)
-            .from(State.Initializing)
-            .via(Event.InitializeSuccess.class)
+            .from(s -> s == State.Initializing || s == State.Reactivating)
+            .viaAny()
             .execute(FsmContext::processShelvedEvents);
 
         fb.onTransitionFrom(State.Active)
-            .to(s -> s == State.Closing || s == State.CreatingWait)
+            .to(s -> s == State.Closing || s == State.CreatingWait || s == State.Reactivating)
             .viaAny()
             .execute(ctx -> {
                 ScheduledFuture<?> scheduledFuture =
@@ -653,6 +750,7 @@ public class SessionFsmFactory {
             .execute(ctx -> {
                 SessionFsm.CloseFuture closeFuture = new SessionFsm.CloseFuture();
                 KEY_CLOSE_FUTURE.set(ctx, closeFuture);
+                KEY_REACTIVATE_SESSION.remove(ctx);
 
                 Event.CloseSession closeSession = (Event.CloseSession) ctx.event();
                 complete(closeSession.future).with(closeFuture.future);
@@ -704,6 +802,60 @@ public class SessionFsmFactory {
             .execute(ctx -> ctx.shelveEvent(ctx.event()));
     }
 
+    /**
+     * Log how long each phase of opening a session took once the session is active, so slow reconnects can be told
+     * apart from slow initializers.
+     */
+    private static void configurePhaseTimes(FsmBuilder<State, Event> fb) {
+        fb.onTransitionFrom(State.Inactive)
+            .to(State.Creating)
+            .viaAny()
+            .execute(ctx -> KEY_PHASE_TIMES.get(ctx).openStarted = System.nanoTime());
+
+        fb.onTransitionFrom(State.Active)
+            .to(s -> s == State.Reactivating || s == State.CreatingWait)
+            .viaAny()
+            .execute(ctx -> KEY_PHASE_TIMES.get(ctx).openStarted = System.nanoTime());
+
+        for (State phase : TIMED_PHASES) {
+            fb.onTransitionTo(phase)
+                .from(s -> s != phase)
+                .viaAny()
+                .execute(ctx -> KEY_PHASE_TIMES.get(ctx).started.put(phase, System.nanoTime()));
+
+            fb.onTransitionFrom(phase)
+                .to(s -> s != phase)
+                .viaAny()
+                .execute(ctx -> {
+                    SessionFsm.PhaseTimes phaseTimes = KEY_PHASE_TIMES.get(ctx);
+                    Long started = phaseTimes.started.remove(phase);
+
+                    if (started != null) {
+                        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                        phaseTimes.elapsed.merge(phase, elapsed, Long::sum);
+
+                        LOGGER.debug("[{}] {} took {}ms", ctx.getInstanceId(), phase, elapsed);
+                    }
+                });
+        }
+
+        fb.onTransitionTo(State.Active)
+            .from(s -> s != State.Active)
+            .viaAny()
+            .execute(ctx -> {
+                SessionFsm.PhaseTimes phaseTimes = KEY_PHASE_TIMES.get(ctx);
+
+                LOGGER.info(
+                    "[{}] Session active after {}ms: {}",
+                    ctx.getInstanceId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseTimes.openStarted),
+                    phaseTimes.elapsed
+                );
+
+                phaseTimes.elapsed.clear();
+            });
+    }
+
     private static void handleGetSessionEvent(ActionContext<State, Event> ctx) {
         CompletableFuture<OpcUaSession> sessionFuture = KEY_SESSION_FUTURE.get(ctx).future;
 
@@ -718,6 +870,56 @@ public class SessionFsmFactory {
         complete(event.future).with(sessionFuture);
     }
 
+    private static void handleSessionActive(
+        ActionContext<State, Event> ctx,
+        OpcUaClient client,
+        OpcUaSession session
+    ) {
+
+        // reset the wait time
+        KEY_WAIT_TIME.remove(ctx);
+
+        long keepAliveInterval = client.getConfig().getKeepAliveInterval().longValue();
+        KEY_KEEP_ALIVE_FAILURE_COUNT.set(ctx, 0L);
+
+        ScheduledFuture<?> scheduledFuture = client.getConfig().getScheduledExecutor().scheduleWithFixedDelay(
+            () -> ctx.fireEvent(new Event.KeepAlive(session)),
+            keepAliveInterval,
+            keepAliveInterval,
+            TimeUnit.MILLISECONDS
+        );
+        KEY_KEEP_ALIVE_SCHEDULED_FUTURE.set(ctx, scheduledFuture);
+
+        KEY_SESSION.set(ctx, session);
+        KEY_REACTIVATE_SESSION.set(ctx, session);
+
+        SessionFuture sessionFuture = KEY_SESSION_FUTURE.get(ctx);
+
+        client.getConfig().getExecutor().execute(() ->
+            sessionFuture.future.complete(session)
+        );
+    }
+
+    /**
+     * @return {@code true} if {@code event} means the session is gone, as opposed to the secure channel.
+     */
+    private static boolean isSessionFault(Event.ServiceFault event) {
+        return SessionFaultListener.SESSION_ERROR.test(event.statusCode);
+    }
+
+    /**
+     * @return {@code true} if the server answered a reactivation attempt with {@code failure}, i.e. it's reachable but
+     * won't take the session back, as opposed to a failure to reach the server at all.
+     */
+    @VisibleForTesting
+    static boolean isSessionRejected(Throwable failure) {
+        return UaException.extract(failure)
+            .map(e -> SessionFaultListener.SESSION_ERROR.test(e.getStatusCode()) ||
+                e instanceof UaServiceFaultException &&
+                    !SessionFaultListener.SECURE_CHANNEL_ERROR.test(e.getStatusCode()))
+            .orElse(false);
+    }
+
     private static void handleFailureToOpenSession(
         OpcUaClient client,
         ActionContext<State, Event> ctx,
@@ -928,6 +1130,59 @@ public class SessionFsmFactory {
         }
     }
 
+    /**
+     * Activate {@code session}, which was active before the secure channel was lost, on the current secure channel.
+     * <p>
+     * The session keeps its subscriptions, and its attributes from the last initialization, so neither are transferred
+     * or re-initialized.
+     */
+    @SuppressWarnings("Duplicates")
+    private static CompletableFuture<OpcUaSession> reactivateSession(
+        FsmContext<State, Event> ctx,
+        OpcUaClient client,
+        OpcUaSession session) {
+
+        if (session == null) {
+            return failedFuture(new UaException(StatusCodes.Bad_SessionIdInvalid, "no session to reactivate"));
+        }
+
+        UaStackClient stackClient = client.getStackClient();
+
+        try {
+            EndpointDescription endpoint = client.getConfig().getEndpoint();
+
+            ByteString serverNonce = session.getServerNonce();
+
+            SignedIdentityToken signedIdentityToken =
+                client.getConfig().getIdentityProvider()
+                    .getIdentityToken(endpoint, serverNonce);
+
+            UserIdentityToken userIdentityToken = signedIdentityToken.getToken();
+            SignatureData userTokenSignature = signedIdentityToken.getSignature();
+
+            ActivateSessionRequest request = new ActivateSessionRequest(
+                client.newRequestHeader(session.getAuthenticationToken()),
+                buildClientSignature(client.getConfig(), serverNonce),
+                new SignedSoftwareCertificate[0],
+                new String[0],
+                ExtensionObject.encode(client.getStaticSerializationContext(), userIdentityToken),
+                userTokenSignature
+            );
+
+            LOGGER.debug("[{}] Sending ActivateSessionRequest to reactivate {}...", ctx.getInstanceId(), session);
+
+            return stackClient.sendRequest(request)
+                .thenApply(ActivateSessionResponse.class::cast)
+                .thenApply(asr -> {
+                    session.setServerNonce(asr.getServerNonce());
+
+                    return session;
+                });
+        } catch (Exception ex) {
+            return failedFuture(ex);
+        }
+    }
+
     @SuppressWarnings("Duplicates")
     private static CompletableFuture<Unit> transferSubscriptions(
         FsmContext<State, Event> ctx,
@@ -1062,8 +1317,20 @@ public class SessionFsmFactory {
         } else {
             UaStackClient stackClient = client.getStackClient();
 
+            // initializers don't depend on each other, so they all run at once
             CompletableFuture<?>[] futures = initializers.stream()
-                .map(i -> i.initialize(stackClient, session))
+                .map(i -> {
+                    long started = System.nanoTime();
+
+                    return i.initialize(stackClient, session).whenComplete((u, ex) ->
+                        LOGGER.debug(
+                            "[{}] {} took {}ms",
+                            ctx.getInstanceId(),
+                            i.getClass().getSimpleName(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+                        )
+                    );
+                })
                 .toArray(CompletableFuture[]::new);
 
             return CompletableFuture.allOf(futures).thenApply(v -> Unit.VALUE);
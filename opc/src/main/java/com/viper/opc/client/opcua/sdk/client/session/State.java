@@ -14,6 +14,7 @@ enum State {
 
     Inactive,
     CreatingWait,
+    Reactivating,
     Creating,
     Activating,
     Transferring,
@@ -0,0 +1,305 @@
+package com.viper.opc.client.opcua.sdk.client.subscriptions;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaSerializationException;
+import com.viper.opc.client.opcua.stack.core.serialization.OpcUaBinaryStreamDecoder;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * A reusable, flyweight view of a binary encoded DataChangeNotification.
+ * <p>
+ * {@link #wrap(ByteString)} only scans the body, recording the client handle and the position of the encoded
+ * {@link DataValue} of each MonitoredItemNotification. A {@link DataValue} is decoded the first time it is asked for
+ * and then kept until the batch is wrapped around the next body.
+ * <p>
+ * Not thread safe; an instance is meant to be reused by a single delivery thread.
+ */
+final class DataChangeNotificationBatch {
+
+    private final OpcUaBinaryStreamDecoder decoder;
+    private final int maxRecursionDepth;
+
+    private final List<UaMonitoredItem> itemsView = new AbstractList<UaMonitoredItem>() {
+        @Override
+        public UaMonitoredItem get(int index) {
+            checkResolvedIndex(index);
+            return items[resolved[index]];
+        }
+
+        @Override
+        public int size() {
+            return resolvedCount;
+        }
+    };
+
+    private final List<DataValue> valuesView = new AbstractList<DataValue>() {
+        @Override
+        public DataValue get(int index) {
+            checkResolvedIndex(index);
+            return getValue(resolved[index]);
+        }
+
+        @Override
+        public int size() {
+            return resolvedCount;
+        }
+    };
+
+    private ByteBuf buffer = Unpooled.EMPTY_BUFFER;
+
+    private int size;
+    private int[] clientHandles = new int[16];
+    private int[] valueOffsets = new int[16];
+    private DataValue[] values = new DataValue[16];
+    private OpcUaMonitoredItem[] items = new OpcUaMonitoredItem[16];
+
+    private int resolvedCount;
+    private int[] resolved = new int[16];
+
+    DataChangeNotificationBatch(SerializationContext context) {
+        this.decoder = new OpcUaBinaryStreamDecoder(context);
+        this.maxRecursionDepth = context.getEncodingLimits().getMaxRecursionDepth();
+    }
+
+    /**
+     * Scan the binary encoded body of a DataChangeNotification, replacing whatever this batch held before.
+     *
+     * @param body the ExtensionObject body.
+     * @throws UaSerializationException if the body is malformed.
+     */
+    void wrap(ByteString body) throws UaSerializationException {
+        clear();
+
+        buffer = Unpooled.wrappedBuffer(body.bytesOrEmpty());
+        decoder.setBuffer(buffer);
+
+        int length = buffer.readIntLE();
+
+        if (length > 0) {
+            if (length > buffer.readableBytes() / 5) {
+                throw new UaSerializationException(
+                    StatusCodes.Bad_DecodingError,
+                    "MonitoredItemNotification count exceeds remaining bytes: " + length
+                );
+            }
+
+            ensureCapacity(length);
+
+            for (int i = 0; i < length; i++) {
+                clientHandles[i] = buffer.readIntLE();
+                valueOffsets[i] = buffer.readerIndex();
+                skipDataValue(0);
+            }
+
+            size = length;
+        }
+
+        // the trailing DiagnosticInfo array is never used and isn't scanned
+    }
+
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        resolvedCount = 0;
+        buffer = Unpooled.EMPTY_BUFFER;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getClientHandle(int index) {
+        return clientHandles[index];
+    }
+
+    /**
+     * Associate the notification at {@code index} with the {@link OpcUaMonitoredItem} it belongs to, making it
+     * visible through {@link #getMonitoredItems()} and {@link #getDataValues()}.
+     */
+    void resolve(int index, OpcUaMonitoredItem item) {
+        items[index] = item;
+        resolved[resolvedCount++] = index;
+    }
+
+    /**
+     * @return the {@link DataValue} at {@code index}, decoding it if this is the first time it is asked for.
+     */
+    DataValue getValue(int index) throws UaSerializationException {
+        DataValue value = values[index];
+
+        if (value == null) {
+            buffer.readerIndex(valueOffsets[index]);
+            value = decoder.readDataValue();
+            values[index] = value;
+        }
+
+        return value;
+    }
+
+    /**
+     * @return a view of the resolved monitored items, valid until this batch is wrapped or cleared.
+     */
+    List<UaMonitoredItem> getMonitoredItems() {
+        return itemsView;
+    }
+
+    /**
+     * @return a view of the {@link DataValue}s of the resolved monitored items, decoded on access and valid until
+     * this batch is wrapped or cleared.
+     */
+    List<DataValue> getDataValues() {
+        return valuesView;
+    }
+
+    private void checkResolvedIndex(int index) {
+        if (index < 0 || index >= resolvedCount) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + resolvedCount);
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (clientHandles.length < length) {
+            int capacity = Math.max(length, clientHandles.length * 2);
+            clientHandles = new int[capacity];
+            valueOffsets = new int[capacity];
+            values = new DataValue[capacity];
+            items = new OpcUaMonitoredItem[capacity];
+            resolved = new int[capacity];
+        }
+    }
+
+    private void skipDataValue(int depth) throws UaSerializationException {
+        checkDepth(depth);
+
+        int mask = buffer.readUnsignedByte();
+
+        if ((mask & 0x01) != 0) skipVariant(depth + 1);
+        if ((mask & 0x02) != 0) skip(4);
+        if ((mask & 0x04) != 0) skip(8);
+        if ((mask & 0x10) != 0) skip(2);
+        if ((mask & 0x08) != 0) skip(8);
+        if ((mask & 0x20) != 0) skip(2);
+    }
+
+    private void skipVariant(int depth) throws UaSerializationException {
+        checkDepth(depth);
+
+        int mask = buffer.readUnsignedByte();
+        int typeId = mask & 0x3F;
+
+        if ((mask & 0x80) != 0) {
+            int length = buffer.readIntLE();
+
+            for (int i = 0; i < length; i++) {
+                skipBuiltin(typeId, depth);
+            }
+
+            if ((mask & 0x40) != 0) {
+                int dimensions = buffer.readIntLE();
+                skip(Math.max(dimensions, 0) * 4L);
+            }
+        } else if (typeId != 0) {
+            skipBuiltin(typeId, depth);
+        }
+    }
+
+    private void skipBuiltin(int typeId, int depth) throws UaSerializationException {
+        switch (typeId) {
+            case 1:  // Boolean
+            case 2:  // SByte
+            case 3:  // Byte
+                skip(1);
+                break;
+            case 4:  // Int16
+            case 5:  // UInt16
+                skip(2);
+                break;
+            case 6:  // Int32
+            case 7:  // UInt32
+            case 10: // Float
+            case 19: // StatusCode
+                skip(4);
+                break;
+            case 8:  // Int64
+            case 9:  // UInt64
+            case 11: // Double
+            case 13: // DateTime
+                skip(8);
+                break;
+            case 14: // Guid
+                skip(16);
+                break;
+            case 12: // String
+            case 15: // ByteString
+            case 16: // XmlElement
+                skip(Math.max(buffer.readIntLE(), 0));
+                break;
+            case 17:
+                decoder.readNodeId();
+                break;
+            case 18:
+                decoder.readExpandedNodeId();
+                break;
+            case 20:
+                decoder.readQualifiedName();
+                break;
+            case 21:
+                decoder.readLocalizedText();
+                break;
+            case 22:
+                decoder.readNodeId();
+                int encoding = buffer.readUnsignedByte();
+                if (encoding == 1 || encoding == 2) {
+                    skip(Math.max(buffer.readIntLE(), 0));
+                }
+                break;
+            case 23:
+                skipDataValue(depth + 1);
+                break;
+            case 24:
+                skipVariant(depth + 1);
+                break;
+            case 25:
+                decoder.readDiagnosticInfo();
+                break;
+            default:
+                throw new UaSerializationException(
+                    StatusCodes.Bad_DecodingError,
+                    "unknown builtin type: " + typeId
+                );
+        }
+    }
+
+    private void skip(long length) throws UaSerializationException {
+        if (length > buffer.readableBytes()) {
+            throw new UaSerializationException(
+                StatusCodes.Bad_DecodingError,
+                String.format(
+                    "skip length exceeds remaining bytes (length=%s, remaining=%s)",
+                    length, buffer.readableBytes())
+            );
+        }
+
+        buffer.skipBytes((int) length);
+    }
+
+    private void checkDepth(int depth) throws UaSerializationException {
+        if (depth >= maxRecursionDepth) {
+            throw new UaSerializationException(
+                StatusCodes.Bad_EncodingLimitsExceeded,
+                "max recursion depth exceeded: " + maxRecursionDepth
+            );
+        }
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscription;
@@ -461,7 +462,8 @@ public class ManagedSubscription {
         });
     }
 
-    private ManagedDataItem createAndTrackDataItem(UaMonitoredItem item) {
+    @VisibleForTesting
+    ManagedDataItem createAndTrackDataItem(UaMonitoredItem item) {
         ManagedDataItem dataItem = new ManagedDataItem(client, this, (OpcUaMonitoredItem) item);
         dataItems.put(item.getClientHandle(), dataItem);
         return dataItem;
@@ -1244,6 +1246,12 @@ public class ManagedSubscription {
             DateTime publishTime
         ) {
 
+            // ManagedDataItem values reach their consumers through the UaMonitoredItem; reading dataValues here
+            // would decode every value of a lazily decoded notification even when nobody is listening.
+            if (changeListeners.isEmpty()) {
+                return;
+            }
+
             List<ManagedDataItem> itemsToNotify = new ArrayList<>(monitoredItems.size());
             List<DataValue> valuesToNotify = new ArrayList<>(monitoredItems.size());
 
@@ -207,6 +207,10 @@ public class OpcUaMonitoredItem implements UaMonitoredItem {
         this.discardOldest = discardOldest;
     }
 
+    boolean hasValueConsumer() {
+        return valueConsumer != null;
+    }
+
     void onValueArrived(DataValue value) {
         ValueConsumer c = valueConsumer;
         if (c != null) c.onValueArrived(this, value);
@@ -10,7 +10,6 @@
 
 package com.viper.opc.client.opcua.sdk.client.subscriptions;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +17,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -56,11 +56,19 @@ public class OpcUaSubscription implements UaSubscription {
 
     private final AsyncSemaphore notificationSemaphore = new AsyncSemaphore(1);
 
+    /**
+     * Only accessed from this subscription's lane of the manager's delivery queue.
+     */
+    private DataChangeNotificationBatch notificationBatch;
+
     private final ClientHandleSequence clientHandleSequence = new ClientHandleSequence(
         itemsByClientHandle::containsKey
     );
 
-    final List<UInteger> availableAcknowledgements = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Sequence numbers from the last PublishResponse, taken in one swap by the next PublishRequest sent.
+     */
+    final AtomicReference<UInteger[]> availableAcknowledgements = new AtomicReference<>();
 
     private volatile long lastSequenceNumber = 0L;
 
@@ -393,6 +401,14 @@ public class OpcUaSubscription implements UaSubscription {
         return notificationSemaphore;
     }
 
+    DataChangeNotificationBatch getNotificationBatch() {
+        return notificationBatch;
+    }
+
+    void setNotificationBatch(DataChangeNotificationBatch notificationBatch) {
+        this.notificationBatch = notificationBatch;
+    }
+
     Map<UInteger, OpcUaMonitoredItem> getItemsByClientHandle() {
         return itemsByClientHandle;
     }
@@ -13,7 +13,6 @@ package com.viper.opc.client.opcua.sdk.client.subscriptions;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -35,8 +34,10 @@ import com.viper.opc.client.opcua.sdk.client.api.UaSession;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscription;
 import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscriptionManager;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
 import com.viper.opc.client.opcua.stack.core.StatusCodes;
 import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.types.builtin.ByteString;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
 import com.viper.opc.client.opcua.stack.core.types.builtin.ExtensionObject;
@@ -59,6 +60,7 @@ import com.viper.opc.client.opcua.stack.core.types.structured.RequestHeader;
 import com.viper.opc.client.opcua.stack.core.types.structured.StatusChangeNotification;
 import com.viper.opc.client.opcua.stack.core.types.structured.SubscriptionAcknowledgement;
 import com.viper.opc.client.opcua.stack.core.util.ExecutionQueue;
+import com.viper.opc.client.opcua.stack.core.util.KeyedExecutionQueue;
 import com.viper.opc.client.opcua.stack.core.util.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,7 +85,12 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
     private final ConcurrentMap<NodeId, AtomicLong> pendingCountMap = Maps.newConcurrentMap();
 
-    private final ExecutionQueue deliveryQueue;
+    private final PublishController publishController = new PublishController(this::getPendingPublishes);
+
+    /**
+     * Delivers notifications in order per subscription, with different subscriptions delivered concurrently.
+     */
+    private final KeyedExecutionQueue<UInteger> deliveryQueue;
     private final ExecutionQueue processingQueue;
 
     private final OpcUaClient client;
@@ -91,7 +98,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
     public OpcUaSubscriptionManager(OpcUaClient client) {
         this.client = client;
 
-        deliveryQueue = new ExecutionQueue(client.getConfig().getExecutor());
+        deliveryQueue = new KeyedExecutionQueue<>(client.getConfig().getExecutor());
         processingQueue = new ExecutionQueue(client.getConfig().getExecutor());
 
         client.addSessionActivityListener(new SessionActivityListener() {
@@ -105,6 +112,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
             @Override
             public void onSessionActive(UaSession session) {
+                publishController.onSessionActive();
                 maybeSendPublishRequests();
             }
         });
@@ -411,11 +419,29 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
         subscriptionListeners.remove(listener);
     }
 
+    /**
+     * Get the {@link PublishController} sizing the publish pipeline, which also reports publish latency, the
+     * pending count and missed sequence numbers.
+     *
+     * @return the {@link PublishController}.
+     */
+    public PublishController getPublishController() {
+        return publishController;
+    }
+
+    private long getPendingPublishes() {
+        // pruned to the current session when Publish requests are sent
+        long pending = 0L;
+        for (AtomicLong pendingCount : pendingCountMap.values()) {
+            pending += pendingCount.get();
+        }
+        return pending;
+    }
+
     private long getMaxPendingPublishes() {
         long maxPendingPublishRequests = client.getConfig().getMaxPendingPublishRequests().longValue();
 
-        return subscriptions.isEmpty() ?
-            0 : Math.min(subscriptions.size() + 1, maxPendingPublishRequests);
+        return publishController.getMaxPendingPublishes(subscriptions.size(), maxPendingPublishRequests);
     }
 
     private UInteger getTimeoutHint() {
@@ -468,14 +494,15 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
         List<SubscriptionAcknowledgement> subscriptionAcknowledgements = new ArrayList<>();
 
         subscriptions.values().forEach(subscription -> {
-            synchronized (subscription.availableAcknowledgements) {
-                subscription.availableAcknowledgements.forEach(sequenceNumber ->
+            UInteger[] sequenceNumbers = subscription.availableAcknowledgements.getAndSet(null);
+
+            if (sequenceNumbers != null) {
+                for (UInteger sequenceNumber : sequenceNumbers) {
                     subscriptionAcknowledgements.add(new SubscriptionAcknowledgement(
                         subscription.getSubscriptionId(),
                         sequenceNumber
-                    ))
-                );
-                subscription.availableAcknowledgements.clear();
+                    ));
+                }
             }
         });
 
@@ -502,11 +529,17 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 requestHandle, Arrays.toString(ackStrings));
         }
 
+        long sentAt = System.nanoTime();
+
         client.<PublishResponse>sendRequest(request).whenComplete((response, ex) -> {
             if (response != null) {
                 logger.debug("Received PublishResponse, sequenceNumber={}",
                     response.getNotificationMessage().getSequenceNumber());
 
+                ExtensionObject[] notificationData = response.getNotificationMessage().getNotificationData();
+                publishController.onPublishResponse(
+                    sentAt, System.nanoTime(), notificationData != null && notificationData.length > 0);
+
                 processingQueue.submit(() -> onPublishComplete(response, pendingCount));
             } else {
                 StatusCode statusCode = UaException.extract(ex)
@@ -515,6 +548,12 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
                 logger.debug("Publish service failure (requestHandle={}): {}", requestHandle, statusCode, ex);
 
+                publishController.onPublishFailure();
+
+                if (statusCode.getValue() == StatusCodes.Bad_TooManyPublishRequests) {
+                    publishController.onTooManyPublishRequests(pendingCount.get());
+                }
+
                 pendingCount.getAndUpdate(p -> (p > 0) ? p - 1 : 0);
 
                 if (statusCode.getValue() != StatusCodes.Bad_NoSubscription &&
@@ -557,6 +596,8 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
             logger.warn("[id={}] expected sequence={}, received sequence={}. Calling Republish service...",
                 subscriptionId, expectedSequenceNumber, sequenceNumber);
 
+            publishController.onSequenceGap(sequenceNumber - expectedSequenceNumber);
+
             processingQueue.pause();
             processingQueue.submitToHead(() -> onPublishComplete(response, pendingCount));
 
@@ -590,13 +631,12 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
         UInteger[] availableSequenceNumbers = response.getAvailableSequenceNumbers();
 
-        synchronized (subscription.availableAcknowledgements) {
-            subscription.availableAcknowledgements.clear();
-
-            if (availableSequenceNumbers != null && availableSequenceNumbers.length > 0) {
-                Collections.addAll(subscription.availableAcknowledgements, availableSequenceNumbers);
-            }
-        }
+        // replaces whatever the next PublishRequest has not picked up yet; the server lists every unacknowledged
+        // sequence number each time, so nothing is lost
+        subscription.availableAcknowledgements.set(
+            availableSequenceNumbers != null && availableSequenceNumbers.length > 0 ?
+                availableSequenceNumbers : null
+        );
 
         if (logger.isDebugEnabled() && availableSequenceNumbers != null) {
             String[] seqStrings = Arrays.stream(availableSequenceNumbers)
@@ -645,8 +685,10 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                     try {
                         onRepublishComplete(subscriptionId, response, uint(fromSequence));
 
+                        publishController.onRepublished(false);
                         republish(subscriptionId, fromSequence + 1, toSequence, dataLost, future);
                     } catch (UaException e) {
+                        publishController.onRepublished(true);
                         republish(subscriptionId, fromSequence + 1, toSequence, true, future);
                     }
                 } else {
@@ -655,6 +697,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                         .orElse(StatusCode.BAD);
 
                     if (statusCode.getValue() == StatusCodes.Bad_MessageNotAvailable) {
+                        publishController.onRepublished(true);
                         republish(subscriptionId, fromSequence + 1, toSequence, true, future);
                     } else {
                         future.completeExceptionally(ex);
@@ -693,7 +736,7 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
 
         CompletableFuture<Unit> delivered = new CompletableFuture<>();
 
-        subscription.getNotificationSemaphore().acquire().thenAccept(permit -> deliveryQueue.submit(() -> {
+        subscription.getNotificationSemaphore().acquire().thenAccept(permit -> deliveryQueue.submit(subscription.getSubscriptionId(), () -> {
             try {
                 Map<UInteger, OpcUaMonitoredItem> items = subscription.getItemsByClientHandle();
                 List<ExtensionObject> notificationData = l(notificationMessage.getNotificationData());
@@ -710,6 +753,16 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
                 }
 
                 for (ExtensionObject xo : notificationData) {
+                    if (isLazyDataChangeNotification(xo)) {
+                        deliverDataChangeNotification(
+                            subscription,
+                            items,
+                            (ByteString) xo.getBody(),
+                            notificationMessage.getPublishTime()
+                        );
+                        continue;
+                    }
+
                     Object o = xo.decode(client.getStaticSerializationContext());
 
                     if (o instanceof DataChangeNotification) {
@@ -825,6 +878,78 @@ public class OpcUaSubscriptionManager implements UaSubscriptionManager {
         return delivered;
     }
 
+    private boolean isLazyDataChangeNotification(ExtensionObject xo) {
+        return client.getConfig().isLazyNotificationDecodingEnabled() &&
+            xo.getBodyType() == ExtensionObject.BodyType.ByteString &&
+            Identifiers.DataChangeNotification_Encoding_DefaultBinary.equals(xo.getEncodingId());
+    }
+
+    /**
+     * Deliver a binary encoded DataChangeNotification without decoding it up front. Only the DataValues of items
+     * with a value consumer, and those a notification listener asks for, are ever decoded.
+     * <p>
+     * Must be called on the delivery queue, which serializes access to the subscription's batch.
+     */
+    private void deliverDataChangeNotification(
+        OpcUaSubscription subscription,
+        Map<UInteger, OpcUaMonitoredItem> items,
+        ByteString body,
+        DateTime publishTime) {
+
+        DataChangeNotificationBatch batch = subscription.getNotificationBatch();
+        if (batch == null) {
+            batch = new DataChangeNotificationBatch(client.getStaticSerializationContext());
+            subscription.setNotificationBatch(batch);
+        }
+
+        try {
+            batch.wrap(body);
+
+            int notificationCount = batch.size();
+
+            logger.debug("Received {} MonitoredItemNotifications", notificationCount);
+
+            for (int i = 0; i < notificationCount; i++) {
+                UInteger clientHandle = uint(batch.getClientHandle(i));
+                OpcUaMonitoredItem item = items.get(clientHandle);
+
+                if (item != null) {
+                    batch.resolve(i, item);
+
+                    if (item.hasValueConsumer()) {
+                        item.onValueArrived(batch.getValue(i));
+                    }
+                } else {
+                    logger.warn("no item for clientHandle=" + clientHandle);
+                }
+            }
+
+            if (notificationCount == 0) {
+                subscriptionListeners.forEach(
+                    listener -> listener.onKeepAlive(subscription, publishTime)
+                );
+
+                subscription.getNotificationListeners().forEach(
+                    listener -> listener.onKeepAliveNotification(subscription, publishTime)
+                );
+            } else if (!subscription.getNotificationListeners().isEmpty()) {
+                List<UaMonitoredItem> monitoredItems = batch.getMonitoredItems();
+                List<DataValue> dataValues = batch.getDataValues();
+
+                subscription.getNotificationListeners().forEach(
+                    listener -> listener.onDataChangeNotification(
+                        subscription,
+                        monitoredItems,
+                        dataValues,
+                        publishTime
+                    )
+                );
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
     public void startPublishing() {
         maybeSendPublishRequests();
     }
@@ -0,0 +1,207 @@
+package com.viper.opc.client.opcua.sdk.client.subscriptions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.viper.opc.client.opcua.sdk.client.api.config.OpcUaClientConfig;
+
+/**
+ * Sizes the number of outstanding Publish requests from the measured round-trip time and notification rate.
+ * <p>
+ * Each subscription needs one Publish queued at the server for its next notification, plus enough extra to cover
+ * the notifications that become due while a replacement Publish is still on the wire: the notification rate times
+ * the round-trip time, i.e. the bandwidth-delay product of the publish pipeline. The round-trip time is taken as the
+ * smallest Publish round trip in the last {@value #RTT_WINDOW} samples, since a Publish answered right away from a
+ * backlog measures the link while one the server held until a notification was due does not.
+ * <p>
+ * The result never drops below {@code subscriptions + 1}, the fixed count used before, and never exceeds
+ * {@link OpcUaClientConfig#getMaxPendingPublishRequests()}. A {@code Bad_TooManyPublishRequests} from the server
+ * caps it below the count that triggered it until the session is re-activated.
+ */
+public class PublishController {
+
+    static final int RTT_WINDOW = 32;
+
+    /**
+     * Weight of a new sample in the latency and notification interval averages.
+     */
+    private static final double ALPHA = 0.125;
+
+    private final LongSupplier pendingPublishes;
+
+    private final long[] rttSamples = new long[RTT_WINDOW];
+    private int rttSampleCount = 0;
+    private int rttSampleIndex = 0;
+
+    private double averageLatencyNanos = 0.0;
+    private double averageIntervalNanos = 0.0;
+    private long lastNotificationNanos = -1L;
+
+    private long serverLimit = Long.MAX_VALUE;
+    private long target = 0L;
+
+    private long publishResponses = 0L;
+    private long publishFailures = 0L;
+    private long missedSequenceNumbers = 0L;
+    private long republished = 0L;
+    private long republishDataLost = 0L;
+
+    /**
+     * @param pendingPublishes supplies the number of Publish requests currently outstanding on the session.
+     */
+    PublishController(LongSupplier pendingPublishes) {
+        this.pendingPublishes = pendingPublishes;
+    }
+
+    /**
+     * @param subscriptionCount  the number of subscriptions on the session.
+     * @param maxPendingPublishes the configured upper bound.
+     * @return the number of Publish requests to keep outstanding.
+     */
+    synchronized long getMaxPendingPublishes(int subscriptionCount, long maxPendingPublishes) {
+        if (subscriptionCount == 0) {
+            target = 0L;
+            return 0L;
+        }
+
+        long ceiling = Math.max(1L, Math.min(maxPendingPublishes, serverLimit));
+        long floor = Math.min(subscriptionCount + 1L, ceiling);
+
+        long inFlight = 0L;
+        long rtt = getRoundTripNanos();
+        if (rtt > 0 && averageIntervalNanos > 0) {
+            inFlight = (long) Math.ceil(rtt / averageIntervalNanos);
+        }
+
+        target = Math.max(floor, Math.min(subscriptionCount + inFlight, ceiling));
+
+        return target;
+    }
+
+    synchronized void onPublishResponse(long sentAtNanos, long receivedAtNanos, boolean hasNotifications) {
+        long rtt = receivedAtNanos - sentAtNanos;
+
+        publishResponses++;
+
+        rttSamples[rttSampleIndex] = rtt;
+        rttSampleIndex = (rttSampleIndex + 1) % RTT_WINDOW;
+        if (rttSampleCount < RTT_WINDOW) rttSampleCount++;
+
+        averageLatencyNanos = averageLatencyNanos == 0.0 ?
+            rtt : averageLatencyNanos + ALPHA * (rtt - averageLatencyNanos);
+
+        if (hasNotifications) {
+            if (lastNotificationNanos >= 0) {
+                long interval = Math.max(1L, receivedAtNanos - lastNotificationNanos);
+
+                averageIntervalNanos = averageIntervalNanos == 0.0 ?
+                    interval : averageIntervalNanos + ALPHA * (interval - averageIntervalNanos);
+            }
+            lastNotificationNanos = receivedAtNanos;
+        }
+    }
+
+    synchronized void onPublishFailure() {
+        publishFailures++;
+    }
+
+    /**
+     * The server rejected a Publish with {@code Bad_TooManyPublishRequests} while {@code pending} were outstanding.
+     */
+    synchronized void onTooManyPublishRequests(long pending) {
+        serverLimit = Math.max(1L, Math.min(serverLimit, pending - 1));
+    }
+
+    synchronized void onSessionActive() {
+        serverLimit = Long.MAX_VALUE;
+    }
+
+    synchronized void onSequenceGap(long missed) {
+        missedSequenceNumbers += missed;
+    }
+
+    synchronized void onRepublished(boolean dataLost) {
+        if (dataLost) {
+            republishDataLost++;
+        } else {
+            republished++;
+        }
+    }
+
+    /**
+     * @return the smallest Publish round trip in the recent window, in nanoseconds, or 0 if none has completed.
+     */
+    public synchronized long getRoundTripNanos() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < rttSampleCount; i++) {
+            min = Math.min(min, rttSamples[i]);
+        }
+        return rttSampleCount > 0 ? min : 0L;
+    }
+
+    /**
+     * @return the moving average of the time from sending a Publish to receiving its response, in milliseconds.
+     */
+    public synchronized double getAveragePublishLatencyMillis() {
+        return averageLatencyNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the moving average rate of PublishResponses carrying notifications, per second.
+     */
+    public synchronized double getNotificationRate() {
+        return averageIntervalNanos > 0 ? TimeUnit.SECONDS.toNanos(1) / averageIntervalNanos : 0.0;
+    }
+
+    /**
+     * @return the number of Publish requests the pipeline is currently sized for.
+     */
+    public synchronized long getTargetPendingPublishes() {
+        return target;
+    }
+
+    /**
+     * @return the number of Publish requests currently outstanding, i.e. the depth of the Publish queue.
+     */
+    public long getPendingPublishes() {
+        return pendingPublishes.getAsLong();
+    }
+
+    public synchronized long getPublishResponses() {
+        return publishResponses;
+    }
+
+    public synchronized long getPublishFailures() {
+        return publishFailures;
+    }
+
+    /**
+     * @return the number of sequence numbers skipped by PublishResponses, each of which triggered a Republish.
+     */
+    public synchronized long getMissedSequenceNumbers() {
+        return missedSequenceNumbers;
+    }
+
+    /**
+     * @return the number of missed notification messages recovered with Republish.
+     */
+    public synchronized long getRepublished() {
+        return republished;
+    }
+
+    /**
+     * @return the number of missed notification messages the server no longer had.
+     */
+    public synchronized long getRepublishDataLost() {
+        return republishDataLost;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+            "pending=%d target=%d rtt=%.1fms latency=%.1fms rate=%.1f/s responses=%d failures=%d missed=%d republished=%d lost=%d",
+            getPendingPublishes(), target, getRoundTripNanos() / 1e6, getAveragePublishLatencyMillis(), getNotificationRate(),
+            publishResponses, publishFailures, missedSequenceNumbers, republished, republishDataLost);
+    }
+
+}
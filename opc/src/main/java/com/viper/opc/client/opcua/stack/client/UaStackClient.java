@@ -11,9 +11,14 @@
 package com.viper.opc.client.opcua.stack.client;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.viper.opc.client.opcua.stack.client.transport.UaTransport;
 import com.viper.opc.client.opcua.stack.client.transport.http.OpcHttpTransport;
@@ -33,9 +38,21 @@ import com.viper.opc.client.opcua.stack.core.types.DefaultDataTypeManager;
 import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateSubscriptionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteSubscriptionsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifyMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifySubscriptionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.RepublishRequest;
 import com.viper.opc.client.opcua.stack.core.types.structured.RequestHeader;
 import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
 import com.viper.opc.client.opcua.stack.core.types.structured.ServiceFault;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetMonitoringModeRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetPublishingModeRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetTriggeringRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.TransferSubscriptionsRequest;
 import com.viper.opc.client.opcua.stack.core.util.ExecutionQueue;
 import com.viper.opc.client.opcua.stack.core.util.LongSequence;
 import org.jetbrains.annotations.Nullable;
@@ -46,6 +63,25 @@ import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsig
 
 public class UaStackClient {
 
+    /**
+     * Subscription and MonitoredItem service requests, delivered on the same lane as {@link PublishRequest} so a
+     * Publish response is never handled before the response that created or changed the items it reports on.
+     */
+    private static final Set<Class<?>> PUBLISH_LANE_REQUESTS = ImmutableSet.of(
+        PublishRequest.class,
+        RepublishRequest.class,
+        CreateSubscriptionRequest.class,
+        ModifySubscriptionRequest.class,
+        SetPublishingModeRequest.class,
+        DeleteSubscriptionsRequest.class,
+        TransferSubscriptionsRequest.class,
+        CreateMonitoredItemsRequest.class,
+        ModifyMonitoredItemsRequest.class,
+        SetMonitoringModeRequest.class,
+        SetTriggeringRequest.class,
+        DeleteMonitoredItemsRequest.class
+    );
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final LongSequence requestHandles = new LongSequence(0, UInteger.MAX_VALUE);
@@ -64,7 +100,9 @@ public class UaStackClient {
     private final SerializationContext dynamicSerializationContext;
 
     private final UaTransport transport;
-    private final ExecutionQueue deliveryQueue;
+    private final Map<Class<?>, DeliveryLane> laneByRequestType = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLane = new AtomicInteger(0);
+    private final DeliveryLane[] deliveryLanes;
 
     private final UaStackClientConfig config;
 
@@ -75,7 +113,10 @@ public class UaStackClient {
 
         this.config = config;
 
-        deliveryQueue = new ExecutionQueue(config.getExecutor());
+        deliveryLanes = new DeliveryLane[Math.max(1, config.getDeliveryLanes())];
+        for (int i = 0; i < deliveryLanes.length; i++) {
+            deliveryLanes[i] = new DeliveryLane(new ExecutionQueue(config.getExecutor()));
+        }
 
         staticSerializationContext = new SerializationContext() {
             @Override
@@ -92,6 +133,11 @@ public class UaStackClient {
             public DataTypeManager getDataTypeManager() {
                 return staticDataTypeManager;
             }
+
+            @Override
+            public boolean isPrimitiveArrayDecodingEnabled() {
+                return config.isPrimitiveArrayDecodingEnabled();
+            }
         };
 
         dynamicSerializationContext = new SerializationContext() {
@@ -109,6 +155,11 @@ public class UaStackClient {
             public DataTypeManager getDataTypeManager() {
                 return dynamicDataTypeManager;
             }
+
+            @Override
+            public boolean isPrimitiveArrayDecodingEnabled() {
+                return config.isPrimitiveArrayDecodingEnabled();
+            }
         };
 
         transport = transportFactory.apply(this);
@@ -283,11 +334,65 @@ public class UaStackClient {
     }
 
     /**
-     * Complete {@code future} with {@code response} on the {@code deliveryQueue}.
+     * @return the number of lanes responses are delivered on.
+     */
+    public int getDeliveryLaneCount() {
+        return deliveryLanes.length;
+    }
+
+    /**
+     * @return the number of responses waiting to be delivered, across all lanes.
+     */
+    public int getDeliveryQueueDepth() {
+        int depth = 0;
+        for (DeliveryLane lane : deliveryLanes) {
+            depth += lane.depth.get();
+        }
+        return depth;
+    }
+
+    /**
+     * @param lane the index of the lane, {@code 0 <= lane < getDeliveryLaneCount()}.
+     * @return the number of responses waiting to be delivered on {@code lane}.
+     */
+    public int getDeliveryQueueDepth(int lane) {
+        return deliveryLanes[lane].depth.get();
+    }
+
+    /**
+     * @return the average time, in nanoseconds, a response waited between being received from the transport and
+     * being delivered, across all lanes.
+     */
+    public long getAverageDeliveryLatencyNanos() {
+        long delivered = 0L;
+        long latency = 0L;
+        for (DeliveryLane lane : deliveryLanes) {
+            delivered += lane.delivered.get();
+            latency += lane.latencyNanos.get();
+        }
+        return delivered > 0 ? latency / delivered : 0L;
+    }
+
+    /**
+     * @param lane the index of the lane, {@code 0 <= lane < getDeliveryLaneCount()}.
+     * @return the longest time, in nanoseconds, a response waited to be delivered on {@code lane}.
+     */
+    public long getMaxDeliveryLatencyNanos(int lane) {
+        return deliveryLanes[lane].maxLatencyNanos.get();
+    }
+
+    /**
+     * Complete {@code future} with {@code response} on the delivery lane assigned to the request's service type.
      * <p>
      * This is done for two reasons:
      * 1. the transport future is completed on its serialization queue thread, which we want to get off of ASAP.
-     * 2. the futures need to be completed serially, in the order received from the server.
+     * 2. the futures for each service type need to be completed serially, in the order received from the server.
+     * <p>
+     * When more than one lane is configured the first lane is reserved for {@link PublishRequest} and the other
+     * Subscription and MonitoredItem services, so a slow notification consumer doesn't hold up completions of the
+     * other service types, which are assigned round-robin to the remaining lanes the first time they are seen.
+     * Keeping the Subscription services on the Publish lane means e.g. a CreateMonitoredItems response is handled
+     * before a Publish response received after it that carries the new items' first values.
      *
      * @param request  the original {@link UaRequestMessage}.
      * @param response the {@link UaResponseMessage}.
@@ -300,7 +405,9 @@ public class UaStackClient {
         CompletableFuture<UaResponseMessage> future
     ) {
 
-        deliveryQueue.submit(() -> {
+        DeliveryLane lane = laneByRequestType.computeIfAbsent(request.getClass(), this::assignLane);
+
+        lane.submit(() -> {
             if (response != null) {
                 ResponseHeader header = response.getResponseHeader();
                 UInteger requestHandle = header.getRequestHandle();
@@ -406,4 +513,43 @@ public class UaStackClient {
         return new UaStackClient(config, transportFactory);
     }
 
+    private DeliveryLane assignLane(Class<?> requestType) {
+        if (deliveryLanes.length == 1 || PUBLISH_LANE_REQUESTS.contains(requestType)) {
+            return deliveryLanes[0];
+        } else {
+            int shared = deliveryLanes.length - 1;
+            return deliveryLanes[1 + Math.floorMod(nextLane.getAndIncrement(), shared)];
+        }
+    }
+
+    private static class DeliveryLane {
+
+        private final AtomicInteger depth = new AtomicInteger(0);
+        private final AtomicLong delivered = new AtomicLong(0L);
+        private final AtomicLong latencyNanos = new AtomicLong(0L);
+        private final AtomicLong maxLatencyNanos = new AtomicLong(0L);
+
+        private final ExecutionQueue queue;
+
+        DeliveryLane(ExecutionQueue queue) {
+            this.queue = queue;
+        }
+
+        void submit(Runnable runnable) {
+            final long submitted = System.nanoTime();
+            depth.incrementAndGet();
+
+            queue.submit(() -> {
+                long latency = System.nanoTime() - submitted;
+                depth.decrementAndGet();
+                delivered.incrementAndGet();
+                latencyNanos.addAndGet(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+
+                runnable.run();
+            });
+        }
+
+    }
+
 }
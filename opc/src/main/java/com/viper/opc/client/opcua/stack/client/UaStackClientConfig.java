@@ -21,7 +21,10 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.HashedWheelTimer;
 import com.viper.opc.client.opcua.stack.client.security.ClientCertificateValidator;
 import com.viper.opc.client.opcua.stack.core.channel.EncodingLimits;
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
 import com.viper.opc.client.opcua.stack.core.types.structured.EndpointDescription;
 
 public interface UaStackClientConfig {
@@ -111,6 +114,26 @@ public interface UaStackClientConfig {
      */
     UInteger getChannelLifetime();
 
+    /**
+     * Get the number of lanes responses are delivered on.
+     * <p>
+     * Responses to requests of the same service type are always delivered in order on the same lane; responses to
+     * different service types may be delivered concurrently when more than one lane is configured, in which case
+     * one lane is reserved for Publish responses and the other Subscription and MonitoredItem service responses.
+     *
+     * @return the number of response delivery lanes.
+     */
+    int getDeliveryLanes();
+
+    /**
+     * Get whether one-dimensional arrays of numeric builtin types in a {@link Variant} are decoded into primitive
+     * arrays ({@code float[]}, {@code int[]}, ...) and {@link UnsignedArray}s instead of arrays of boxed values.
+     *
+     * @return {@code true} if primitive array decoding is enabled.
+     * @see SerializationContext#isPrimitiveArrayDecodingEnabled()
+     */
+    boolean isPrimitiveArrayDecodingEnabled();
+
     static UaStackClientConfigBuilder builder() {
         return new UaStackClientConfigBuilder();
     }
@@ -138,6 +161,8 @@ public interface UaStackClientConfig {
         builder.setEventLoop(config.getEventLoop());
         builder.setWheelTimer(config.getWheelTimer());
         builder.setConnectTimeout(config.getConnectTimeout());
+        builder.setDeliveryLanes(config.getDeliveryLanes());
+        builder.setPrimitiveArrayDecodingEnabled(config.isPrimitiveArrayDecodingEnabled());
         builder.setAcknowledgeTimeout(config.getAcknowledgeTimeout());
         builder.setRequestTimeout(config.getRequestTimeout());
 
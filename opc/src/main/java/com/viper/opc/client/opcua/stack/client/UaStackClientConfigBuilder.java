@@ -46,6 +46,8 @@ public class UaStackClientConfigBuilder {
     private UInteger acknowledgeTimeout = uint(5_000);
     private UInteger requestTimeout = uint(60_000);
     private UInteger channelLifetime = uint(60 * 60 * 1000);
+    private int deliveryLanes = 1;
+    private boolean primitiveArrayDecodingEnabled = false;
 
     public UaStackClientConfigBuilder setEndpoint(EndpointDescription endpoint) {
         this.endpoint = endpoint;
@@ -112,6 +114,16 @@ public class UaStackClientConfigBuilder {
         return this;
     }
 
+    public UaStackClientConfigBuilder setDeliveryLanes(int deliveryLanes) {
+        this.deliveryLanes = deliveryLanes;
+        return this;
+    }
+
+    public UaStackClientConfigBuilder setPrimitiveArrayDecodingEnabled(boolean primitiveArrayDecodingEnabled) {
+        this.primitiveArrayDecodingEnabled = primitiveArrayDecodingEnabled;
+        return this;
+    }
+
     public UaStackClientConfigBuilder setChannelLifetime(UInteger channelLifetime) {
         this.channelLifetime = channelLifetime;
         return this;
@@ -147,7 +159,9 @@ public class UaStackClientConfigBuilder {
             connectTimeout,
             acknowledgeTimeout,
             requestTimeout,
-            channelLifetime
+            channelLifetime,
+            Math.max(1, deliveryLanes),
+            primitiveArrayDecodingEnabled
         );
     }
 
@@ -168,6 +182,8 @@ public class UaStackClientConfigBuilder {
         private final UInteger acknowledgeTimeout;
         private final UInteger requestTimeout;
         private final UInteger channelLifetime;
+        private final int deliveryLanes;
+        private final boolean primitiveArrayDecodingEnabled;
 
         UaStackClientConfigImpl(
             EndpointDescription endpoint,
@@ -183,7 +199,9 @@ public class UaStackClientConfigBuilder {
             UInteger connectTimeout,
             UInteger acknowledgeTimeout,
             UInteger requestTimeout,
-            UInteger channelLifetime
+            UInteger channelLifetime,
+            int deliveryLanes,
+            boolean primitiveArrayDecodingEnabled
         ) {
 
             this.endpoint = endpoint;
@@ -200,6 +218,8 @@ public class UaStackClientConfigBuilder {
             this.acknowledgeTimeout = acknowledgeTimeout;
             this.requestTimeout = requestTimeout;
             this.channelLifetime = channelLifetime;
+            this.deliveryLanes = deliveryLanes;
+            this.primitiveArrayDecodingEnabled = primitiveArrayDecodingEnabled;
         }
 
         @Override
@@ -280,6 +300,16 @@ public class UaStackClientConfigBuilder {
             return requestTimeout;
         }
 
+        @Override
+        public int getDeliveryLanes() {
+            return deliveryLanes;
+        }
+
+        @Override
+        public boolean isPrimitiveArrayDecodingEnabled() {
+            return primitiveArrayDecodingEnabled;
+        }
+
     }
 
 }
@@ -0,0 +1,53 @@
+package com.viper.opc.client.opcua.stack.client.transport.uasc;
+
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+
+/**
+ * Counts the chunks of the message currently being received and enforces the local MaxChunkCount.
+ * <p>
+ * Every chunk is counted, including the final one, so a message is rejected as soon as it has more than
+ * MaxChunkCount chunks.
+ */
+class ChunkCounter {
+
+    private final int maxChunkCount;
+
+    private int chunkCount = 0;
+
+    /**
+     * @param maxChunkCount the maximum number of chunks per message, or 0 for no limit.
+     */
+    ChunkCounter(int maxChunkCount) {
+        this.maxChunkCount = maxChunkCount;
+    }
+
+    /**
+     * Count a received chunk.
+     *
+     * @param finalChunk {@code true} if the chunk is the final or abort chunk of its message.
+     * @throws UaException if the message now has more than MaxChunkCount chunks.
+     */
+    void onChunk(boolean finalChunk) throws UaException {
+        int count = ++chunkCount;
+
+        if (finalChunk) {
+            chunkCount = 0;
+        }
+
+        if (maxChunkCount > 0 && count > maxChunkCount) {
+            chunkCount = 0;
+
+            throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
+                String.format("max chunk count exceeded (%s)", maxChunkCount));
+        }
+    }
+
+    /**
+     * @return the number of chunks of the current message counted so far.
+     */
+    int getChunkCount() {
+        return chunkCount;
+    }
+
+}
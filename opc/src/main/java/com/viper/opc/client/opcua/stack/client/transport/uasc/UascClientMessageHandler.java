@@ -74,6 +74,11 @@ public class UascClientMessageHandler extends ByteToMessageCodec<UaTransportRequ
 
     private List<ByteBuf> chunkBuffers = new ArrayList<>();
 
+    /**
+     * Chunks of the current symmetric message handed to the ChunkDecoder so far.
+     */
+    private final ChunkCounter symmetricChunkCounter;
+
     private final AtomicReference<AsymmetricSecurityHeader> headerRef = new AtomicReference<>();
 
     private final Map<Long, UaTransportRequest> pending = Maps.newConcurrentMap();
@@ -121,6 +126,8 @@ public class UascClientMessageHandler extends ByteToMessageCodec<UaTransportRequ
 
         maxChunkCount = serializationQueue.getParameters().getLocalMaxChunkCount();
         maxChunkSize = serializationQueue.getParameters().getLocalReceiveBufferSize();
+
+        symmetricChunkCounter = new ChunkCounter(maxChunkCount);
     }
 
     @Override
@@ -174,6 +181,8 @@ public class UascClientMessageHandler extends ByteToMessageCodec<UaTransportRequ
         chunkBuffers.forEach(ReferenceCountUtil::safeRelease);
         chunkBuffers.clear();
 
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> chunkDecoder.reset());
+
         // If the handshake hasn't completed yet this cause will be more
         // accurate than the generic "connection closed" exception that
         // channelInactive() will use.
@@ -411,20 +420,32 @@ public class UascClientMessageHandler extends ByteToMessageCodec<UaTransportRequ
     }
 
     private boolean accumulateChunk(ByteBuf buffer) throws UaException {
+        checkChunkSize(buffer);
+
+        chunkBuffers.add(buffer.retain());
+
+        checkChunkCount(chunkBuffers.size());
+
+        return isFinalChunk(buffer);
+    }
+
+    private void checkChunkSize(ByteBuf buffer) throws UaException {
         int chunkSize = buffer.readerIndex(0).readableBytes();
 
         if (chunkSize > maxChunkSize) {
             throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
                 String.format("max chunk size exceeded (%s)", maxChunkSize));
         }
+    }
 
-        chunkBuffers.add(buffer.retain());
-
-        if (maxChunkCount > 0 && chunkBuffers.size() > maxChunkCount) {
+    private void checkChunkCount(int chunkCount) throws UaException {
+        if (maxChunkCount > 0 && chunkCount > maxChunkCount) {
             throw new UaException(StatusCodes.Bad_TcpMessageTooLarge,
                 String.format("max chunk count exceeded (%s)", maxChunkCount));
         }
+    }
 
+    private static boolean isFinalChunk(ByteBuf buffer) {
         char chunkType = (char) buffer.getByte(3);
 
         return (chunkType == 'A' || chunkType == 'F');
@@ -610,68 +631,78 @@ public class UascClientMessageHandler extends ByteToMessageCodec<UaTransportRequ
                 "invalid secure channel id: " + secureChannelId);
         }
 
-        if (accumulateChunk(buffer)) {
-            final List<ByteBuf> buffersToDecode = chunkBuffers;
-            chunkBuffers = new ArrayList<>(maxChunkCount);
+        checkChunkSize(buffer);
 
-            serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
-                ByteBuf message;
-                long requestId;
+        final boolean finalChunk = isFinalChunk(buffer);
 
-                try {
-                    ChunkDecoder.DecodedMessage decodedMessage =
-                        chunkDecoder.decodeSymmetric(secureChannel, buffersToDecode);
+        symmetricChunkCounter.onChunk(finalChunk);
 
-                    message = decodedMessage.getMessage();
-                    requestId = decodedMessage.getRequestId();
-                } catch (MessageAbortException e) {
-                    logger.warn(
-                        "Received message abort chunk; error={}, reason={}",
-                        e.getStatusCode(), e.getMessage()
-                    );
+        final ByteBuf chunkBuffer = buffer.retain();
 
-                    UaTransportRequest request = pending.remove(e.getRequestId());
+        // Each chunk is verified and decrypted as it arrives rather than once the final chunk has
+        // been received, so only the final chunk's work remains when the message completes.
+        serializationQueue.decode((binaryDecoder, chunkDecoder) -> {
+            ByteBuf message;
+            long requestId;
 
-                    if (request != null) {
-                        request.getFuture().completeExceptionally(e);
-                    } else {
-                        logger.warn("No pending request for requestId={}", e.getRequestId());
-                    }
-                    return;
-                } catch (MessageDecodeException e) {
-                    logger.error("Error decoding symmetric message", e);
+            try {
+                ChunkDecoder.DecodedMessage decodedMessage =
+                    chunkDecoder.decodeSymmetricChunk(secureChannel, chunkBuffer);
 
-                    ctx.close();
+                if (decodedMessage == null) {
+                    // not the final chunk; wait for the rest of the message
                     return;
                 }
 
+                message = decodedMessage.getMessage();
+                requestId = decodedMessage.getRequestId();
+            } catch (MessageAbortException e) {
+                logger.warn(
+                    "Received message abort chunk; error={}, reason={}",
+                    e.getStatusCode(), e.getMessage()
+                );
 
-                UaTransportRequest request = pending.remove(requestId);
+                UaTransportRequest request = pending.remove(e.getRequestId());
 
-                try {
-                    UaResponseMessage response = (UaResponseMessage) binaryDecoder
-                        .setBuffer(message)
-                        .readMessage(null);
+                if (request != null) {
+                    request.getFuture().completeExceptionally(e);
+                } else {
+                    logger.warn("No pending request for requestId={}", e.getRequestId());
+                }
+                return;
+            } catch (MessageDecodeException e) {
+                logger.error("Error decoding symmetric message", e);
 
-                    if (request != null) {
-                        request.getFuture().complete(response);
-                    } else {
-                        logger.warn(
-                            "No pending request with requestId={} for {}",
-                            requestId, response.getClass().getSimpleName()
-                        );
-                    }
-                } catch (Throwable t) {
-                    logger.error("Error decoding UaResponseMessage", t);
+                ctx.close();
+                return;
+            }
 
-                    if (request != null) {
-                        request.getFuture().completeExceptionally(t);
-                    }
-                } finally {
-                    message.release();
+
+            UaTransportRequest request = pending.remove(requestId);
+
+            try {
+                UaResponseMessage response = (UaResponseMessage) binaryDecoder
+                    .setBuffer(message)
+                    .readMessage(null);
+
+                if (request != null) {
+                    request.getFuture().complete(response);
+                } else {
+                    logger.warn(
+                        "No pending request with requestId={} for {}",
+                        requestId, response.getClass().getSimpleName()
+                    );
                 }
-            });
-        }
+            } catch (Throwable t) {
+                logger.error("Error decoding UaResponseMessage", t);
+
+                if (request != null) {
+                    request.getFuture().completeExceptionally(t);
+                }
+            } finally {
+                message.release();
+            }
+        });
     }
 
     private void onError(ChannelHandlerContext ctx, ByteBuf buffer) {
@@ -41,7 +41,13 @@ public enum AttributeId {
     MinimumSamplingInterval(19),
     Historizing(20),
     Executable(21),
-    UserExecutable(22);
+    UserExecutable(22),
+
+    /**
+     * Added in OPC UA 1.04. Not part of {@link #DATA_TYPE_ATTRIBUTES}, since servers implementing an earlier version
+     * reject it.
+     */
+    DataTypeDefinition(23);
 
     public static final ImmutableSet<AttributeId> BASE_ATTRIBUTES = ImmutableSet.copyOf(
         ImmutableSet.of(
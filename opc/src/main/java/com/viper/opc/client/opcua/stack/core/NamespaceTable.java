@@ -26,6 +26,8 @@ public class NamespaceTable {
 
     private final BiMap<UShort, String> uriTable = HashBiMap.create();
 
+    private final NodeIdInterner nodeIdInterner = new NodeIdInterner();
+
     public NamespaceTable() {
         uriTable.put(ushort(0), Namespaces.OPC_UA);
     }
@@ -83,6 +85,13 @@ public class NamespaceTable {
         uriTableConsumer.accept(uriTable);
     }
 
+    /**
+     * @return the {@link NodeIdInterner} for NodeIds indexed into this table.
+     */
+    public NodeIdInterner getNodeIdInterner() {
+        return nodeIdInterner;
+    }
+
     public synchronized String[] toArray() {
         return uriTable.entrySet().stream()
             .sorted(Comparator.comparingInt(e -> e.getKey().intValue()))
@@ -0,0 +1,122 @@
+package com.viper.opc.client.opcua.stack.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.util.HandleTable;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Assigns each distinct {@link NodeId} in use a dense int handle, starting at 0.
+ * <p>
+ * Hashing a NodeId hashes its boxed namespace index and identifier, and a lookup compares identifiers with
+ * {@link Object#equals(Object)}. Code that looks the same nodes up over and over, e.g. once per notification, can
+ * instead intern each NodeId once, when it starts watching it, and look it up by handle in a {@link HandleTable}.
+ * <p>
+ * Interned NodeIds are reference counted: every {@link #intern(NodeId)} must be paired with a {@link #release(int)}
+ * once the caller stops watching the node. A handle stays assigned to its NodeId until the last reference is
+ * released, after which it may be reused for another NodeId, lowest first, so handles stay as dense as the set of
+ * NodeIds in use. Callers must remove a handle from their {@link HandleTable}s before releasing it.
+ *
+ * @see NamespaceTable#getNodeIdInterner()
+ */
+public final class NodeIdInterner {
+
+    private final Map<NodeId, Integer> handles = new HashMap<>();
+
+    private volatile NodeId[] nodeIds = new NodeId[64];
+    private int[] refs = new int[64];
+
+    /**
+     * Released handles below {@link #limit}, reused before new ones are assigned.
+     */
+    private final BitSet free = new BitSet();
+    private int limit = 0;
+
+    /**
+     * Acquire a reference to {@code nodeId}'s handle.
+     *
+     * @param nodeId the {@link NodeId} to intern.
+     * @return the handle of {@code nodeId}, assigning one if it isn't interned.
+     */
+    public synchronized int intern(NodeId nodeId) {
+        Integer handle = handles.get(nodeId);
+
+        if (handle == null) {
+            handle = free.nextSetBit(0);
+
+            if (handle >= 0) {
+                free.clear(handle);
+            } else {
+                handle = limit++;
+            }
+
+            NodeId[] nodeIds = this.nodeIds;
+            if (handle == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, nodeIds.length * 2);
+                refs = Arrays.copyOf(refs, nodeIds.length);
+            }
+            nodeIds[handle] = nodeId;
+            // the volatile write publishes the new element to get()
+            this.nodeIds = nodeIds;
+            handles.put(nodeId, handle);
+        }
+
+        refs[handle]++;
+
+        return handle;
+    }
+
+    /**
+     * Release a reference acquired by {@link #intern(NodeId)}. When the last one is released the handle is
+     * unassigned and may be reused.
+     *
+     * @param handle a handle returned by {@link #intern(NodeId)}.
+     * @throws IllegalArgumentException if {@code handle} isn't assigned.
+     */
+    public synchronized void release(int handle) {
+        if (handle < 0 || handle >= limit || refs[handle] == 0) {
+            throw new IllegalArgumentException("handle: " + handle);
+        }
+
+        if (--refs[handle] == 0) {
+            NodeId[] nodeIds = this.nodeIds;
+            handles.remove(nodeIds[handle]);
+            nodeIds[handle] = null;
+            this.nodeIds = nodeIds;
+            free.set(handle);
+        }
+    }
+
+    /**
+     * @param nodeId the {@link NodeId} to look up.
+     * @return the handle of {@code nodeId}, or -1 if it isn't interned.
+     */
+    public synchronized int find(NodeId nodeId) {
+        Integer handle = handles.get(nodeId);
+
+        return handle != null ? handle : -1;
+    }
+
+    /**
+     * @param handle a handle returned by {@link #intern(NodeId)}.
+     * @return the {@link NodeId} interned as {@code handle}, or {@code null} if there is none.
+     */
+    @Nullable
+    public NodeId get(int handle) {
+        NodeId[] nodeIds = this.nodeIds;
+
+        return handle >= 0 && handle < nodeIds.length ? nodeIds[handle] : null;
+    }
+
+    /**
+     * @return the number of {@link NodeId}s currently interned.
+     */
+    public synchronized int size() {
+        return handles.size();
+    }
+
+}
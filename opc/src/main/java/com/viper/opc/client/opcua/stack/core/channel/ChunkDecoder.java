@@ -18,6 +18,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.util.Collections;
 import java.util.List;
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
@@ -36,6 +37,7 @@ import com.viper.opc.client.opcua.stack.core.channel.messages.ErrorMessage;
 import com.viper.opc.client.opcua.stack.core.security.SecurityAlgorithm;
 import com.viper.opc.client.opcua.stack.core.util.BufferUtil;
 import com.viper.opc.client.opcua.stack.core.util.SignatureUtil;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +48,8 @@ public final class ChunkDecoder {
 
     private volatile long lastSequenceNumber = -1L;
 
+    private CompositeByteBuf partialMessage;
+
     private final ChannelParameters parameters;
     private final EncodingLimits encodingLimits;
 
@@ -77,6 +81,77 @@ public final class ChunkDecoder {
         return decode(symmetricDecoder, channel, chunkBuffers);
     }
 
+    /**
+     * Decode a single symmetric chunk as soon as it arrives, instead of waiting for the rest of the message.
+     * <p>
+     * The chunk is verified and decrypted immediately and its body is appended to the message being assembled, so
+     * the work for a multi-chunk message overlaps with receiving it and only the final chunk is left to process
+     * when it arrives.
+     * <p>
+     * Chunks must be passed in the order they were received, and this method must not be mixed with
+     * {@link #decodeSymmetric(SecureChannel, List)} for the same message.
+     *
+     * @param channel     the {@link SecureChannel} the chunk was received on.
+     * @param chunkBuffer the chunk. Ownership is transferred to this decoder.
+     * @return the {@link DecodedMessage} if {@code chunkBuffer} was the final chunk, otherwise {@code null}.
+     */
+    @Nullable
+    public DecodedMessage decodeSymmetricChunk(
+        SecureChannel channel,
+        ByteBuf chunkBuffer
+    ) throws MessageAbortException, MessageDecodeException {
+
+        final char chunkType = (char) chunkBuffer.getByte(3);
+
+        if (partialMessage == null) {
+            partialMessage = BufferUtil.compositeBuffer();
+        }
+
+        CompositeByteBuf composite = partialMessage;
+
+        long requestId;
+
+        try {
+            validateSymmetricSecurityHeaders(channel, Collections.singletonList(chunkBuffer));
+
+            requestId = symmetricDecoder.decodeChunk(channel, composite, chunkBuffer);
+        } catch (MessageAbortException e) {
+            reset();
+            ReferenceCountUtil.safeRelease(chunkBuffer);
+            throw e;
+        } catch (UaException e) {
+            reset();
+            ReferenceCountUtil.safeRelease(chunkBuffer);
+            throw new MessageDecodeException(e);
+        }
+
+        try {
+            // checked per chunk so an oversized message is rejected without buffering the rest of it
+            symmetricDecoder.checkMessageSize(composite);
+        } catch (UaException e) {
+            reset();
+            throw new MessageDecodeException(e);
+        }
+
+        if (chunkType == 'F') {
+            partialMessage = null;
+
+            return new DecodedMessage(composite, requestId);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Release any partially assembled message started by {@link #decodeSymmetricChunk(SecureChannel, ByteBuf)}.
+     */
+    public void reset() {
+        if (partialMessage != null) {
+            ReferenceCountUtil.safeRelease(partialMessage);
+            partialMessage = null;
+        }
+    }
+
     private static DecodedMessage decode(
         AbstractDecoder decoder,
         SecureChannel channel,
@@ -158,79 +233,101 @@ public final class ChunkDecoder {
             List<ByteBuf> chunkBuffers
         ) throws MessageAbortException, UaException {
 
+            long requestId = -1L;
+
+            for (ByteBuf chunkBuffer : chunkBuffers) {
+                requestId = decodeChunk(channel, composite, chunkBuffer);
+            }
+
+            checkMessageSize(composite);
+
+            return new DecodedMessage(composite, requestId);
+        }
+
+        /**
+         * Verify and decrypt a single chunk, appending its body to {@code composite}.
+         *
+         * @return the requestId from the chunk's sequence header.
+         */
+        long decodeChunk(
+            SecureChannel channel,
+            CompositeByteBuf composite,
+            ByteBuf chunkBuffer
+        ) throws MessageAbortException, UaException {
+
             int signatureSize = getSignatureSize(channel);
             int cipherTextBlockSize = getCipherTextBlockSize(channel);
 
             boolean encrypted = isEncryptionEnabled(channel);
             boolean signed = isSigningEnabled(channel);
 
-            long requestId = -1L;
+            final char chunkType = (char) chunkBuffer.getByte(3);
 
-            for (ByteBuf chunkBuffer : chunkBuffers) {
-                final char chunkType = (char) chunkBuffer.getByte(3);
-
-                chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
+            chunkBuffer.skipBytes(SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE);
 
-                readSecurityHeader(channel, chunkBuffer);
+            readSecurityHeader(channel, chunkBuffer);
 
-                if (encrypted) {
-                    decryptChunk(channel, chunkBuffer);
-                }
+            if (encrypted) {
+                decryptChunk(channel, chunkBuffer);
+            }
 
-                int encryptedStart = chunkBuffer.readerIndex();
-                chunkBuffer.readerIndex(0);
+            int encryptedStart = chunkBuffer.readerIndex();
+            chunkBuffer.readerIndex(0);
 
-                if (signed) {
-                    verifyChunk(channel, chunkBuffer);
-                }
+            if (signed) {
+                verifyChunk(channel, chunkBuffer);
+            }
 
-                final int paddingOverhead = encrypted ? (cipherTextBlockSize > 256 ? 2 : 1) : 0;
-                final int paddingSize = encrypted ? getPaddingSize(cipherTextBlockSize, signatureSize, chunkBuffer) : 0;
-                final int bodyEnd = chunkBuffer.readableBytes() - signatureSize - paddingOverhead - paddingSize;
+            final int paddingOverhead = encrypted ? (cipherTextBlockSize > 256 ? 2 : 1) : 0;
+            final int paddingSize = encrypted ? getPaddingSize(cipherTextBlockSize, signatureSize, chunkBuffer) : 0;
+            final int bodyEnd = chunkBuffer.readableBytes() - signatureSize - paddingOverhead - paddingSize;
 
-                chunkBuffer.readerIndex(encryptedStart);
+            chunkBuffer.readerIndex(encryptedStart);
 
-                SequenceHeader sequenceHeader = SequenceHeader.decode(chunkBuffer);
-                long sequenceNumber = sequenceHeader.getSequenceNumber();
-                requestId = sequenceHeader.getRequestId();
+            SequenceHeader sequenceHeader = SequenceHeader.decode(chunkBuffer);
+            long sequenceNumber = sequenceHeader.getSequenceNumber();
+            long requestId = sequenceHeader.getRequestId();
 
-                if (lastSequenceNumber != -1) {
-                    if (lastSequenceNumber + 1 != sequenceNumber) {
-                        String message = String.format(
-                            "expected sequence number %s but received %s",
-                            lastSequenceNumber + 1, sequenceNumber);
+            if (lastSequenceNumber != -1) {
+                if (lastSequenceNumber + 1 != sequenceNumber) {
+                    String message = String.format(
+                        "expected sequence number %s but received %s",
+                        lastSequenceNumber + 1, sequenceNumber);
 
-                        throw new UaException(StatusCodes.Bad_SecurityChecksFailed, message);
-                    }
+                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, message);
                 }
+            }
 
-                lastSequenceNumber = sequenceNumber;
+            lastSequenceNumber = sequenceNumber;
 
-                ByteBuf bodyBuffer = chunkBuffer.readSlice(bodyEnd - chunkBuffer.readerIndex());
+            ByteBuf bodyBuffer = chunkBuffer.readSlice(bodyEnd - chunkBuffer.readerIndex());
 
-                if (encrypted) {
-                    int expectedPaddingSize = chunkBuffer.readableBytes() - signatureSize - paddingOverhead;
-                    if (paddingSize != expectedPaddingSize) {
-                        throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "bad padding size");
-                    }
-                    byte expectedPaddingByte = (byte) (paddingSize & 0xFF);
-                    for (int i = chunkBuffer.readerIndex(); i < chunkBuffer.readerIndex() + paddingSize + 1; i++) {
-                        if (chunkBuffer.getByte(i) != expectedPaddingByte) {
-                            throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "bad padding sequence");
-                        }
+            if (encrypted) {
+                int expectedPaddingSize = chunkBuffer.readableBytes() - signatureSize - paddingOverhead;
+                if (paddingSize != expectedPaddingSize) {
+                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "bad padding size");
+                }
+                byte expectedPaddingByte = (byte) (paddingSize & 0xFF);
+                for (int i = chunkBuffer.readerIndex(); i < chunkBuffer.readerIndex() + paddingSize + 1; i++) {
+                    if (chunkBuffer.getByte(i) != expectedPaddingByte) {
+                        throw new UaException(StatusCodes.Bad_SecurityChecksFailed, "bad padding sequence");
                     }
                 }
+            }
 
-                if (chunkType == 'A') {
-                    ErrorMessage errorMessage = ErrorMessage.decode(bodyBuffer);
-
-                    throw new MessageAbortException(errorMessage.getReason(), requestId, errorMessage.getError());
-                }
+            if (chunkType == 'A') {
+                ErrorMessage errorMessage = ErrorMessage.decode(bodyBuffer);
 
-                composite.addComponent(bodyBuffer);
-                composite.writerIndex(composite.writerIndex() + bodyBuffer.readableBytes());
+                throw new MessageAbortException(errorMessage.getReason(), requestId, errorMessage.getError());
             }
 
+            composite.addComponent(bodyBuffer);
+            composite.writerIndex(composite.writerIndex() + bodyBuffer.readableBytes());
+
+            return requestId;
+        }
+
+        void checkMessageSize(CompositeByteBuf composite) throws UaException {
             if (parameters.getLocalMaxMessageSize() > 0 &&
                 composite.readableBytes() > parameters.getLocalMaxMessageSize()) {
 
@@ -240,14 +337,44 @@ public final class ChunkDecoder {
 
                 throw new UaException(StatusCodes.Bad_TcpMessageTooLarge, errorMessage);
             }
-
-            return new DecodedMessage(composite, requestId);
         }
 
         private void decryptChunk(SecureChannel channel, ByteBuf chunkBuffer) throws UaException {
             int cipherTextBlockSize = getCipherTextBlockSize(channel);
             int blockCount = chunkBuffer.readableBytes() / cipherTextBlockSize;
 
+            assert (chunkBuffer.readableBytes() % cipherTextBlockSize == 0);
+
+            if (chunkBuffer.nioBufferCount() != 1) {
+                decryptChunkCopying(channel, chunkBuffer, blockCount);
+                return;
+            }
+
+            // Plain text is never longer than the cipher text it's decrypted from, so the output
+            // position always trails the input position and the chunk can be decrypted in place.
+            ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
+            ByteBuffer plainTextNioBuffer = chunkBuffer.nioBuffer();
+
+            try {
+                decrypt(getCipher(channel), cipherTextBlockSize, blockCount, chunkNioBuffer, plainTextNioBuffer);
+
+                chunkBuffer.writerIndex(chunkBuffer.readerIndex() + plainTextNioBuffer.position());
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+            }
+        }
+
+        /**
+         * Decrypt {@code chunkBuffer} via a separate plain text buffer, for chunks that aren't backed by a single
+         * contiguous region and so can't be decrypted in place.
+         */
+        private void decryptChunkCopying(
+            SecureChannel channel,
+            ByteBuf chunkBuffer,
+            int blockCount
+        ) throws UaException {
+
+            int cipherTextBlockSize = getCipherTextBlockSize(channel);
             int plainTextBufferSize = cipherTextBlockSize * blockCount;
 
             ByteBuf plainTextBuffer = BufferUtil.pooledBuffer(plainTextBufferSize);
@@ -259,19 +386,7 @@ public final class ChunkDecoder {
             ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer();
 
             try {
-                Cipher cipher = getCipher(channel);
-
-                assert (chunkBuffer.readableBytes() % cipherTextBlockSize == 0);
-
-                if (isAsymmetric()) {
-                    for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
-                        ((Buffer) chunkNioBuffer).limit(chunkNioBuffer.position() + cipherTextBlockSize);
-
-                        cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
-                    }
-                } else {
-                    cipher.doFinal(chunkNioBuffer, plainTextNioBuffer);
-                }
+                decrypt(getCipher(channel), cipherTextBlockSize, blockCount, chunkNioBuffer, plainTextNioBuffer);
 
                 /* Write plainTextBuffer back into the chunk buffer we decrypted from. */
                 ((Buffer) plainTextNioBuffer).flip(); // limit = pos, pos = 0
@@ -285,6 +400,25 @@ public final class ChunkDecoder {
             }
         }
 
+        private void decrypt(
+            Cipher cipher,
+            int cipherTextBlockSize,
+            int blockCount,
+            ByteBuffer cipherText,
+            ByteBuffer plainText
+        ) throws GeneralSecurityException {
+
+            if (isAsymmetric()) {
+                for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+                    ((Buffer) cipherText).limit(cipherText.position() + cipherTextBlockSize);
+
+                    cipher.doFinal(cipherText, plainText);
+                }
+            } else {
+                cipher.doFinal(cipherText, plainText);
+            }
+        }
+
         private int getPaddingSize(int cipherTextBlockSize, int signatureSize, ByteBuf buffer) {
             int lastPaddingByteOffset = buffer.readableBytes() - signatureSize - 1;
 
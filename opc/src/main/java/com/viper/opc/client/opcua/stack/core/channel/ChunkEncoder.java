@@ -21,6 +21,8 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCountUtil;
 import com.viper.opc.client.opcua.stack.core.StatusCodes;
 import com.viper.opc.client.opcua.stack.core.UaException;
@@ -33,6 +35,7 @@ import com.viper.opc.client.opcua.stack.core.security.SecurityAlgorithm;
 import com.viper.opc.client.opcua.stack.core.util.BufferUtil;
 import com.viper.opc.client.opcua.stack.core.util.LongSequence;
 import com.viper.opc.client.opcua.stack.core.util.SignatureUtil;
+import org.jetbrains.annotations.Nullable;
 
 import static com.viper.opc.client.opcua.stack.core.channel.headers.SecureMessageHeader.SECURE_MESSAGE_HEADER_SIZE;
 import static com.viper.opc.client.opcua.stack.core.channel.headers.SequenceHeader.SEQUENCE_HEADER_SIZE;
@@ -139,7 +142,12 @@ public final class ChunkEncoder {
 
                 assert (chunkSize <= maxChunkSize);
 
-                ByteBuf chunkBuffer = BufferUtil.pooledBuffer(chunkSize);
+                // Unencrypted symmetric chunks reference the message body instead of copying it,
+                // so their buffer only needs to hold the headers.
+                boolean composite = !isAsymmetric() && !encrypted;
+
+                ByteBuf chunkBuffer = BufferUtil.pooledBuffer(composite ?
+                    SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize + SEQUENCE_HEADER_SIZE : chunkSize);
 
                 chunks.add(chunkBuffer);
 
@@ -172,63 +180,190 @@ public final class ChunkEncoder {
                 SequenceHeader.encode(sequenceHeader, chunkBuffer);
 
                 /* Message Body */
-                chunkBuffer.writeBytes(messageBuffer, bodySize);
+                ByteBuf body = messageBuffer.readSlice(bodySize);
 
-                /* Padding and Signature */
-                if (encrypted) {
-                    writePadding(cipherTextBlockSize, paddingSize, chunkBuffer);
+                if (isAsymmetric()) {
+                    encodeCopying(channel, chunkBuffer, body, paddingSize, securityHeaderSize, chunkSize);
+                } else if (encrypted) {
+                    encodeEncrypting(channel, chunkBuffer, body, paddingSize, securityHeaderSize, chunkSize);
+                } else {
+                    chunks.set(chunks.size() - 1, encodeComposite(channel, chunkBuffer, body));
                 }
+            }
 
-                if (isSigningEnabled(channel)) {
-                    ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
+            return new EncodedMessage(chunks, requestId);
+        }
+
+        /**
+         * Copy {@code body} into {@code chunkBuffer}, then sign and encrypt it block by block.
+         * <p>
+         * Asymmetric cipher text blocks are larger than the plain text blocks they're produced from, so the plain
+         * text can't be encrypted in place and is copied out first.
+         */
+        private void encodeCopying(
+            SecureChannel channel,
+            ByteBuf chunkBuffer,
+            ByteBuf body,
+            int paddingSize,
+            int securityHeaderSize,
+            int chunkSize
+        ) throws UaException {
 
-                    byte[] signature = signChunk(channel, chunkNioBuffer);
+            boolean encrypted = isEncryptionEnabled(channel);
+            int cipherTextBlockSize = getCipherTextBlockSize(channel);
+            int plainTextBlockSize = getPlainTextBlockSize(channel);
 
-                    chunkBuffer.writeBytes(signature);
-                }
+            chunkBuffer.writeBytes(body);
 
-                /* Encryption */
-                if (encrypted) {
-                    chunkBuffer.readerIndex(SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
+            /* Padding and Signature */
+            if (encrypted) {
+                writePadding(cipherTextBlockSize, paddingSize, chunkBuffer);
+            }
 
-                    assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
+            if (isSigningEnabled(channel)) {
+                ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex());
 
-                    try {
-                        int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
+                byte[] signature = signChunk(channel, chunkNioBuffer);
 
-                        ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
-                            chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
+                chunkBuffer.writeBytes(signature);
+            }
 
-                        ByteBuf copyBuffer = chunkBuffer.copy();
-                        ByteBuffer plainTextNioBuffer = copyBuffer.nioBuffer();
+            /* Encryption */
+            if (encrypted) {
+                chunkBuffer.readerIndex(SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize);
 
-                        Cipher cipher = getCipher(channel);
+                assert (chunkBuffer.readableBytes() % plainTextBlockSize == 0);
 
-                        if (isAsymmetric()) {
-                            for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
-                                int position = blockNumber * plainTextBlockSize;
-                                int limit = (blockNumber + 1) * plainTextBlockSize;
-                                ((Buffer) plainTextNioBuffer).position(position);
-                                ((Buffer) plainTextNioBuffer).limit(limit);
+                try {
+                    int blockCount = chunkBuffer.readableBytes() / plainTextBlockSize;
 
-                                int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+                    ByteBuffer chunkNioBuffer = chunkBuffer.nioBuffer(
+                        chunkBuffer.readerIndex(), blockCount * cipherTextBlockSize);
 
-                                assert (bytesWritten == cipherTextBlockSize);
-                            }
-                        } else {
-                            cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
-                        }
+                    ByteBuf copyBuffer = chunkBuffer.copy();
+                    ByteBuffer plainTextNioBuffer = copyBuffer.nioBuffer();
 
-                        copyBuffer.release();
-                    } catch (GeneralSecurityException e) {
-                        throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+                    Cipher cipher = getCipher(channel);
+
+                    for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+                        int position = blockNumber * plainTextBlockSize;
+                        int limit = (blockNumber + 1) * plainTextBlockSize;
+                        ((Buffer) plainTextNioBuffer).position(position);
+                        ((Buffer) plainTextNioBuffer).limit(limit);
+
+                        int bytesWritten = cipher.doFinal(plainTextNioBuffer, chunkNioBuffer);
+
+                        assert (bytesWritten == cipherTextBlockSize);
                     }
+
+                    copyBuffer.release();
+                } catch (GeneralSecurityException e) {
+                    throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
+                }
+            }
+
+            chunkBuffer.readerIndex(0).writerIndex(chunkSize);
+        }
+
+        /**
+         * Sign and encrypt {@code body} straight from the message buffer into the cipher text region of
+         * {@code chunkBuffer}, without first copying the plain text into the chunk.
+         * <p>
+         * Only the sequence header and the padding/signature trailer, a few dozen bytes, are staged separately.
+         */
+        private void encodeEncrypting(
+            SecureChannel channel,
+            ByteBuf chunkBuffer,
+            ByteBuf body,
+            int paddingSize,
+            int securityHeaderSize,
+            int chunkSize
+        ) throws UaException {
+
+            int cipherTextBlockSize = getCipherTextBlockSize(channel);
+            int paddingOverhead = cipherTextBlockSize > 256 ? 2 : 1;
+            int plainTextStart = SECURE_MESSAGE_HEADER_SIZE + securityHeaderSize;
+
+            ByteBuf trailer = Unpooled.buffer(paddingOverhead + paddingSize + getSignatureSize(channel));
+
+            writePadding(cipherTextBlockSize, paddingSize, trailer);
+
+            if (isSigningEnabled(channel)) {
+                byte[] signature = signChunk(
+                    channel,
+                    plainTextBuffers(chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex()), body, trailer)
+                );
+
+                trailer.writeBytes(signature);
+            }
+
+            ByteBuffer sequenceHeader = ByteBuffer.allocate(SEQUENCE_HEADER_SIZE);
+            chunkBuffer.getBytes(plainTextStart, sequenceHeader);
+            ((Buffer) sequenceHeader).flip();
+
+            ByteBuffer cipherText = chunkBuffer.nioBuffer(plainTextStart, chunkSize - plainTextStart);
+
+            try {
+                Cipher cipher = getCipher(channel);
+
+                cipher.update(sequenceHeader, cipherText);
+                for (ByteBuffer bodyNioBuffer : body.nioBuffers()) {
+                    cipher.update(bodyNioBuffer, cipherText);
                 }
+                cipher.doFinal(trailer.nioBuffer(), cipherText);
 
-                chunkBuffer.readerIndex(0).writerIndex(chunkSize);
+                assert (!cipherText.hasRemaining());
+            } catch (GeneralSecurityException e) {
+                throw new UaException(StatusCodes.Bad_SecurityChecksFailed, e);
             }
 
-            return new EncodedMessage(chunks, requestId);
+            chunkBuffer.readerIndex(0).writerIndex(chunkSize);
+        }
+
+        /**
+         * Build an unencrypted chunk from the headers in {@code chunkBuffer}, a retained slice of {@code body}, and
+         * the signature, if any. The message body is never copied.
+         */
+        private ByteBuf encodeComposite(
+            SecureChannel channel,
+            ByteBuf chunkBuffer,
+            ByteBuf body
+        ) throws UaException {
+
+            byte[] signature = null;
+
+            if (isSigningEnabled(channel)) {
+                signature = signChunk(
+                    channel,
+                    plainTextBuffers(chunkBuffer.nioBuffer(0, chunkBuffer.writerIndex()), body, null)
+                );
+            }
+
+            CompositeByteBuf composite = BufferUtil.compositeBuffer();
+            composite.addComponent(true, chunkBuffer);
+
+            if (body.isReadable()) {
+                composite.addComponent(true, body.retainedSlice());
+            }
+
+            if (signature != null) {
+                composite.addComponent(true, Unpooled.wrappedBuffer(signature));
+            }
+
+            return composite;
+        }
+
+        private ByteBuffer[] plainTextBuffers(ByteBuffer header, ByteBuf body, @Nullable ByteBuf trailer) {
+            ByteBuffer[] bodyNioBuffers = body.nioBuffers();
+            ByteBuffer[] buffers = new ByteBuffer[bodyNioBuffers.length + (trailer != null ? 2 : 1)];
+
+            buffers[0] = header;
+            System.arraycopy(bodyNioBuffers, 0, buffers, 1, bodyNioBuffers.length);
+            if (trailer != null) {
+                buffers[buffers.length - 1] = trailer.nioBuffer();
+            }
+
+            return buffers;
         }
 
         private void writePadding(int cipherTextBlockSize, int paddingSize, ByteBuf buffer) {
@@ -246,7 +381,7 @@ public final class ChunkEncoder {
             }
         }
 
-        protected abstract byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException;
+        protected abstract byte[] signChunk(SecureChannel channel, ByteBuffer... chunkNioBuffers) throws UaException;
 
         protected abstract void encodeSecurityHeader(SecureChannel channel, ByteBuf buffer) throws UaException;
 
@@ -294,11 +429,11 @@ public final class ChunkEncoder {
     private final class AsymmetricEncoder extends AbstractEncoder {
 
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
+        public byte[] signChunk(SecureChannel channel, ByteBuffer... chunkNioBuffers) throws UaException {
             return SignatureUtil.sign(
                 channel.getSecurityPolicy().getAsymmetricSignatureAlgorithm(),
                 channel.getKeyPair().getPrivate(),
-                chunkNioBuffer
+                chunkNioBuffers
             );
         }
 
@@ -395,14 +530,14 @@ public final class ChunkEncoder {
         }
 
         @Override
-        public byte[] signChunk(SecureChannel channel, ByteBuffer chunkNioBuffer) throws UaException {
+        public byte[] signChunk(SecureChannel channel, ByteBuffer... chunkNioBuffers) throws UaException {
             SecurityAlgorithm signatureAlgorithm = channel.getSecurityPolicy().getSymmetricSignatureAlgorithm();
             byte[] signatureKey = channel.getEncryptionKeys(securityKeys).getSignatureKey();
 
             return SignatureUtil.hmac(
                 signatureAlgorithm,
                 signatureKey,
-                chunkNioBuffer
+                chunkNioBuffers
             );
         }
 
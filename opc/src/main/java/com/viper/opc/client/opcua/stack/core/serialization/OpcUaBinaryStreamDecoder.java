@@ -43,6 +43,7 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
 import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import com.viper.opc.client.opcua.stack.core.util.TypeUtil;
 import org.jetbrains.annotations.Nullable;
@@ -399,6 +400,14 @@ public class OpcUaBinaryStreamDecoder implements UaDecoder {
                     } else {
                         checkArrayLength(length);
 
+                        if (!dimensionsEncoded && context.isPrimitiveArrayDecodingEnabled()) {
+                            Object primitiveArray = readPrimitiveArray(typeId, length);
+
+                            if (primitiveArray != null) {
+                                return new Variant(primitiveArray);
+                            }
+                        }
+
                         Object flatArray = Array.newInstance(backingClass, length);
 
                         for (int i = 0; i < length; i++) {
@@ -423,6 +432,107 @@ public class OpcUaBinaryStreamDecoder implements UaDecoder {
         }
     }
 
+    /**
+     * Read {@code length} values of a numeric builtin type straight into a primitive array, or an
+     * {@link UnsignedArray} for the unsigned types, without boxing each element.
+     *
+     * @return the array, or {@code null} if {@code typeId} isn't a numeric builtin type.
+     */
+    @Nullable
+    private Object readPrimitiveArray(int typeId, int length) throws UaSerializationException {
+        int elementSize;
+        switch (typeId) {
+            case 1: // Boolean
+            case 2: // SByte
+            case 3: // Byte
+                elementSize = 1;
+                break;
+            case 4: // Int16
+            case 5: // UInt16
+                elementSize = 2;
+                break;
+            case 6: // Int32
+            case 7: // UInt32
+            case 10: // Float
+                elementSize = 4;
+                break;
+            case 8: // Int64
+            case 9: // UInt64
+            case 11: // Double
+                elementSize = 8;
+                break;
+            default:
+                return null;
+        }
+
+        if ((long) length * elementSize > buffer.readableBytes()) {
+            throw new UaSerializationException(
+                StatusCodes.Bad_DecodingError,
+                String.format(
+                    "array length exceeds remaining bytes (length=%s, remaining=%s)",
+                    length, buffer.readableBytes())
+            );
+        }
+
+        switch (typeId) {
+            case 1: {
+                boolean[] array = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readBoolean();
+                }
+                return array;
+            }
+            case 2: {
+                byte[] array = new byte[length];
+                buffer.readBytes(array);
+                return array;
+            }
+            case 3: {
+                byte[] array = new byte[length];
+                buffer.readBytes(array);
+                return UnsignedArray.ofUByte(array);
+            }
+            case 4:
+            case 5: {
+                short[] array = new short[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readShortLE();
+                }
+                return typeId == 4 ? array : UnsignedArray.ofUShort(array);
+            }
+            case 6:
+            case 7: {
+                int[] array = new int[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readIntLE();
+                }
+                return typeId == 6 ? array : UnsignedArray.ofUInteger(array);
+            }
+            case 8:
+            case 9: {
+                long[] array = new long[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readLongLE();
+                }
+                return typeId == 8 ? array : UnsignedArray.ofULong(array);
+            }
+            case 10: {
+                float[] array = new float[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readFloatLE();
+                }
+                return array;
+            }
+            default: {
+                double[] array = new double[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = buffer.readDoubleLE();
+                }
+                return array;
+            }
+        }
+    }
+
     @Nullable
     private String readLengthPrefixedString(Charset charset) {
         int length = readInt32();
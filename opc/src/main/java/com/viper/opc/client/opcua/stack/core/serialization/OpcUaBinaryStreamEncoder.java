@@ -39,6 +39,7 @@ import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UByte;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.ULong;
 import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UShort;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.IdType;
 import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import com.viper.opc.client.opcua.stack.core.util.TypeUtil;
@@ -579,6 +580,13 @@ public class OpcUaBinaryStreamEncoder implements UaEncoder {
 
         if (value == null) {
             buffer.writeByte(0);
+        } else if (value instanceof UnsignedArray) {
+            UnsignedArray array = (UnsignedArray) value;
+            buffer.writeByte(array.getBuiltinTypeId() | 0x80);
+            writePrimitiveArray(array.getBacking());
+        } else if (isPrimitiveArray(value)) {
+            buffer.writeByte(TypeUtil.getBuiltinTypeId(value.getClass().getComponentType()) | 0x80);
+            writePrimitiveArray(value);
         } else {
             boolean structure = false;
             boolean enumeration = false;
@@ -739,6 +747,53 @@ public class OpcUaBinaryStreamEncoder implements UaEncoder {
         }
     }
 
+    private static boolean isPrimitiveArray(Object value) {
+        Class<?> componentType = value.getClass().getComponentType();
+
+        return componentType != null && componentType.isPrimitive() && componentType != char.class;
+    }
+
+    /**
+     * Write the length and elements of a one-dimensional primitive array without boxing each element.
+     */
+    private void writePrimitiveArray(Object array) throws UaSerializationException {
+        int length = Array.getLength(array);
+        buffer.writeIntLE(length);
+
+        if (array instanceof boolean[]) {
+            for (boolean b : (boolean[]) array) {
+                buffer.writeBoolean(b);
+            }
+        } else if (array instanceof byte[]) {
+            buffer.writeBytes((byte[]) array);
+        } else if (array instanceof short[]) {
+            for (short v : (short[]) array) {
+                buffer.writeShortLE(v);
+            }
+        } else if (array instanceof int[]) {
+            for (int v : (int[]) array) {
+                buffer.writeIntLE(v);
+            }
+        } else if (array instanceof long[]) {
+            for (long v : (long[]) array) {
+                buffer.writeLongLE(v);
+            }
+        } else if (array instanceof float[]) {
+            for (float v : (float[]) array) {
+                buffer.writeFloatLE(v);
+            }
+        } else if (array instanceof double[]) {
+            for (double v : (double[]) array) {
+                buffer.writeDoubleLE(v);
+            }
+        } else {
+            throw new UaSerializationException(
+                StatusCodes.Bad_EncodingError,
+                "not a primitive array: " + array.getClass()
+            );
+        }
+    }
+
     private Class<?> getClass(@NotNull Object o) {
         if (o.getClass().isArray()) {
             return ArrayUtil.getType(o);
@@ -18,6 +18,9 @@ import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
 import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaBinaryDataTypeCodec;
 import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaXmlDataTypeCodec;
 import com.viper.opc.client.opcua.stack.core.types.DataTypeManager;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 
 public interface SerializationContext {
 
@@ -42,6 +45,19 @@ public interface SerializationContext {
      */
     DataTypeManager getDataTypeManager();
 
+    /**
+     * Get whether one-dimensional arrays of numeric builtin types in a {@link Variant} are decoded into primitive
+     * arrays ({@code boolean[]}, {@code byte[]}, {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]},
+     * {@code double[]}) and, for the unsigned types, {@link UnsignedArray}s instead of arrays of boxed values.
+     * <p>
+     * Use {@link ArrayUtil#box(Object)} where a boxed array is required.
+     *
+     * @return {@code true} if primitive array decoding is enabled.
+     */
+    default boolean isPrimitiveArrayDecodingEnabled() {
+        return false;
+    }
+
     default Object decode(
         String namespaceUri,
         String description,
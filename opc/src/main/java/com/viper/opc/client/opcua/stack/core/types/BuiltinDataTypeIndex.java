@@ -0,0 +1,1659 @@
+package com.viper.opc.client.opcua.stack.core.types;
+
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.GenericDataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.ApplicationType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.AxisScaleEnumeration;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseDirection;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.BrowseResultMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.DataChangeTrigger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.DeadbandType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.ExceptionDeviationFormat;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.FilterOperator;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.HistoryUpdateType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.IdType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.ModelChangeStructureVerbMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MonitoringMode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NamingRuleType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeAttributesMask;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.NodeClass;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.OpenFileMode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.PerformUpdateType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.RedundancySupport;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.SecurityTokenRequestType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.ServerState;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TrustListMasks;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.UserTokenType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ActivateSessionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ActivateSessionResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddNodesItem;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddNodesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddNodesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddNodesResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddReferencesItem;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddReferencesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.AddReferencesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.AggregateConfiguration;
+import com.viper.opc.client.opcua.stack.core.types.structured.AggregateFilter;
+import com.viper.opc.client.opcua.stack.core.types.structured.AggregateFilterResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.Annotation;
+import com.viper.opc.client.opcua.stack.core.types.structured.AnonymousIdentityToken;
+import com.viper.opc.client.opcua.stack.core.types.structured.ApplicationDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.Argument;
+import com.viper.opc.client.opcua.stack.core.types.structured.AttributeOperand;
+import com.viper.opc.client.opcua.stack.core.types.structured.AxisInformation;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseNextRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseNextResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowsePath;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowsePathResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowsePathTarget;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.BrowseResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.BuildInfo;
+import com.viper.opc.client.opcua.stack.core.types.structured.CallMethodRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CallMethodResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.CallRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CallResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.CancelRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CancelResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ChannelSecurityToken;
+import com.viper.opc.client.opcua.stack.core.types.structured.CloseSecureChannelRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CloseSecureChannelResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.CloseSessionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CloseSessionResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ComplexNumberType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ContentFilter;
+import com.viper.opc.client.opcua.stack.core.types.structured.ContentFilterElement;
+import com.viper.opc.client.opcua.stack.core.types.structured.ContentFilterElementResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.ContentFilterResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateMonitoredItemsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateSessionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateSessionResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateSubscriptionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateSubscriptionResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.DataChangeFilter;
+import com.viper.opc.client.opcua.stack.core.types.structured.DataChangeNotification;
+import com.viper.opc.client.opcua.stack.core.types.structured.DataTypeAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.DataTypeNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteAtTimeDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteEventDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteMonitoredItemsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteNodesItem;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteNodesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteNodesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteRawModifiedDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteReferencesItem;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteReferencesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteReferencesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteSubscriptionsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.DeleteSubscriptionsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.DiscoveryConfiguration;
+import com.viper.opc.client.opcua.stack.core.types.structured.DoubleComplexNumberType;
+import com.viper.opc.client.opcua.stack.core.types.structured.EUInformation;
+import com.viper.opc.client.opcua.stack.core.types.structured.ElementOperand;
+import com.viper.opc.client.opcua.stack.core.types.structured.EndpointConfiguration;
+import com.viper.opc.client.opcua.stack.core.types.structured.EndpointDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.EndpointUrlListDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumDefinition;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumField;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumValueType;
+import com.viper.opc.client.opcua.stack.core.types.structured.EventFieldList;
+import com.viper.opc.client.opcua.stack.core.types.structured.EventFilter;
+import com.viper.opc.client.opcua.stack.core.types.structured.EventFilterResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.EventNotificationList;
+import com.viper.opc.client.opcua.stack.core.types.structured.FilterOperand;
+import com.viper.opc.client.opcua.stack.core.types.structured.FindServersOnNetworkRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.FindServersOnNetworkResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.FindServersRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.FindServersResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.GetEndpointsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.GetEndpointsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryData;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryEvent;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryEventFieldList;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryModifiedData;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryReadDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryReadRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryReadResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryUpdateDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryUpdateRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryUpdateResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.HistoryUpdateResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.InstanceNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.IssuedIdentityToken;
+import com.viper.opc.client.opcua.stack.core.types.structured.LiteralOperand;
+import com.viper.opc.client.opcua.stack.core.types.structured.MdnsDiscoveryConfiguration;
+import com.viper.opc.client.opcua.stack.core.types.structured.MethodAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.MethodNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModelChangeStructureDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModificationInfo;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifyMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifyMonitoredItemsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifySubscriptionRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ModifySubscriptionResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemCreateRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemCreateResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemModifyRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemModifyResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoredItemNotification;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoringFilter;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoringFilterResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.MonitoringParameters;
+import com.viper.opc.client.opcua.stack.core.types.structured.NetworkGroupDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.Node;
+import com.viper.opc.client.opcua.stack.core.types.structured.NodeAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.NodeReference;
+import com.viper.opc.client.opcua.stack.core.types.structured.NodeTypeDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.NotificationData;
+import com.viper.opc.client.opcua.stack.core.types.structured.NotificationMessage;
+import com.viper.opc.client.opcua.stack.core.types.structured.ObjectAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.ObjectNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ObjectTypeAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.ObjectTypeNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.OpenSecureChannelRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.OpenSecureChannelResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.OptionSet;
+import com.viper.opc.client.opcua.stack.core.types.structured.ParsingResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.ProgramDiagnosticDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryDataDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryDataSet;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryFirstRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryFirstResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryNextRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.QueryNextResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.Range;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadAtTimeDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadEventDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadProcessedDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadRawModifiedDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.RedundantServerDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceTypeAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReferenceTypeNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterNodesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterNodesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterServer2Request;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterServer2Response;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterServerRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisterServerResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.RegisteredServer;
+import com.viper.opc.client.opcua.stack.core.types.structured.RelativePath;
+import com.viper.opc.client.opcua.stack.core.types.structured.RelativePathElement;
+import com.viper.opc.client.opcua.stack.core.types.structured.RepublishRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.RepublishResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.RequestHeader;
+import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
+import com.viper.opc.client.opcua.stack.core.types.structured.SamplingIntervalDiagnosticsDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.SemanticChangeStructureDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServerDiagnosticsSummaryDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServerOnNetwork;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServerStatusDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServiceCounterDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServiceFault;
+import com.viper.opc.client.opcua.stack.core.types.structured.SessionDiagnosticsDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.SessionSecurityDiagnosticsDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetMonitoringModeRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetMonitoringModeResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetPublishingModeRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetPublishingModeResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetTriggeringRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.SetTriggeringResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.SignatureData;
+import com.viper.opc.client.opcua.stack.core.types.structured.SignedSoftwareCertificate;
+import com.viper.opc.client.opcua.stack.core.types.structured.SimpleAttributeOperand;
+import com.viper.opc.client.opcua.stack.core.types.structured.StatusChangeNotification;
+import com.viper.opc.client.opcua.stack.core.types.structured.StatusResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureDefinition;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureField;
+import com.viper.opc.client.opcua.stack.core.types.structured.SubscriptionAcknowledgement;
+import com.viper.opc.client.opcua.stack.core.types.structured.SubscriptionDiagnosticsDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.TimeZoneDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.TransferResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.TransferSubscriptionsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.TransferSubscriptionsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.TranslateBrowsePathsToNodeIdsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.TranslateBrowsePathsToNodeIdsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.TrustListDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.TypeNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.UnregisterNodesRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.UnregisterNodesResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.UpdateDataDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.UpdateEventDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.UpdateStructureDataDetails;
+import com.viper.opc.client.opcua.stack.core.types.structured.UserNameIdentityToken;
+import com.viper.opc.client.opcua.stack.core.types.structured.UserTokenPolicy;
+import com.viper.opc.client.opcua.stack.core.types.structured.VariableAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.VariableNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.VariableTypeAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.VariableTypeNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ViewAttributes;
+import com.viper.opc.client.opcua.stack.core.types.structured.ViewDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.ViewNode;
+import com.viper.opc.client.opcua.stack.core.types.structured.WriteRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.WriteResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.WriteValue;
+import com.viper.opc.client.opcua.stack.core.types.structured.X509IdentityToken;
+import com.viper.opc.client.opcua.stack.core.types.structured.XVType;
+
+/**
+ * A compact index of the DataTypes {@link DataTypeInitializer} registers.
+ * <p>
+ * Each built-in DataType is a row holding its namespace 0 DataType and encoding ids. Rows are found with
+ * {@code switch}es rather than maps, so using the index allocates nothing and loads no DataType or codec class;
+ * {@link #newCodec(int)} loads only the codec class of the row it's called with.
+ * <p>
+ * This table is maintained by hand, it is not generated. When a type is registered in {@link DataTypeInitializer}
+ * it also needs a row here:
+ * <ul>
+ *     <li>bump {@link #ROW_COUNT};</li>
+ *     <li>append its description to {@code DESCRIPTIONS} and its DataType, binary and XML encoding ids to
+ *     {@code DATA_TYPE_IDS}, {@code BINARY_ENCODING_IDS} and {@code XML_ENCODING_IDS}, using 0 for the encoding ids
+ *     of an enumeration;</li>
+ *     <li>add a case returning the new row to {@link #rowOfDescription(String)}, {@link #rowOfDataTypeId(int)} and,
+ *     for each non-zero encoding id, {@link #rowOfEncodingId(int)}; and one creating its codec to
+ *     {@link #newCodec(int)}.</li>
+ * </ul>
+ * The first 249 rows are in description order, but nothing depends on the order, so new rows go at the end and
+ * existing rows never need renumbering. {@code BuiltinDataTypeIndexTest} checks every row's description, ids and
+ * codec against what {@link DataTypeInitializer} registers, and fails if it registers a type without a row.
+ */
+final class BuiltinDataTypeIndex {
+
+    static final String NAMESPACE_URI = "http://opcfoundation.org/UA/";
+
+    static final String BINARY_DICTIONARY_URI = "http://opcfoundation.org/UA/";
+
+    static final String XML_DICTIONARY_URI = "http://opcfoundation.org/UA/2008/02/Types.xsd";
+
+    static final int ROW_COUNT = 249;
+
+    /**
+     * Descriptions in the binary dictionary, which are also the simple class names.
+     */
+    private static final String[] DESCRIPTIONS = {
+        "ActivateSessionRequest", "ActivateSessionResponse", "AddNodesItem", "AddNodesRequest", "AddNodesResponse",
+        "AddNodesResult", "AddReferencesItem", "AddReferencesRequest", "AddReferencesResponse",
+        "AggregateConfiguration", "AggregateFilter", "AggregateFilterResult", "Annotation", "AnonymousIdentityToken",
+        "ApplicationDescription", "ApplicationType", "Argument", "AttributeOperand", "AxisInformation",
+        "AxisScaleEnumeration", "BrowseDescription", "BrowseDirection", "BrowseNextRequest", "BrowseNextResponse",
+        "BrowsePath", "BrowsePathResult", "BrowsePathTarget", "BrowseRequest", "BrowseResponse", "BrowseResult",
+        "BrowseResultMask", "BuildInfo", "CallMethodRequest", "CallMethodResult", "CallRequest", "CallResponse",
+        "CancelRequest", "CancelResponse", "ChannelSecurityToken", "CloseSecureChannelRequest",
+        "CloseSecureChannelResponse", "CloseSessionRequest", "CloseSessionResponse", "ComplexNumberType",
+        "ContentFilter", "ContentFilterElement", "ContentFilterElementResult", "ContentFilterResult",
+        "CreateMonitoredItemsRequest", "CreateMonitoredItemsResponse", "CreateSessionRequest", "CreateSessionResponse",
+        "CreateSubscriptionRequest", "CreateSubscriptionResponse", "DataChangeFilter", "DataChangeNotification",
+        "DataChangeTrigger", "DataTypeAttributes", "DataTypeNode", "DeadbandType", "DeleteAtTimeDetails",
+        "DeleteEventDetails", "DeleteMonitoredItemsRequest", "DeleteMonitoredItemsResponse", "DeleteNodesItem",
+        "DeleteNodesRequest", "DeleteNodesResponse", "DeleteRawModifiedDetails", "DeleteReferencesItem",
+        "DeleteReferencesRequest", "DeleteReferencesResponse", "DeleteSubscriptionsRequest",
+        "DeleteSubscriptionsResponse", "DiscoveryConfiguration", "DoubleComplexNumberType", "EUInformation",
+        "ElementOperand", "EndpointConfiguration", "EndpointDescription", "EndpointUrlListDataType", "EnumDefinition",
+        "EnumDescription", "EnumField", "EnumValueType", "EventFieldList", "EventFilter", "EventFilterResult",
+        "EventNotificationList", "ExceptionDeviationFormat", "FilterOperand", "FilterOperator",
+        "FindServersOnNetworkRequest", "FindServersOnNetworkResponse", "FindServersRequest", "FindServersResponse",
+        "GetEndpointsRequest", "GetEndpointsResponse", "HistoryData", "HistoryEvent", "HistoryEventFieldList",
+        "HistoryModifiedData", "HistoryReadDetails", "HistoryReadRequest", "HistoryReadResponse", "HistoryReadResult",
+        "HistoryReadValueId", "HistoryUpdateDetails", "HistoryUpdateRequest", "HistoryUpdateResponse",
+        "HistoryUpdateResult", "HistoryUpdateType", "IdType", "InstanceNode", "IssuedIdentityToken", "LiteralOperand",
+        "MdnsDiscoveryConfiguration", "MessageSecurityMode", "MethodAttributes", "MethodNode",
+        "ModelChangeStructureDataType", "ModelChangeStructureVerbMask", "ModificationInfo",
+        "ModifyMonitoredItemsRequest", "ModifyMonitoredItemsResponse", "ModifySubscriptionRequest",
+        "ModifySubscriptionResponse", "MonitoredItemCreateRequest", "MonitoredItemCreateResult",
+        "MonitoredItemModifyRequest", "MonitoredItemModifyResult", "MonitoredItemNotification", "MonitoringFilter",
+        "MonitoringFilterResult", "MonitoringMode", "MonitoringParameters", "NamingRuleType", "NetworkGroupDataType",
+        "Node", "NodeAttributes", "NodeAttributesMask", "NodeClass", "NodeReference", "NodeTypeDescription",
+        "NotificationData", "NotificationMessage", "ObjectAttributes", "ObjectNode", "ObjectTypeAttributes",
+        "ObjectTypeNode", "OpenFileMode", "OpenSecureChannelRequest", "OpenSecureChannelResponse", "OptionSet",
+        "ParsingResult", "PerformUpdateType", "ProgramDiagnosticDataType", "PublishRequest", "PublishResponse",
+        "QueryDataDescription", "QueryDataSet", "QueryFirstRequest", "QueryFirstResponse", "QueryNextRequest",
+        "QueryNextResponse", "Range", "ReadAtTimeDetails", "ReadEventDetails", "ReadProcessedDetails",
+        "ReadRawModifiedDetails", "ReadRequest", "ReadResponse", "ReadValueId", "RedundancySupport",
+        "RedundantServerDataType", "ReferenceDescription", "ReferenceNode", "ReferenceTypeAttributes",
+        "ReferenceTypeNode", "RegisterNodesRequest", "RegisterNodesResponse", "RegisterServer2Request",
+        "RegisterServer2Response", "RegisterServerRequest", "RegisterServerResponse", "RegisteredServer",
+        "RelativePath", "RelativePathElement", "RepublishRequest", "RepublishResponse", "RequestHeader",
+        "ResponseHeader", "SamplingIntervalDiagnosticsDataType", "SecurityTokenRequestType",
+        "SemanticChangeStructureDataType", "ServerDiagnosticsSummaryDataType", "ServerOnNetwork", "ServerState",
+        "ServerStatusDataType", "ServiceCounterDataType", "ServiceFault", "SessionDiagnosticsDataType",
+        "SessionSecurityDiagnosticsDataType", "SetMonitoringModeRequest", "SetMonitoringModeResponse",
+        "SetPublishingModeRequest", "SetPublishingModeResponse", "SetTriggeringRequest", "SetTriggeringResponse",
+        "SignatureData", "SignedSoftwareCertificate", "SimpleAttributeOperand", "StatusChangeNotification",
+        "StatusResult", "StructureDefinition", "StructureDescription", "StructureField", "StructureType",
+        "SubscriptionAcknowledgement", "SubscriptionDiagnosticsDataType", "TimeZoneDataType", "TimestampsToReturn",
+        "TransferResult", "TransferSubscriptionsRequest", "TransferSubscriptionsResponse",
+        "TranslateBrowsePathsToNodeIdsRequest", "TranslateBrowsePathsToNodeIdsResponse", "TrustListDataType",
+        "TrustListMasks", "TypeNode", "UnregisterNodesRequest", "UnregisterNodesResponse", "UpdateDataDetails",
+        "UpdateEventDetails", "UpdateStructureDataDetails", "UserNameIdentityToken", "UserTokenPolicy", "UserTokenType",
+        "VariableAttributes", "VariableNode", "VariableTypeAttributes", "VariableTypeNode", "ViewAttributes",
+        "ViewDescription", "ViewNode", "WriteRequest", "WriteResponse", "WriteValue", "X509IdentityToken", "XVType"
+    };
+
+    /**
+     * DataType ids, by row.
+     */
+    private static final int[] DATA_TYPE_IDS = {
+        465, 468, 376, 486, 489, 483, 379, 492, 495, 948, 728, 737, 891, 319, 308, 307, 296, 598, 12079, 12077, 514,
+        510, 531, 534, 543, 549, 546, 525, 528, 522, 517, 338, 704, 707, 710, 713, 477, 480, 441, 450, 453, 471, 474,
+        12171, 586, 583, 604, 607, 749, 752, 459, 462, 785, 788, 722, 809, 717, 370, 282, 718, 689, 692, 779, 782, 382,
+        498, 501, 686, 385, 504, 507, 845, 848, 12890, 12172, 887, 592, 331, 312, 11943, 100, 15488, 102, 7594, 917,
+        725, 734, 914, 890, 589, 576, 12190, 12191, 420, 423, 426, 429, 656, 659, 920, 11217, 641, 662, 665, 638, 635,
+        677, 698, 701, 695, 11234, 256, 11879, 938, 595, 12891, 302, 358, 276, 877, 11941, 11216, 761, 764, 791, 794,
+        743, 746, 755, 758, 806, 719, 731, 716, 740, 120, 11944, 258, 349, 348, 257, 580, 573, 945, 803, 352, 261, 361,
+        264, 11939, 444, 447, 12755, 610, 11293, 894, 824, 827, 570, 577, 613, 616, 619, 622, 884, 653, 644, 650, 647,
+        629, 632, 626, 851, 853, 518, 285, 367, 273, 558, 561, 12193, 12194, 435, 438, 432, 540, 537, 830, 833, 389,
+        392, 856, 315, 897, 859, 12189, 852, 862, 871, 395, 865, 868, 767, 770, 797, 800, 773, 776, 456, 344, 601, 818,
+        299, 99, 15487, 101, 98, 821, 874, 8912, 625, 836, 839, 842, 552, 555, 12554, 12552, 11880, 564, 567, 680, 683,
+        11295, 322, 304, 303, 355, 267, 364, 270, 373, 511, 279, 671, 674, 668, 325, 12080
+    };
+
+    /**
+     * Default binary encoding ids, by row; 0 for enumerations, which have none.
+     */
+    private static final int[] BINARY_ENCODING_IDS = {
+        467, 470, 378, 488, 491, 485, 381, 494, 497, 950, 730, 739, 893, 321, 310, 0, 298, 600, 12089, 0, 516, 0, 533,
+        536, 545, 551, 548, 527, 530, 524, 0, 340, 706, 709, 712, 715, 479, 482, 443, 452, 455, 473, 476, 12181, 588,
+        585, 606, 609, 751, 754, 461, 464, 787, 790, 724, 811, 0, 372, 284, 0, 691, 694, 781, 784, 384, 500, 503, 688,
+        387, 506, 509, 847, 850, 12900, 12182, 889, 594, 333, 314, 11957, 123, 127, 14845, 8251, 919, 727, 736, 916, 0,
+        591, 0, 12208, 12209, 422, 425, 428, 431, 658, 661, 922, 11227, 643, 664, 667, 640, 637, 679, 700, 703, 697, 0,
+        0, 11889, 940, 597, 12901, 0, 360, 278, 879, 0, 11226, 763, 766, 793, 796, 745, 748, 757, 760, 808, 721, 733, 0,
+        742, 0, 11958, 260, 351, 0, 0, 582, 575, 947, 805, 354, 263, 363, 266, 0, 446, 449, 12765, 612, 0, 896, 826,
+        829, 572, 579, 615, 618, 621, 624, 886, 655, 646, 652, 649, 631, 634, 628, 0, 855, 520, 287, 369, 275, 560, 563,
+        12211, 12212, 437, 440, 434, 542, 539, 832, 835, 391, 394, 858, 0, 899, 861, 12207, 0, 864, 873, 397, 867, 870,
+        769, 772, 799, 802, 775, 778, 458, 346, 603, 820, 301, 122, 126, 14844, 0, 823, 876, 8917, 0, 838, 841, 844,
+        554, 557, 12680, 0, 11890, 566, 569, 682, 685, 11300, 324, 306, 0, 357, 269, 366, 272, 375, 513, 281, 673, 676,
+        670, 327, 12090
+    };
+
+    /**
+     * Default XML encoding ids, by row; 0 for enumerations, which have none.
+     */
+    private static final int[] XML_ENCODING_IDS = {
+        466, 469, 377, 487, 490, 484, 380, 493, 496, 949, 729, 738, 892, 320, 309, 0, 297, 599, 12081, 0, 515, 0, 532,
+        535, 544, 550, 547, 526, 529, 523, 0, 339, 705, 708, 711, 714, 478, 481, 442, 451, 454, 472, 475, 12173, 587,
+        584, 605, 608, 750, 753, 460, 463, 786, 789, 723, 810, 0, 371, 283, 0, 690, 693, 780, 783, 383, 499, 502, 687,
+        386, 505, 508, 846, 849, 12892, 12174, 888, 593, 332, 313, 11949, 14799, 15590, 14801, 7616, 918, 726, 735, 915,
+        0, 590, 0, 12196, 12197, 421, 424, 427, 430, 657, 660, 921, 11219, 642, 663, 666, 639, 636, 678, 699, 702, 696,
+        0, 0, 11887, 939, 596, 12893, 0, 359, 277, 878, 0, 11218, 762, 765, 792, 795, 744, 747, 756, 759, 807, 720, 732,
+        0, 741, 0, 11950, 259, 350, 0, 0, 581, 574, 946, 804, 353, 262, 362, 265, 0, 445, 448, 12757, 611, 0, 895, 825,
+        828, 571, 578, 614, 617, 620, 623, 885, 654, 645, 651, 648, 630, 633, 627, 0, 854, 519, 286, 368, 274, 559, 562,
+        12199, 12200, 436, 439, 433, 541, 538, 831, 834, 390, 393, 857, 0, 898, 860, 12195, 0, 863, 872, 396, 866, 869,
+        768, 771, 798, 801, 774, 777, 457, 345, 602, 819, 300, 14798, 15589, 14800, 0, 822, 875, 8913, 0, 837, 840, 843,
+        553, 556, 12676, 0, 11888, 565, 568, 681, 684, 11296, 323, 305, 0, 356, 268, 365, 271, 374, 512, 280, 672, 675,
+        669, 326, 12082
+    };
+
+    private BuiltinDataTypeIndex() {}
+
+    static String getDescription(int row) {
+        return DESCRIPTIONS[row];
+    }
+
+    static int getDataTypeId(int row) {
+        return DATA_TYPE_IDS[row];
+    }
+
+    static int getBinaryEncodingId(int row) {
+        return BINARY_ENCODING_IDS[row];
+    }
+
+    static int getXmlEncodingId(int row) {
+        return XML_ENCODING_IDS[row];
+    }
+
+    static boolean isEnum(int row) {
+        return BINARY_ENCODING_IDS[row] == 0;
+    }
+
+    /**
+     * @param description a description in the built-in binary dictionary.
+     * @return the row for {@code description}, or -1 if it isn't a built-in DataType.
+     */
+    static int rowOfDescription(String description) {
+        switch (description) {
+            case "ActivateSessionRequest": return 0;
+            case "ActivateSessionResponse": return 1;
+            case "AddNodesItem": return 2;
+            case "AddNodesRequest": return 3;
+            case "AddNodesResponse": return 4;
+            case "AddNodesResult": return 5;
+            case "AddReferencesItem": return 6;
+            case "AddReferencesRequest": return 7;
+            case "AddReferencesResponse": return 8;
+            case "AggregateConfiguration": return 9;
+            case "AggregateFilter": return 10;
+            case "AggregateFilterResult": return 11;
+            case "Annotation": return 12;
+            case "AnonymousIdentityToken": return 13;
+            case "ApplicationDescription": return 14;
+            case "ApplicationType": return 15;
+            case "Argument": return 16;
+            case "AttributeOperand": return 17;
+            case "AxisInformation": return 18;
+            case "AxisScaleEnumeration": return 19;
+            case "BrowseDescription": return 20;
+            case "BrowseDirection": return 21;
+            case "BrowseNextRequest": return 22;
+            case "BrowseNextResponse": return 23;
+            case "BrowsePath": return 24;
+            case "BrowsePathResult": return 25;
+            case "BrowsePathTarget": return 26;
+            case "BrowseRequest": return 27;
+            case "BrowseResponse": return 28;
+            case "BrowseResult": return 29;
+            case "BrowseResultMask": return 30;
+            case "BuildInfo": return 31;
+            case "CallMethodRequest": return 32;
+            case "CallMethodResult": return 33;
+            case "CallRequest": return 34;
+            case "CallResponse": return 35;
+            case "CancelRequest": return 36;
+            case "CancelResponse": return 37;
+            case "ChannelSecurityToken": return 38;
+            case "CloseSecureChannelRequest": return 39;
+            case "CloseSecureChannelResponse": return 40;
+            case "CloseSessionRequest": return 41;
+            case "CloseSessionResponse": return 42;
+            case "ComplexNumberType": return 43;
+            case "ContentFilter": return 44;
+            case "ContentFilterElement": return 45;
+            case "ContentFilterElementResult": return 46;
+            case "ContentFilterResult": return 47;
+            case "CreateMonitoredItemsRequest": return 48;
+            case "CreateMonitoredItemsResponse": return 49;
+            case "CreateSessionRequest": return 50;
+            case "CreateSessionResponse": return 51;
+            case "CreateSubscriptionRequest": return 52;
+            case "CreateSubscriptionResponse": return 53;
+            case "DataChangeFilter": return 54;
+            case "DataChangeNotification": return 55;
+            case "DataChangeTrigger": return 56;
+            case "DataTypeAttributes": return 57;
+            case "DataTypeNode": return 58;
+            case "DeadbandType": return 59;
+            case "DeleteAtTimeDetails": return 60;
+            case "DeleteEventDetails": return 61;
+            case "DeleteMonitoredItemsRequest": return 62;
+            case "DeleteMonitoredItemsResponse": return 63;
+            case "DeleteNodesItem": return 64;
+            case "DeleteNodesRequest": return 65;
+            case "DeleteNodesResponse": return 66;
+            case "DeleteRawModifiedDetails": return 67;
+            case "DeleteReferencesItem": return 68;
+            case "DeleteReferencesRequest": return 69;
+            case "DeleteReferencesResponse": return 70;
+            case "DeleteSubscriptionsRequest": return 71;
+            case "DeleteSubscriptionsResponse": return 72;
+            case "DiscoveryConfiguration": return 73;
+            case "DoubleComplexNumberType": return 74;
+            case "EUInformation": return 75;
+            case "ElementOperand": return 76;
+            case "EndpointConfiguration": return 77;
+            case "EndpointDescription": return 78;
+            case "EndpointUrlListDataType": return 79;
+            case "EnumDefinition": return 80;
+            case "EnumDescription": return 81;
+            case "EnumField": return 82;
+            case "EnumValueType": return 83;
+            case "EventFieldList": return 84;
+            case "EventFilter": return 85;
+            case "EventFilterResult": return 86;
+            case "EventNotificationList": return 87;
+            case "ExceptionDeviationFormat": return 88;
+            case "FilterOperand": return 89;
+            case "FilterOperator": return 90;
+            case "FindServersOnNetworkRequest": return 91;
+            case "FindServersOnNetworkResponse": return 92;
+            case "FindServersRequest": return 93;
+            case "FindServersResponse": return 94;
+            case "GetEndpointsRequest": return 95;
+            case "GetEndpointsResponse": return 96;
+            case "HistoryData": return 97;
+            case "HistoryEvent": return 98;
+            case "HistoryEventFieldList": return 99;
+            case "HistoryModifiedData": return 100;
+            case "HistoryReadDetails": return 101;
+            case "HistoryReadRequest": return 102;
+            case "HistoryReadResponse": return 103;
+            case "HistoryReadResult": return 104;
+            case "HistoryReadValueId": return 105;
+            case "HistoryUpdateDetails": return 106;
+            case "HistoryUpdateRequest": return 107;
+            case "HistoryUpdateResponse": return 108;
+            case "HistoryUpdateResult": return 109;
+            case "HistoryUpdateType": return 110;
+            case "IdType": return 111;
+            case "InstanceNode": return 112;
+            case "IssuedIdentityToken": return 113;
+            case "LiteralOperand": return 114;
+            case "MdnsDiscoveryConfiguration": return 115;
+            case "MessageSecurityMode": return 116;
+            case "MethodAttributes": return 117;
+            case "MethodNode": return 118;
+            case "ModelChangeStructureDataType": return 119;
+            case "ModelChangeStructureVerbMask": return 120;
+            case "ModificationInfo": return 121;
+            case "ModifyMonitoredItemsRequest": return 122;
+            case "ModifyMonitoredItemsResponse": return 123;
+            case "ModifySubscriptionRequest": return 124;
+            case "ModifySubscriptionResponse": return 125;
+            case "MonitoredItemCreateRequest": return 126;
+            case "MonitoredItemCreateResult": return 127;
+            case "MonitoredItemModifyRequest": return 128;
+            case "MonitoredItemModifyResult": return 129;
+            case "MonitoredItemNotification": return 130;
+            case "MonitoringFilter": return 131;
+            case "MonitoringFilterResult": return 132;
+            case "MonitoringMode": return 133;
+            case "MonitoringParameters": return 134;
+            case "NamingRuleType": return 135;
+            case "NetworkGroupDataType": return 136;
+            case "Node": return 137;
+            case "NodeAttributes": return 138;
+            case "NodeAttributesMask": return 139;
+            case "NodeClass": return 140;
+            case "NodeReference": return 141;
+            case "NodeTypeDescription": return 142;
+            case "NotificationData": return 143;
+            case "NotificationMessage": return 144;
+            case "ObjectAttributes": return 145;
+            case "ObjectNode": return 146;
+            case "ObjectTypeAttributes": return 147;
+            case "ObjectTypeNode": return 148;
+            case "OpenFileMode": return 149;
+            case "OpenSecureChannelRequest": return 150;
+            case "OpenSecureChannelResponse": return 151;
+            case "OptionSet": return 152;
+            case "ParsingResult": return 153;
+            case "PerformUpdateType": return 154;
+            case "ProgramDiagnosticDataType": return 155;
+            case "PublishRequest": return 156;
+            case "PublishResponse": return 157;
+            case "QueryDataDescription": return 158;
+            case "QueryDataSet": return 159;
+            case "QueryFirstRequest": return 160;
+            case "QueryFirstResponse": return 161;
+            case "QueryNextRequest": return 162;
+            case "QueryNextResponse": return 163;
+            case "Range": return 164;
+            case "ReadAtTimeDetails": return 165;
+            case "ReadEventDetails": return 166;
+            case "ReadProcessedDetails": return 167;
+            case "ReadRawModifiedDetails": return 168;
+            case "ReadRequest": return 169;
+            case "ReadResponse": return 170;
+            case "ReadValueId": return 171;
+            case "RedundancySupport": return 172;
+            case "RedundantServerDataType": return 173;
+            case "ReferenceDescription": return 174;
+            case "ReferenceNode": return 175;
+            case "ReferenceTypeAttributes": return 176;
+            case "ReferenceTypeNode": return 177;
+            case "RegisterNodesRequest": return 178;
+            case "RegisterNodesResponse": return 179;
+            case "RegisterServer2Request": return 180;
+            case "RegisterServer2Response": return 181;
+            case "RegisterServerRequest": return 182;
+            case "RegisterServerResponse": return 183;
+            case "RegisteredServer": return 184;
+            case "RelativePath": return 185;
+            case "RelativePathElement": return 186;
+            case "RepublishRequest": return 187;
+            case "RepublishResponse": return 188;
+            case "RequestHeader": return 189;
+            case "ResponseHeader": return 190;
+            case "SamplingIntervalDiagnosticsDataType": return 191;
+            case "SecurityTokenRequestType": return 192;
+            case "SemanticChangeStructureDataType": return 193;
+            case "ServerDiagnosticsSummaryDataType": return 194;
+            case "ServerOnNetwork": return 195;
+            case "ServerState": return 196;
+            case "ServerStatusDataType": return 197;
+            case "ServiceCounterDataType": return 198;
+            case "ServiceFault": return 199;
+            case "SessionDiagnosticsDataType": return 200;
+            case "SessionSecurityDiagnosticsDataType": return 201;
+            case "SetMonitoringModeRequest": return 202;
+            case "SetMonitoringModeResponse": return 203;
+            case "SetPublishingModeRequest": return 204;
+            case "SetPublishingModeResponse": return 205;
+            case "SetTriggeringRequest": return 206;
+            case "SetTriggeringResponse": return 207;
+            case "SignatureData": return 208;
+            case "SignedSoftwareCertificate": return 209;
+            case "SimpleAttributeOperand": return 210;
+            case "StatusChangeNotification": return 211;
+            case "StatusResult": return 212;
+            case "StructureDefinition": return 213;
+            case "StructureDescription": return 214;
+            case "StructureField": return 215;
+            case "StructureType": return 216;
+            case "SubscriptionAcknowledgement": return 217;
+            case "SubscriptionDiagnosticsDataType": return 218;
+            case "TimeZoneDataType": return 219;
+            case "TimestampsToReturn": return 220;
+            case "TransferResult": return 221;
+            case "TransferSubscriptionsRequest": return 222;
+            case "TransferSubscriptionsResponse": return 223;
+            case "TranslateBrowsePathsToNodeIdsRequest": return 224;
+            case "TranslateBrowsePathsToNodeIdsResponse": return 225;
+            case "TrustListDataType": return 226;
+            case "TrustListMasks": return 227;
+            case "TypeNode": return 228;
+            case "UnregisterNodesRequest": return 229;
+            case "UnregisterNodesResponse": return 230;
+            case "UpdateDataDetails": return 231;
+            case "UpdateEventDetails": return 232;
+            case "UpdateStructureDataDetails": return 233;
+            case "UserNameIdentityToken": return 234;
+            case "UserTokenPolicy": return 235;
+            case "UserTokenType": return 236;
+            case "VariableAttributes": return 237;
+            case "VariableNode": return 238;
+            case "VariableTypeAttributes": return 239;
+            case "VariableTypeNode": return 240;
+            case "ViewAttributes": return 241;
+            case "ViewDescription": return 242;
+            case "ViewNode": return 243;
+            case "WriteRequest": return 244;
+            case "WriteResponse": return 245;
+            case "WriteValue": return 246;
+            case "X509IdentityToken": return 247;
+            case "XVType": return 248;
+            default: return -1;
+        }
+    }
+
+    /**
+     * @param dataTypeId the numeric identifier of a namespace 0 DataType.
+     * @return the row for {@code dataTypeId}, or -1 if it isn't a built-in DataType.
+     */
+    static int rowOfDataTypeId(int dataTypeId) {
+        switch (dataTypeId) {
+            case 98: return 216;
+            case 99: return 213;
+            case 100: return 80;
+            case 101: return 215;
+            case 102: return 82;
+            case 120: return 135;
+            case 256: return 111;
+            case 257: return 140;
+            case 258: return 137;
+            case 261: return 146;
+            case 264: return 148;
+            case 267: return 238;
+            case 270: return 240;
+            case 273: return 177;
+            case 276: return 118;
+            case 279: return 243;
+            case 282: return 58;
+            case 285: return 175;
+            case 296: return 16;
+            case 299: return 212;
+            case 302: return 116;
+            case 303: return 236;
+            case 304: return 235;
+            case 307: return 15;
+            case 308: return 14;
+            case 312: return 78;
+            case 315: return 192;
+            case 319: return 13;
+            case 322: return 234;
+            case 325: return 247;
+            case 331: return 77;
+            case 338: return 31;
+            case 344: return 209;
+            case 348: return 139;
+            case 349: return 138;
+            case 352: return 145;
+            case 355: return 237;
+            case 358: return 117;
+            case 361: return 147;
+            case 364: return 239;
+            case 367: return 176;
+            case 370: return 57;
+            case 373: return 241;
+            case 376: return 2;
+            case 379: return 6;
+            case 382: return 64;
+            case 385: return 68;
+            case 389: return 189;
+            case 392: return 190;
+            case 395: return 199;
+            case 420: return 93;
+            case 423: return 94;
+            case 426: return 95;
+            case 429: return 96;
+            case 432: return 184;
+            case 435: return 182;
+            case 438: return 183;
+            case 441: return 38;
+            case 444: return 150;
+            case 447: return 151;
+            case 450: return 39;
+            case 453: return 40;
+            case 456: return 208;
+            case 459: return 50;
+            case 462: return 51;
+            case 465: return 0;
+            case 468: return 1;
+            case 471: return 41;
+            case 474: return 42;
+            case 477: return 36;
+            case 480: return 37;
+            case 483: return 5;
+            case 486: return 3;
+            case 489: return 4;
+            case 492: return 7;
+            case 495: return 8;
+            case 498: return 65;
+            case 501: return 66;
+            case 504: return 69;
+            case 507: return 70;
+            case 510: return 21;
+            case 511: return 242;
+            case 514: return 20;
+            case 517: return 30;
+            case 518: return 174;
+            case 522: return 29;
+            case 525: return 27;
+            case 528: return 28;
+            case 531: return 22;
+            case 534: return 23;
+            case 537: return 186;
+            case 540: return 185;
+            case 543: return 24;
+            case 546: return 26;
+            case 549: return 25;
+            case 552: return 224;
+            case 555: return 225;
+            case 558: return 178;
+            case 561: return 179;
+            case 564: return 229;
+            case 567: return 230;
+            case 570: return 158;
+            case 573: return 142;
+            case 576: return 90;
+            case 577: return 159;
+            case 580: return 141;
+            case 583: return 45;
+            case 586: return 44;
+            case 589: return 89;
+            case 592: return 76;
+            case 595: return 114;
+            case 598: return 17;
+            case 601: return 210;
+            case 604: return 46;
+            case 607: return 47;
+            case 610: return 153;
+            case 613: return 160;
+            case 616: return 161;
+            case 619: return 162;
+            case 622: return 163;
+            case 625: return 220;
+            case 626: return 171;
+            case 629: return 169;
+            case 632: return 170;
+            case 635: return 105;
+            case 638: return 104;
+            case 641: return 101;
+            case 644: return 166;
+            case 647: return 168;
+            case 650: return 167;
+            case 653: return 165;
+            case 656: return 97;
+            case 659: return 98;
+            case 662: return 102;
+            case 665: return 103;
+            case 668: return 246;
+            case 671: return 244;
+            case 674: return 245;
+            case 677: return 106;
+            case 680: return 231;
+            case 683: return 232;
+            case 686: return 67;
+            case 689: return 60;
+            case 692: return 61;
+            case 695: return 109;
+            case 698: return 107;
+            case 701: return 108;
+            case 704: return 32;
+            case 707: return 33;
+            case 710: return 34;
+            case 713: return 35;
+            case 716: return 133;
+            case 717: return 56;
+            case 718: return 59;
+            case 719: return 131;
+            case 722: return 54;
+            case 725: return 85;
+            case 728: return 10;
+            case 731: return 132;
+            case 734: return 86;
+            case 737: return 11;
+            case 740: return 134;
+            case 743: return 126;
+            case 746: return 127;
+            case 749: return 48;
+            case 752: return 49;
+            case 755: return 128;
+            case 758: return 129;
+            case 761: return 122;
+            case 764: return 123;
+            case 767: return 202;
+            case 770: return 203;
+            case 773: return 206;
+            case 776: return 207;
+            case 779: return 62;
+            case 782: return 63;
+            case 785: return 52;
+            case 788: return 53;
+            case 791: return 124;
+            case 794: return 125;
+            case 797: return 204;
+            case 800: return 205;
+            case 803: return 144;
+            case 806: return 130;
+            case 809: return 55;
+            case 818: return 211;
+            case 821: return 217;
+            case 824: return 156;
+            case 827: return 157;
+            case 830: return 187;
+            case 833: return 188;
+            case 836: return 221;
+            case 839: return 222;
+            case 842: return 223;
+            case 845: return 71;
+            case 848: return 72;
+            case 851: return 172;
+            case 852: return 196;
+            case 853: return 173;
+            case 856: return 191;
+            case 859: return 194;
+            case 862: return 197;
+            case 865: return 200;
+            case 868: return 201;
+            case 871: return 198;
+            case 874: return 218;
+            case 877: return 119;
+            case 884: return 164;
+            case 887: return 75;
+            case 890: return 88;
+            case 891: return 12;
+            case 894: return 155;
+            case 897: return 193;
+            case 914: return 87;
+            case 917: return 84;
+            case 920: return 99;
+            case 938: return 113;
+            case 945: return 143;
+            case 948: return 9;
+            case 7594: return 83;
+            case 8912: return 219;
+            case 11216: return 121;
+            case 11217: return 100;
+            case 11234: return 110;
+            case 11293: return 154;
+            case 11295: return 233;
+            case 11879: return 112;
+            case 11880: return 228;
+            case 11939: return 149;
+            case 11941: return 120;
+            case 11943: return 79;
+            case 11944: return 136;
+            case 12077: return 19;
+            case 12079: return 18;
+            case 12080: return 248;
+            case 12171: return 43;
+            case 12172: return 74;
+            case 12189: return 195;
+            case 12190: return 91;
+            case 12191: return 92;
+            case 12193: return 180;
+            case 12194: return 181;
+            case 12552: return 227;
+            case 12554: return 226;
+            case 12755: return 152;
+            case 12890: return 73;
+            case 12891: return 115;
+            case 15487: return 214;
+            case 15488: return 81;
+            default: return -1;
+        }
+    }
+
+    /**
+     * @param encodingId the numeric identifier of a namespace 0 DataTypeEncoding, binary or XML.
+     * @return the row for {@code encodingId}, or -1 if it isn't the encoding of a built-in DataType.
+     */
+    static int rowOfEncodingId(int encodingId) {
+        switch (encodingId) {
+            case 122: return 213;
+            case 123: return 80;
+            case 126: return 214;
+            case 127: return 81;
+            case 259: return 137;
+            case 260: return 137;
+            case 262: return 146;
+            case 263: return 146;
+            case 265: return 148;
+            case 266: return 148;
+            case 268: return 238;
+            case 269: return 238;
+            case 271: return 240;
+            case 272: return 240;
+            case 274: return 177;
+            case 275: return 177;
+            case 277: return 118;
+            case 278: return 118;
+            case 280: return 243;
+            case 281: return 243;
+            case 283: return 58;
+            case 284: return 58;
+            case 286: return 175;
+            case 287: return 175;
+            case 297: return 16;
+            case 298: return 16;
+            case 300: return 212;
+            case 301: return 212;
+            case 305: return 235;
+            case 306: return 235;
+            case 309: return 14;
+            case 310: return 14;
+            case 313: return 78;
+            case 314: return 78;
+            case 320: return 13;
+            case 321: return 13;
+            case 323: return 234;
+            case 324: return 234;
+            case 326: return 247;
+            case 327: return 247;
+            case 332: return 77;
+            case 333: return 77;
+            case 339: return 31;
+            case 340: return 31;
+            case 345: return 209;
+            case 346: return 209;
+            case 350: return 138;
+            case 351: return 138;
+            case 353: return 145;
+            case 354: return 145;
+            case 356: return 237;
+            case 357: return 237;
+            case 359: return 117;
+            case 360: return 117;
+            case 362: return 147;
+            case 363: return 147;
+            case 365: return 239;
+            case 366: return 239;
+            case 368: return 176;
+            case 369: return 176;
+            case 371: return 57;
+            case 372: return 57;
+            case 374: return 241;
+            case 375: return 241;
+            case 377: return 2;
+            case 378: return 2;
+            case 380: return 6;
+            case 381: return 6;
+            case 383: return 64;
+            case 384: return 64;
+            case 386: return 68;
+            case 387: return 68;
+            case 390: return 189;
+            case 391: return 189;
+            case 393: return 190;
+            case 394: return 190;
+            case 396: return 199;
+            case 397: return 199;
+            case 421: return 93;
+            case 422: return 93;
+            case 424: return 94;
+            case 425: return 94;
+            case 427: return 95;
+            case 428: return 95;
+            case 430: return 96;
+            case 431: return 96;
+            case 433: return 184;
+            case 434: return 184;
+            case 436: return 182;
+            case 437: return 182;
+            case 439: return 183;
+            case 440: return 183;
+            case 442: return 38;
+            case 443: return 38;
+            case 445: return 150;
+            case 446: return 150;
+            case 448: return 151;
+            case 449: return 151;
+            case 451: return 39;
+            case 452: return 39;
+            case 454: return 40;
+            case 455: return 40;
+            case 457: return 208;
+            case 458: return 208;
+            case 460: return 50;
+            case 461: return 50;
+            case 463: return 51;
+            case 464: return 51;
+            case 466: return 0;
+            case 467: return 0;
+            case 469: return 1;
+            case 470: return 1;
+            case 472: return 41;
+            case 473: return 41;
+            case 475: return 42;
+            case 476: return 42;
+            case 478: return 36;
+            case 479: return 36;
+            case 481: return 37;
+            case 482: return 37;
+            case 484: return 5;
+            case 485: return 5;
+            case 487: return 3;
+            case 488: return 3;
+            case 490: return 4;
+            case 491: return 4;
+            case 493: return 7;
+            case 494: return 7;
+            case 496: return 8;
+            case 497: return 8;
+            case 499: return 65;
+            case 500: return 65;
+            case 502: return 66;
+            case 503: return 66;
+            case 505: return 69;
+            case 506: return 69;
+            case 508: return 70;
+            case 509: return 70;
+            case 512: return 242;
+            case 513: return 242;
+            case 515: return 20;
+            case 516: return 20;
+            case 519: return 174;
+            case 520: return 174;
+            case 523: return 29;
+            case 524: return 29;
+            case 526: return 27;
+            case 527: return 27;
+            case 529: return 28;
+            case 530: return 28;
+            case 532: return 22;
+            case 533: return 22;
+            case 535: return 23;
+            case 536: return 23;
+            case 538: return 186;
+            case 539: return 186;
+            case 541: return 185;
+            case 542: return 185;
+            case 544: return 24;
+            case 545: return 24;
+            case 547: return 26;
+            case 548: return 26;
+            case 550: return 25;
+            case 551: return 25;
+            case 553: return 224;
+            case 554: return 224;
+            case 556: return 225;
+            case 557: return 225;
+            case 559: return 178;
+            case 560: return 178;
+            case 562: return 179;
+            case 563: return 179;
+            case 565: return 229;
+            case 566: return 229;
+            case 568: return 230;
+            case 569: return 230;
+            case 571: return 158;
+            case 572: return 158;
+            case 574: return 142;
+            case 575: return 142;
+            case 578: return 159;
+            case 579: return 159;
+            case 581: return 141;
+            case 582: return 141;
+            case 584: return 45;
+            case 585: return 45;
+            case 587: return 44;
+            case 588: return 44;
+            case 590: return 89;
+            case 591: return 89;
+            case 593: return 76;
+            case 594: return 76;
+            case 596: return 114;
+            case 597: return 114;
+            case 599: return 17;
+            case 600: return 17;
+            case 602: return 210;
+            case 603: return 210;
+            case 605: return 46;
+            case 606: return 46;
+            case 608: return 47;
+            case 609: return 47;
+            case 611: return 153;
+            case 612: return 153;
+            case 614: return 160;
+            case 615: return 160;
+            case 617: return 161;
+            case 618: return 161;
+            case 620: return 162;
+            case 621: return 162;
+            case 623: return 163;
+            case 624: return 163;
+            case 627: return 171;
+            case 628: return 171;
+            case 630: return 169;
+            case 631: return 169;
+            case 633: return 170;
+            case 634: return 170;
+            case 636: return 105;
+            case 637: return 105;
+            case 639: return 104;
+            case 640: return 104;
+            case 642: return 101;
+            case 643: return 101;
+            case 645: return 166;
+            case 646: return 166;
+            case 648: return 168;
+            case 649: return 168;
+            case 651: return 167;
+            case 652: return 167;
+            case 654: return 165;
+            case 655: return 165;
+            case 657: return 97;
+            case 658: return 97;
+            case 660: return 98;
+            case 661: return 98;
+            case 663: return 102;
+            case 664: return 102;
+            case 666: return 103;
+            case 667: return 103;
+            case 669: return 246;
+            case 670: return 246;
+            case 672: return 244;
+            case 673: return 244;
+            case 675: return 245;
+            case 676: return 245;
+            case 678: return 106;
+            case 679: return 106;
+            case 681: return 231;
+            case 682: return 231;
+            case 684: return 232;
+            case 685: return 232;
+            case 687: return 67;
+            case 688: return 67;
+            case 690: return 60;
+            case 691: return 60;
+            case 693: return 61;
+            case 694: return 61;
+            case 696: return 109;
+            case 697: return 109;
+            case 699: return 107;
+            case 700: return 107;
+            case 702: return 108;
+            case 703: return 108;
+            case 705: return 32;
+            case 706: return 32;
+            case 708: return 33;
+            case 709: return 33;
+            case 711: return 34;
+            case 712: return 34;
+            case 714: return 35;
+            case 715: return 35;
+            case 720: return 131;
+            case 721: return 131;
+            case 723: return 54;
+            case 724: return 54;
+            case 726: return 85;
+            case 727: return 85;
+            case 729: return 10;
+            case 730: return 10;
+            case 732: return 132;
+            case 733: return 132;
+            case 735: return 86;
+            case 736: return 86;
+            case 738: return 11;
+            case 739: return 11;
+            case 741: return 134;
+            case 742: return 134;
+            case 744: return 126;
+            case 745: return 126;
+            case 747: return 127;
+            case 748: return 127;
+            case 750: return 48;
+            case 751: return 48;
+            case 753: return 49;
+            case 754: return 49;
+            case 756: return 128;
+            case 757: return 128;
+            case 759: return 129;
+            case 760: return 129;
+            case 762: return 122;
+            case 763: return 122;
+            case 765: return 123;
+            case 766: return 123;
+            case 768: return 202;
+            case 769: return 202;
+            case 771: return 203;
+            case 772: return 203;
+            case 774: return 206;
+            case 775: return 206;
+            case 777: return 207;
+            case 778: return 207;
+            case 780: return 62;
+            case 781: return 62;
+            case 783: return 63;
+            case 784: return 63;
+            case 786: return 52;
+            case 787: return 52;
+            case 789: return 53;
+            case 790: return 53;
+            case 792: return 124;
+            case 793: return 124;
+            case 795: return 125;
+            case 796: return 125;
+            case 798: return 204;
+            case 799: return 204;
+            case 801: return 205;
+            case 802: return 205;
+            case 804: return 144;
+            case 805: return 144;
+            case 807: return 130;
+            case 808: return 130;
+            case 810: return 55;
+            case 811: return 55;
+            case 819: return 211;
+            case 820: return 211;
+            case 822: return 217;
+            case 823: return 217;
+            case 825: return 156;
+            case 826: return 156;
+            case 828: return 157;
+            case 829: return 157;
+            case 831: return 187;
+            case 832: return 187;
+            case 834: return 188;
+            case 835: return 188;
+            case 837: return 221;
+            case 838: return 221;
+            case 840: return 222;
+            case 841: return 222;
+            case 843: return 223;
+            case 844: return 223;
+            case 846: return 71;
+            case 847: return 71;
+            case 849: return 72;
+            case 850: return 72;
+            case 854: return 173;
+            case 855: return 173;
+            case 857: return 191;
+            case 858: return 191;
+            case 860: return 194;
+            case 861: return 194;
+            case 863: return 197;
+            case 864: return 197;
+            case 866: return 200;
+            case 867: return 200;
+            case 869: return 201;
+            case 870: return 201;
+            case 872: return 198;
+            case 873: return 198;
+            case 875: return 218;
+            case 876: return 218;
+            case 878: return 119;
+            case 879: return 119;
+            case 885: return 164;
+            case 886: return 164;
+            case 888: return 75;
+            case 889: return 75;
+            case 892: return 12;
+            case 893: return 12;
+            case 895: return 155;
+            case 896: return 155;
+            case 898: return 193;
+            case 899: return 193;
+            case 915: return 87;
+            case 916: return 87;
+            case 918: return 84;
+            case 919: return 84;
+            case 921: return 99;
+            case 922: return 99;
+            case 939: return 113;
+            case 940: return 113;
+            case 946: return 143;
+            case 947: return 143;
+            case 949: return 9;
+            case 950: return 9;
+            case 7616: return 83;
+            case 8251: return 83;
+            case 8913: return 219;
+            case 8917: return 219;
+            case 11218: return 121;
+            case 11219: return 100;
+            case 11226: return 121;
+            case 11227: return 100;
+            case 11296: return 233;
+            case 11300: return 233;
+            case 11887: return 112;
+            case 11888: return 228;
+            case 11889: return 112;
+            case 11890: return 228;
+            case 11949: return 79;
+            case 11950: return 136;
+            case 11957: return 79;
+            case 11958: return 136;
+            case 12081: return 18;
+            case 12082: return 248;
+            case 12089: return 18;
+            case 12090: return 248;
+            case 12173: return 43;
+            case 12174: return 74;
+            case 12181: return 43;
+            case 12182: return 74;
+            case 12195: return 195;
+            case 12196: return 91;
+            case 12197: return 92;
+            case 12199: return 180;
+            case 12200: return 181;
+            case 12207: return 195;
+            case 12208: return 91;
+            case 12209: return 92;
+            case 12211: return 180;
+            case 12212: return 181;
+            case 12676: return 226;
+            case 12680: return 226;
+            case 12757: return 152;
+            case 12765: return 152;
+            case 12892: return 73;
+            case 12893: return 115;
+            case 12900: return 73;
+            case 12901: return 115;
+            case 14798: return 213;
+            case 14799: return 80;
+            case 14800: return 215;
+            case 14801: return 82;
+            case 14844: return 215;
+            case 14845: return 82;
+            case 15589: return 214;
+            case 15590: return 81;
+            default: return -1;
+        }
+    }
+
+    /**
+     * @param row a row in the index.
+     * @return a new instance of the codec for {@code row}.
+     */
+    static GenericDataTypeCodec<?> newCodec(int row) {
+        switch (row) {
+            case 0: return new ActivateSessionRequest.Codec();
+            case 1: return new ActivateSessionResponse.Codec();
+            case 2: return new AddNodesItem.Codec();
+            case 3: return new AddNodesRequest.Codec();
+            case 4: return new AddNodesResponse.Codec();
+            case 5: return new AddNodesResult.Codec();
+            case 6: return new AddReferencesItem.Codec();
+            case 7: return new AddReferencesRequest.Codec();
+            case 8: return new AddReferencesResponse.Codec();
+            case 9: return new AggregateConfiguration.Codec();
+            case 10: return new AggregateFilter.Codec();
+            case 11: return new AggregateFilterResult.Codec();
+            case 12: return new Annotation.Codec();
+            case 13: return new AnonymousIdentityToken.Codec();
+            case 14: return new ApplicationDescription.Codec();
+            case 15: return new ApplicationType.Codec();
+            case 16: return new Argument.Codec();
+            case 17: return new AttributeOperand.Codec();
+            case 18: return new AxisInformation.Codec();
+            case 19: return new AxisScaleEnumeration.Codec();
+            case 20: return new BrowseDescription.Codec();
+            case 21: return new BrowseDirection.Codec();
+            case 22: return new BrowseNextRequest.Codec();
+            case 23: return new BrowseNextResponse.Codec();
+            case 24: return new BrowsePath.Codec();
+            case 25: return new BrowsePathResult.Codec();
+            case 26: return new BrowsePathTarget.Codec();
+            case 27: return new BrowseRequest.Codec();
+            case 28: return new BrowseResponse.Codec();
+            case 29: return new BrowseResult.Codec();
+            case 30: return new BrowseResultMask.Codec();
+            case 31: return new BuildInfo.Codec();
+            case 32: return new CallMethodRequest.Codec();
+            case 33: return new CallMethodResult.Codec();
+            case 34: return new CallRequest.Codec();
+            case 35: return new CallResponse.Codec();
+            case 36: return new CancelRequest.Codec();
+            case 37: return new CancelResponse.Codec();
+            case 38: return new ChannelSecurityToken.Codec();
+            case 39: return new CloseSecureChannelRequest.Codec();
+            case 40: return new CloseSecureChannelResponse.Codec();
+            case 41: return new CloseSessionRequest.Codec();
+            case 42: return new CloseSessionResponse.Codec();
+            case 43: return new ComplexNumberType.Codec();
+            case 44: return new ContentFilter.Codec();
+            case 45: return new ContentFilterElement.Codec();
+            case 46: return new ContentFilterElementResult.Codec();
+            case 47: return new ContentFilterResult.Codec();
+            case 48: return new CreateMonitoredItemsRequest.Codec();
+            case 49: return new CreateMonitoredItemsResponse.Codec();
+            case 50: return new CreateSessionRequest.Codec();
+            case 51: return new CreateSessionResponse.Codec();
+            case 52: return new CreateSubscriptionRequest.Codec();
+            case 53: return new CreateSubscriptionResponse.Codec();
+            case 54: return new DataChangeFilter.Codec();
+            case 55: return new DataChangeNotification.Codec();
+            case 56: return new DataChangeTrigger.Codec();
+            case 57: return new DataTypeAttributes.Codec();
+            case 58: return new DataTypeNode.Codec();
+            case 59: return new DeadbandType.Codec();
+            case 60: return new DeleteAtTimeDetails.Codec();
+            case 61: return new DeleteEventDetails.Codec();
+            case 62: return new DeleteMonitoredItemsRequest.Codec();
+            case 63: return new DeleteMonitoredItemsResponse.Codec();
+            case 64: return new DeleteNodesItem.Codec();
+            case 65: return new DeleteNodesRequest.Codec();
+            case 66: return new DeleteNodesResponse.Codec();
+            case 67: return new DeleteRawModifiedDetails.Codec();
+            case 68: return new DeleteReferencesItem.Codec();
+            case 69: return new DeleteReferencesRequest.Codec();
+            case 70: return new DeleteReferencesResponse.Codec();
+            case 71: return new DeleteSubscriptionsRequest.Codec();
+            case 72: return new DeleteSubscriptionsResponse.Codec();
+            case 73: return new DiscoveryConfiguration.Codec();
+            case 74: return new DoubleComplexNumberType.Codec();
+            case 75: return new EUInformation.Codec();
+            case 76: return new ElementOperand.Codec();
+            case 77: return new EndpointConfiguration.Codec();
+            case 78: return new EndpointDescription.Codec();
+            case 79: return new EndpointUrlListDataType.Codec();
+            case 80: return new EnumDefinition.Codec();
+            case 81: return new EnumDescription.Codec();
+            case 82: return new EnumField.Codec();
+            case 83: return new EnumValueType.Codec();
+            case 84: return new EventFieldList.Codec();
+            case 85: return new EventFilter.Codec();
+            case 86: return new EventFilterResult.Codec();
+            case 87: return new EventNotificationList.Codec();
+            case 88: return new ExceptionDeviationFormat.Codec();
+            case 89: return new FilterOperand.Codec();
+            case 90: return new FilterOperator.Codec();
+            case 91: return new FindServersOnNetworkRequest.Codec();
+            case 92: return new FindServersOnNetworkResponse.Codec();
+            case 93: return new FindServersRequest.Codec();
+            case 94: return new FindServersResponse.Codec();
+            case 95: return new GetEndpointsRequest.Codec();
+            case 96: return new GetEndpointsResponse.Codec();
+            case 97: return new HistoryData.Codec();
+            case 98: return new HistoryEvent.Codec();
+            case 99: return new HistoryEventFieldList.Codec();
+            case 100: return new HistoryModifiedData.Codec();
+            case 101: return new HistoryReadDetails.Codec();
+            case 102: return new HistoryReadRequest.Codec();
+            case 103: return new HistoryReadResponse.Codec();
+            case 104: return new HistoryReadResult.Codec();
+            case 105: return new HistoryReadValueId.Codec();
+            case 106: return new HistoryUpdateDetails.Codec();
+            case 107: return new HistoryUpdateRequest.Codec();
+            case 108: return new HistoryUpdateResponse.Codec();
+            case 109: return new HistoryUpdateResult.Codec();
+            case 110: return new HistoryUpdateType.Codec();
+            case 111: return new IdType.Codec();
+            case 112: return new InstanceNode.Codec();
+            case 113: return new IssuedIdentityToken.Codec();
+            case 114: return new LiteralOperand.Codec();
+            case 115: return new MdnsDiscoveryConfiguration.Codec();
+            case 116: return new MessageSecurityMode.Codec();
+            case 117: return new MethodAttributes.Codec();
+            case 118: return new MethodNode.Codec();
+            case 119: return new ModelChangeStructureDataType.Codec();
+            case 120: return new ModelChangeStructureVerbMask.Codec();
+            case 121: return new ModificationInfo.Codec();
+            case 122: return new ModifyMonitoredItemsRequest.Codec();
+            case 123: return new ModifyMonitoredItemsResponse.Codec();
+            case 124: return new ModifySubscriptionRequest.Codec();
+            case 125: return new ModifySubscriptionResponse.Codec();
+            case 126: return new MonitoredItemCreateRequest.Codec();
+            case 127: return new MonitoredItemCreateResult.Codec();
+            case 128: return new MonitoredItemModifyRequest.Codec();
+            case 129: return new MonitoredItemModifyResult.Codec();
+            case 130: return new MonitoredItemNotification.Codec();
+            case 131: return new MonitoringFilter.Codec();
+            case 132: return new MonitoringFilterResult.Codec();
+            case 133: return new MonitoringMode.Codec();
+            case 134: return new MonitoringParameters.Codec();
+            case 135: return new NamingRuleType.Codec();
+            case 136: return new NetworkGroupDataType.Codec();
+            case 137: return new Node.Codec();
+            case 138: return new NodeAttributes.Codec();
+            case 139: return new NodeAttributesMask.Codec();
+            case 140: return new NodeClass.Codec();
+            case 141: return new NodeReference.Codec();
+            case 142: return new NodeTypeDescription.Codec();
+            case 143: return new NotificationData.Codec();
+            case 144: return new NotificationMessage.Codec();
+            case 145: return new ObjectAttributes.Codec();
+            case 146: return new ObjectNode.Codec();
+            case 147: return new ObjectTypeAttributes.Codec();
+            case 148: return new ObjectTypeNode.Codec();
+            case 149: return new OpenFileMode.Codec();
+            case 150: return new OpenSecureChannelRequest.Codec();
+            case 151: return new OpenSecureChannelResponse.Codec();
+            case 152: return new OptionSet.Codec();
+            case 153: return new ParsingResult.Codec();
+            case 154: return new PerformUpdateType.Codec();
+            case 155: return new ProgramDiagnosticDataType.Codec();
+            case 156: return new PublishRequest.Codec();
+            case 157: return new PublishResponse.Codec();
+            case 158: return new QueryDataDescription.Codec();
+            case 159: return new QueryDataSet.Codec();
+            case 160: return new QueryFirstRequest.Codec();
+            case 161: return new QueryFirstResponse.Codec();
+            case 162: return new QueryNextRequest.Codec();
+            case 163: return new QueryNextResponse.Codec();
+            case 164: return new Range.Codec();
+            case 165: return new ReadAtTimeDetails.Codec();
+            case 166: return new ReadEventDetails.Codec();
+            case 167: return new ReadProcessedDetails.Codec();
+            case 168: return new ReadRawModifiedDetails.Codec();
+            case 169: return new ReadRequest.Codec();
+            case 170: return new ReadResponse.Codec();
+            case 171: return new ReadValueId.Codec();
+            case 172: return new RedundancySupport.Codec();
+            case 173: return new RedundantServerDataType.Codec();
+            case 174: return new ReferenceDescription.Codec();
+            case 175: return new ReferenceNode.Codec();
+            case 176: return new ReferenceTypeAttributes.Codec();
+            case 177: return new ReferenceTypeNode.Codec();
+            case 178: return new RegisterNodesRequest.Codec();
+            case 179: return new RegisterNodesResponse.Codec();
+            case 180: return new RegisterServer2Request.Codec();
+            case 181: return new RegisterServer2Response.Codec();
+            case 182: return new RegisterServerRequest.Codec();
+            case 183: return new RegisterServerResponse.Codec();
+            case 184: return new RegisteredServer.Codec();
+            case 185: return new RelativePath.Codec();
+            case 186: return new RelativePathElement.Codec();
+            case 187: return new RepublishRequest.Codec();
+            case 188: return new RepublishResponse.Codec();
+            case 189: return new RequestHeader.Codec();
+            case 190: return new ResponseHeader.Codec();
+            case 191: return new SamplingIntervalDiagnosticsDataType.Codec();
+            case 192: return new SecurityTokenRequestType.Codec();
+            case 193: return new SemanticChangeStructureDataType.Codec();
+            case 194: return new ServerDiagnosticsSummaryDataType.Codec();
+            case 195: return new ServerOnNetwork.Codec();
+            case 196: return new ServerState.Codec();
+            case 197: return new ServerStatusDataType.Codec();
+            case 198: return new ServiceCounterDataType.Codec();
+            case 199: return new ServiceFault.Codec();
+            case 200: return new SessionDiagnosticsDataType.Codec();
+            case 201: return new SessionSecurityDiagnosticsDataType.Codec();
+            case 202: return new SetMonitoringModeRequest.Codec();
+            case 203: return new SetMonitoringModeResponse.Codec();
+            case 204: return new SetPublishingModeRequest.Codec();
+            case 205: return new SetPublishingModeResponse.Codec();
+            case 206: return new SetTriggeringRequest.Codec();
+            case 207: return new SetTriggeringResponse.Codec();
+            case 208: return new SignatureData.Codec();
+            case 209: return new SignedSoftwareCertificate.Codec();
+            case 210: return new SimpleAttributeOperand.Codec();
+            case 211: return new StatusChangeNotification.Codec();
+            case 212: return new StatusResult.Codec();
+            case 213: return new StructureDefinition.Codec();
+            case 214: return new StructureDescription.Codec();
+            case 215: return new StructureField.Codec();
+            case 216: return new StructureType.Codec();
+            case 217: return new SubscriptionAcknowledgement.Codec();
+            case 218: return new SubscriptionDiagnosticsDataType.Codec();
+            case 219: return new TimeZoneDataType.Codec();
+            case 220: return new TimestampsToReturn.Codec();
+            case 221: return new TransferResult.Codec();
+            case 222: return new TransferSubscriptionsRequest.Codec();
+            case 223: return new TransferSubscriptionsResponse.Codec();
+            case 224: return new TranslateBrowsePathsToNodeIdsRequest.Codec();
+            case 225: return new TranslateBrowsePathsToNodeIdsResponse.Codec();
+            case 226: return new TrustListDataType.Codec();
+            case 227: return new TrustListMasks.Codec();
+            case 228: return new TypeNode.Codec();
+            case 229: return new UnregisterNodesRequest.Codec();
+            case 230: return new UnregisterNodesResponse.Codec();
+            case 231: return new UpdateDataDetails.Codec();
+            case 232: return new UpdateEventDetails.Codec();
+            case 233: return new UpdateStructureDataDetails.Codec();
+            case 234: return new UserNameIdentityToken.Codec();
+            case 235: return new UserTokenPolicy.Codec();
+            case 236: return new UserTokenType.Codec();
+            case 237: return new VariableAttributes.Codec();
+            case 238: return new VariableNode.Codec();
+            case 239: return new VariableTypeAttributes.Codec();
+            case 240: return new VariableTypeNode.Codec();
+            case 241: return new ViewAttributes.Codec();
+            case 242: return new ViewDescription.Codec();
+            case 243: return new ViewNode.Codec();
+            case 244: return new WriteRequest.Codec();
+            case 245: return new WriteResponse.Codec();
+            case 246: return new WriteValue.Codec();
+            case 247: return new X509IdentityToken.Codec();
+            case 248: return new XVType.Codec();
+            default: throw new IllegalArgumentException("row: " + row);
+        }
+    }
+
+}
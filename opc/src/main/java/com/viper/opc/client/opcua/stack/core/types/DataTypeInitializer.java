@@ -34,6 +34,7 @@ import com.viper.opc.client.opcua.stack.core.types.enumerated.PerformUpdateType;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.RedundancySupport;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.SecurityTokenRequestType;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.ServerState;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.StructureType;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.TrustListMasks;
 import com.viper.opc.client.opcua.stack.core.types.enumerated.UserTokenType;
@@ -111,6 +112,9 @@ import com.viper.opc.client.opcua.stack.core.types.structured.ElementOperand;
 import com.viper.opc.client.opcua.stack.core.types.structured.EndpointConfiguration;
 import com.viper.opc.client.opcua.stack.core.types.structured.EndpointDescription;
 import com.viper.opc.client.opcua.stack.core.types.structured.EndpointUrlListDataType;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumDefinition;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.EnumField;
 import com.viper.opc.client.opcua.stack.core.types.structured.EnumValueType;
 import com.viper.opc.client.opcua.stack.core.types.structured.EventFieldList;
 import com.viper.opc.client.opcua.stack.core.types.structured.EventFilter;
@@ -226,6 +230,9 @@ import com.viper.opc.client.opcua.stack.core.types.structured.SignedSoftwareCert
 import com.viper.opc.client.opcua.stack.core.types.structured.SimpleAttributeOperand;
 import com.viper.opc.client.opcua.stack.core.types.structured.StatusChangeNotification;
 import com.viper.opc.client.opcua.stack.core.types.structured.StatusResult;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureDefinition;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.StructureField;
 import com.viper.opc.client.opcua.stack.core.types.structured.SubscriptionAcknowledgement;
 import com.viper.opc.client.opcua.stack.core.types.structured.SubscriptionDiagnosticsDataType;
 import com.viper.opc.client.opcua.stack.core.types.structured.TimeZoneDataType;
@@ -580,6 +587,18 @@ class DataTypeInitializer {
             ModelChangeStructureVerbMask.getTypeId().toNodeId(namespaceTable).orElseThrow(
                 () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
         );
+        binaryDictionary.registerEnumCodec(
+            new StructureType.Codec().asBinaryCodec(),
+            "StructureType",
+            StructureType.getTypeId().toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerEnumCodec(
+            new StructureType.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "StructureType"),
+            StructureType.getTypeId().toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
     }
 
     private static void initializeStructs(NamespaceTable namespaceTable,
@@ -4073,5 +4092,101 @@ class DataTypeInitializer {
             RegisterServer2Response.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
                 () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
         );
+        binaryDictionary.registerStructCodec(
+            new EnumDefinition.Codec().asBinaryCodec(),
+            "EnumDefinition",
+            EnumDefinition.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumDefinition.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new EnumDefinition.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "EnumDefinition"),
+            EnumDefinition.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumDefinition.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        binaryDictionary.registerStructCodec(
+            new EnumDescription.Codec().asBinaryCodec(),
+            "EnumDescription",
+            EnumDescription.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumDescription.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new EnumDescription.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "EnumDescription"),
+            EnumDescription.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumDescription.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        binaryDictionary.registerStructCodec(
+            new EnumField.Codec().asBinaryCodec(),
+            "EnumField",
+            EnumField.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumField.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new EnumField.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "EnumField"),
+            EnumField.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            EnumField.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        binaryDictionary.registerStructCodec(
+            new StructureDefinition.Codec().asBinaryCodec(),
+            "StructureDefinition",
+            StructureDefinition.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureDefinition.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new StructureDefinition.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "StructureDefinition"),
+            StructureDefinition.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureDefinition.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        binaryDictionary.registerStructCodec(
+            new StructureDescription.Codec().asBinaryCodec(),
+            "StructureDescription",
+            StructureDescription.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureDescription.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new StructureDescription.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "StructureDescription"),
+            StructureDescription.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureDescription.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        binaryDictionary.registerStructCodec(
+            new StructureField.Codec().asBinaryCodec(),
+            "StructureField",
+            StructureField.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureField.BINARY_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
+        xmlDictionary.registerStructCodec(
+            new StructureField.Codec().asXmlCodec(),
+            String.format("//xs:element[@name='%s']", "StructureField"),
+            StructureField.TYPE_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI)),
+            StructureField.XML_ENCODING_ID.toNodeId(namespaceTable).orElseThrow(
+                () -> new IllegalStateException("namespace not registered: " + NAMESPACE_URI))
+        );
     }
 }
@@ -11,6 +11,7 @@
 package com.viper.opc.client.opcua.stack.core.types;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Maps;
@@ -18,17 +19,37 @@ import com.google.common.collect.Table;
 import com.google.common.collect.Tables;
 import com.viper.opc.client.opcua.stack.core.NamespaceTable;
 import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaBinaryDataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaXmlDataTypeCodec;
 import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
 import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
 import org.jetbrains.annotations.Nullable;
 
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+
 public class DefaultDataTypeManager implements DataTypeManager {
 
+    /**
+     * Built-in codecs created so far, by {@link BuiltinDataTypeIndex} row. They're stateless, so every manager
+     * resolving built-in DataTypes lazily shares them.
+     */
+    private static final AtomicReferenceArray<OpcUaBinaryDataTypeCodec<?>> BUILTIN_BINARY_CODECS =
+        new AtomicReferenceArray<>(BuiltinDataTypeIndex.ROW_COUNT);
+
+    private static final AtomicReferenceArray<OpcUaXmlDataTypeCodec<?>> BUILTIN_XML_CODECS =
+        new AtomicReferenceArray<>(BuiltinDataTypeIndex.ROW_COUNT);
+
+    private static final String XML_DESCRIPTION_PREFIX = "//xs:element[@name='";
+    private static final String XML_DESCRIPTION_SUFFIX = "']";
+
     private final ConcurrentMap<String, DataTypeDictionary<?>> dictionaries = Maps.newConcurrentMap();
-    private final ConcurrentMap<NodeId, DataTypeCodec> codecsByEncodingId = Maps.newConcurrentMap();
+    private final EncodingIdCodecTable codecsByEncodingId = new EncodingIdCodecTable();
     private final Table<QualifiedName, NodeId, DataTypeCodec> codecsByDataTypeId =
         Tables.synchronizedTable(HashBasedTable.create());
 
+    private volatile boolean builtinsDeferred = false;
+
     @Override
     public void registerCodec(NodeId encodingId, DataTypeCodec codec) {
         codecsByEncodingId.put(encodingId, codec);
@@ -54,13 +75,37 @@ public class DefaultDataTypeManager implements DataTypeManager {
     @Nullable
     @Override
     public DataTypeCodec getCodec(NodeId encodingId) {
-        return codecsByEncodingId.get(encodingId);
+        DataTypeCodec codec = codecsByEncodingId.get(encodingId);
+
+        if (codec == null && builtinsDeferred) {
+            int id = namespaceZeroId(encodingId);
+            int row = id >= 0 ? BuiltinDataTypeIndex.rowOfEncodingId(id) : -1;
+
+            if (row >= 0) {
+                codec = resolveBuiltin(row, id == BuiltinDataTypeIndex.getXmlEncodingId(row));
+            }
+        }
+
+        return codec;
     }
 
     @Nullable
     @Override
     public DataTypeCodec getCodec(QualifiedName encodingName, NodeId dataTypeId) {
-        return codecsByDataTypeId.get(encodingName, dataTypeId);
+        DataTypeCodec codec = codecsByDataTypeId.get(encodingName, dataTypeId);
+
+        if (codec == null && builtinsDeferred) {
+            boolean binary = OpcUaDefaultBinaryEncoding.ENCODING_NAME.equals(encodingName);
+            boolean xml = OpcUaDefaultXmlEncoding.ENCODING_NAME.equals(encodingName);
+            int id = namespaceZeroId(dataTypeId);
+            int row = (binary || xml) && id >= 0 ? BuiltinDataTypeIndex.rowOfDataTypeId(id) : -1;
+
+            if (row >= 0) {
+                codec = resolveBuiltin(row, xml);
+            }
+        }
+
+        return codec;
     }
 
     @Nullable
@@ -68,7 +113,31 @@ public class DefaultDataTypeManager implements DataTypeManager {
     public DataTypeCodec getCodec(String namespaceUri, String description) {
         DataTypeDictionary<?> dataTypeDictionary = dictionaries.get(namespaceUri);
 
-        return dataTypeDictionary != null ? dataTypeDictionary.getCodec(description) : null;
+        DataTypeCodec codec = dataTypeDictionary != null ? dataTypeDictionary.getCodec(description) : null;
+
+        if (codec == null && builtinsDeferred) {
+            if (BuiltinDataTypeIndex.BINARY_DICTIONARY_URI.equals(namespaceUri)) {
+                int row = BuiltinDataTypeIndex.rowOfDescription(description);
+
+                if (row >= 0) {
+                    codec = resolveBuiltin(row, false);
+                }
+            } else if (BuiltinDataTypeIndex.XML_DICTIONARY_URI.equals(namespaceUri) &&
+                description.startsWith(XML_DESCRIPTION_PREFIX) &&
+                description.endsWith(XML_DESCRIPTION_SUFFIX)) {
+
+                int row = BuiltinDataTypeIndex.rowOfDescription(description.substring(
+                    XML_DESCRIPTION_PREFIX.length(),
+                    description.length() - XML_DESCRIPTION_SUFFIX.length()
+                ));
+
+                if (row >= 0) {
+                    codec = resolveBuiltin(row, true);
+                }
+            }
+        }
+
+        return codec;
     }
 
     @Nullable
@@ -78,14 +147,132 @@ public class DefaultDataTypeManager implements DataTypeManager {
     }
 
     /**
-     * Create a {@link DefaultDataTypeManager} and initialize it with the built-in DataTypes.
+     * Register empty built-in binary and XML dictionaries, and resolve each built-in DataType's codec the first time
+     * it's looked up instead of registering them all now, the way {@link DataTypeInitializer} does.
+     * <p>
+     * A built-in codec is registered with this manager and its dictionary when it's resolved, so until then it's
+     * absent from the maps {@link DataTypeDictionary} returns. Codecs registered explicitly take precedence.
+     */
+    void deferBuiltinCodecs() {
+        if (dictionaries.get(BuiltinDataTypeIndex.BINARY_DICTIONARY_URI) == null) {
+            registerTypeDictionary(new OpcUaBinaryDataTypeDictionary(BuiltinDataTypeIndex.BINARY_DICTIONARY_URI));
+        }
+        if (dictionaries.get(BuiltinDataTypeIndex.XML_DICTIONARY_URI) == null) {
+            registerTypeDictionary(new OpcUaXmlDataTypeDictionary(BuiltinDataTypeIndex.XML_DICTIONARY_URI));
+        }
+
+        builtinsDeferred = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataTypeCodec resolveBuiltin(int row, boolean xml) {
+        String description = BuiltinDataTypeIndex.getDescription(row);
+        NodeId dataTypeId = new NodeId(0, uint(BuiltinDataTypeIndex.getDataTypeId(row)));
+
+        DataTypeCodec codec;
+        QualifiedName encodingName;
+        String dictionaryUri;
+        int encodingId;
+
+        if (xml) {
+            OpcUaXmlDataTypeCodec<?> xmlCodec = BUILTIN_XML_CODECS.get(row);
+            if (xmlCodec == null) {
+                BUILTIN_XML_CODECS.compareAndSet(row, null, BuiltinDataTypeIndex.newCodec(row).asXmlCodec());
+                xmlCodec = BUILTIN_XML_CODECS.get(row);
+            }
+
+            codec = xmlCodec;
+            encodingName = OpcUaDefaultXmlEncoding.ENCODING_NAME;
+            dictionaryUri = BuiltinDataTypeIndex.XML_DICTIONARY_URI;
+            description = XML_DESCRIPTION_PREFIX + description + XML_DESCRIPTION_SUFFIX;
+            encodingId = BuiltinDataTypeIndex.getXmlEncodingId(row);
+        } else {
+            OpcUaBinaryDataTypeCodec<?> binaryCodec = BUILTIN_BINARY_CODECS.get(row);
+            if (binaryCodec == null) {
+                BUILTIN_BINARY_CODECS.compareAndSet(row, null, BuiltinDataTypeIndex.newCodec(row).asBinaryCodec());
+                binaryCodec = BUILTIN_BINARY_CODECS.get(row);
+            }
+
+            codec = binaryCodec;
+            encodingName = OpcUaDefaultBinaryEncoding.ENCODING_NAME;
+            dictionaryUri = BuiltinDataTypeIndex.BINARY_DICTIONARY_URI;
+            encodingId = BuiltinDataTypeIndex.getBinaryEncodingId(row);
+        }
+
+        DataTypeDictionary<DataTypeCodec> dictionary =
+            (DataTypeDictionary<DataTypeCodec>) dictionaries.get(dictionaryUri);
+
+        synchronized (codecsByDataTypeId) {
+            // whichever lookup got here first may have registered it already, and explicit registrations win
+            DataTypeCodec registered = codecsByDataTypeId.get(encodingName, dataTypeId);
+
+            if (registered != null) {
+                return registered;
+            }
+
+            codecsByDataTypeId.put(encodingName, dataTypeId, codec);
+        }
+
+        if (BuiltinDataTypeIndex.isEnum(row)) {
+            if (dictionary != null) {
+                dictionary.registerEnumCodec(codec, description, dataTypeId);
+            }
+        } else {
+            NodeId encodingNodeId = new NodeId(0, uint(encodingId));
+
+            if (dictionary != null) {
+                dictionary.registerStructCodec(codec, description, dataTypeId, encodingNodeId);
+            }
+
+            // copies only the table page holding encodingNodeId, not the whole table
+            codecsByEncodingId.put(encodingNodeId, codec);
+        }
+
+        return codec;
+    }
+
+    /**
+     * @return the identifier of {@code nodeId} if it's numeric and in namespace 0, otherwise -1.
+     */
+    private static int namespaceZeroId(NodeId nodeId) {
+        Object identifier = nodeId.getIdentifier();
+
+        if (identifier instanceof UInteger && nodeId.getNamespaceIndex().intValue() == 0) {
+            long id = ((UInteger) identifier).longValue();
+
+            return id <= Integer.MAX_VALUE ? (int) id : -1;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Create a {@link DefaultDataTypeManager} that resolves the built-in DataTypes on first use.
+     * <p>
+     * The built-in DataTypes are always in namespace 0, so {@code namespaceTable} isn't consulted.
      *
      * @param namespaceTable a {@link NamespaceTable}.
-     * @return a {@link DataTypeManager} pre-initialized wth the built-in DataTypes.
+     * @return a {@link DataTypeManager} that resolves the built-in DataTypes on first use.
+     * @see #deferBuiltinCodecs()
      */
     public static DataTypeManager createAndInitialize(NamespaceTable namespaceTable) {
         DefaultDataTypeManager dataTypeManager = new DefaultDataTypeManager();
 
+        dataTypeManager.deferBuiltinCodecs();
+
+        return dataTypeManager;
+    }
+
+    /**
+     * Create a {@link DefaultDataTypeManager} with every built-in DataType registered up front, for callers that
+     * need the built-in dictionaries complete.
+     *
+     * @param namespaceTable a {@link NamespaceTable}.
+     * @return a {@link DataTypeManager} pre-initialized wth the built-in DataTypes.
+     */
+    public static DataTypeManager createAndInitializeEagerly(NamespaceTable namespaceTable) {
+        DefaultDataTypeManager dataTypeManager = new DefaultDataTypeManager();
+
         DataTypeInitializer.initialize(namespaceTable, dataTypeManager);
 
         return dataTypeManager;
@@ -0,0 +1,176 @@
+package com.viper.opc.client.opcua.stack.core.types;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Codecs keyed by encoding id, looked up once per structure decoded.
+ * <p>
+ * Numeric namespace-0 ids below {@link #MAX_DENSE_ID}, which covers every encoding the spec defines, are resolved by
+ * indexing a two-level array with the identifier, so the common case never hashes or compares a {@link NodeId}.
+ * Everything else goes through a small hash table of immutable buckets.
+ * <p>
+ * Reads don't lock. Writes are copy-on-write of the single page or bucket they touch, so they stay cheap when codecs
+ * are registered one at a time at runtime, e.g. as {@link DefaultDataTypeManager} resolves builtin structures lazily
+ * or {@link DataTypeManager#registerCodec(NodeId, DataTypeCodec)} is called. Only growing the sparse table copies
+ * all of it.
+ */
+final class EncodingIdCodecTable {
+
+    static final int MAX_DENSE_ID = 1 << 16;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final AtomicReferenceArray<DataTypeCodec[]> pages =
+        new AtomicReferenceArray<>(MAX_DENSE_ID >>> PAGE_BITS);
+
+    private volatile Sparse sparse = new Sparse(8);
+
+    @Nullable
+    DataTypeCodec get(NodeId encodingId) {
+        int index = denseIndex(encodingId);
+
+        if (index >= 0) {
+            DataTypeCodec[] page = pages.get(index >>> PAGE_BITS);
+
+            return page != null ? page[index & PAGE_MASK] : null;
+        } else {
+            return sparse.get(encodingId);
+        }
+    }
+
+    synchronized void put(NodeId encodingId, DataTypeCodec codec) {
+        int index = denseIndex(encodingId);
+
+        if (index >= 0) {
+            int p = index >>> PAGE_BITS;
+            DataTypeCodec[] page = pages.get(p);
+
+            DataTypeCodec[] updated = page != null ? page.clone() : new DataTypeCodec[PAGE_SIZE];
+            updated[index & PAGE_MASK] = codec;
+
+            pages.set(p, updated);
+        } else {
+            Sparse s = sparse;
+
+            if (!s.replace(encodingId, codec)) {
+                s = s.resize(s.buckets.length() << 1);
+                s.replace(encodingId, codec);
+                sparse = s;
+            }
+        }
+    }
+
+    synchronized void putAll(Map<NodeId, ? extends DataTypeCodec> codecs) {
+        codecs.forEach(this::put);
+    }
+
+    /**
+     * @return the index of {@code encodingId} in the dense array, or -1 if it belongs in the sparse table.
+     */
+    private static int denseIndex(NodeId encodingId) {
+        Object identifier = encodingId.getIdentifier();
+
+        if (identifier instanceof UInteger && encodingId.getNamespaceIndex().intValue() == 0) {
+            long id = ((UInteger) identifier).longValue();
+
+            return id < MAX_DENSE_ID ? (int) id : -1;
+        } else {
+            return -1;
+        }
+    }
+
+    private static final class Sparse {
+
+        /**
+         * Each bucket holds alternating keys and values and is never modified once published.
+         */
+        final AtomicReferenceArray<Object[]> buckets;
+        final int mask;
+        int size;
+
+        Sparse(int capacity) {
+            this.buckets = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        @Nullable
+        DataTypeCodec get(NodeId key) {
+            Object[] bucket = buckets.get(slot(key));
+
+            if (bucket != null) {
+                for (int i = 0; i < bucket.length; i += 2) {
+                    if (bucket[i].equals(key)) return (DataTypeCodec) bucket[i + 1];
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Insert or replace {@code key}, copying only its bucket.
+         *
+         * @return {@code false} if {@code key} is new and this table is too full to take it without resizing.
+         */
+        boolean replace(NodeId key, DataTypeCodec value) {
+            int b = slot(key);
+            Object[] bucket = buckets.get(b);
+
+            if (bucket != null) {
+                for (int i = 0; i < bucket.length; i += 2) {
+                    if (bucket[i].equals(key)) {
+                        Object[] updated = bucket.clone();
+                        updated[i + 1] = value;
+                        buckets.set(b, updated);
+                        return true;
+                    }
+                }
+            }
+
+            // keep the load factor at or below 0.5
+            if ((size + 1) * 2 > buckets.length()) {
+                return false;
+            }
+
+            Object[] updated = bucket != null ? Arrays.copyOf(bucket, bucket.length + 2) : new Object[2];
+            updated[updated.length - 2] = key;
+            updated[updated.length - 1] = value;
+            buckets.set(b, updated);
+            size++;
+
+            return true;
+        }
+
+        Sparse resize(int capacity) {
+            Sparse resized = new Sparse(capacity);
+
+            for (int b = 0; b < buckets.length(); b++) {
+                Object[] bucket = buckets.get(b);
+
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.length; i += 2) {
+                        resized.replace((NodeId) bucket[i], (DataTypeCodec) bucket[i + 1]);
+                    }
+                }
+            }
+
+            return resized;
+        }
+
+        private int slot(NodeId key) {
+            int h = key.hashCode();
+
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+    }
+
+}
@@ -10,8 +10,6 @@
 
 package com.viper.opc.client.opcua.stack.core.types;
 
-import com.viper.opc.client.opcua.stack.core.NamespaceTable;
-
 public class OpcUaDataTypeManager extends DefaultDataTypeManager {
 
     public static OpcUaDataTypeManager getInstance() {
@@ -24,7 +22,7 @@ public class OpcUaDataTypeManager extends DefaultDataTypeManager {
         static {
             INSTANCE = new OpcUaDataTypeManager();
 
-            DataTypeInitializer.initialize(new NamespaceTable(), INSTANCE);
+            INSTANCE.deferBuiltinCodecs();
         }
     }
 
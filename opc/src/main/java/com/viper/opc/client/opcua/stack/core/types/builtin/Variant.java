@@ -19,6 +19,7 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.viper.opc.client.opcua.stack.core.Identifiers;
 import com.viper.opc.client.opcua.stack.core.serialization.UaEnumeration;
 import com.viper.opc.client.opcua.stack.core.serialization.UaStructure;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
 import com.viper.opc.client.opcua.stack.core.util.ArrayUtil;
 import com.viper.opc.client.opcua.stack.core.util.TypeUtil;
 import org.jetbrains.annotations.Nullable;
@@ -57,6 +58,8 @@ public final class Variant {
             return Optional.of(((UaStructure) value).getTypeId());
         } else if (value instanceof UaEnumeration) {
             return Optional.of(Identifiers.Int32.expanded());
+        } else if (value instanceof UnsignedArray) {
+            return Optional.of(new NodeId(0, ((UnsignedArray) value).getBuiltinTypeId()).expanded());
         } else {
             Class<?> clazz = value.getClass().isArray() ?
                 ArrayUtil.getType(value) : value.getClass();
@@ -0,0 +1,159 @@
+package com.viper.opc.client.opcua.stack.core.types.builtin.unsigned;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A one-dimensional array of an unsigned builtin type (Byte, UInt16, UInt32 or UInt64) backed by a primitive array
+ * of the same width, rather than an array of boxed {@link UNumber}s.
+ * <p>
+ * Values are stored as their raw bits; {@link #getLong(int)} returns the unsigned value widened to a {@code long}.
+ */
+public final class UnsignedArray {
+
+    public static final int BYTE = 3;
+    public static final int UINT16 = 5;
+    public static final int UINT32 = 7;
+    public static final int UINT64 = 9;
+
+    private final int builtinTypeId;
+    private final Object backing;
+    private final int length;
+
+    private UnsignedArray(int builtinTypeId, Object backing, int length) {
+        this.builtinTypeId = builtinTypeId;
+        this.backing = backing;
+        this.length = length;
+    }
+
+    public static UnsignedArray ofUByte(byte[] values) {
+        return new UnsignedArray(BYTE, Preconditions.checkNotNull(values), values.length);
+    }
+
+    public static UnsignedArray ofUShort(short[] values) {
+        return new UnsignedArray(UINT16, Preconditions.checkNotNull(values), values.length);
+    }
+
+    public static UnsignedArray ofUInteger(int[] values) {
+        return new UnsignedArray(UINT32, Preconditions.checkNotNull(values), values.length);
+    }
+
+    public static UnsignedArray ofULong(long[] values) {
+        return new UnsignedArray(UINT64, Preconditions.checkNotNull(values), values.length);
+    }
+
+    /**
+     * @return the id of the builtin type held by this array; one of {@link #BYTE}, {@link #UINT16},
+     * {@link #UINT32} or {@link #UINT64}.
+     */
+    public int getBuiltinTypeId() {
+        return builtinTypeId;
+    }
+
+    /**
+     * @return the backing primitive array: {@code byte[]}, {@code short[]}, {@code int[]} or {@code long[]}.
+     */
+    public Object getBacking() {
+        return backing;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Get the unsigned value at {@code index}.
+     * <p>
+     * UInt64 values above {@link Long#MAX_VALUE} are returned as their two's complement bits; use
+     * {@link #get(int)} when the full range matters.
+     *
+     * @param index the index of the value.
+     * @return the unsigned value at {@code index}, widened to a {@code long}.
+     */
+    public long getLong(int index) {
+        switch (builtinTypeId) {
+            case BYTE:
+                return ((byte[]) backing)[index] & 0xFFL;
+            case UINT16:
+                return ((short[]) backing)[index] & 0xFFFFL;
+            case UINT32:
+                return ((int[]) backing)[index] & 0xFFFFFFFFL;
+            default:
+                return ((long[]) backing)[index];
+        }
+    }
+
+    /**
+     * @param index the index of the value.
+     * @return the value at {@code index} as a boxed {@link UByte}, {@link UShort}, {@link UInteger} or
+     * {@link ULong}.
+     */
+    public UNumber get(int index) {
+        switch (builtinTypeId) {
+            case BYTE:
+                return UByte.valueOf(((byte[]) backing)[index]);
+            case UINT16:
+                return UShort.valueOf(((short[]) backing)[index]);
+            case UINT32:
+                return UInteger.valueOf(((int[]) backing)[index]);
+            default:
+                return ULong.valueOf(((long[]) backing)[index]);
+        }
+    }
+
+    /**
+     * @return a new {@code UByte[]}, {@code UShort[]}, {@code UInteger[]} or {@code ULong[]} holding the same
+     * values, as the default decoding mode would have produced.
+     */
+    public Object toBoxedArray() {
+        UNumber[] array;
+        switch (builtinTypeId) {
+            case BYTE:
+                array = new UByte[length];
+                break;
+            case UINT16:
+                array = new UShort[length];
+                break;
+            case UINT32:
+                array = new UInteger[length];
+                break;
+            default:
+                array = new ULong[length];
+                break;
+        }
+
+        for (int i = 0; i < length; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        UnsignedArray that = (UnsignedArray) o;
+
+        return builtinTypeId == that.builtinTypeId &&
+            Arrays.deepEquals(new Object[]{backing}, new Object[]{that.backing});
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * builtinTypeId + Arrays.deepHashCode(new Object[]{backing});
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(get(i));
+        }
+        return sb.append("]").toString();
+    }
+
+}
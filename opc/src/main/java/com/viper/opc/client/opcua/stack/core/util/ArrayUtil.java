@@ -16,6 +16,9 @@ import java.util.function.Function;
 
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.Ints;
+import com.google.common.primitives.Primitives;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UnsignedArray;
+import org.jetbrains.annotations.Nullable;
 
 public class ArrayUtil {
 
@@ -104,6 +107,31 @@ public class ArrayUtil {
         return dimensions;
     }
 
+    /**
+     * Box a one-dimensional primitive array or {@link UnsignedArray}, as produced when primitive array decoding is
+     * enabled, into the equivalent array of boxed values. Any other value is returned unchanged.
+     *
+     * @param value the value to box.
+     * @return the boxed array, or {@code value} if it isn't a primitive array or {@link UnsignedArray}.
+     */
+    @Nullable
+    public static Object box(@Nullable Object value) {
+        if (value instanceof UnsignedArray) {
+            return ((UnsignedArray) value).toBoxedArray();
+        } else if (value != null && value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            int length = Array.getLength(value);
+            Object boxed = Array.newInstance(Primitives.wrap(value.getClass().getComponentType()), length);
+
+            for (int i = 0; i < length; i++) {
+                Array.set(boxed, i, Array.get(value, i));
+            }
+
+            return boxed;
+        } else {
+            return value;
+        }
+    }
+
     public static Class<?> getType(Object array) {
         Class<?> type = array.getClass();
 
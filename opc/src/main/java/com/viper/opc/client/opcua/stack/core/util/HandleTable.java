@@ -0,0 +1,115 @@
+package com.viper.opc.client.opcua.stack.core.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import com.viper.opc.client.opcua.stack.core.NodeIdInterner;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A map from dense int handles, e.g. those of a {@link NodeIdInterner}, to values, backed by an array indexed by
+ * handle.
+ * <p>
+ * {@link #get(int)} neither locks, boxes, nor hashes, so it can be called on a hot path concurrently with updates;
+ * updates are serialized.
+ *
+ * @param <V> the type of the values.
+ */
+public final class HandleTable<V> {
+
+    private volatile AtomicReferenceArray<V> values;
+
+    public HandleTable() {
+        this(16);
+    }
+
+    public HandleTable(int initialCapacity) {
+        values = new AtomicReferenceArray<>(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * @param handle the handle to look up.
+     * @return the value stored under {@code handle}, or {@code null} if there is none.
+     */
+    @Nullable
+    public V get(int handle) {
+        AtomicReferenceArray<V> values = this.values;
+
+        return handle >= 0 && handle < values.length() ? values.get(handle) : null;
+    }
+
+    /**
+     * @param handle the handle to store {@code value} under; must not be negative.
+     * @param value  the value, or {@code null} to remove the value stored under {@code handle}.
+     * @return the value previously stored under {@code handle}, or {@code null} if there was none.
+     */
+    @Nullable
+    public synchronized V put(int handle, @Nullable V value) {
+        if (handle < 0) {
+            throw new IllegalArgumentException("handle: " + handle);
+        }
+
+        AtomicReferenceArray<V> values = this.values;
+
+        if (handle >= values.length()) {
+            if (value == null) return null;
+
+            int length = values.length();
+            while (length <= handle) {
+                length *= 2;
+            }
+
+            AtomicReferenceArray<V> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < values.length(); i++) {
+                grown.set(i, values.get(i));
+            }
+            this.values = values = grown;
+        }
+
+        return values.getAndSet(handle, value);
+    }
+
+    /**
+     * @param handle the handle to remove the value of.
+     * @return the value stored under {@code handle}, or {@code null} if there was none.
+     */
+    @Nullable
+    public V remove(int handle) {
+        return put(handle, null);
+    }
+
+    /**
+     * Remove {@code value} from under {@code handle} only if it's the value stored there.
+     *
+     * @param handle the handle to remove the value of.
+     * @param value  the value expected under {@code handle}.
+     * @return {@code true} if {@code value} was removed.
+     */
+    public synchronized boolean remove(int handle, V value) {
+        AtomicReferenceArray<V> values = this.values;
+
+        return handle >= 0 && handle < values.length() && values.compareAndSet(handle, value, null);
+    }
+
+    /**
+     * @param action the action to perform on every value, in handle order.
+     */
+    public void forEach(Consumer<? super V> action) {
+        AtomicReferenceArray<V> values = this.values;
+
+        for (int i = 0; i < values.length(); i++) {
+            V value = values.get(i);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Remove every value.
+     */
+    public synchronized void clear() {
+        values = new AtomicReferenceArray<>(values.length());
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.viper.opc.client.opcua.stack.core.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues up submitted {@link Runnable}s by key and executes them on an {@link Executor}.
+ * <p>
+ * Tasks submitted with the same key run serially and in the order submitted, like an {@link ExecutionQueue} with
+ * {@code concurrency = 1}. Tasks with different keys run concurrently, each key taking at most one executor thread
+ * at a time.
+ * <p>
+ * Submitting only contends with other submitters of the same key. A key's lane is dropped once it has no queued or
+ * running tasks, so keys don't need to be removed explicitly.
+ *
+ * @param <K> the key type.
+ */
+public class KeyedExecutionQueue<K> {
+
+    /**
+     * The number of tasks a lane runs before handing its thread back to the executor, so a busy key can't starve
+     * the others when the executor is bounded.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, Lane> lanes = new ConcurrentHashMap<>();
+
+    private volatile boolean paused = false;
+
+    private final Executor executor;
+    private final int batchSize;
+
+    public KeyedExecutionQueue(Executor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    public KeyedExecutionQueue(Executor executor, int batchSize) {
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be > 0");
+
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Submit a {@link Runnable} to be executed after all previously submitted {@link Runnable}s with the same key.
+     *
+     * @param key      the key to order execution by.
+     * @param runnable the {@link Runnable} to be executed.
+     */
+    public void submit(K key, Runnable runnable) {
+        Preconditions.checkNotNull(runnable);
+
+        Lane lane = lanes.compute(key, (k, l) -> {
+            if (l == null) l = new Lane(k);
+            l.queue.add(runnable);
+            return l;
+        });
+
+        lane.maybeSchedule();
+    }
+
+    /**
+     * Pause execution of queued {@link Runnable}s. Tasks already running are allowed to finish.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Resume execution of queued {@link Runnable}s.
+     */
+    public void resume() {
+        paused = false;
+
+        lanes.values().forEach(Lane::maybeSchedule);
+    }
+
+    /**
+     * @return the number of keys with queued or running tasks.
+     */
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * @return the number of tasks queued and not yet started, across all keys.
+     */
+    public int getQueuedCount() {
+        int count = 0;
+        for (Lane lane : lanes.values()) {
+            count += lane.queue.size();
+        }
+        return count;
+    }
+
+    private class Lane implements Runnable {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private final K key;
+
+        Lane(K key) {
+            this.key = key;
+        }
+
+        void maybeSchedule() {
+            if (!paused && !queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int executed = 0;
+
+            while (!paused && executed < batchSize) {
+                Runnable runnable = queue.poll();
+                if (runnable == null) break;
+
+                try {
+                    runnable.run();
+                } catch (Throwable throwable) {
+                    log.warn("Uncaught Throwable during execution.", throwable);
+                }
+
+                executed++;
+            }
+
+            scheduled.set(false);
+
+            if (queue.isEmpty()) {
+                // drop the lane unless a submit slipped in after the poll above
+                lanes.computeIfPresent(key, (k, l) ->
+                    l.queue.isEmpty() && !l.scheduled.get() ? null : l);
+            }
+
+            maybeSchedule();
+        }
+    }
+
+}
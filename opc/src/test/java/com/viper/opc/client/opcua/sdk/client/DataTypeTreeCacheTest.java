@@ -0,0 +1,62 @@
+package com.viper.opc.client.opcua.sdk.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import com.viper.opc.client.opcua.sdk.core.DataTypeTree;
+import com.viper.opc.client.opcua.stack.core.Identifiers;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.util.Tree;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DataTypeTreeCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storeReplacesExistingTree() throws IOException {
+        File directory = folder.newFolder("types");
+        DataTypeTreeCache cache = new DataTypeTreeCache(directory);
+        String key = DataTypeTreeCache.keyOf("opc.tcp://localhost:4840", new String[]{"http://opcfoundation.org/UA/"});
+
+        cache.store(key, entry("1", new NodeId(2, 1)));
+        cache.store(key, entry("2", new NodeId(2, 2)));
+
+        DataTypeTreeCache.Entry loaded = cache.load(key);
+        assertNotNull(loaded);
+        assertEquals("2", loaded.versionTokens.get("urn:test"));
+        assertEquals(1, loaded.root.getChildren().size());
+        assertEquals(new NodeId(2, 2), loaded.root.getChildren().get(0).getValue().getNodeId());
+
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+    }
+
+    @Test
+    public void loadMissingKey() {
+        DataTypeTreeCache cache = new DataTypeTreeCache(folder.getRoot());
+
+        assertNull(cache.load(DataTypeTreeCache.keyOf("opc.tcp://localhost:4840", new String[0])));
+    }
+
+    private static DataTypeTreeCache.Entry entry(String versionToken, NodeId childId) {
+        Tree<DataTypeTree.DataType> root = new Tree<>(null, new DataTypeTree.DataType(
+            QualifiedName.parse("0:BaseDataType"), Identifiers.BaseDataType, null, null));
+
+        root.addChild(new DataTypeTree.DataType(
+            new QualifiedName(2, "Child"), childId, new NodeId(2, 100), null));
+
+        return new DataTypeTreeCache.Entry(Collections.singletonMap("urn:test", versionToken), root);
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.viper.opc.client.opcua.sdk.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import com.viper.opc.client.opcua.stack.core.types.structured.WriteValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescerTest {
+
+    private static final long NO_TIMER = 60_000L;
+
+    private final List<List<WriteValue>> sent = new ArrayList<>();
+
+    /**
+     * Answers every write with a distinct status: Good for even positions, Bad_NotWritable for odd ones.
+     */
+    private CompletableFuture<List<StatusCode>> send(List<WriteValue> items) {
+        sent.add(new ArrayList<>(items));
+
+        List<StatusCode> results = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            results.add(i % 2 == 0 ? StatusCode.GOOD : new StatusCode(StatusCodes.Bad_NotWritable));
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+
+    private RequestCoalescer.Batch<WriteValue, StatusCode> batch(Integer serverLimit, int maxBatchSize) {
+        return new RequestCoalescer.Batch<>(
+            this::send,
+            RequestCoalescer::keyOf,
+            false,
+            () -> CompletableFuture.completedFuture(serverLimit),
+            NO_TIMER,
+            maxBatchSize
+        );
+    }
+
+    private static WriteValue write(int node, int value) {
+        return new WriteValue(
+            new NodeId(2, node),
+            AttributeId.Value.uid(),
+            null,
+            new DataValue(new Variant(value))
+        );
+    }
+
+    @Test
+    public void duplicateWriteStartsNextRequest() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(0, 100);
+
+        CompletableFuture<StatusCode> first = batch.add(write(1, 10));
+        CompletableFuture<StatusCode> other = batch.add(write(2, 20));
+        CompletableFuture<StatusCode> second = batch.add(write(1, 11));
+
+        // the duplicate closed the first batch
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).size());
+        assertEquals(10, sent.get(0).get(0).getValue().getValue().getValue());
+        assertEquals(new NodeId(2, 2), sent.get(0).get(1).getNodeId());
+
+        batch.flush();
+
+        assertEquals(2, sent.size());
+        assertEquals(1, sent.get(1).size());
+        assertEquals(11, sent.get(1).get(0).getValue().getValue().getValue());
+
+        assertEquals(StatusCode.GOOD, first.join());
+        assertEquals(new StatusCode(StatusCodes.Bad_NotWritable), other.join());
+        assertEquals(StatusCode.GOOD, second.join());
+    }
+
+    @Test
+    public void writeBatchWaitsForPreviousResponse() {
+        List<CompletableFuture<List<StatusCode>>> responses = new ArrayList<>();
+
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = new RequestCoalescer.Batch<>(
+            items -> {
+                sent.add(new ArrayList<>(items));
+                CompletableFuture<List<StatusCode>> response = new CompletableFuture<>();
+                responses.add(response);
+                return response;
+            },
+            RequestCoalescer::keyOf,
+            false,
+            () -> CompletableFuture.completedFuture(0),
+            NO_TIMER,
+            100
+        );
+
+        CompletableFuture<StatusCode> first = batch.add(write(1, 10));
+        CompletableFuture<StatusCode> second = batch.add(write(1, 11));
+        batch.flush();
+
+        assertEquals(1, sent.size());
+
+        responses.get(0).complete(Collections.singletonList(StatusCode.GOOD));
+
+        assertEquals(StatusCode.GOOD, first.join());
+        assertEquals(2, sent.size());
+        assertEquals(11, sent.get(1).get(0).getValue().getValue().getValue());
+        assertFalse(second.isDone());
+
+        responses.get(1).complete(Collections.singletonList(StatusCode.BAD));
+        assertEquals(StatusCode.BAD, second.join());
+    }
+
+    @Test
+    public void duplicateReadSharesResult() {
+        List<List<ReadValueId>> reads = new ArrayList<>();
+
+        RequestCoalescer.Batch<ReadValueId, DataValue> batch = new RequestCoalescer.Batch<>(
+            items -> {
+                reads.add(new ArrayList<>(items));
+                List<DataValue> values = new ArrayList<>();
+                for (int i = 0; i < items.size(); i++) {
+                    values.add(new DataValue(new Variant(i)));
+                }
+                return CompletableFuture.completedFuture(values);
+            },
+            RequestCoalescer::keyOf,
+            true,
+            () -> CompletableFuture.completedFuture(0),
+            NO_TIMER,
+            100
+        );
+
+        NodeId nodeId = new NodeId(2, 1);
+        CompletableFuture<DataValue> first = batch.add(
+            new ReadValueId(nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+        CompletableFuture<DataValue> second = batch.add(
+            new ReadValueId(nodeId, AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE));
+        batch.flush();
+
+        assertEquals(1, reads.size());
+        assertEquals(1, reads.get(0).size());
+        assertSame(first.join(), second.join());
+    }
+
+    @Test
+    public void writesToDifferentAttributesAreNotMerged() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(0, 100);
+
+        batch.add(write(1, 10));
+        batch.add(new WriteValue(
+            new NodeId(2, 1), AttributeId.Description.uid(), null, new DataValue(new Variant("d"))));
+
+        batch.flush();
+
+        assertEquals(2, sent.get(0).size());
+    }
+
+    @Test
+    public void duplicateAfterFlushGoesInNextRequest() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(0, 100);
+
+        batch.add(write(1, 10));
+        batch.flush();
+        batch.add(write(1, 11));
+        batch.flush();
+
+        assertEquals(2, sent.size());
+        assertEquals(10, sent.get(0).get(0).getValue().getValue().getValue());
+        assertEquals(11, sent.get(1).get(0).getValue().getValue().getValue());
+    }
+
+    @Test
+    public void batchesAreCappedByServerLimit() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(3, 100);
+
+        List<CompletableFuture<StatusCode>> futures = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            futures.add(batch.add(write(i, i)));
+        }
+        batch.flush();
+
+        assertEquals(3, sent.size());
+        assertEquals(3, sent.get(0).size());
+        assertEquals(3, sent.get(1).size());
+        assertEquals(1, sent.get(2).size());
+
+        for (int i = 0; i < 7; i++) {
+            StatusCode expected = (i % 3) % 2 == 0 ? StatusCode.GOOD : new StatusCode(StatusCodes.Bad_NotWritable);
+            assertEquals(expected, futures.get(i).join());
+        }
+
+        // the limit is known now, so a batch is sent as soon as it reaches it
+        sent.clear();
+        for (int i = 0; i < 3; i++) {
+            batch.add(write(i, i));
+        }
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).size());
+    }
+
+    @Test
+    public void batchesAreCappedByMaxBatchSizeBelowServerLimit() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(1000, 2);
+
+        for (int i = 0; i < 5; i++) {
+            batch.add(write(i, i));
+        }
+        batch.flush();
+
+        assertEquals(3, sent.size());
+        for (List<WriteValue> request : sent) {
+            assertTrue(request.size() <= 2);
+        }
+    }
+
+    @Test
+    public void unknownServerLimitIsReadAgain() {
+        AtomicInteger reads = new AtomicInteger();
+
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = new RequestCoalescer.Batch<>(
+            this::send,
+            RequestCoalescer::keyOf,
+            false,
+            () -> CompletableFuture.completedFuture(reads.incrementAndGet() == 1 ? null : 2),
+            NO_TIMER,
+            100
+        );
+
+        for (int i = 0; i < 4; i++) {
+            batch.add(write(i, i));
+        }
+        batch.flush();
+        assertEquals(1, sent.size());
+
+        for (int i = 0; i < 4; i++) {
+            batch.add(write(i, i));
+        }
+        batch.flush();
+        assertEquals(3, sent.size());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void failureCompletesEveryFuture() {
+        RuntimeException failure = new RuntimeException("closed");
+
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = new RequestCoalescer.Batch<>(
+            items -> {
+                CompletableFuture<List<StatusCode>> f = new CompletableFuture<>();
+                f.completeExceptionally(failure);
+                return f;
+            },
+            RequestCoalescer::keyOf,
+            false,
+            () -> CompletableFuture.completedFuture(0),
+            NO_TIMER,
+            100
+        );
+
+        CompletableFuture<StatusCode> first = batch.add(write(1, 10));
+        CompletableFuture<StatusCode> second = batch.add(write(1, 11));
+        batch.flush();
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void statsCountSentItems() {
+        RequestCoalescer.Batch<WriteValue, StatusCode> batch = batch(0, 4);
+
+        batch.add(write(1, 1));
+        batch.add(write(1, 2));
+        batch.add(write(2, 3));
+        batch.flush();
+
+        RequestCoalescer.Stats stats = batch.getStats();
+        assertEquals(2, stats.getBatches());
+        assertEquals(3, stats.getItems());
+        assertFalse(stats.getFullBatches() > 0);
+    }
+
+}
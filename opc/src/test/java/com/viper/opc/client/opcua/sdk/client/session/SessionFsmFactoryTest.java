@@ -0,0 +1,81 @@
+package com.viper.opc.client.opcua.sdk.client.session;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+import com.digitalpetri.strictmachine.Fsm;
+import com.digitalpetri.strictmachine.dsl.FsmBuilder;
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import com.viper.opc.client.opcua.stack.core.UaServiceFaultException;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
+import com.viper.opc.client.opcua.stack.core.types.structured.ServiceFault;
+import org.junit.Test;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SessionFsmFactoryTest {
+
+    @Test
+    public void rejectedReactivationCreatesSessionWithoutWaiting() throws InterruptedException {
+        assertEquals(State.Creating, reactivationFails(serviceFault(StatusCodes.Bad_SessionIdInvalid)));
+        assertEquals(State.Creating, reactivationFails(serviceFault(StatusCodes.Bad_SessionClosed)));
+        assertEquals(State.Creating, reactivationFails(serviceFault(StatusCodes.Bad_UserAccessDenied)));
+        assertEquals(State.Creating, reactivationFails(
+            new ExecutionException(new UaException(StatusCodes.Bad_SessionNotActivated))));
+    }
+
+    @Test
+    public void unreachableServerWaitsBeforeCreating() throws InterruptedException {
+        assertEquals(State.CreatingWait, reactivationFails(new UaException(StatusCodes.Bad_ConnectionClosed)));
+        assertEquals(State.CreatingWait, reactivationFails(new UaException(StatusCodes.Bad_Timeout)));
+        assertEquals(State.CreatingWait, reactivationFails(serviceFault(StatusCodes.Bad_SecureChannelIdInvalid)));
+        assertEquals(State.CreatingWait, reactivationFails(new IOException("connection refused")));
+    }
+
+    @Test
+    public void reactivationSuccessIsActive() throws InterruptedException {
+        Fsm<State, Event> fsm = reactivatingFsm();
+
+        assertEquals(State.Active, fsm.fireEventBlocking(new Event.ReactivateSessionSuccess(null)));
+    }
+
+    @Test
+    public void isSessionRejected() {
+        assertTrue(SessionFsmFactory.isSessionRejected(new UaException(StatusCodes.Bad_SessionIdInvalid)));
+        assertTrue(SessionFsmFactory.isSessionRejected(serviceFault(StatusCodes.Bad_NonceInvalid)));
+
+        assertFalse(SessionFsmFactory.isSessionRejected(new UaException(StatusCodes.Bad_ConnectionClosed)));
+        assertFalse(SessionFsmFactory.isSessionRejected(serviceFault(StatusCodes.Bad_TcpSecureChannelUnknown)));
+        assertFalse(SessionFsmFactory.isSessionRejected(new IOException()));
+    }
+
+    private static State reactivationFails(Throwable failure) throws InterruptedException {
+        Fsm<State, Event> fsm = reactivatingFsm();
+
+        return fsm.fireEventBlocking(new Event.ReactivateSessionFailure(failure));
+    }
+
+    /**
+     * An FSM with only the Reactivating state's transitions, built already in Reactivating so no reactivation request
+     * is sent. Without a pending session future to fail, none of the remaining actions use the client.
+     */
+    private static Fsm<State, Event> reactivatingFsm() {
+        FsmBuilder<State, Event> fb = new FsmBuilder<>(Runnable::run, SessionFsm.LOGGER_NAME);
+
+        SessionFsmFactory.configureReactivatingState(fb, null);
+
+        return fb.build(State.Reactivating);
+    }
+
+    private static UaServiceFaultException serviceFault(long statusCode) {
+        return new UaServiceFaultException(new ServiceFault(new ResponseHeader(
+            DateTime.now(), uint(0), new StatusCode(statusCode), null, null, null)));
+    }
+
+}
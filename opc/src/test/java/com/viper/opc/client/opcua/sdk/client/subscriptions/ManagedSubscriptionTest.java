@@ -0,0 +1,118 @@
+package com.viper.opc.client.opcua.sdk.client.subscriptions;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.viper.opc.client.opcua.sdk.client.OpcUaClient;
+import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaMonitoredItem;
+import com.viper.opc.client.opcua.sdk.client.api.subscriptions.UaSubscription;
+import com.viper.opc.client.opcua.stack.core.AttributeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DataValue;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import com.viper.opc.client.opcua.stack.core.types.builtin.QualifiedName;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.Variant;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MonitoringMode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.ReadValueId;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ManagedSubscriptionTest {
+
+    private final OpcUaClient client = mock(OpcUaClient.class, RETURNS_DEEP_STUBS);
+    private final OpcUaSubscription subscription = mock(OpcUaSubscription.class);
+    private final ManagedSubscription managedSubscription = new ManagedSubscription(client, subscription);
+    private final UaSubscription.NotificationListener listener = notificationListener();
+
+    private final List<UaMonitoredItem> monitoredItems = new ArrayList<>();
+
+    public ManagedSubscriptionTest() {
+        for (int i = 0; i < 3; i++) {
+            OpcUaMonitoredItem item = monitoredItem(i);
+            monitoredItems.add(item);
+            managedSubscription.createAndTrackDataItem(item);
+        }
+    }
+
+    @Test
+    public void noChangeListenerDecodesNothing() {
+        CountingValues values = new CountingValues(monitoredItems.size());
+
+        listener.onDataChangeNotification(subscription, monitoredItems, values, DateTime.now());
+
+        assertEquals(0, values.reads);
+    }
+
+    @Test
+    public void changeListenerReceivesValues() {
+        List<List<DataValue>> received = new ArrayList<>();
+        managedSubscription.addDataChangeListener((items, values) -> received.add(new ArrayList<>(values)));
+        CountingValues values = new CountingValues(monitoredItems.size());
+
+        listener.onDataChangeNotification(subscription, monitoredItems, values, DateTime.now());
+
+        assertEquals(1, received.size());
+        assertEquals(monitoredItems.size(), received.get(0).size());
+        assertEquals(monitoredItems.size(), values.reads);
+        assertEquals(2, received.get(0).get(2).getValue().getValue());
+    }
+
+    private UaSubscription.NotificationListener notificationListener() {
+        ArgumentCaptor<UaSubscription.NotificationListener> captor =
+            ArgumentCaptor.forClass(UaSubscription.NotificationListener.class);
+        verify(subscription).addNotificationListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private OpcUaMonitoredItem monitoredItem(int i) {
+        return new OpcUaMonitoredItem(
+            client,
+            uint(i + 1),
+            new ReadValueId(new NodeId(2, i), AttributeId.Value.uid(), null, QualifiedName.NULL_VALUE),
+            uint(100 + i),
+            StatusCode.GOOD,
+            1000.0,
+            uint(2),
+            null,
+            MonitoringMode.Reporting,
+            null,
+            true,
+            TimestampsToReturn.Both
+        );
+    }
+
+    /**
+     * Stands in for the lazily decoded values of a DataChangeNotificationBatch; every get() is a decode.
+     */
+    private static class CountingValues extends AbstractList<DataValue> {
+
+        private final int size;
+        private int reads = 0;
+
+        CountingValues(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public DataValue get(int index) {
+            reads++;
+            return new DataValue(new Variant(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.viper.opc.client.opcua.sdk.client.subscriptions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PublishControllerTest {
+
+    private final AtomicLong pending = new AtomicLong(0L);
+    private final PublishController controller = new PublishController(pending::get);
+
+    private long clock = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Publish responses with a {@code rttMillis} round trip, each carrying a notification, one every
+     * {@code intervalMillis}.
+     */
+    private void respond(int count, long rttMillis, long intervalMillis) {
+        for (int i = 0; i < count; i++) {
+            clock += TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            controller.onPublishResponse(clock - TimeUnit.MILLISECONDS.toNanos(rttMillis), clock, true);
+        }
+    }
+
+    @Test
+    public void withoutSamplesOnePerSubscriptionPlusOne() {
+        assertEquals(0L, controller.getMaxPendingPublishes(0, 10));
+        assertEquals(2L, controller.getMaxPendingPublishes(1, 10));
+        assertEquals(4L, controller.getMaxPendingPublishes(3, 10));
+        assertEquals(4L, controller.getTargetPendingPublishes());
+    }
+
+    @Test
+    public void sizedToBandwidthDelayProduct() {
+        // 100 ms round trip, a notification every 25 ms: 4 notifications become due while a Publish is on the wire
+        respond(8, 100, 25);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), controller.getRoundTripNanos());
+        assertEquals(40.0, controller.getNotificationRate(), 1e-9);
+        assertEquals(5L, controller.getMaxPendingPublishes(1, 10));
+        assertEquals(6L, controller.getMaxPendingPublishes(2, 10));
+    }
+
+    @Test
+    public void roundTripIsSmallestRecentSample() {
+        respond(4, 400, 25);
+        respond(1, 50, 25);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), controller.getRoundTripNanos());
+        assertEquals(3L, controller.getMaxPendingPublishes(1, 10));
+    }
+
+    @Test
+    public void cappedByConfiguredMaximum() {
+        respond(8, 100, 10);
+
+        assertEquals(6L, controller.getMaxPendingPublishes(1, 6));
+    }
+
+    @Test
+    public void tooManyPublishRequestsCapsUntilSessionActive() {
+        respond(8, 100, 25);
+        assertEquals(5L, controller.getMaxPendingPublishes(1, 10));
+
+        controller.onTooManyPublishRequests(4);
+        assertEquals(3L, controller.getMaxPendingPublishes(1, 10));
+        // the cap wins over the subscriptions + 1 floor
+        assertEquals(3L, controller.getMaxPendingPublishes(5, 10));
+
+        // a lower count tightens the cap, a higher one doesn't loosen it
+        controller.onTooManyPublishRequests(3);
+        assertEquals(2L, controller.getMaxPendingPublishes(1, 10));
+        controller.onTooManyPublishRequests(8);
+        assertEquals(2L, controller.getMaxPendingPublishes(1, 10));
+
+        // never below one outstanding Publish
+        controller.onTooManyPublishRequests(1);
+        assertEquals(1L, controller.getMaxPendingPublishes(1, 10));
+
+        controller.onSessionActive();
+        assertEquals(5L, controller.getMaxPendingPublishes(1, 10));
+    }
+
+    @Test
+    public void reportsOutstandingPublishes() {
+        assertEquals(0L, controller.getPendingPublishes());
+
+        pending.set(3L);
+        assertEquals(3L, controller.getPendingPublishes());
+        assertEquals(2L, controller.getMaxPendingPublishes(1, 10));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.viper.opc.client.opcua.stack.client;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.viper.opc.client.opcua.stack.client.transport.UaTransport;
+import com.viper.opc.client.opcua.stack.core.serialization.UaRequestMessage;
+import com.viper.opc.client.opcua.stack.core.serialization.UaResponseMessage;
+import com.viper.opc.client.opcua.stack.core.security.SecurityPolicy;
+import com.viper.opc.client.opcua.stack.core.types.builtin.DateTime;
+import com.viper.opc.client.opcua.stack.core.types.builtin.StatusCode;
+import com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.UInteger;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.MessageSecurityMode;
+import com.viper.opc.client.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateMonitoredItemsRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.CreateMonitoredItemsResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.EndpointDescription;
+import com.viper.opc.client.opcua.stack.core.types.structured.NotificationMessage;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishRequest;
+import com.viper.opc.client.opcua.stack.core.types.structured.PublishResponse;
+import com.viper.opc.client.opcua.stack.core.types.structured.ResponseHeader;
+import org.junit.After;
+import org.junit.Test;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertTrue;
+
+public class UaStackClientTest {
+
+    private static final UInteger CLIENT_HANDLE = uint(1);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<Runnable> responses = new CopyOnWriteArrayList<>();
+
+    private final UaStackClient client = new UaStackClient(
+        UaStackClientConfig.builder()
+            .setEndpoint(new EndpointDescription(
+                "opc.tcp://localhost:4840", null, null, MessageSecurityMode.None,
+                SecurityPolicy.None.getUri(), null, null, null))
+            .setExecutor(executor)
+            .setDeliveryLanes(4)
+            .build(),
+        c -> new FakeTransport()
+    );
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void initialNotificationFindsCreatedItem() throws Exception {
+        // stands in for OpcUaSubscription.itemsByClientHandle
+        Set<UInteger> items = ConcurrentHashMap.newKeySet();
+        AtomicReference<Boolean> found = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        client.sendRequest(new CreateMonitoredItemsRequest(
+            client.newRequestHeader(), uint(1), TimestampsToReturn.Both, null)
+        ).thenAccept(response -> {
+            // a slow callback, so a Publish response on another lane would overtake it
+            sleep(100);
+            items.add(CLIENT_HANDLE);
+        });
+
+        client.sendRequest(new PublishRequest(client.newRequestHeader(), null)).thenAccept(response -> {
+            found.set(items.contains(CLIENT_HANDLE));
+            delivered.countDown();
+        });
+
+        // the server answers CreateMonitoredItems first and then Publish with the item's initial value
+        respondInOrder();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(found.get());
+    }
+
+    /**
+     * Complete the outstanding requests in the order they were sent, the way the transport completes responses in
+     * the order they are received.
+     */
+    private void respondInOrder() {
+        responses.forEach(Runnable::run);
+        responses.clear();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class FakeTransport implements UaTransport {
+
+        @Override
+        public CompletableFuture<UaTransport> connect() {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<UaTransport> disconnect() {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<UaResponseMessage> sendRequest(UaRequestMessage request) {
+            UInteger handle = request.getRequestHeader().getRequestHandle();
+            ResponseHeader header = new ResponseHeader(DateTime.now(), handle, StatusCode.GOOD, null, null, null);
+
+            UaResponseMessage response;
+            if (request instanceof PublishRequest) {
+                response = new PublishResponse(header, uint(1), null, false,
+                    new NotificationMessage(uint(1), DateTime.now(), null), null, null);
+            } else {
+                response = new CreateMonitoredItemsResponse(header, null, null);
+            }
+
+            CompletableFuture<UaResponseMessage> future = new CompletableFuture<>();
+            responses.add(() -> future.complete(response));
+            return future;
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.viper.opc.client.opcua.stack.client.transport.uasc;
+
+import com.viper.opc.client.opcua.stack.core.StatusCodes;
+import com.viper.opc.client.opcua.stack.core.UaException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ChunkCounterTest {
+
+    @Test
+    public void acceptsMessageOfMaxChunkCount() throws UaException {
+        ChunkCounter counter = new ChunkCounter(3);
+
+        counter.onChunk(false);
+        counter.onChunk(false);
+        counter.onChunk(true);
+
+        assertEquals(0, counter.getChunkCount());
+    }
+
+    @Test
+    public void rejectsFinalChunkBeyondMaxChunkCount() throws UaException {
+        ChunkCounter counter = new ChunkCounter(3);
+
+        counter.onChunk(false);
+        counter.onChunk(false);
+        counter.onChunk(false);
+
+        try {
+            counter.onChunk(true);
+            fail("message of 4 chunks accepted with MaxChunkCount=3");
+        } catch (UaException e) {
+            assertEquals(StatusCodes.Bad_TcpMessageTooLarge, e.getStatusCode().getValue());
+        }
+    }
+
+    @Test
+    public void rejectsIntermediateChunkBeyondMaxChunkCount() throws UaException {
+        ChunkCounter counter = new ChunkCounter(2);
+
+        counter.onChunk(false);
+        counter.onChunk(false);
+
+        try {
+            counter.onChunk(false);
+            fail("third chunk accepted with MaxChunkCount=2");
+        } catch (UaException e) {
+            assertEquals(StatusCodes.Bad_TcpMessageTooLarge, e.getStatusCode().getValue());
+        }
+    }
+
+    @Test
+    public void countsEachMessageSeparately() throws UaException {
+        ChunkCounter counter = new ChunkCounter(2);
+
+        for (int i = 0; i < 10; i++) {
+            counter.onChunk(false);
+            counter.onChunk(true);
+        }
+
+        assertEquals(0, counter.getChunkCount());
+    }
+
+    @Test
+    public void singleChunkMessagesWithinLimitOfOne() throws UaException {
+        ChunkCounter counter = new ChunkCounter(1);
+
+        counter.onChunk(true);
+        counter.onChunk(true);
+
+        try {
+            counter.onChunk(false);
+            counter.onChunk(true);
+            fail("message of 2 chunks accepted with MaxChunkCount=1");
+        } catch (UaException e) {
+            assertEquals(StatusCodes.Bad_TcpMessageTooLarge, e.getStatusCode().getValue());
+        }
+    }
+
+    @Test
+    public void zeroMeansNoLimit() throws UaException {
+        ChunkCounter counter = new ChunkCounter(0);
+
+        for (int i = 0; i < 10_000; i++) {
+            counter.onChunk(false);
+        }
+        counter.onChunk(true);
+
+        assertEquals(0, counter.getChunkCount());
+    }
+
+}
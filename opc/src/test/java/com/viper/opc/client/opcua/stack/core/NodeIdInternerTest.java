@@ -0,0 +1,74 @@
+package com.viper.opc.client.opcua.stack.core;
+
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import org.junit.Test;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NodeIdInternerTest {
+
+    private final NodeIdInterner interner = new NodeIdInterner();
+
+    @Test
+    public void internAssignsDenseHandles() {
+        assertEquals(0, interner.intern(new NodeId(2, "a")));
+        assertEquals(1, interner.intern(new NodeId(2, "b")));
+        assertEquals(0, interner.intern(new NodeId(2, "a")));
+
+        assertEquals(1, interner.find(new NodeId(2, "b")));
+        assertEquals(-1, interner.find(new NodeId(2, "c")));
+        assertEquals(new NodeId(2, "b"), interner.get(1));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void handleSurvivesUntilLastRelease() {
+        NodeId nodeId = new NodeId(2, uint(7));
+        int handle = interner.intern(nodeId);
+        interner.intern(nodeId);
+
+        interner.release(handle);
+        assertEquals(handle, interner.find(nodeId));
+        assertEquals(nodeId, interner.get(handle));
+
+        interner.release(handle);
+        assertEquals(-1, interner.find(nodeId));
+        assertNull(interner.get(handle));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void releasedHandlesAreReusedLowestFirst() {
+        for (int i = 0; i < 4; i++) {
+            interner.intern(new NodeId(2, uint(i)));
+        }
+
+        interner.release(3);
+        interner.release(1);
+
+        assertEquals(1, interner.intern(new NodeId(3, "x")));
+        assertEquals(3, interner.intern(new NodeId(3, "y")));
+        assertEquals(4, interner.intern(new NodeId(3, "z")));
+        assertEquals(new NodeId(3, "x"), interner.get(1));
+    }
+
+    @Test
+    public void handlesStayBoundedByNodesInUse() {
+        for (int i = 0; i < 10_000; i++) {
+            int handle = interner.intern(new NodeId(2, uint(i)));
+            assertEquals(0, handle);
+            interner.release(handle);
+        }
+
+        assertEquals(0, interner.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void releasingAnUnassignedHandleFails() {
+        interner.release(interner.intern(new NodeId(2, "a")));
+        interner.release(0);
+    }
+
+}
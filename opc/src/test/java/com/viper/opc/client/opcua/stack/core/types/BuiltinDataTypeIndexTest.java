@@ -0,0 +1,125 @@
+package com.viper.opc.client.opcua.stack.core.types;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.viper.opc.client.opcua.stack.core.NamespaceTable;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaBinaryDataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.OpcUaXmlDataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks every row of {@link BuiltinDataTypeIndex} against what {@link DataTypeInitializer} registers.
+ */
+public class BuiltinDataTypeIndexTest {
+
+    private final OpcUaBinaryDataTypeDictionary binary =
+        new OpcUaBinaryDataTypeDictionary(BuiltinDataTypeIndex.BINARY_DICTIONARY_URI);
+
+    private final OpcUaXmlDataTypeDictionary xml =
+        new OpcUaXmlDataTypeDictionary(BuiltinDataTypeIndex.XML_DICTIONARY_URI);
+
+    @Before
+    public void initialize() {
+        DataTypeInitializer.initialize(new NamespaceTable(), new DefaultDataTypeManager(), binary, xml);
+    }
+
+    @Test
+    public void rowCountMatchesInitializer() {
+        assertEquals(BuiltinDataTypeIndex.ROW_COUNT, binary.getCodecsByDescription().size());
+        assertEquals(BuiltinDataTypeIndex.ROW_COUNT, xml.getCodecsByDescription().size());
+    }
+
+    @Test
+    public void everyRowMatchesBinaryRegistration() {
+        for (int row = 0; row < BuiltinDataTypeIndex.ROW_COUNT; row++) {
+            String description = BuiltinDataTypeIndex.getDescription(row);
+            OpcUaBinaryDataTypeCodec<?> codec = binary.getCodecsByDescription().get(description);
+
+            assertNotNull(description, codec);
+            assertEquals(description, row, BuiltinDataTypeIndex.rowOfDescription(description));
+            assertSame(description, codec.getType(), BuiltinDataTypeIndex.newCodec(row).getType());
+
+            int dataTypeId = BuiltinDataTypeIndex.getDataTypeId(row);
+            assertSame(description, codec, binary.getCodecsByDataTypeId().get(new NodeId(0, uint(dataTypeId))));
+            assertEquals(description, row, BuiltinDataTypeIndex.rowOfDataTypeId(dataTypeId));
+
+            if (BuiltinDataTypeIndex.isEnum(row)) {
+                assertFalse(description, binary.getCodecsByEncodingId().containsValue(codec));
+            } else {
+                int encodingId = BuiltinDataTypeIndex.getBinaryEncodingId(row);
+                assertSame(description, codec, binary.getCodecsByEncodingId().get(new NodeId(0, uint(encodingId))));
+                assertEquals(description, row, BuiltinDataTypeIndex.rowOfEncodingId(encodingId));
+            }
+        }
+    }
+
+    @Test
+    public void everyRowMatchesXmlRegistration() {
+        for (int row = 0; row < BuiltinDataTypeIndex.ROW_COUNT; row++) {
+            String description = BuiltinDataTypeIndex.getDescription(row);
+            OpcUaXmlDataTypeCodec<?> codec =
+                xml.getCodecsByDescription().get(String.format("//xs:element[@name='%s']", description));
+
+            assertNotNull(description, codec);
+
+            int dataTypeId = BuiltinDataTypeIndex.getDataTypeId(row);
+            assertSame(description, codec, xml.getCodecsByDataTypeId().get(new NodeId(0, uint(dataTypeId))));
+
+            if (BuiltinDataTypeIndex.isEnum(row)) {
+                assertFalse(description, xml.getCodecsByEncodingId().containsValue(codec));
+            } else {
+                int encodingId = BuiltinDataTypeIndex.getXmlEncodingId(row);
+                assertSame(description, codec, xml.getCodecsByEncodingId().get(new NodeId(0, uint(encodingId))));
+                assertEquals(description, row, BuiltinDataTypeIndex.rowOfEncodingId(encodingId));
+            }
+        }
+    }
+
+    @Test
+    public void initializerRegistersNothingOutsideTheIndex() {
+        Set<NodeId> encodingIds = new HashSet<>();
+
+        for (int row = 0; row < BuiltinDataTypeIndex.ROW_COUNT; row++) {
+            if (!BuiltinDataTypeIndex.isEnum(row)) {
+                encodingIds.add(new NodeId(0, uint(BuiltinDataTypeIndex.getBinaryEncodingId(row))));
+                encodingIds.add(new NodeId(0, uint(BuiltinDataTypeIndex.getXmlEncodingId(row))));
+            }
+        }
+
+        assertTrue(encodingIds.containsAll(binary.getCodecsByEncodingId().keySet()));
+        assertTrue(encodingIds.containsAll(xml.getCodecsByEncodingId().keySet()));
+    }
+
+    @Test
+    public void deferredManagerResolvesWhatEagerManagerRegisters() {
+        DataTypeManager eager = DefaultDataTypeManager.createAndInitializeEagerly(new NamespaceTable());
+        DataTypeManager deferred = DefaultDataTypeManager.createAndInitialize(new NamespaceTable());
+
+        for (Map<NodeId, ? extends DataTypeCodec> codecs :
+            Arrays.asList(binary.getCodecsByEncodingId(), xml.getCodecsByEncodingId())) {
+
+            codecs.keySet().forEach(encodingId -> {
+                DataTypeCodec expected = eager.getCodec(encodingId);
+                DataTypeCodec resolved = deferred.getCodec(encodingId);
+
+                assertNotNull(encodingId.toString(), resolved);
+                assertSame(encodingId.toString(), expected.getType(), resolved.getType());
+                assertSame(encodingId.toString(), resolved, deferred.getCodec(encodingId));
+            });
+        }
+    }
+
+}
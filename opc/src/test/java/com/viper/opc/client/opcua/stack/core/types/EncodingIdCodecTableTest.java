@@ -0,0 +1,124 @@
+package com.viper.opc.client.opcua.stack.core.types;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.viper.opc.client.opcua.stack.core.serialization.SerializationContext;
+import com.viper.opc.client.opcua.stack.core.serialization.codecs.DataTypeCodec;
+import com.viper.opc.client.opcua.stack.core.types.builtin.NodeId;
+import org.junit.Test;
+
+import static com.viper.opc.client.opcua.stack.core.types.builtin.unsigned.Unsigned.uint;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EncodingIdCodecTableTest {
+
+    private final EncodingIdCodecTable table = new EncodingIdCodecTable();
+
+    @Test
+    public void denseIdsRoundTrip() {
+        DataTypeCodec a = new TestCodec();
+        DataTypeCodec b = new TestCodec();
+
+        table.put(new NodeId(0, uint(0)), a);
+        table.put(new NodeId(0, uint(EncodingIdCodecTable.MAX_DENSE_ID - 1)), b);
+
+        assertSame(a, table.get(new NodeId(0, uint(0))));
+        assertSame(b, table.get(new NodeId(0, uint(EncodingIdCodecTable.MAX_DENSE_ID - 1))));
+        assertNull(table.get(new NodeId(0, uint(1))));
+        assertNull(table.get(new NodeId(0, uint(300))));
+    }
+
+    @Test
+    public void sparseIdsRoundTrip() {
+        NodeId numeric = new NodeId(2, uint(338));
+        NodeId large = new NodeId(0, uint(EncodingIdCodecTable.MAX_DENSE_ID));
+        NodeId string = new NodeId(1, "Encoding");
+        NodeId guid = new NodeId(3, UUID.randomUUID());
+
+        DataTypeCodec a = new TestCodec();
+        DataTypeCodec b = new TestCodec();
+        DataTypeCodec c = new TestCodec();
+        DataTypeCodec d = new TestCodec();
+
+        table.put(numeric, a);
+        table.put(large, b);
+        table.put(string, c);
+        table.put(guid, d);
+
+        assertSame(a, table.get(numeric));
+        assertSame(b, table.get(large));
+        assertSame(c, table.get(new NodeId(1, "Encoding")));
+        assertSame(d, table.get(guid));
+        assertNull(table.get(new NodeId(0, uint(338))));
+        assertNull(table.get(new NodeId(1, "Other")));
+    }
+
+    @Test
+    public void laterPutReplacesEarlier() {
+        NodeId dense = new NodeId(0, uint(338));
+        NodeId sparse = new NodeId(1, "Encoding");
+
+        DataTypeCodec first = new TestCodec();
+        DataTypeCodec second = new TestCodec();
+
+        table.put(dense, first);
+        table.put(sparse, first);
+        table.put(dense, second);
+        table.put(sparse, second);
+
+        assertSame(second, table.get(dense));
+        assertSame(second, table.get(sparse));
+    }
+
+    @Test
+    public void sparseTableGrowsWithoutLosingEntries() {
+        Map<NodeId, DataTypeCodec> expected = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            NodeId encodingId = new NodeId(2, "Encoding" + i);
+            DataTypeCodec codec = new TestCodec();
+
+            table.put(encodingId, codec);
+            expected.put(encodingId, codec);
+        }
+
+        expected.forEach((encodingId, codec) -> assertSame(codec, table.get(encodingId)));
+    }
+
+    @Test
+    public void putAllMatchesRepeatedPuts() {
+        Map<NodeId, DataTypeCodec> codecs = new HashMap<>();
+
+        for (int i = 0; i < 600; i += 3) {
+            codecs.put(new NodeId(0, uint(i)), new TestCodec());
+            codecs.put(new NodeId(4, uint(i)), new TestCodec());
+        }
+
+        table.putAll(codecs);
+
+        codecs.forEach((encodingId, codec) -> assertSame(codec, table.get(encodingId)));
+        assertNull(table.get(new NodeId(0, uint(1))));
+        assertNull(table.get(new NodeId(4, uint(1))));
+    }
+
+    private static class TestCodec implements DataTypeCodec<Object, Object, Object> {
+
+        @Override
+        public Class<Object> getType() {
+            return Object.class;
+        }
+
+        @Override
+        public Object decode(SerializationContext context, Object reader) {
+            return null;
+        }
+
+        @Override
+        public void encode(SerializationContext context, Object writer, Object value) {}
+
+    }
+
+}